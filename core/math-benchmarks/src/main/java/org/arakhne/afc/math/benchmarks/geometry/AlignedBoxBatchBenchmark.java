@@ -0,0 +1,253 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.geometry;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.arakhne.afc.math.geometry.ClassifierUtil;
+import org.arakhne.afc.math.geometry.IntersectionType;
+import org.arakhne.afc.math.geometry.IntersectionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of the batch tests of {@link IntersectionUtil} and
+ * {@link ClassifierUtil} against a loop on the scalar test, for one
+ * box against many boxes and one rectangle against many rectangles.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AlignedBoxBatchBenchmark {
+
+	/** Number of boxes to test.
+	 */
+	@Param({"1000", "100000"})
+	public int size;
+
+	/** Maximal size of the boxes in a world of size 1000.
+	 * Big boxes make the result of the tests hard to predict.
+	 */
+	@Param({"10", "600"})
+	public float boxSize;
+	
+	private float[] boxes;
+	private float[] rectangles;
+	private long[] bits;
+	private int[] indexes;
+	private IntersectionType[] types;
+
+	/**
+	 */
+	public AlignedBoxBatchBenchmark() {
+		//
+	}
+	
+	/** Build the boxes and the rectangles.
+	 * The rectangles are the projections of the boxes on the XY plane.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(1234L);
+		this.boxes = new float[6*this.size];
+		float lower;
+		for(int i=0; i<this.size; ++i) {
+			for(int j=0; j<3; ++j) {
+				lower = random.nextFloat() * 1000f;
+				this.boxes[j*this.size+i] = lower;
+				this.boxes[(j+3)*this.size+i] = lower + random.nextFloat() * this.boxSize;
+			}
+		}
+		this.rectangles = new float[4*this.size];
+		for(int j=0; j<2; ++j) {
+			System.arraycopy(this.boxes, j*this.size, this.rectangles, j*this.size, this.size);
+			System.arraycopy(this.boxes, (j+3)*this.size, this.rectangles, (j+2)*this.size, this.size);
+		}
+		this.bits = new long[(this.size+63)/64];
+		this.indexes = new int[this.size];
+		this.types = new IntersectionType[this.size];
+	}
+	
+	/** Test each box with the scalar function.
+	 * 
+	 * @return the number of intersecting boxes.
+	 */
+	@Benchmark
+	public int scalar() {
+		float[] b = this.boxes;
+		int n = this.size;
+		int count = 0;
+		for(int i=0; i<n; ++i) {
+			if (IntersectionUtil.intersectsAlignedBoxes(
+					100f, 100f, 100f, 400f, 400f, 400f,
+					b[i], b[n+i], b[2*n+i], b[3*n+i], b[4*n+i], b[5*n+i])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Test the boxes with the batch function that fills a bitset.
+	 * 
+	 * @return the number of intersecting boxes.
+	 */
+	@Benchmark
+	public int batchBitset() {
+		return IntersectionUtil.intersectsAlignedBoxes(
+				100f, 100f, 100f, 400f, 400f, 400f,
+				this.boxes, this.size, this.bits);
+	}
+
+	/** Test the boxes with the batch function that fills an array of indexes.
+	 * 
+	 * @return the number of intersecting boxes.
+	 */
+	@Benchmark
+	public int batchIndexes() {
+		return IntersectionUtil.intersectsAlignedBoxes(
+				100f, 100f, 100f, 400f, 400f, 400f,
+				this.boxes, this.size, this.indexes);
+	}
+
+	/** Test each rectangle with the scalar function.
+	 * 
+	 * @return the number of intersecting rectangles.
+	 */
+	@Benchmark
+	public int scalarRectangles() {
+		float[] r = this.rectangles;
+		int n = this.size;
+		int count = 0;
+		for(int i=0; i<n; ++i) {
+			if (IntersectionUtil.intersectsAlignedRectangles(
+					100f, 100f, 400f, 400f,
+					r[i], r[n+i], r[2*n+i], r[3*n+i])) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Test the rectangles with the batch function that fills a bitset.
+	 * 
+	 * @return the number of intersecting rectangles.
+	 */
+	@Benchmark
+	public int batchRectanglesBitset() {
+		return IntersectionUtil.intersectsAlignedRectangles(
+				100f, 100f, 400f, 400f,
+				this.rectangles, this.size, this.bits);
+	}
+
+	/** Test the rectangles with the batch function that fills an array of indexes.
+	 * 
+	 * @return the number of intersecting rectangles.
+	 */
+	@Benchmark
+	public int batchRectanglesIndexes() {
+		return IntersectionUtil.intersectsAlignedRectangles(
+				100f, 100f, 400f, 400f,
+				this.rectangles, this.size, this.indexes);
+	}
+
+	/** Classify each box with the scalar function.
+	 * 
+	 * @return the number of boxes that are not outside.
+	 */
+	@Benchmark
+	public int scalarClassifyBoxes() {
+		float[] b = this.boxes;
+		IntersectionType[] t = this.types;
+		int n = this.size;
+		int count = 0;
+		for(int i=0; i<n; ++i) {
+			t[i] = ClassifierUtil.classifiesAlignedBoxes(
+					100f, 100f, 100f, 400f, 400f, 400f,
+					b[i], b[n+i], b[2*n+i], b[3*n+i], b[4*n+i], b[5*n+i]);
+			if (t[i]!=IntersectionType.OUTSIDE) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Classify the boxes with the batch function.
+	 * 
+	 * @return the number of boxes that are not outside.
+	 */
+	@Benchmark
+	public int batchClassifyBoxes() {
+		return ClassifierUtil.classifiesAlignedBoxes(
+				100f, 100f, 100f, 400f, 400f, 400f,
+				this.boxes, this.size, this.types, this.indexes);
+	}
+
+	/** Classify each rectangle with the scalar function.
+	 * 
+	 * @return the number of rectangles that are not outside.
+	 */
+	@Benchmark
+	public int scalarClassifyRectangles() {
+		float[] r = this.rectangles;
+		IntersectionType[] t = this.types;
+		int n = this.size;
+		int count = 0;
+		for(int i=0; i<n; ++i) {
+			t[i] = ClassifierUtil.classifiesAlignedRectangles(
+					100f, 100f, 400f, 400f,
+					r[i], r[n+i], r[2*n+i], r[3*n+i]);
+			if (t[i]!=IntersectionType.OUTSIDE) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Classify the rectangles with the batch function.
+	 * 
+	 * @return the number of rectangles that are not outside.
+	 */
+	@Benchmark
+	public int batchClassifyRectangles() {
+		return ClassifierUtil.classifiesAlignedRectangles(
+				100f, 100f, 400f, 400f,
+				this.rectangles, this.size, this.types, this.indexes);
+	}
+
+}
@@ -0,0 +1,123 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.astar.AStarSearchMode;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of {@link AStar#solve(org.arakhne.afc.math.graph.GraphPoint, org.arakhne.afc.math.graph.GraphPoint)}.
+ * <p>
+ * Each invocation solves the next query in a fixed set of
+ * random queries.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AStarBenchmark {
+
+	private static final int QUERY_COUNT = 256;
+	
+	/** Type of the graph.
+	 */
+	@Param({"GRID", "RANDOM_GEOMETRIC"})
+	public SyntheticGraphType graphType;
+	
+	/** Number of points in the graph.
+	 */
+	@Param({"1000", "10000"})
+	public int size;
+
+	/** Search mode of the A* algorithm.
+	 */
+	@Param({"SORTED_LIST", "INDEXED_HEAP", "POOLED_HEAP"})
+	public AStarSearchMode searchMode;
+	
+	/** Indicates if the bidirectional search is enabled.
+	 */
+	@Param({"false", "true"})
+	public boolean bidirectional;
+	
+	private AStar<SyntheticGraphPath,CGraphSegment,CGraphPoint> astar;
+	private CGraphPoint[] startPoints;
+	private CGraphPoint[] endPoints;
+	private int query;
+	
+	/**
+	 */
+	public AStarBenchmark() {
+		//
+	}
+	
+	/** Build the graph and the queries.
+	 */
+	@Setup
+	public void setUp() {
+		SyntheticGraph graph = new SyntheticGraph(this.graphType, this.size, 1234L);
+		Random random = new Random(5678L);
+		this.startPoints = new CGraphPoint[QUERY_COUNT];
+		this.endPoints = new CGraphPoint[QUERY_COUNT];
+		for(int i=0; i<QUERY_COUNT; ++i) {
+			this.startPoints[i] = graph.getRandomPoint(random);
+			this.endPoints[i] = graph.getRandomPoint(random);
+		}
+		this.astar = new AStar<SyntheticGraphPath,CGraphSegment,CGraphPoint>(graph, SyntheticGraphPath.class);
+		this.astar.setSearchMode(this.searchMode);
+		this.astar.setBidirectionalSearchEnabled(this.bidirectional);
+		this.query = 0;
+	}
+	
+	/** Solve the next query.
+	 * 
+	 * @return the found path.
+	 */
+	@Benchmark
+	public SyntheticGraphPath solve() {
+		int q = this.query;
+		this.query = (q + 1) % QUERY_COUNT;
+		return this.astar.solve(this.startPoints[q], this.endPoints[q]);
+	}
+	
+}
@@ -0,0 +1,162 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPathStorage;
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of the mutations of a {@link GraphPath}.
+ * <p>
+ * The segments of the path are the segments of a shortest path
+ * between two random points of the graph.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GraphPathBenchmark {
+
+	/** Type of the graph.
+	 */
+	@Param({"GRID", "RANDOM_GEOMETRIC"})
+	public SyntheticGraphType graphType;
+	
+	/** Number of points in the graph.
+	 */
+	@Param({"10000", "100000"})
+	public int size;
+
+	/** Storage of the segments in the path.
+	 */
+	@Param({"LINKED_LIST", "ARRAY"})
+	public GraphPathStorage storage;
+	
+	private CGraphPoint startPoint;
+	private List<CGraphSegment> segments;
+	
+	/**
+	 */
+	public GraphPathBenchmark() {
+		//
+	}
+	
+	/** Build the graph and compute the segments of the path.
+	 */
+	@Setup
+	public void setUp() {
+		SyntheticGraph graph = new SyntheticGraph(this.graphType, this.size, 1234L);
+		Random random = new Random(5678L);
+		AStar<SyntheticGraphPath,CGraphSegment,CGraphPoint> astar
+			= new AStar<SyntheticGraphPath,CGraphSegment,CGraphPoint>(graph, SyntheticGraphPath.class);
+		SyntheticGraphPath path = null;
+		while (path==null || path.size()<2) {
+			path = astar.solve(graph.getRandomPoint(random), graph.getRandomPoint(random));
+		}
+		this.startPoint = path.getFirstPoint();
+		this.segments = new ArrayList<CGraphSegment>(path);
+	}
+	
+	private SyntheticGraphPath createPath() {
+		SyntheticGraphPath path = new SyntheticGraphPath(this.storage);
+		path.add(this.segments.get(0), this.startPoint);
+		for(int i=1; i<this.segments.size(); ++i) {
+			path.add(this.segments.get(i));
+		}
+		return path;
+	}
+	
+	/** Append the segments one by one.
+	 * 
+	 * @return the path.
+	 */
+	@Benchmark
+	public SyntheticGraphPath append() {
+		return createPath();
+	}
+
+	/** Append the segments, and remove them from the
+	 * beginning of the path, as a moving object is doing.
+	 * 
+	 * @return the path.
+	 */
+	@Benchmark
+	public SyntheticGraphPath appendAndConsume() {
+		SyntheticGraphPath path = createPath();
+		while (!path.isEmpty()) {
+			path.removeUntil(path.getFirstSegment());
+		}
+		return path;
+	}
+
+	/** Append the segments, and split the path at the middle
+	 * segment.
+	 * 
+	 * @return the second part of the path.
+	 */
+	@Benchmark
+	public SyntheticGraphPath appendAndSplit() {
+		SyntheticGraphPath path = createPath();
+		return path.splitAfter(this.segments.get(this.segments.size()/2));
+	}
+
+	/** Append the segments, and compute the distance to reach
+	 * each segment.
+	 * 
+	 * @return the sum of the distances.
+	 */
+	@Benchmark
+	public float appendAndMeasure() {
+		SyntheticGraphPath path = createPath();
+		float sum = 0f;
+		for(int i=0; i<path.size(); ++i) {
+			sum += path.getDistanceToReachSegment(i);
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,114 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.arakhne.afc.math.graph.GraphIterationElementComparator;
+import org.arakhne.afc.math.graph.SubGraph;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark of {@link SubGraph#build(org.arakhne.afc.math.graph.GraphIterator)}
+ * from a depth-limited traversal.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SubGraphBenchmark {
+
+	/** Type of the graph.
+	 */
+	@Param({"GRID", "RANDOM_GEOMETRIC"})
+	public SyntheticGraphType graphType;
+	
+	/** Number of points in the graph.
+	 */
+	@Param({"10000"})
+	public int size;
+
+	/** Maximal distance from the starting point of the segments in the subgraph.
+	 */
+	@Param({"10", "40"})
+	public float depth;
+	
+	private CGraph graph;
+	private CGraphSegment startSegment;
+	private CGraphPoint startPoint;
+	
+	private final GraphIterationElementComparator<CGraphSegment,CGraphPoint> orientedComparator
+		= new GraphIterationElementComparator<CGraphSegment,CGraphPoint>(true);
+	private final GraphIterationElementComparator<CGraphSegment,CGraphPoint> notOrientedComparator
+		= new GraphIterationElementComparator<CGraphSegment,CGraphPoint>(false);
+
+	/**
+	 */
+	public SubGraphBenchmark() {
+		//
+	}
+	
+	/** Build the graph.
+	 */
+	@Setup
+	public void setUp() {
+		SyntheticGraph g = new SyntheticGraph(this.graphType, this.size, 1234L);
+		this.graph = g.getGraph();
+		this.startPoint = g.getRandomPoint(new Random(5678L));
+		this.startSegment = g.getConnectedSegment(this.startPoint);
+	}
+	
+	/** Build a subgraph around the starting point.
+	 * 
+	 * @return the subgraph.
+	 */
+	@Benchmark
+	public SubGraph<CGraphSegment,CGraphPoint,SyntheticGraphPath> build() {
+		SubGraph<CGraphSegment,CGraphPoint,SyntheticGraphPath> subgraph
+			= new SubGraph<CGraphSegment,CGraphPoint,SyntheticGraphPath>(
+					this.orientedComparator, this.notOrientedComparator);
+		subgraph.build(this.graph.depthIterator(this.startSegment, this.depth, 0f,
+				this.startPoint, false, false));
+		return subgraph;
+	}
+
+}
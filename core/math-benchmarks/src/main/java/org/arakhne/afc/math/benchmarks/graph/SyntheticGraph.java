@@ -0,0 +1,240 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.arakhne.afc.math.graph.astar.AStarHeuristic;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphBuilder;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/** Graph that is generated for the benchmarks.
+ * <p>
+ * The points of the graph have 2D positions, so that
+ * this graph provides the euclidian distance as
+ * heuristic for the A* algorithm. The lengths of the segments are
+ * never lower than the distances between their points.
+ * <p>
+ * The random points that are replied by this graph are
+ * always in the largest connected component of the graph.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class SyntheticGraph implements AStarHeuristic<CGraphPoint> {
+
+	/** Average number of segments connected to a point
+	 * in a random geometric graph.
+	 */
+	private static final float AVERAGE_DEGREE = 6f;
+	
+	private final CGraph graph;
+	private final float[] x;
+	private final float[] y;
+	private final int[] component;
+
+	/**
+	 * @param type is the type of the graph to generate.
+	 * @param pointCount is the approximative number of points in the graph.
+	 * @param seed is the seed of the random generator.
+	 */
+	public SyntheticGraph(SyntheticGraphType type, int pointCount, long seed) {
+		Random random = new Random(seed);
+		CGraphBuilder builder = new CGraphBuilder();
+		switch(type) {
+		case GRID:
+		{
+			int side = Math.max(2, (int)Math.ceil(Math.sqrt(pointCount)));
+			int count = side * side;
+			this.x = new float[count];
+			this.y = new float[count];
+			builder.addPoints(count);
+			for(int i=0, p=0; i<side; ++i) {
+				for(int j=0; j<side; ++j, ++p) {
+					this.x[p] = i + (random.nextFloat() - .5f) * .4f;
+					this.y[p] = j + (random.nextFloat() - .5f) * .4f;
+				}
+			}
+			for(int i=0, p=0; i<side; ++i) {
+				for(int j=0; j<side; ++j, ++p) {
+					if (j+1<side) {
+						builder.addSegment(p, p+1,
+								distance(p, p+1) * (1f + random.nextFloat()));
+					}
+					if (i+1<side) {
+						builder.addSegment(p, p+side,
+								distance(p, p+side) * (1f + random.nextFloat()));
+					}
+				}
+			}
+			break;
+		}
+		case RANDOM_GEOMETRIC:
+		{
+			int count = Math.max(2, pointCount);
+			// The density of points is 1
+			float side = (float)Math.sqrt(count);
+			float radius = (float)Math.sqrt(AVERAGE_DEGREE / Math.PI);
+			this.x = new float[count];
+			this.y = new float[count];
+			builder.addPoints(count);
+			for(int p=0; p<count; ++p) {
+				this.x[p] = random.nextFloat() * side;
+				this.y[p] = random.nextFloat() * side;
+			}
+			// Put the points in cells of the size of the radius
+			int cellCount = Math.max(1, (int)(side / radius));
+			int[] firstInCells = new int[cellCount*cellCount+1];
+			int[] cellOfPoints = new int[count];
+			for(int p=0; p<count; ++p) {
+				cellOfPoints[p] = cell(this.x[p], cellCount, side) * cellCount
+						+ cell(this.y[p], cellCount, side);
+				++firstInCells[cellOfPoints[p]+1];
+			}
+			for(int c=0; c<cellCount*cellCount; ++c) {
+				firstInCells[c+1] += firstInCells[c];
+			}
+			int[] pointsInCells = new int[count];
+			int[] cursors = Arrays.copyOf(firstInCells, cellCount*cellCount);
+			for(int p=0; p<count; ++p) {
+				pointsInCells[cursors[cellOfPoints[p]]++] = p;
+			}
+			int cx, cy, c, q;
+			float d;
+			for(int p=0; p<count; ++p) {
+				cx = cellOfPoints[p] / cellCount;
+				cy = cellOfPoints[p] % cellCount;
+				for(int i=Math.max(0, cx-1); i<=Math.min(cellCount-1, cx+1); ++i) {
+					for(int j=Math.max(0, cy-1); j<=Math.min(cellCount-1, cy+1); ++j) {
+						c = i * cellCount + j;
+						for(int k=firstInCells[c]; k<firstInCells[c+1]; ++k) {
+							q = pointsInCells[k];
+							if (q>p) {
+								d = distance(p, q);
+								if (d<=radius) {
+									builder.addSegment(p, q, Math.max(d, Float.MIN_VALUE));
+								}
+							}
+						}
+					}
+				}
+			}
+			break;
+		}
+		default:
+			throw new IllegalArgumentException();
+		}
+		this.graph = builder.build();
+		this.component = computeLargestComponent(this.graph);
+	}
+	
+	private static int cell(float coordinate, int cellCount, float side) {
+		return Math.min(cellCount-1, (int)(coordinate * cellCount / side));
+	}
+	
+	private float distance(int p1, int p2) {
+		float dx = this.x[p1] - this.x[p2];
+		float dy = this.y[p1] - this.y[p2];
+		return (float)Math.sqrt(dx*dx + dy*dy);
+	}
+	
+	/** Replies the points of the largest connected component.
+	 * 
+	 * @param graph
+	 * @return the indexes of the points.
+	 */
+	private static int[] computeLargestComponent(CGraph graph) {
+		int count = graph.getPointCount();
+		boolean[] visited = new boolean[count];
+		int[] queue = new int[count];
+		int[] largest = new int[0];
+		int size, head, p, q, segment;
+		for(int start=0; start<count; ++start) {
+			if (!visited[start]) {
+				visited[start] = true;
+				queue[0] = start;
+				size = 1;
+				head = 0;
+				while (head<size) {
+					p = queue[head++];
+					for(int c=graph.getFirstConnection(p); c<graph.getFirstConnection(p+1); ++c) {
+						segment = graph.getConnectedSegmentIndex(c);
+						q = graph.getOtherSidePointIndex(segment, p);
+						if (!visited[q]) {
+							visited[q] = true;
+							queue[size++] = q;
+						}
+					}
+				}
+				if (size>largest.length) {
+					largest = Arrays.copyOf(queue, size);
+				}
+			}
+		}
+		return largest;
+	}
+	
+	/** Replies the graph.
+	 * 
+	 * @return the graph.
+	 */
+	public CGraph getGraph() {
+		return this.graph;
+	}
+	
+	/** Replies a random point in the largest connected
+	 * component of the graph.
+	 * 
+	 * @param random is the random generator to use.
+	 * @return a random point.
+	 */
+	public CGraphPoint getRandomPoint(Random random) {
+		return this.graph.getPoint(this.component[random.nextInt(this.component.length)]);
+	}
+	
+	/** Replies a segment connected to the given point.
+	 * 
+	 * @param point
+	 * @return a segment connected to the point, or <code>null</code>
+	 * if the point is not connected.
+	 */
+	public CGraphSegment getConnectedSegment(CGraphPoint point) {
+		int index = point.getIndex();
+		if (this.graph.getConnectionCount(index)==0) return null;
+		return this.graph.getSegment(
+				this.graph.getConnectedSegmentIndex(
+						this.graph.getFirstConnection(index)));
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public float evaluate(CGraphPoint p1, CGraphPoint p2) {
+		return distance(p1.getIndex(), p2.getIndex());
+	}
+	
+}
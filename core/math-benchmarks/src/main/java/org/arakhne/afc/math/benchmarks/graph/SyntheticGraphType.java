@@ -0,0 +1,48 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.graph;
+
+/** Type of the graphs that are generated for the benchmarks.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see SyntheticGraph
+ * @since 12.0
+ */
+public enum SyntheticGraphType {
+
+	/** Square grid, in which each point is connected to its
+	 * four neighbours. The positions of the points are
+	 * slightly moved, and the segments are longer than the
+	 * distances between their points.
+	 */
+	GRID,
+	
+	/** Random geometric graph: the points are uniformly
+	 * distributed in a square, and two points are connected
+	 * when they are near enough each other. The lengths of the
+	 * segments are the distances between their points.
+	 */
+	RANDOM_GEOMETRIC;
+	
+}
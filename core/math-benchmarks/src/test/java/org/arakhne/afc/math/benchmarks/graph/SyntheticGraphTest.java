@@ -0,0 +1,103 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.benchmarks.graph;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.astar.AStar;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link SyntheticGraph}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SyntheticGraphTest extends TestCase {
+
+	private static void assertAdmissible(SyntheticGraph synthetic) {
+		CGraph graph = synthetic.getGraph();
+		for(CGraphSegment segment : graph) {
+			assertTrue(segment.getLength()>=synthetic.evaluate(
+					segment.getBeginPoint(), segment.getEndPoint()) - 1e-4f);
+		}
+	}
+
+	private static void assertConnectedRandomPoints(SyntheticGraph synthetic) {
+		AStar<SyntheticGraphPath,CGraphSegment,CGraphPoint> astar =
+				new AStar<SyntheticGraphPath,CGraphSegment,CGraphPoint>(
+						synthetic, SyntheticGraphPath.class);
+		Random random = new Random(7);
+		CGraphPoint start, target;
+		for(int i=0; i<10; ++i) {
+			start = synthetic.getRandomPoint(random);
+			target = synthetic.getRandomPoint(random);
+			assertNotNull(synthetic.getConnectedSegment(start));
+			if (!start.equals(target)) {
+				assertNotNull(astar.solve(start, target));
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testGrid() {
+		SyntheticGraph synthetic = new SyntheticGraph(SyntheticGraphType.GRID, 100, 123);
+		CGraph graph = synthetic.getGraph();
+		assertEquals(100, graph.getPointCount());
+		assertEquals(180, graph.getSegmentCount());
+		assertAdmissible(synthetic);
+		assertConnectedRandomPoints(synthetic);
+	}
+
+	/**
+	 */
+	public void testRandomGeometric() {
+		SyntheticGraph synthetic = new SyntheticGraph(SyntheticGraphType.RANDOM_GEOMETRIC, 500, 123);
+		CGraph graph = synthetic.getGraph();
+		assertEquals(500, graph.getPointCount());
+		assertTrue(graph.getSegmentCount()>0);
+		assertAdmissible(synthetic);
+		assertConnectedRandomPoints(synthetic);
+	}
+
+	/**
+	 */
+	public void testSeed() {
+		SyntheticGraph g1 = new SyntheticGraph(SyntheticGraphType.RANDOM_GEOMETRIC, 200, 42);
+		SyntheticGraph g2 = new SyntheticGraph(SyntheticGraphType.RANDOM_GEOMETRIC, 200, 42);
+		assertEquals(g1.getGraph().getSegmentCount(), g2.getGraph().getSegmentCount());
+		Random r1 = new Random(5);
+		Random r2 = new Random(5);
+		for(int i=0; i<10; ++i) {
+			assertEquals(
+					g1.getRandomPoint(r1).getIndex(),
+					g2.getRandomPoint(r2).getIndex());
+		}
+	}
+
+}
@@ -20,6 +20,8 @@
  */
 package org.arakhne.afc.math.geometry;
 
+import java.util.Arrays;
+
 import org.arakhne.afc.math.MathConstants;//TODO Faire les JUNIT
 import org.arakhne.afc.math.MathUtil;
 import org.arakhne.afc.math.geometry2d.continuous.Point2f;
@@ -41,6 +43,11 @@ import org.arakhne.afc.math.geometry3d.continuous.Point3f;
  */
 public final class ClassifierUtil implements MathConstants{
 
+	/** Threshold on the absolute value of the cosine of the angle between
+	 * two axis above which the axis are considered as parallel.
+	 */
+	private static final float PARALLEL_AXIS_COSINE = 1f - 1e-6f;
+
 	private ClassifierUtil() {
 		//
 	}
@@ -469,6 +476,142 @@ public final class ClassifierUtil implements MathConstants{
 		
 	}
 
+	/**
+	 * Classifies a 2D axis-aligned rectangle against each of the given
+	 * 2D axis-aligned rectangles.
+	 * <p>
+	 * The rectangles are given as a structure of arrays: the <var>count</var>
+	 * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+	 * the <var>count</var> upper X coordinates, and the <var>count</var>
+	 * upper Y coordinates.
+	 * <p>
+	 * The classification of each rectangle is the same as
+	 * {@link #classifiesAlignedRectangles(float, float, float, float, float, float, float, float)}.
+	 * The rectangles that are outside are rejected without branch,
+	 * before the other rectangles are classified. The indexes of the
+	 * other rectangles are written in <var>candidates</var>, so that
+	 * no array is allocated by this function.
+	 *
+	 * @param lx1 the X coordinate of the lowest point of the first rectangle.
+	 * @param ly1 the Y coordinate of the lowest point of the first rectangle.
+	 * @param ux1 the X coordinate of the uppermost point of the first rectangle.
+	 * @param uy1 the Y coordinate of the uppermost point of the first rectangle.
+	 * @param rectangles are the coordinates of the second rectangles.
+	 * @param count is the number of second rectangles.
+	 * @param types is the array to fill with the classification of the first
+	 * rectangle against each second rectangle. Its length must be at least <var>count</var>.
+	 * @param candidates is the array to fill with the indexes of the second rectangles
+	 * that are not outside, in increasing order. Its length must be at least <var>count</var>.
+	 * @return the number of classifications that are not {@link IntersectionType#OUTSIDE},
+	 * ie. the number of indexes written in <var>candidates</var>.
+	 * @since 12.0
+	 */
+	public static int classifiesAlignedRectangles(float lx1, float ly1, float ux1, float uy1,
+			float[] rectangles, int count, IntersectionType[] types, int[] candidates) {
+		assert(lx1<=ux1);
+		assert(ly1<=uy1);
+		assert(rectangles.length>=4*count);
+		assert(types.length>=count);
+		assert(candidates.length>=count);
+		
+		// Compact the indexes of the rectangles that are not outside
+		int nb = 0;
+		boolean outside;
+		for(int i=0; i<count; ++i) {
+			outside = isOutside(lx1, ux1, rectangles[i], rectangles[2*count+i])
+					| isOutside(ly1, uy1, rectangles[count+i], rectangles[3*count+i]);
+			candidates[nb] = i;
+			nb += outside ? 0 : 1;
+		}
+		
+		Arrays.fill(types, 0, count, IntersectionType.OUTSIDE);
+		int j;
+		for(int k=0; k<nb; ++k) {
+			j = candidates[k];
+			types[j] = classifiesAlignedRectangles(
+					lx1, ly1, ux1, uy1,
+					rectangles[j], rectangles[count+j],
+					rectangles[2*count+j], rectangles[3*count+j]);
+		}
+		return nb;
+	}
+
+	/**
+	 * Classifies a 3D axis-aligned box against each of the given
+	 * 3D axis-aligned boxes.
+	 * <p>
+	 * The boxes are given as a structure of arrays: the <var>count</var>
+	 * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+	 * the <var>count</var> lower Z coordinates, the <var>count</var>
+	 * upper X coordinates, the <var>count</var> upper Y coordinates,
+	 * and the <var>count</var> upper Z coordinates.
+	 * <p>
+	 * The classification of each box is the same as
+	 * {@link #classifiesAlignedBoxes(float, float, float, float, float, float, float, float, float, float, float, float)}.
+	 * The boxes that are outside are rejected without branch,
+	 * before the other boxes are classified. The indexes of the
+	 * other boxes are written in <var>candidates</var>, so that
+	 * no array is allocated by this function.
+	 *
+	 * @param lower1x is the X coordinate of the lowest point of the first box.
+	 * @param lower1y is the Y coordinate of the lowest point of the first box.
+	 * @param lower1z is the Z coordinate of the lowest point of the first box.
+	 * @param upper1x is the X coordinate of the uppermost point of the first box.
+	 * @param upper1y is the Y coordinate of the uppermost point of the first box.
+	 * @param upper1z is the Z coordinate of the uppermost point of the first box.
+	 * @param boxes are the coordinates of the second boxes.
+	 * @param count is the number of second boxes.
+	 * @param types is the array to fill with the classification of the first
+	 * box against each second box. Its length must be at least <var>count</var>.
+	 * @param candidates is the array to fill with the indexes of the second boxes
+	 * that are not outside, in increasing order. Its length must be at least <var>count</var>.
+	 * @return the number of classifications that are not {@link IntersectionType#OUTSIDE},
+	 * ie. the number of indexes written in <var>candidates</var>.
+	 * @since 12.0
+	 */
+	public static int classifiesAlignedBoxes(
+			float lower1x, float lower1y, float lower1z,
+			float upper1x, float upper1y, float upper1z,
+			float[] boxes, int count, IntersectionType[] types, int[] candidates) {
+		assert(lower1x<=upper1x);
+		assert(lower1y<=upper1y);
+		assert(lower1z<=upper1z);
+		assert(boxes.length>=6*count);
+		assert(types.length>=count);
+		assert(candidates.length>=count);
+		
+		// Compact the indexes of the boxes that are not outside
+		int nb = 0;
+		boolean outside;
+		for(int i=0; i<count; ++i) {
+			outside = isOutside(lower1x, upper1x, boxes[i], boxes[3*count+i])
+					| isOutside(lower1y, upper1y, boxes[count+i], boxes[4*count+i])
+					| isOutside(lower1z, upper1z, boxes[2*count+i], boxes[5*count+i]);
+			candidates[nb] = i;
+			nb += outside ? 0 : 1;
+		}
+		
+		Arrays.fill(types, 0, count, IntersectionType.OUTSIDE);
+		int j;
+		for(int k=0; k<nb; ++k) {
+			j = candidates[k];
+			types[j] = classifiesAlignedBoxes(
+					lower1x, lower1y, lower1z,
+					upper1x, upper1y, upper1z,
+					boxes[j], boxes[count+j], boxes[2*count+j],
+					boxes[3*count+j], boxes[4*count+j], boxes[5*count+j]);
+		}
+		return nb;
+	}
+	
+	/** Replies if the interval [l1;u1] is outside the interval [l2;u2],
+	 * as classified by {@link #classifiesAlignedBoxes(float, float, float, float, float, float, float, float, float, float, float, float)},
+	 * with non-short-circuit operators.
+	 */
+	private static boolean isOutside(float l1, float u1, float l2, float u2) {
+		return (l1<l2 & u1<=l2) | (l1>l2 & u2<=l1);
+	}
+
 	/**
 	 * Classifies two 2D minimum bounding rectangles.
 	 * <p>
@@ -746,6 +889,26 @@ public final class ClassifierUtil implements MathConstants{
 		return (type==null) ? t : IntersectionType.and(type, t);
 	}
 
+	/**
+	 * Classifies the OBB's axis that is the cross product of an axis of
+	 * the first OBB and an axis of the second OBB.
+	 * When the two axis are parallel, the cross product is a null vector
+	 * which cannot separate the OBBs; and the rounding errors on its
+	 * projections must not be interpreted as a separation.
+	 * 
+	 * @param absR is the absolute value of the dot product of the two axis.
+	 * @param tl is {@code |T.L|}
+	 * @param ra is the size of the projection of the first OBB on L
+	 * @param rb is the size of the projection of the second OBB on L
+	 * @param type is the intersection type previously detected for the other axis.
+	 * @return the type of intersection
+	 * @see #classifiesOrientedBoxAxis(float, float, float, IntersectionType)
+	 */
+	private static IntersectionType classifiesOrientedBoxCrossAxis(float absR, float tl, float ra, float rb, IntersectionType type) {
+		if (absR>=PARALLEL_AXIS_COSINE) return type;
+		return classifiesOrientedBoxAxis(tl, ra, rb, type);
+	}
+
 	/**
 	 * Classifies two oriented boxes.
 	 * <p>
@@ -865,7 +1028,7 @@ public final class ClassifierUtil implements MathConstants{
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		ra = box1ExtentAxis2;
-		rb = box2ExtentAxis1*absR_2_1+ box2ExtentAxis2*absR_2_2 + box2ExtentAxis3*absR_3_3;
+		rb = box2ExtentAxis1*absR_2_1+ box2ExtentAxis2*absR_2_2 + box2ExtentAxis3*absR_2_3;
 		t = Math.abs(ty);
 		type = classifiesOrientedBoxAxis(t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
@@ -895,76 +1058,70 @@ public final class ClassifierUtil implements MathConstants{
 		type = classifiesOrientedBoxAxis(t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
-		//9 cross products
+		//9 cross products; the cross product of two parallel
+		//axis is not a candidate for the separating axis.
 
 		//L = A0 x B0
-		ra = box1ExtentAxis1*absR_3_1 + box1ExtentAxis3*absR_2_1;
-		rb = box1ExtentAxis3*absR_1_3 + box1ExtentAxis3*absR_1_2;
-		t = Math.abs( tz*R_2_1 - ty*R_3_1 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
-		if (type==IntersectionType.OUTSIDE) return type;
-		
-		
 		ra = box1ExtentAxis2*absR_3_1 + box1ExtentAxis3*absR_2_1;
-		rb = box1ExtentAxis3*absR_1_3 + box1ExtentAxis3*absR_1_2;
+		rb = box2ExtentAxis2*absR_1_3 + box2ExtentAxis3*absR_1_2;
 		t = Math.abs( tz*R_2_1 - ty*R_3_1 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_1_1, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A0 x B1
 		ra = box1ExtentAxis2*absR_3_2 + box1ExtentAxis3*absR_2_2;
-		rb = box1ExtentAxis3*absR_1_3 + box1ExtentAxis3*absR_1_1;
+		rb = box2ExtentAxis1*absR_1_3 + box2ExtentAxis3*absR_1_1;
 		t = Math.abs( tz*R_2_2 - ty*R_3_2 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_1_2, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A0 x B2
 		ra = box1ExtentAxis2*absR_3_3 + box1ExtentAxis3*absR_2_3;
-		rb = box1ExtentAxis3*absR_1_2 + box1ExtentAxis3*absR_1_1;
+		rb = box2ExtentAxis1*absR_1_2 + box2ExtentAxis2*absR_1_1;
 		t = Math.abs( tz*R_2_3 - ty*R_3_3 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_1_3, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A1 x B0
 		ra = box1ExtentAxis1*absR_3_1 + box1ExtentAxis3*absR_1_1;
-		rb = box1ExtentAxis3*absR_2_3 + box1ExtentAxis3*absR_2_2;
+		rb = box2ExtentAxis2*absR_2_3 + box2ExtentAxis3*absR_2_2;
 		t = Math.abs( tx*R_3_1 - tz*R_1_1 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_2_1, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A1 x B1
 		ra = box1ExtentAxis1*absR_3_2 + box1ExtentAxis3*absR_1_2;
-		rb = box1ExtentAxis3*absR_2_3 + box1ExtentAxis3*absR_2_1;
+		rb = box2ExtentAxis1*absR_2_3 + box2ExtentAxis3*absR_2_1;
 		t = Math.abs( tx*R_3_2 - tz*R_1_2 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_2_2, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A1 x B2
 		ra = box1ExtentAxis1*absR_3_3 + box1ExtentAxis3*absR_1_3;
-		rb = box1ExtentAxis3*absR_2_2 + box1ExtentAxis3*absR_2_1;
+		rb = box2ExtentAxis1*absR_2_2 + box2ExtentAxis2*absR_2_1;
 		t = Math.abs( tx*R_3_3 - tz*R_1_3 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_2_3, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A2 x B0
 		ra = box1ExtentAxis1*absR_2_1 + box1ExtentAxis2*absR_1_1;
-		rb = box1ExtentAxis3*absR_3_3 + box1ExtentAxis3*absR_3_2;
+		rb = box2ExtentAxis2*absR_3_3 + box2ExtentAxis3*absR_3_2;
 		t = Math.abs( ty*R_1_1 - tx*R_2_1 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_3_1, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 
 		//L = A2 x B1
 		ra = box1ExtentAxis1*absR_2_2 + box1ExtentAxis2*absR_1_2;
-		rb = box1ExtentAxis3*absR_3_3 + box1ExtentAxis3*absR_3_1;
+		rb = box2ExtentAxis1*absR_3_3 + box2ExtentAxis3*absR_3_1;
 		t = Math.abs( ty*R_1_2 - tx*R_2_2 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_3_2, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 		
 		//L = A2 x B2
 		ra = box1ExtentAxis1*absR_2_3 + box1ExtentAxis2*absR_1_3;
-		rb = box1ExtentAxis3*absR_3_2 + box1ExtentAxis3*absR_3_1;
+		rb = box2ExtentAxis1*absR_3_2 + box2ExtentAxis2*absR_3_1;
 		t = Math.abs( ty*R_1_3 - tx*R_2_3 );
-		type = classifiesOrientedBoxAxis(t, ra, rb, type);
+		type = classifiesOrientedBoxCrossAxis(absR_3_3, t, ra, rb, type);
 		if (type==IntersectionType.OUTSIDE) return type;
 	
 		/*no separating axis found, the two boxes overlap */
@@ -331,6 +331,108 @@ public final class IntersectionUtil implements MathConstants{//TODO faire les JU
 		return ( dmin <= r2 );
     } 
 
+    /** Replies if the specified sphere intersects each of the given
+     * axis-aligned boxes.
+     * <p>
+     * The boxes are given as a structure of arrays: the <var>count</var>
+     * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+     * the <var>count</var> lower Z coordinates, the <var>count</var>
+     * upper X coordinates, the <var>count</var> upper Y coordinates,
+     * and the <var>count</var> upper Z coordinates.
+     * The bit <code>i%64</code> of <code>hits[i/64]</code>
+     * is set if the box at index <code>i</code> is intersecting the
+     * sphere, and unset otherwise.
+     * <p>
+     * The test of each box is the same as
+     * {@link #intersectsSolidSphereSolidAlignedBox(float, float, float, float, float, float, float, float, float, float)},
+     * without branch in the loop.
+     * 
+     * @param sphereCenterx is the X coordinate of the sphere center.
+     * @param sphereCentery is the Y coordinate of the sphere center.
+     * @param sphereCenterz is the Z coordinate of the sphere center.
+     * @param radius is the radius of the sphere.
+     * @param boxes are the coordinates of the boxes to test.
+     * @param count is the number of boxes to test.
+     * @param hits is the bitset to fill. Its length must be at least <code>(count+63)/64</code>.
+     * @return the number of boxes intersecting the sphere.
+     * @since 12.0
+     */
+    public static int intersectsSolidSphereSolidAlignedBox(float sphereCenterx, float sphereCentery, float sphereCenterz, float radius,
+    													   float[] boxes, int count, long[] hits) {
+    	assert(boxes.length>=6*count);
+    	assert(hits.length>=(count+63)/64);
+    	
+    	float r2 = radius*radius;
+    	int nb = 0;
+    	int i = 0;
+    	int end;
+    	long word;
+    	float a, dmin;
+    	for(int w=0; i<count; ++w) {
+    		end = Math.min(count, i+64);
+    		word = 0L;
+    		for(int bit=0; i<end; ++i, ++bit) {
+    			// At most one of the two terms is not zero because lower<=upper
+    			a = Math.max(boxes[i] - sphereCenterx, 0f) + Math.max(sphereCenterx - boxes[3*count+i], 0f);
+    			dmin = a * a;
+    			a = Math.max(boxes[count+i] - sphereCentery, 0f) + Math.max(sphereCentery - boxes[4*count+i], 0f);
+    			dmin += a * a;
+    			a = Math.max(boxes[2*count+i] - sphereCenterz, 0f) + Math.max(sphereCenterz - boxes[5*count+i], 0f);
+    			dmin += a * a;
+    			word |= (dmin <= r2 ? 1L : 0L) << bit;
+    		}
+    		hits[w] = word;
+    		nb += Long.bitCount(word);
+    	}
+    	return nb;
+    }
+
+    /** Replies if the specified sphere intersects each of the given
+     * axis-aligned boxes, and replies the indexes of the intersecting boxes.
+     * <p>
+     * The boxes are given as a structure of arrays: the <var>count</var>
+     * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+     * the <var>count</var> lower Z coordinates, the <var>count</var>
+     * upper X coordinates, the <var>count</var> upper Y coordinates,
+     * and the <var>count</var> upper Z coordinates.
+     * <p>
+     * The test of each box is the same as
+     * {@link #intersectsSolidSphereSolidAlignedBox(float, float, float, float, float, float, float, float, float, float)},
+     * without branch in the loop.
+     * 
+     * @param sphereCenterx is the X coordinate of the sphere center.
+     * @param sphereCentery is the Y coordinate of the sphere center.
+     * @param sphereCenterz is the Z coordinate of the sphere center.
+     * @param radius is the radius of the sphere.
+     * @param boxes are the coordinates of the boxes to test.
+     * @param count is the number of boxes to test.
+     * @param hits is the array to fill with the indexes of the intersecting
+     * boxes, in increasing order. Its length must be at least <var>count</var>.
+     * @return the number of indexes written in <var>hits</var>.
+     * @since 12.0
+     */
+    public static int intersectsSolidSphereSolidAlignedBox(float sphereCenterx, float sphereCentery, float sphereCenterz, float radius,
+    													   float[] boxes, int count, int[] hits) {
+    	assert(boxes.length>=6*count);
+    	assert(hits.length>=count);
+    	
+    	float r2 = radius*radius;
+    	int nb = 0;
+    	float a, dmin;
+    	for(int i=0; i<count; ++i) {
+    		// At most one of the two terms is not zero because lower<=upper
+    		a = Math.max(boxes[i] - sphereCenterx, 0f) + Math.max(sphereCenterx - boxes[3*count+i], 0f);
+    		dmin = a * a;
+    		a = Math.max(boxes[count+i] - sphereCentery, 0f) + Math.max(sphereCentery - boxes[4*count+i], 0f);
+    		dmin += a * a;
+    		a = Math.max(boxes[2*count+i] - sphereCenterz, 0f) + Math.max(sphereCenterz - boxes[5*count+i], 0f);
+    		dmin += a * a;
+    		hits[nb] = i;
+    		nb += (dmin <= r2) ? 1 : 0;
+    	}
+    	return nb;
+    }
+
     /** Replies if the specified rectangle intersects the specified circle.
      * <p>
      * A Simple Method for Box-Sphere Intersection Testing by Jim Arvo
@@ -1102,6 +1204,214 @@ public final class IntersectionUtil implements MathConstants{//TODO faire les JU
     	return intersects;
     }
     
+    /**
+     * Tests if a 2D axis-aligned rectangle is intersecting each of the given
+     * 2D axis-aligned rectangles.
+     * <p>
+     * The rectangles are given as a structure of arrays: the <var>count</var>
+     * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+     * the <var>count</var> upper X coordinates, and the <var>count</var>
+     * upper Y coordinates. The bit <code>i%64</code> of <code>hits[i/64]</code>
+     * is set if the rectangle at index <code>i</code> is intersecting the
+     * first rectangle, and unset otherwise.
+     * <p>
+     * The test of each rectangle is the same as
+     * {@link #intersectsAlignedRectangles(float, float, float, float, float, float, float, float)},
+     * without branch in the loop.
+     *
+     * @param lx1 the X coordinate of the lowest point of the first rectangle.
+     * @param ly1 the Y coordinate of the lowest point of the first rectangle.
+     * @param ux1 the X coordinate of the uppermost point of the first rectangle.
+     * @param uy1 the Y coordinate of the uppermost point of the first rectangle.
+     * @param rectangles are the coordinates of the rectangles to test.
+     * @param count is the number of rectangles to test.
+     * @param hits is the bitset to fill. Its length must be at least <code>(count+63)/64</code>.
+     * @return the number of rectangles intersecting the first rectangle.
+     * @since 12.0
+     */
+    public static int intersectsAlignedRectangles(float lx1, float ly1, float ux1, float uy1,
+    											  float[] rectangles, int count, long[] hits) {
+    	assert(lx1<=ux1);
+    	assert(ly1<=uy1);
+    	assert(rectangles.length>=4*count);
+    	assert(hits.length>=(count+63)/64);
+    	
+    	int nb = 0;
+    	int i = 0;
+    	int end;
+    	long word;
+    	boolean intersects;
+    	for(int w=0; i<count; ++w) {
+    		end = Math.min(count, i+64);
+    		word = 0L;
+    		for(int bit=0; i<end; ++i, ++bit) {
+    			intersects = overlaps(lx1, ux1, rectangles[i], rectangles[2*count+i])
+    					& overlaps(ly1, uy1, rectangles[count+i], rectangles[3*count+i]);
+    			word |= (intersects ? 1L : 0L) << bit;
+    		}
+    		hits[w] = word;
+    		nb += Long.bitCount(word);
+    	}
+    	return nb;
+    }
+
+    /**
+     * Tests if a 2D axis-aligned rectangle is intersecting each of the given
+     * 2D axis-aligned rectangles, and replies the indexes of the intersecting
+     * rectangles.
+     * <p>
+     * The rectangles are given as a structure of arrays: the <var>count</var>
+     * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+     * the <var>count</var> upper X coordinates, and the <var>count</var>
+     * upper Y coordinates.
+     * <p>
+     * The test of each rectangle is the same as
+     * {@link #intersectsAlignedRectangles(float, float, float, float, float, float, float, float)},
+     * without branch in the loop.
+     *
+     * @param lx1 the X coordinate of the lowest point of the first rectangle.
+     * @param ly1 the Y coordinate of the lowest point of the first rectangle.
+     * @param ux1 the X coordinate of the uppermost point of the first rectangle.
+     * @param uy1 the Y coordinate of the uppermost point of the first rectangle.
+     * @param rectangles are the coordinates of the rectangles to test.
+     * @param count is the number of rectangles to test.
+     * @param hits is the array to fill with the indexes of the intersecting
+     * rectangles, in increasing order. Its length must be at least <var>count</var>.
+     * @return the number of indexes written in <var>hits</var>.
+     * @since 12.0
+     */
+    public static int intersectsAlignedRectangles(float lx1, float ly1, float ux1, float uy1,
+    											  float[] rectangles, int count, int[] hits) {
+    	assert(lx1<=ux1);
+    	assert(ly1<=uy1);
+    	assert(rectangles.length>=4*count);
+    	assert(hits.length>=count);
+    	
+    	int nb = 0;
+    	boolean intersects;
+    	for(int i=0; i<count; ++i) {
+    		intersects = overlaps(lx1, ux1, rectangles[i], rectangles[2*count+i])
+    				& overlaps(ly1, uy1, rectangles[count+i], rectangles[3*count+i]);
+    		hits[nb] = i;
+    		nb += intersects ? 1 : 0;
+    	}
+    	return nb;
+    }
+
+    /**
+     * Tests if a 3D axis-aligned box is intersecting each of the given
+     * 3D axis-aligned boxes.
+     * <p>
+     * The boxes are given as a structure of arrays: the <var>count</var>
+     * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+     * the <var>count</var> lower Z coordinates, the <var>count</var>
+     * upper X coordinates, the <var>count</var> upper Y coordinates,
+     * and the <var>count</var> upper Z coordinates.
+     * The bit <code>i%64</code> of <code>hits[i/64]</code>
+     * is set if the box at index <code>i</code> is intersecting the
+     * first box, and unset otherwise.
+     * <p>
+     * The test of each box is the same as
+     * {@link #intersectsAlignedBoxes(float, float, float, float, float, float, float, float, float, float, float, float)},
+     * without branch in the loop.
+     *
+     * @param lower1x is the X coordinate of the lowest point of the first box.
+     * @param lower1y is the Y coordinate of the lowest point of the first box.
+     * @param lower1z is the Z coordinate of the lowest point of the first box.
+     * @param upper1x is the X coordinate of the uppermost point of the first box.
+     * @param upper1y is the Y coordinate of the uppermost point of the first box.
+     * @param upper1z is the Z coordinate of the uppermost point of the first box.
+     * @param boxes are the coordinates of the boxes to test.
+     * @param count is the number of boxes to test.
+     * @param hits is the bitset to fill. Its length must be at least <code>(count+63)/64</code>.
+     * @return the number of boxes intersecting the first box.
+     * @since 12.0
+     */
+    public static int intersectsAlignedBoxes(float lower1x, float lower1y, float lower1z, float upper1x, float upper1y, float upper1z,
+    										 float[] boxes, int count, long[] hits) {
+    	assert(lower1x<=upper1x);
+    	assert(lower1y<=upper1y);
+    	assert(lower1z<=upper1z);
+    	assert(boxes.length>=6*count);
+    	assert(hits.length>=(count+63)/64);
+    	
+    	int nb = 0;
+    	int i = 0;
+    	int end;
+    	long word;
+    	boolean intersects;
+    	for(int w=0; i<count; ++w) {
+    		end = Math.min(count, i+64);
+    		word = 0L;
+    		for(int bit=0; i<end; ++i, ++bit) {
+    			intersects = overlaps(lower1x, upper1x, boxes[i], boxes[3*count+i])
+    					& overlaps(lower1y, upper1y, boxes[count+i], boxes[4*count+i])
+    					& overlaps(lower1z, upper1z, boxes[2*count+i], boxes[5*count+i]);
+    			word |= (intersects ? 1L : 0L) << bit;
+    		}
+    		hits[w] = word;
+    		nb += Long.bitCount(word);
+    	}
+    	return nb;
+    }
+
+    /**
+     * Tests if a 3D axis-aligned box is intersecting each of the given
+     * 3D axis-aligned boxes, and replies the indexes of the intersecting
+     * boxes.
+     * <p>
+     * The boxes are given as a structure of arrays: the <var>count</var>
+     * lower X coordinates, followed by the <var>count</var> lower Y coordinates,
+     * the <var>count</var> lower Z coordinates, the <var>count</var>
+     * upper X coordinates, the <var>count</var> upper Y coordinates,
+     * and the <var>count</var> upper Z coordinates.
+     * <p>
+     * The test of each box is the same as
+     * {@link #intersectsAlignedBoxes(float, float, float, float, float, float, float, float, float, float, float, float)},
+     * without branch in the loop.
+     *
+     * @param lower1x is the X coordinate of the lowest point of the first box.
+     * @param lower1y is the Y coordinate of the lowest point of the first box.
+     * @param lower1z is the Z coordinate of the lowest point of the first box.
+     * @param upper1x is the X coordinate of the uppermost point of the first box.
+     * @param upper1y is the Y coordinate of the uppermost point of the first box.
+     * @param upper1z is the Z coordinate of the uppermost point of the first box.
+     * @param boxes are the coordinates of the boxes to test.
+     * @param count is the number of boxes to test.
+     * @param hits is the array to fill with the indexes of the intersecting
+     * boxes, in increasing order. Its length must be at least <var>count</var>.
+     * @return the number of indexes written in <var>hits</var>.
+     * @since 12.0
+     */
+    public static int intersectsAlignedBoxes(float lower1x, float lower1y, float lower1z, float upper1x, float upper1y, float upper1z,
+    										 float[] boxes, int count, int[] hits) {
+    	assert(lower1x<=upper1x);
+    	assert(lower1y<=upper1y);
+    	assert(lower1z<=upper1z);
+    	assert(boxes.length>=6*count);
+    	assert(hits.length>=count);
+    	
+    	int nb = 0;
+    	boolean intersects;
+    	for(int i=0; i<count; ++i) {
+    		intersects = overlaps(lower1x, upper1x, boxes[i], boxes[3*count+i])
+    				& overlaps(lower1y, upper1y, boxes[count+i], boxes[4*count+i])
+    				& overlaps(lower1z, upper1z, boxes[2*count+i], boxes[5*count+i]);
+    		hits[nb] = i;
+    		nb += intersects ? 1 : 0;
+    	}
+    	return nb;
+    }
+    
+    /** Replies if the interval [l1;u1] is overlapping the interval [l2;u2],
+     * as tested by {@link #intersectsAlignedBoxes(float, float, float, float, float, float, float, float, float, float, float, float)},
+     * with non-short-circuit operators.
+     */
+    private static boolean overlaps(float l1, float u1, float l2, float u2) {
+    	boolean before = l1<l2;
+    	return (before & u1>l2) | (!before & u2>l1);
+    }
+
     /** Replies if the specified box intersects the specified sphere.
      *
      * @param sphereCenter are the coordinates of the sphere center.
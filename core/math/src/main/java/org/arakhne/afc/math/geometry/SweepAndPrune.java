@@ -0,0 +1,751 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (C) 2005-09 Stephane GALLAND.
+ * Copyright (C) 2012 Stephane GALLAND.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry3d.continuous.AxisAlignedBox;
+import org.arakhne.afc.math.geometry3d.continuous.Point3f;
+
+
+/** Broad phase that detects the overlapping pairs of many
+ * axis-aligned boxes or rectangles with the "sweep and prune" algorithm.
+ * <p>
+ * The lower and upper bounds of the objects are kept sorted along each
+ * axis. On each {@link #update()}, the sorted lists are updated with
+ * an insertion sort: because the objects move a little between two
+ * updates, the lists are almost sorted, and the update cost is
+ * near-linear in the number of objects. Each time a lower bound and an
+ * upper bound of two objects are swapped, the two objects start or stop
+ * to overlap along the axis, and the pair is added or removed.
+ * The changes of the overlapping pairs are notified to the
+ * {@link SweepAndPruneListener listeners}.
+ * <p>
+ * When many objects are added at once, the lists are rebuilt from scratch
+ * instead of being updated.
+ * <p>
+ * Two objects are overlapping when their intervals on each axis are
+ * overlapping by a non-empty amount: touching objects are not overlapping.
+ * <p>
+ * The objects are identified by the handles replied by the <code>add</code>
+ * functions. The changes of the bounds are taken into account by the next
+ * invocation of {@link #update()}. This class is not thread-safe,
+ * and the listeners must not change the broad phase.
+ *
+ * @param <T> is the type of the objects.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class SweepAndPrune<T> {
+
+	private static final byte FREE = 0;
+	private static final byte ADDING = 1;
+	private static final byte INSERTED = 2;
+	private static final byte REMOVING = 3;
+	
+	private final int dimension;
+	
+	private List<SweepAndPruneListener<? super T>> listeners = null;
+	
+	/** Objects indexed by their handles.
+	 */
+	private Object[] objects = new Object[16];
+	
+	/** State of each handle.
+	 */
+	private byte[] states = new byte[16];
+	
+	/** Lower bounds, followed by the upper bounds, of each handle.
+	 */
+	private float[] bounds;
+	
+	/** Free handles that are lower than {@link #handleCount}.
+	 */
+	private int[] freeHandles = new int[16];
+	private int freeHandleCount = 0;
+	private int handleCount = 0;
+	
+	/** Handles of the objects to insert in the sorted lists.
+	 */
+	private int[] addedHandles = new int[16];
+	private int addedCount = 0;
+	private int removedCount = 0;
+	private int size = 0;
+	
+	/** Sorted bounds along each axis. A bound is coded by
+	 * <code>handle*2</code> for an upper bound, and <code>handle*2+1</code>
+	 * for a lower bound.
+	 */
+	private final int[][] endpoints;
+	
+	/** Coordinates of the sorted bounds along each axis.
+	 */
+	private final float[][] values;
+	
+	private int endpointCount = 0;
+	
+	private PairSet pairs = new PairSet(16);
+	
+	private transient Point3f tmpLower = null;
+	private transient Point3f tmpUpper = null;
+
+	/** Create a broad phase for 3D boxes.
+	 */
+	public SweepAndPrune() {
+		this(3);
+	}
+	
+	/**
+	 * @param dimension is the number of axes of the bounds: <code>2</code>
+	 * for rectangles, or <code>3</code> for boxes.
+	 */
+	public SweepAndPrune(int dimension) {
+		assert(dimension>=1 && dimension<=3);
+		this.dimension = dimension;
+		this.bounds = new float[16*2*dimension];
+		this.endpoints = new int[dimension][32];
+		this.values = new float[dimension][32];
+	}
+	
+	/** Replies the number of axes of the bounds.
+	 * 
+	 * @return the dimension of the broad phase.
+	 */
+	public int getDimension() {
+		return this.dimension;
+	}
+	
+	/** Add listener on the changes of the overlapping pairs.
+	 * 
+	 * @param listener
+	 */
+	public void addSweepAndPruneListener(SweepAndPruneListener<? super T> listener) {
+		if (this.listeners==null) {
+			this.listeners = new ArrayList<SweepAndPruneListener<? super T>>();
+		}
+		this.listeners.add(listener);
+	}
+	
+	/** Remove listener on the changes of the overlapping pairs.
+	 * 
+	 * @param listener
+	 */
+	public void removeSweepAndPruneListener(SweepAndPruneListener<? super T> listener) {
+		if (this.listeners!=null) {
+			this.listeners.remove(listener);
+			if (this.listeners.isEmpty()) this.listeners = null;
+		}
+	}
+	
+	/** Replies the number of objects, including the objects that
+	 * were added or removed since the last update.
+	 * 
+	 * @return the number of objects.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/** Replies the object with the given handle.
+	 * 
+	 * @param handle
+	 * @return the object, or <code>null</code> if the handle is unused.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int handle) {
+		if (handle<0 || handle>=this.handleCount || this.states[handle]==FREE
+			|| this.states[handle]==REMOVING) return null;
+		return (T)this.objects[handle];
+	}
+
+	/** Add an object with the given bounds.
+	 * The object is inserted in the sorted lists by the next {@link #update()}.
+	 * 
+	 * @param object
+	 * @param bounds are the lower coordinates on each axis, followed by
+	 * the upper coordinates on each axis.
+	 * @return the handle of the object.
+	 */
+	public int add(T object, float... bounds) {
+		int handle;
+		if (this.freeHandleCount>0) {
+			handle = this.freeHandles[--this.freeHandleCount];
+		}
+		else {
+			handle = this.handleCount++;
+			ensureHandleCapacity(this.handleCount);
+		}
+		this.objects[handle] = object;
+		this.states[handle] = ADDING;
+		setBounds(handle, bounds);
+		if (this.addedCount==this.addedHandles.length) {
+			this.addedHandles = Arrays.copyOf(this.addedHandles, this.addedCount*2);
+		}
+		this.addedHandles[this.addedCount++] = handle;
+		++this.size;
+		return handle;
+	}
+
+	/** Add an object with the given bounds.
+	 * The object is inserted in the sorted lists by the next {@link #update()}.
+	 * 
+	 * @param object
+	 * @param bounds must be a rectangle if the dimension is <code>2</code>.
+	 * @return the handle of the object.
+	 */
+	public int add(T object, Rectangle2f bounds) {
+		assert(this.dimension==2);
+		return add(object,
+				bounds.getMinX(), bounds.getMinY(),
+				bounds.getMaxX(), bounds.getMaxY());
+	}
+
+	/** Add an object with the given bounds.
+	 * The object is inserted in the sorted lists by the next {@link #update()}.
+	 * 
+	 * @param object
+	 * @param bounds must be a box if the dimension is <code>3</code>.
+	 * @return the handle of the object.
+	 */
+	public int add(T object, AxisAlignedBox bounds) {
+		int handle = add(object, new float[2*this.dimension]);
+		setBounds(handle, bounds);
+		return handle;
+	}
+
+	/** Change the bounds of an object.
+	 * The change is taken into account by the next {@link #update()}.
+	 * 
+	 * @param handle is the handle of the object.
+	 * @param bounds are the lower coordinates on each axis, followed by
+	 * the upper coordinates on each axis.
+	 */
+	public void setBounds(int handle, float... bounds) {
+		assert(get(handle)!=null || this.states[handle]==ADDING);
+		assert(bounds.length==2*this.dimension);
+		System.arraycopy(bounds, 0, this.bounds, handle*2*this.dimension, 2*this.dimension);
+	}
+
+	/** Change the bounds of an object.
+	 * The change is taken into account by the next {@link #update()}.
+	 * 
+	 * @param handle is the handle of the object.
+	 * @param bounds must be a rectangle if the dimension is <code>2</code>.
+	 */
+	public void setBounds(int handle, Rectangle2f bounds) {
+		assert(this.dimension==2);
+		int index = handle * 4;
+		this.bounds[index] = bounds.getMinX();
+		this.bounds[index+1] = bounds.getMinY();
+		this.bounds[index+2] = bounds.getMaxX();
+		this.bounds[index+3] = bounds.getMaxY();
+	}
+
+	/** Change the bounds of an object.
+	 * The change is taken into account by the next {@link #update()}.
+	 * 
+	 * @param handle is the handle of the object.
+	 * @param bounds must be a box if the dimension is <code>3</code>.
+	 */
+	public void setBounds(int handle, AxisAlignedBox bounds) {
+		assert(this.dimension==3);
+		if (this.tmpLower==null) {
+			this.tmpLower = new Point3f();
+			this.tmpUpper = new Point3f();
+		}
+		bounds.getLower(this.tmpLower);
+		bounds.getUpper(this.tmpUpper);
+		int index = handle * 6;
+		this.bounds[index] = this.tmpLower.getX();
+		this.bounds[index+1] = this.tmpLower.getY();
+		this.bounds[index+2] = this.tmpLower.getZ();
+		this.bounds[index+3] = this.tmpUpper.getX();
+		this.bounds[index+4] = this.tmpUpper.getY();
+		this.bounds[index+5] = this.tmpUpper.getZ();
+	}
+	
+	/** Remove an object.
+	 * The pairs of the object are removed by the next {@link #update()}.
+	 * 
+	 * @param handle is the handle of the object.
+	 * @return the removed object, or <code>null</code> if the handle is unused.
+	 */
+	public T remove(int handle) {
+		T object = get(handle);
+		if (object!=null || (handle>=0 && handle<this.handleCount && this.states[handle]==ADDING)) {
+			--this.size;
+			if (this.states[handle]==ADDING) {
+				for(int i=0; i<this.addedCount; ++i) {
+					if (this.addedHandles[i]==handle) {
+						this.addedHandles[i] = this.addedHandles[--this.addedCount];
+						break;
+					}
+				}
+				freeHandle(handle);
+			}
+			else {
+				this.states[handle] = REMOVING;
+				++this.removedCount;
+			}
+		}
+		return object;
+	}
+	
+	/** Replies the number of overlapping pairs since the last update.
+	 * 
+	 * @return the number of overlapping pairs.
+	 */
+	public int getOverlappingPairCount() {
+		return this.pairs.size;
+	}
+	
+	/** Replies if the two objects were overlapping at the last update.
+	 * 
+	 * @param handle1
+	 * @param handle2
+	 * @return <code>true</code> if the objects are overlapping,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean areOverlapping(int handle1, int handle2) {
+		return this.pairs.contains(pair(handle1, handle2));
+	}
+
+	/** Update the sorted lists and the overlapping pairs
+	 * according to the added objects, the removed objects,
+	 * and the changed bounds.
+	 */
+	public void update() {
+		if (this.removedCount>0) {
+			removePendingObjects();
+		}
+		
+		int insertedCount = this.endpointCount / 2;
+		// The insertion of k objects costs O(k.n) swaps,
+		// to compare to the O(n.log(n)) of the sorting.
+		if (this.addedCount>0
+			&& this.addedCount>32-Integer.numberOfLeadingZeros(insertedCount)) {
+			rebuild();
+			return;
+		}
+		
+		// Update the coordinates of the sorted bounds
+		int d = this.dimension;
+		int[] codes;
+		float[] coords;
+		int code;
+		for(int axis=0; axis<d; ++axis) {
+			codes = this.endpoints[axis];
+			coords = this.values[axis];
+			for(int i=0; i<this.endpointCount; ++i) {
+				code = codes[i];
+				coords[i] = this.bounds[(code>>1)*2*d + axis + ((code&1)!=0 ? 0 : d)];
+			}
+		}
+		
+		// Append the bounds of the added objects;
+		// they will be moved by the insertion sort.
+		if (this.addedCount>0) {
+			ensureEndpointCapacity(this.endpointCount + 2*this.addedCount);
+			int handle, index;
+			for(int i=0; i<this.addedCount; ++i) {
+				handle = this.addedHandles[i];
+				this.states[handle] = INSERTED;
+				index = handle*2*d;
+				for(int axis=0; axis<d; ++axis) {
+					this.endpoints[axis][this.endpointCount] = handle*2+1;
+					this.values[axis][this.endpointCount] = this.bounds[index+axis];
+					this.endpoints[axis][this.endpointCount+1] = handle*2;
+					this.values[axis][this.endpointCount+1] = this.bounds[index+d+axis];
+				}
+				this.endpointCount += 2;
+			}
+			this.addedCount = 0;
+		}
+		
+		for(int axis=0; axis<d; ++axis) {
+			sortAxis(this.endpoints[axis], this.values[axis]);
+		}
+	}
+	
+	/** Sort the bounds along an axis with an insertion sort,
+	 * and update the pairs when a lower and an upper bounds are swapped.
+	 */
+	private void sortAxis(int[] codes, float[] coords) {
+		int key, other, i;
+		float value;
+		for(int j=1; j<this.endpointCount; ++j) {
+			key = codes[j];
+			value = coords[j];
+			i = j - 1;
+			while (i>=0 && isAfter(coords[i], codes[i], value, key)) {
+				other = codes[i];
+				if ((key&1)!=(other&1) && (key>>1)!=(other>>1)) {
+					if ((key&1)!=0) {
+						// The lower bound of the key is now before the upper bound of the other
+						beginOverlap(key>>1, other>>1);
+					}
+					else {
+						// The upper bound of the key is now before the lower bound of the other
+						endOverlap(key>>1, other>>1);
+					}
+				}
+				codes[i+1] = other;
+				coords[i+1] = coords[i];
+				--i;
+			}
+			codes[i+1] = key;
+			coords[i+1] = value;
+		}
+	}
+	
+	/** Replies if the first bound must be after the second bound.
+	 * The upper bounds are before the lower bounds at the same
+	 * coordinate, so that touching objects are not overlapping.
+	 */
+	private static boolean isAfter(float value1, int code1, float value2, int code2) {
+		return value1>value2 || (value1==value2 && (code1&1)!=0 && (code2&1)==0);
+	}
+	
+	private void beginOverlap(int handle1, int handle2) {
+		if (overlaps(handle1, handle2) && this.pairs.add(pair(handle1, handle2))) {
+			firePairAdded(handle1, handle2);
+		}
+	}
+
+	private void endOverlap(int handle1, int handle2) {
+		if (this.pairs.remove(pair(handle1, handle2))) {
+			firePairRemoved(handle1, handle2);
+		}
+	}
+	
+	private boolean overlaps(int handle1, int handle2) {
+		int d = this.dimension;
+		int index1 = handle1*2*d;
+		int index2 = handle2*2*d;
+		float[] b = this.bounds;
+		for(int axis=0; axis<d; ++axis) {
+			if (b[index1+axis]>=b[index2+d+axis] || b[index2+axis]>=b[index1+d+axis]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static long pair(int handle1, int handle2) {
+		if (handle1<handle2) return ((long)handle1<<32) | handle2;
+		return ((long)handle2<<32) | handle1;
+	}
+	
+	/** Sort the bounds from scratch, and compute the pairs by sweeping
+	 * along the first axis.
+	 */
+	private void rebuild() {
+		int d = this.dimension;
+		for(int i=0; i<this.addedCount; ++i) {
+			this.states[this.addedHandles[i]] = INSERTED;
+		}
+		this.addedCount = 0;
+		int n = 0;
+		for(int handle=0; handle<this.handleCount; ++handle) {
+			if (this.states[handle]==INSERTED) n += 2;
+		}
+		ensureEndpointCapacity(n);
+		this.endpointCount = n;
+		
+		long[] keys = new long[n];
+		int k, index, low;
+		for(int axis=0; axis<d; ++axis) {
+			k = 0;
+			for(int handle=0; handle<this.handleCount; ++handle) {
+				if (this.states[handle]==INSERTED) {
+					index = handle*2*d;
+					keys[k++] = sortKey(this.bounds[index+axis], handle, true);
+					keys[k++] = sortKey(this.bounds[index+d+axis], handle, false);
+				}
+			}
+			Arrays.sort(keys);
+			for(int i=0; i<n; ++i) {
+				low = (int)keys[i];
+				index = ((low & 0x7FFFFFFF)*2) | (low>>>31);
+				this.endpoints[axis][i] = index;
+				this.values[axis][i] = this.bounds[(index>>1)*2*d + axis + ((index&1)!=0 ? 0 : d)];
+			}
+		}
+		
+		// Sweep along the first axis
+		PairSet newPairs = new PairSet(Math.max(16, this.pairs.size*2));
+		int[] active = new int[n/2];
+		int[] positions = new int[this.handleCount];
+		Arrays.fill(positions, -1);
+		int activeCount = 0;
+		int code, handle, last;
+		int[] codes = this.endpoints[0];
+		for(int i=0; i<n; ++i) {
+			code = codes[i];
+			handle = code>>1;
+			if ((code&1)!=0) {
+				for(int j=0; j<activeCount; ++j) {
+					if (overlaps(handle, active[j])) {
+						newPairs.add(pair(handle, active[j]));
+					}
+				}
+				// An interval of null length, which upper bound was already
+				// passed, is not overlapping the next lower bounds.
+				if (positions[handle]==-1) {
+					positions[handle] = activeCount;
+					active[activeCount++] = handle;
+				}
+			}
+			else if (positions[handle]>=0) {
+				last = active[--activeCount];
+				active[positions[handle]] = last;
+				positions[last] = positions[handle];
+				positions[handle] = -2;
+			}
+			else {
+				positions[handle] = -2;
+			}
+		}
+		
+		PairSet oldPairs = this.pairs;
+		this.pairs = newPairs;
+		long key;
+		for(int i=0; i<oldPairs.table.length; ++i) {
+			key = oldPairs.table[i];
+			if (key!=PairSet.EMPTY && !newPairs.contains(key)) {
+				firePairRemoved((int)(key>>>32), (int)key);
+			}
+		}
+		for(int i=0; i<newPairs.table.length; ++i) {
+			key = newPairs.table[i];
+			if (key!=PairSet.EMPTY && !oldPairs.contains(key)) {
+				firePairAdded((int)(key>>>32), (int)key);
+			}
+		}
+	}
+	
+	/** Replies a key that sorts the bounds by coordinate, with the
+	 * upper bounds before the lower bounds at the same coordinate.
+	 */
+	private static long sortKey(float value, int handle, boolean lower) {
+		// Adding zero replaces -0 by +0, which are equal for the insertion sort
+		int bits = Float.floatToIntBits(value + 0f);
+		bits ^= (bits >> 31) & 0x7FFFFFFF;
+		return ((long)bits << 32) | (lower ? 0x80000000L : 0L) | handle;
+	}
+	
+	/** Remove the bounds and the pairs of the removed objects.
+	 */
+	private void removePendingObjects() {
+		int d = this.dimension;
+		int[] codes;
+		float[] coords;
+		int k;
+		for(int axis=0; axis<d; ++axis) {
+			codes = this.endpoints[axis];
+			coords = this.values[axis];
+			k = 0;
+			for(int i=0; i<this.endpointCount; ++i) {
+				if (this.states[codes[i]>>1]!=REMOVING) {
+					codes[k] = codes[i];
+					coords[k] = coords[i];
+					++k;
+				}
+			}
+		}
+		this.endpointCount -= 2*this.removedCount;
+		
+		if (this.pairs.size>0) {
+			long[] removedPairs = new long[16];
+			int removedPairCount = 0;
+			long key;
+			for(int i=0; i<this.pairs.table.length; ++i) {
+				key = this.pairs.table[i];
+				if (key!=PairSet.EMPTY
+					&& (this.states[(int)(key>>>32)]==REMOVING || this.states[(int)key]==REMOVING)) {
+					if (removedPairCount==removedPairs.length) {
+						removedPairs = Arrays.copyOf(removedPairs, removedPairCount*2);
+					}
+					removedPairs[removedPairCount++] = key;
+				}
+			}
+			for(int i=0; i<removedPairCount; ++i) {
+				key = removedPairs[i];
+				this.pairs.remove(key);
+				firePairRemoved((int)(key>>>32), (int)key);
+			}
+		}
+		
+		for(int handle=0; handle<this.handleCount; ++handle) {
+			if (this.states[handle]==REMOVING) {
+				freeHandle(handle);
+			}
+		}
+		this.removedCount = 0;
+	}
+	
+	private void freeHandle(int handle) {
+		this.objects[handle] = null;
+		this.states[handle] = FREE;
+		if (this.freeHandleCount==this.freeHandles.length) {
+			this.freeHandles = Arrays.copyOf(this.freeHandles, this.freeHandleCount*2);
+		}
+		this.freeHandles[this.freeHandleCount++] = handle;
+	}
+	
+	private void ensureHandleCapacity(int capacity) {
+		if (capacity>this.objects.length) {
+			int newCapacity = Math.max(capacity, this.objects.length*2);
+			this.objects = Arrays.copyOf(this.objects, newCapacity);
+			this.states = Arrays.copyOf(this.states, newCapacity);
+			this.bounds = Arrays.copyOf(this.bounds, newCapacity*2*this.dimension);
+		}
+	}
+
+	private void ensureEndpointCapacity(int capacity) {
+		if (capacity>this.endpoints[0].length) {
+			int newCapacity = Math.max(capacity, this.endpoints[0].length*2);
+			for(int axis=0; axis<this.dimension; ++axis) {
+				this.endpoints[axis] = Arrays.copyOf(this.endpoints[axis], newCapacity);
+				this.values[axis] = Arrays.copyOf(this.values[axis], newCapacity);
+			}
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void firePairAdded(int handle1, int handle2) {
+		if (this.listeners!=null) {
+			T object1 = (T)this.objects[handle1];
+			T object2 = (T)this.objects[handle2];
+			for(SweepAndPruneListener<? super T> listener : this.listeners) {
+				listener.overlappingPairAdded(object1, object2);
+			}
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void firePairRemoved(int handle1, int handle2) {
+		if (this.listeners!=null) {
+			T object1 = (T)this.objects[handle1];
+			T object2 = (T)this.objects[handle2];
+			for(SweepAndPruneListener<? super T> listener : this.listeners) {
+				listener.overlappingPairRemoved(object1, object2);
+			}
+		}
+	}
+	
+	/**
+	 * Set of pairs of handles, with open addressing.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class PairSet {
+		
+		/** Value of the empty slots. The pairs are never negative.
+		 */
+		public static final long EMPTY = -1L;
+		
+		public long[] table;
+		public int size = 0;
+		
+		/**
+		 * @param capacity is the minimal number of slots.
+		 */
+		public PairSet(int capacity) {
+			this.table = new long[Integer.highestOneBit(Math.max(capacity, 2)-1)<<1];
+			Arrays.fill(this.table, EMPTY);
+		}
+		
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int)(h ^ (h>>>32));
+		}
+		
+		private int indexOf(long key) {
+			int mask = this.table.length - 1;
+			int i = hash(key) & mask;
+			long k;
+			while ((k = this.table[i])!=EMPTY) {
+				if (k==key) return i;
+				i = (i+1) & mask;
+			}
+			return -1;
+		}
+		
+		public boolean contains(long key) {
+			return indexOf(key)>=0;
+		}
+		
+		public boolean add(long key) {
+			if (2*(this.size+1)>this.table.length) {
+				long[] old = this.table;
+				this.table = new long[old.length*2];
+				Arrays.fill(this.table, EMPTY);
+				this.size = 0;
+				for(long k : old) {
+					if (k!=EMPTY) add(k);
+				}
+			}
+			int mask = this.table.length - 1;
+			int i = hash(key) & mask;
+			long k;
+			while ((k = this.table[i])!=EMPTY) {
+				if (k==key) return false;
+				i = (i+1) & mask;
+			}
+			this.table[i] = key;
+			++this.size;
+			return true;
+		}
+		
+		public boolean remove(long key) {
+			int i = indexOf(key);
+			if (i<0) return false;
+			// Shift back the next keys of the cluster
+			int mask = this.table.length - 1;
+			int j = i;
+			int h;
+			long k;
+			while ((k = this.table[j = (j+1) & mask])!=EMPTY) {
+				h = hash(k) & mask;
+				if (i<=j ? (i<h && h<=j) : (i<h || h<=j)) continue;
+				this.table[i] = k;
+				i = j;
+			}
+			this.table[i] = EMPTY;
+			--this.size;
+			return true;
+		}
+		
+	} // class PairSet
+
+}
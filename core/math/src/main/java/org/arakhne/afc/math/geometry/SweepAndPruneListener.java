@@ -0,0 +1,51 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (C) 2005-09 Stephane GALLAND.
+ * Copyright (C) 2012 Stephane GALLAND.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.geometry;
+
+/** This interface is a listener invoked by a {@link SweepAndPrune}
+ * each time two objects start or stop to overlap.
+ * 
+ * @param <T> is the type of the objects.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public interface SweepAndPruneListener<T> {
+
+	/** Invoked when two objects start to overlap.
+	 * 
+	 * @param object1 is the first object of the pair.
+	 * @param object2 is the second object of the pair.
+	 */
+	public void overlappingPairAdded(T object1, T object2);
+	
+	/** Invoked when two objects stop to overlap,
+	 * or when one of them was removed.
+	 * 
+	 * @param object1 is the first object of the pair.
+	 * @param object2 is the second object of the pair.
+	 */
+	public void overlappingPairRemoved(T object1, T object2);
+
+}
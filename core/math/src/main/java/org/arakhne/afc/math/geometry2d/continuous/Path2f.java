@@ -22,9 +22,11 @@
 package org.arakhne.afc.math.geometry2d.continuous;
 
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.arakhne.afc.math.MathConstants;
@@ -51,6 +53,16 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 	 */
 	static final int GROW_SIZE = 24;
 	
+	/** Flattening cursors used by the hit tests of the paths
+	 * in each thread, to avoid any allocation.
+	 */
+	private static final ThreadLocal<HitTestCursor> HIT_TEST_CURSOR = new ThreadLocal<HitTestCursor>() {
+		@Override
+		protected HitTestCursor initialValue() {
+			return new HitTestCursor();
+		}
+	};
+	
 	/** Replies the point on the path that is closest to the given point.
 	 * <p>
 	 * <strong>CAUTION:</strong> This function works only on path iterators
@@ -154,9 +166,26 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 	 *         specified {@code PathIterator2f}; {@code false} otherwise
 	 */
 	public static boolean contains(PathIterator2f pi, float x, float y) {
+		return contains(new IteratorPathCursor(pi), new float[6], x, y);
+	}
+
+	/**
+	 * Tests if the specified coordinates are inside the closed
+	 * boundary of the path replied by the specified {@link PathCursor2f}.
+	 *
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param x the specified X coordinate
+	 * @param y the specified Y coordinate
+	 * @return {@code true} if the specified coordinates are inside the
+	 *         specified path; {@code false} otherwise
+	 * @since 12.0
+	 */
+	public static boolean contains(PathCursor2f cursor, float[] buffer, float x, float y) {
 		// Copied from the AWT API
-		int mask = (pi.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 1);
-		int cross = computeCrossingsFromPoint(pi, x, y, false, true);
+		int mask = (cursor.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 1);
+		int cross = computeCrossingsFromPoint(cursor, buffer, x, y, false, true);
 		return ((cross & mask) != 0);
 	}
 
@@ -177,14 +206,50 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 	 *         specified {@code PathIterator2f}; {@code false} otherwise.
 	 */
 	public static boolean contains(PathIterator2f pi, float rx, float ry, float rwidth, float rheight) {
-		// Copied from AWT API
+		return contains(new IteratorPathCursor(pi), new float[6], rx, ry, rwidth, rheight);
+	}
+
+	/**
+	 * Tests if the specified rectangle is inside the closed
+	 * boundary of the path replied by the specified {@link PathCursor2f}.
+	 *
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param rx the lowest corner of the rectangle.
+	 * @param ry the lowest corner of the rectangle.
+	 * @param rwidth is the width of the rectangle.
+	 * @param rheight is the width of the rectangle.
+	 * @return {@code true} if the specified rectangle is inside the
+	 *         specified path; {@code false} otherwise.
+	 * @since 12.0
+	 */
+	public static boolean contains(PathCursor2f cursor, float[] buffer, float rx, float ry, float rwidth, float rheight) {
 		if (rwidth <= 0 || rheight <= 0) {
 			return false;
 		}
-		int mask = (pi.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
+		return containsBounds(cursor, buffer, rx, ry, rx+rwidth, ry+rheight);
+	}
+
+	/** Tests if the given bounds are inside the closed boundary of the path
+	 * replied by the given cursor, without checking if the bounds are empty.
+	 * 
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements.
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @return {@code true} if the bounds are inside the path.
+	 */
+	private static boolean containsBounds(PathCursor2f cursor, float[] buffer,
+			float rxmin, float rymin, float rxmax, float rymax) {
+		// Copied from AWT API
+		int mask = (cursor.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
 		int crossings = computeCrossingsFromRect(
-				pi, 
-				rx, ry, rx+rwidth, ry+rheight,
+				cursor, buffer,
+				rxmin, rymin, rxmax, rymax,
 				false,
 				true);
 		return (crossings != MathConstants.SHAPE_INTERSECTS &&
@@ -223,11 +288,51 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 	 *         coordinates intersect each other; {@code false} otherwise.
 	 */
 	public static boolean intersects(PathIterator2f pi, float x, float y, float w, float h) {
+		return intersects(new IteratorPathCursor(pi), new float[6], x, y, w, h);
+	}
+
+	/**
+	 * Tests if the interior of the path replied by the specified
+	 * {@link PathCursor2f} intersects the interior of a specified
+	 * set of rectangular coordinates.
+	 *
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param x the specified X coordinate
+	 * @param y the specified Y coordinate
+	 * @param w the width of the specified rectangular coordinates
+	 * @param h the height of the specified rectangular coordinates
+	 * @return {@code true} if the specified path and
+	 *         the interior of the specified set of rectangular
+	 *         coordinates intersect each other; {@code false} otherwise.
+	 * @see #intersects(PathIterator2f, float, float, float, float)
+	 * @since 12.0
+	 */
+	public static boolean intersects(PathCursor2f cursor, float[] buffer, float x, float y, float w, float h) {
 		if (w <= 0f || h <= 0f) {
 			return false;
 		}
-		int mask = (pi.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
-		int crossings = computeCrossingsFromRect(pi, x, y, x+w, y+h, false, true);
+		return intersectsBounds(cursor, buffer, x, y, x+w, y+h);
+	}
+
+	/** Tests if the interior of the path replied by the given cursor
+	 * intersects the given bounds, without checking if the bounds are empty.
+	 * 
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements.
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @return {@code true} if the path and the bounds intersect.
+	 */
+	private static boolean intersectsBounds(PathCursor2f cursor, float[] buffer,
+			float rxmin, float rymin, float rxmax, float rymax) {
+		// Copied from AWT API
+		int mask = (cursor.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
+		int crossings = computeCrossingsFromRect(cursor, buffer, rxmin, rymin, rxmax, rymax, false, true);
 		return (crossings == MathConstants.SHAPE_INTERSECTS ||
 				(crossings & mask) != 0);
 	}
@@ -277,33 +382,66 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 			PathIterator2f pi,
 			float px, float py,
 			boolean closeable,
+			boolean onlyIntersectWhenOpen) {
+		return computeCrossingsFromPoint(
+				new IteratorPathCursor(pi), new float[6],
+				px, py,
+				closeable, onlyIntersectWhenOpen);
+	}
+
+	/**
+	 * Calculates the number of times the given path
+	 * crosses the ray extending to the right from (px,py).
+	 * If the point lies on a part of the path,
+	 * then no crossings are counted for that intersection.
+	 * +1 is added for each crossing where the Y coordinate is increasing
+	 * -1 is added for each crossing where the Y coordinate is decreasing
+	 * The return value is the sum of all crossings for every segment in
+	 * the path.
+	 * The path must start with a MOVE_TO, otherwise an exception is
+	 * thrown.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param px is the reference point to test.
+	 * @param py is the reference point to test.
+	 * @param closeable indicates if the shape is automatically closed or not.
+	 * @param onlyIntersectWhenOpen indicates if the crossings is set to 0 when
+	 * the path is open and there is not SHAPE_INTERSECT.
+	 * @return the crossing
+	 * @since 12.0
+	 */
+	public static int computeCrossingsFromPoint(
+			PathCursor2f cursor,
+			float[] buffer,
+			float px, float py,
+			boolean closeable,
 			boolean onlyIntersectWhenOpen) {	
 		// Copied from the AWT API
-		if (!pi.hasNext()) return 0;
-		PathElement2f element;
-
-		element = pi.next();
-		if (element.type != PathElementType.MOVE_TO) {
+		if (!cursor.hasNext()) return 0;
+		PathElementType type = cursor.next(buffer);
+		if (type != PathElementType.MOVE_TO) {
 			throw new IllegalArgumentException("missing initial moveto in path definition"); //$NON-NLS-1$
 		}
 
 		Path2f subPath;
-		float movx = element.toX;
-		float movy = element.toY;
+		float movx = buffer[0];
+		float movy = buffer[1];
 		float curx = movx;
 		float cury = movy;
 		float endx, endy;
 		int r, crossings = 0;
-		while (pi.hasNext()) {
-			element = pi.next();
-			switch (element.type) {
+		while (cursor.hasNext()) {
+			type = cursor.next(buffer);
+			switch (type) {
 			case MOVE_TO:
-				movx = curx = element.toX;
-				movy = cury = element.toY;
+				movx = curx = buffer[0];
+				movy = cury = buffer[1];
 				break;
 			case LINE_TO:
-				endx = element.toX;
-				endy = element.toY;
+				endx = buffer[0];
+				endy = buffer[1];
 				if (endx==px && endy==py)
 					return MathConstants.SHAPE_INTERSECTS;
 				crossings += Segment2f.computeCrossingsFromPoint(
@@ -314,17 +452,18 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 				cury = endy;
 				break;
 			case QUAD_TO:
-				endx = element.toX;
-				endy = element.toY;
+				endx = buffer[2];
+				endy = buffer[3];
 				if (endx==px && endy==py)
 					return MathConstants.SHAPE_INTERSECTS;
 				subPath = new Path2f();
 				subPath.moveTo(curx, cury);
 				subPath.quadTo(
-						element.ctrlX1, element.ctrlY1,
+						buffer[0], buffer[1],
 						endx, endy);
 				r = computeCrossingsFromPoint(
-						subPath.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						subPath.getPathCursor(null, MathConstants.SPLINE_APPROXIMATION_RATIO),
+						buffer,
 						px, py,
 						false,
 						false);
@@ -335,18 +474,19 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 				cury = endy;
 				break;
 			case CURVE_TO:
-				endx = element.toX;
-				endy = element.toY;
+				endx = buffer[4];
+				endy = buffer[5];
 				if (endx==px || endy==py)
 					return MathConstants.SHAPE_INTERSECTS;
 				subPath = new Path2f();
 				subPath.moveTo(curx, cury);
 				subPath.curveTo(
-						element.ctrlX1, element.ctrlY1,
-						element.ctrlX2, element.ctrlY2,
+						buffer[0], buffer[1],
+						buffer[2], buffer[3],
 						endx, endy);
 				r = computeCrossingsFromPoint(
-						subPath.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						subPath.getPathCursor(null, MathConstants.SPLINE_APPROXIMATION_RATIO),
+						buffer,
 						px, py,
 						false,
 						false);
@@ -900,36 +1040,73 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 			float rxmax, float rymax,
 			boolean closeable,
 			boolean onlyIntersectWhenOpen) {
+		return computeCrossingsFromRect(
+				new IteratorPathCursor(pi), new float[6],
+				rxmin, rymin, rxmax, rymax,
+				closeable, onlyIntersectWhenOpen);
+	}
+
+	/**
+	 * Accumulate the number of times the path crosses the shadow
+	 * extending to the right of the rectangle.  See the comment
+	 * for the SHAPE_INTERSECTS constant for more complete details.
+	 * The return value is the sum of all crossings for both the
+	 * top and bottom of the shadow for every segment in the path,
+	 * or the special value SHAPE_INTERSECTS if the path ever enters
+	 * the interior of the rectangle.
+	 * The path must start with a SEG_MOVETO, otherwise an exception is
+	 * thrown.
+	 * The caller must check r[xy]{min,max} for NaN values.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @param closeable indicates if the shape is automatically closed or not.
+	 * @param onlyIntersectWhenOpen indicates if the crossings is set to 0 when
+	 * the path is open and there is not SHAPE_INTERSECT.
+	 * @return the crossings.
+	 * @since 12.0
+	 */
+	public static int computeCrossingsFromRect(PathCursor2f cursor,
+			float[] buffer,
+			float rxmin, float rymin,
+			float rxmax, float rymax,
+			boolean closeable,
+			boolean onlyIntersectWhenOpen) {
 		// Copied from AWT API
 		if (rxmax <= rxmin || rymax <= rymin) return 0;
-		if (!pi.hasNext()) return 0;
+		if (!cursor.hasNext()) return 0;
 
-		PathElement2f pathElement = pi.next();
+		PathElementType type = cursor.next(buffer);
 
-		if (pathElement.type != PathElementType.MOVE_TO) {
+		if (type != PathElementType.MOVE_TO) {
 			throw new IllegalArgumentException("missing initial moveto in path definition"); //$NON-NLS-1$
 		}
 
 		Path2f subPath;
 		float curx, cury, movx, movy, endx, endy;
-		curx = movx = pathElement.toX;
-		cury = movy = pathElement.toY;
+		curx = movx = buffer[0];
+		cury = movy = buffer[1];
 		int crossings = 0;
 		int n;
 
 		while (crossings != MathConstants.SHAPE_INTERSECTS
-				&& pi.hasNext()) {
-			pathElement = pi.next();
-			switch (pathElement.type) {
+				&& cursor.hasNext()) {
+			type = cursor.next(buffer);
+			switch (type) {
 			case MOVE_TO:
 				// Count should always be a multiple of 2 here.
 				// assert((crossings & 1) != 0);
-				movx = curx = pathElement.toX;
-				movy = cury = pathElement.toY;
+				movx = curx = buffer[0];
+				movy = cury = buffer[1];
 				break;
 			case LINE_TO:
-				endx = pathElement.toX;
-				endy = pathElement.toY;
+				endx = buffer[0];
+				endy = buffer[1];
 				crossings = Segment2f.computeCrossingsFromRect(crossings,
 						rxmin, rymin,
 						rxmax, rymax,
@@ -941,15 +1118,16 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 				cury = endy;
 				break;
 			case QUAD_TO:
-				endx = pathElement.toX;
-				endy = pathElement.toY;
+				endx = buffer[2];
+				endy = buffer[3];
 				subPath = new Path2f();
 				subPath.moveTo(curx, cury);
 				subPath.quadTo(
-						pathElement.ctrlX1, pathElement.ctrlY1,
+						buffer[0], buffer[1],
 						endx, endy);
 				n = computeCrossingsFromRect(
-						subPath.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						subPath.getPathCursor(null, MathConstants.SPLINE_APPROXIMATION_RATIO),
+						buffer,
 						rxmin, rymin,
 						rxmax, rymax,
 						false,
@@ -961,16 +1139,17 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 				cury = endy;
 				break;
 			case CURVE_TO:
-				endx = pathElement.toX;
-				endy = pathElement.toY;
+				endx = buffer[4];
+				endy = buffer[5];
 				subPath = new Path2f();
 				subPath.moveTo(curx, cury);
 				subPath.curveTo(
-						pathElement.ctrlX1, pathElement.ctrlY1,
-						pathElement.ctrlX2, pathElement.ctrlY2,
+						buffer[0], buffer[1],
+						buffer[2], buffer[3],
 						endx, endy);
 				n = computeCrossingsFromRect(
-						subPath.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						subPath.getPathCursor(null, MathConstants.SPLINE_APPROXIMATION_RATIO),
+						buffer,
 						rxmin, rymin,
 						rxmax, rymax,
 						false,
@@ -1328,7 +1507,7 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 
 	@Override
 	public PathIterator2f getPathIterator(float flatness) {
-		return new FlatteningPathIterator(getWindingRule(), getPathIterator(null), flatness, 10);
+		return new FlatteningPathIterator(getPathCursor(null), flatness, 10);
 	}
 
 	/** Replies an iterator on the path elements.
@@ -1355,7 +1534,7 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 	 * @return an iterator on the path elements.
 	 */
 	public PathIterator2f getPathIterator(Transform2D transform, float flatness) {
-		return new FlatteningPathIterator(getWindingRule(), getPathIterator(transform), flatness, 10);
+		return new FlatteningPathIterator(getPathCursor(transform), flatness, 10);
 	}
 
 	/** {@inheritDoc}
@@ -1368,6 +1547,65 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 		return new TransformPathIterator(transform);
 	}
 
+	/** Replies a cursor on the path elements.
+	 * <p>
+	 * Contrary to the iterators, the cursor does not create an
+	 * object for each element of the path. It may be reused
+	 * by invoking {@link PathCursor2f#reset()}.
+	 * <p>
+	 * The cursor for this class is not multi-threaded safe.
+	 *
+	 * @param transform is an optional affine Transform2D to be applied to the
+	 * coordinates as they are returned in the iteration, or <code>null</code> if 
+	 * untransformed coordinates are desired.
+	 * @return a cursor on the path elements.
+	 * @since 12.0
+	 */
+	public PathCursor2f getPathCursor(Transform2D transform) {
+		return new CopyPathCursor(this, transform);
+	}
+
+	/** Replies a cursor on the path elements.
+	 * <p>
+	 * Only {@link PathElementType#MOVE_TO},
+	 * {@link PathElementType#LINE_TO}, and 
+	 * {@link PathElementType#CLOSE} types are returned by the cursor.
+	 * <p>
+	 * Contrary to the iterators, the cursor does not create an
+	 * object for each element of the path. It may be reused
+	 * by invoking {@link PathCursor2f#reset()}.
+	 * <p>
+	 * The cursor for this class is not multi-threaded safe.
+	 *
+	 * @param transform is an optional affine Transform2D to be applied to the
+	 * coordinates as they are returned in the iteration, or <code>null</code> if 
+	 * untransformed coordinates are desired.
+	 * @param flatness is the maximum distance that the line segments used to approximate
+	 * the curved segments are allowed to deviate from any point on the original curve.
+	 * @return a cursor on the path elements.
+	 * @see #getPathIterator(Transform2D, float)
+	 * @since 12.0
+	 */
+	public PathCursor2f getPathCursor(Transform2D transform, float flatness) {
+		return new FlatteningPathCursor(new CopyPathCursor(this, transform), flatness, 10);
+	}
+
+	/** Replies the flattening cursor that is dedicated to the
+	 * hit tests on this path in the current thread.
+	 * The cursor must be released by the caller.
+	 * 
+	 * @return the cursor.
+	 */
+	private HitTestCursor acquireHitTestCursor() {
+		HitTestCursor cursor = HIT_TEST_CURSOR.get();
+		if (cursor.isUsed()) {
+			// Nested hit test in the same thread
+			cursor = new HitTestCursor();
+		}
+		cursor.bind(this);
+		return cursor;
+	}
+
 	/** Transform the current path.
 	 * This function changes the current path.
 	 * 
@@ -1471,26 +1709,41 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 
 	@Override
 	public boolean contains(float x, float y) {
-		return contains(getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO), x, y);
+		HitTestCursor cursor = acquireHitTestCursor();
+		try {
+			return contains(cursor, cursor.buffer, x, y);
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
 	public boolean contains(Rectangle2f r) {
-		return contains(getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-				r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+		if (r.getWidth() <= 0 || r.getHeight() <= 0) {
+			return false;
+		}
+		HitTestCursor cursor = acquireHitTestCursor();
+		try {
+			return containsBounds(cursor, cursor.buffer,
+					r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
 	public boolean intersects(Rectangle2f s) {
-		// Copied from AWT API
 		if (s.isEmpty()) return false;
-		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2);
-		int crossings = computeCrossingsFromRect(
-				getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-				s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY(),
-				false, true);
-		return (crossings == MathConstants.SHAPE_INTERSECTS ||
-				(crossings & mask) != 0);
+		HitTestCursor cursor = acquireHitTestCursor();
+		try {
+			return intersectsBounds(cursor, cursor.buffer,
+					s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY());
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
@@ -1533,13 +1786,19 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 	@Override
 	public boolean intersects(Path2f s) {
 		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2);
-		int crossings = computeCrossingsFromPath(
-				s.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
-				new PathShadow2f(this),
-				false,
-				true);
-		return (crossings == MathConstants.SHAPE_INTERSECTS ||
-				(crossings & mask) != 0);
+		HitTestCursor cursor = s.acquireHitTestCursor();
+		try {
+			int crossings = computeCrossingsFromPath(
+					cursor, cursor.buffer,
+					new PathShadow2f(this),
+					false,
+					true);
+			return (crossings == MathConstants.SHAPE_INTERSECTS ||
+					(crossings & mask) != 0);
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
@@ -1579,34 +1838,69 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 			PathShadow2f shadow,
 			boolean closeable,
 			boolean onlyIntersectWhenOpen) {
-		if (!iterator1.hasNext()) return 0;
+		return computeCrossingsFromPath(
+				new IteratorPathCursor(iterator1), new float[6],
+				shadow,
+				closeable, onlyIntersectWhenOpen);
+	}
 
-		PathElement2f pathElement1 = iterator1.next();
+	/**
+	 * Accumulate the number of times the path crosses the shadow
+	 * extending to the right of the second path.  See the comment
+	 * for the SHAPE_INTERSECTS constant for more complete details.
+	 * The return value is the sum of all crossings for both the
+	 * top and bottom of the shadow for every segment in the path,
+	 * or the special value SHAPE_INTERSECTS if the path ever enters
+	 * the interior of the rectangle.
+	 * The path must start with a SEG_MOVETO, otherwise an exception is
+	 * thrown.
+	 * The caller must check r[xy]{min,max} for NaN values.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param shadow is the description of the shape to project to the right.
+	 * @param closeable indicates if the shape is automatically closed or not.
+	 * @param onlyIntersectWhenOpen indicates if the crossings is set to 0 when
+	 * the path is open and there is not SHAPE_INTERSECT.
+	 * @return the crossings.
+	 * @since 12.0
+	 * @see "Weiler–Atherton clipping algorithm"
+	 */
+	public static int computeCrossingsFromPath(
+			PathCursor2f cursor,
+			float[] buffer,
+			PathShadow2f shadow,
+			boolean closeable,
+			boolean onlyIntersectWhenOpen) {
+		if (!cursor.hasNext()) return 0;
 
-		if (pathElement1.type != PathElementType.MOVE_TO) {
+		PathElementType type = cursor.next(buffer);
+
+		if (type != PathElementType.MOVE_TO) {
 			throw new IllegalArgumentException("missing initial moveto in the first path definition"); //$NON-NLS-1$
 		}
 
 		Path2f subPath;
 		float curx, cury, movx, movy, endx, endy;
-		curx = movx = pathElement1.toX;
-		cury = movy = pathElement1.toY;
+		curx = movx = buffer[0];
+		cury = movy = buffer[1];
 		int crossings = 0;
 		int n;
 
 		while (crossings != MathConstants.SHAPE_INTERSECTS
-				&& iterator1.hasNext()) {
-			pathElement1 = iterator1.next();
-			switch (pathElement1.type) {
+				&& cursor.hasNext()) {
+			type = cursor.next(buffer);
+			switch (type) {
 			case MOVE_TO:
 				// Count should always be a multiple of 2 here.
 				// assert((crossings & 1) != 0);
-				movx = curx = pathElement1.toX;
-				movy = cury = pathElement1.toY;
+				movx = curx = buffer[0];
+				movy = cury = buffer[1];
 				break;
 			case LINE_TO:
-				endx = pathElement1.toX;
-				endy = pathElement1.toY;
+				endx = buffer[0];
+				endy = buffer[1];
 				crossings = shadow.computeCrossings(crossings,
 						curx, cury,
 						endx, endy);
@@ -1616,15 +1910,16 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 				cury = endy;
 				break;
 			case QUAD_TO:
-				endx = pathElement1.toX;
-				endy = pathElement1.toY;
+				endx = buffer[2];
+				endy = buffer[3];
 				subPath = new Path2f();
 				subPath.moveTo(curx, cury);
 				subPath.quadTo(
-						pathElement1.ctrlX1, pathElement1.ctrlY1,
+						buffer[0], buffer[1],
 						endx, endy);
 				n = computeCrossingsFromPath(
-						subPath.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						subPath.getPathCursor(null, MathConstants.SPLINE_APPROXIMATION_RATIO),
+						buffer,
 						shadow,
 						false,
 						false);
@@ -1635,16 +1930,17 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 				cury = endy;
 				break;
 			case CURVE_TO:
-				endx = pathElement1.toX;
-				endy = pathElement1.toY;
+				endx = buffer[4];
+				endy = buffer[5];
 				subPath = new Path2f();
 				subPath.moveTo(curx, cury);
 				subPath.curveTo(
-						pathElement1.ctrlX1, pathElement1.ctrlY1,
-						pathElement1.ctrlX2, pathElement1.ctrlY2,
+						buffer[0], buffer[1],
+						buffer[2], buffer[3],
 						endx, endy);
 				n = computeCrossingsFromPath(
-						subPath.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
+						subPath.getPathCursor(null, MathConstants.SPLINE_APPROXIMATION_RATIO),
+						buffer,
 						shadow,
 						false,
 						false);
@@ -2491,23 +2787,129 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 
 	}  // class TransformPathIterator
 
-	/** A path iterator that is flattening the path.
-	 * This iterator was copied from AWT FlatteningPathIterator.
+	/** A path cursor that reads the elements of a path.
+	 * This cursor may be bound to another path.
 	 *
 	 * @author $Author: galland$
 	 * @version $FullVersion$
 	 * @mavengroupid $GroupId$
 	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
 	 */
-	private static class FlatteningPathIterator implements PathIterator2f {
+	private static class CopyPathCursor implements PathCursor2f {
+
+		private final Point2D tmp = new Point2f();
+		private Path2f path;
+		private Transform2D transform;
+		private int iType = 0;
+		private int iCoord = 0;
 
-		/** Winding rule of the path.
+		/**
 		 */
-		private final PathWindingRule windingRule;
+		public CopyPathCursor() {
+			//
+		}
 
-		/** The source iterator.
+		/**
+		 * @param path is the path to traverse.
+		 * @param transform is the transformation to apply to the coordinates, or <code>null</code>.
 		 */
-		private final PathIterator2f pathIterator;
+		public CopyPathCursor(Path2f path, Transform2D transform) {
+			set(path, transform);
+		}
+
+		/** Bind this cursor to the given path and move it before
+		 * the first element of the path.
+		 * 
+		 * @param path is the path to traverse, or <code>null</code>.
+		 * @param transform is the transformation to apply to the coordinates, or <code>null</code>.
+		 */
+		public void set(Path2f path, Transform2D transform) {
+			this.path = path;
+			this.transform = transform;
+			reset();
+		}
+
+		@Override
+		public void reset() {
+			this.iType = 0;
+			this.iCoord = 0;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.path!=null && this.iType<this.path.numTypes;
+		}
+
+		@Override
+		public PathElementType next(float[] coords) {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			PathElementType type = this.path.types[this.iType];
+			int count;
+			switch(type) {
+			case MOVE_TO:
+			case LINE_TO:
+				count = 2;
+				break;
+			case QUAD_TO:
+				count = 4;
+				break;
+			case CURVE_TO:
+				count = 6;
+				break;
+			case CLOSE:
+			default:
+				count = 0;
+			}
+			if (this.iCoord+count>this.path.numCoords) {
+				throw new NoSuchElementException();
+			}
+			if (this.transform==null) {
+				System.arraycopy(this.path.coords, this.iCoord, coords, 0, count);
+			}
+			else {
+				for(int i=0; i<count; i+=2) {
+					this.tmp.set(
+							this.path.coords[this.iCoord+i],
+							this.path.coords[this.iCoord+i+1]);
+					this.transform.transform(this.tmp);
+					coords[i] = this.tmp.getX();
+					coords[i+1] = this.tmp.getY();
+				}
+			}
+			this.iCoord += count;
+			++this.iType;
+			return type;
+		}
+
+		@Override
+		public PathWindingRule getWindingRule() {
+			return this.path==null ? PathWindingRule.NON_ZERO : this.path.getWindingRule();
+		}
+
+		@Override
+		public boolean isPolyline() {
+			return this.path==null || this.path.isPolyline();
+		}
+
+	} // class CopyPathCursor
+
+	/** A path cursor that is flattening the path.
+	 * This cursor was adapted from AWT FlatteningPathIterator.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class FlatteningPathCursor implements PathCursor2f {
+
+		/** The source cursor.
+		 */
+		private final PathCursor2f source;
 
 		/**
 		 * Square of the flatness parameter for testing against squared lengths.
@@ -2576,32 +2978,22 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 		 */
 		private PathElementType holdType;
 
-		/** The x of the last move segment replied by next.
-		 */
-		private float lastNextX;
-
-		/** The y of the last move segment replied by next.
-		 */
-		private float lastNextY;
-
 		/**
-		 * @param windingRule is the winding rule of the path.
-		 * @param pathIterator is the path iterator that may be used to initialize the path.
+		 * @param source is the cursor on the path to flatten.
 		 * @param flatness the maximum allowable distance between the
 		 * control points and the flattened curve
 		 * @param limit the maximum number of recursive subdivisions
 		 * allowed for any curved segment
 		 */
-		public FlatteningPathIterator(PathWindingRule windingRule, PathIterator2f pathIterator, float flatness, int limit) {
-			assert(windingRule!=null);
+		public FlatteningPathCursor(PathCursor2f source, float flatness, int limit) {
+			assert(source!=null);
 			assert(flatness>=0f);
 			assert(limit>=0);
-			this.windingRule = windingRule;
-			this.pathIterator = pathIterator;
+			this.source = source;
 			this.squaredFlatness = flatness * flatness;
 			this.limit = limit;
 			this.levels = new int[limit + 1];
-			searchNext();
+			reset();
 		}
 
 		/**
@@ -2814,13 +3206,11 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 			int level;
 
 			if (this.holdIndex >= this.holdEnd) {
-				if (!this.pathIterator.hasNext()) {
+				if (!this.source.hasNext()) {
 					this.done = true;
 					return;
 				}
-				PathElement2f pathElement = this.pathIterator.next();
-				this.holdType = pathElement.type;
-				pathElement.toArray(this.hold);
+				this.holdType = this.source.next(this.hold);
 				this.levelIndex = 0;
 				this.levels[0] = 0;
 			}
@@ -2947,37 +3337,243 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 		}
 
 		@Override
-		public PathElement2f next() {
+		public PathElementType next(float[] coords) {
 			if (this.done) {
 				throw new NoSuchElementException("flattening iterator out of bounds"); //$NON-NLS-1$
 			}
 
-			PathElement2f element;
 			PathElementType type = this.holdType;
 			if (type!=PathElementType.CLOSE) {
-				float x = this.hold[this.holdIndex + 0];
-				float y = this.hold[this.holdIndex + 1];
-				if (type == PathElementType.MOVE_TO) {
-					element = new PathElement2f.MovePathElement2f(x, y);
-				}
-				else {
-					element = new PathElement2f.LinePathElement2f(
-							this.lastNextX, this.lastNextY,
-							x, y);
+				coords[0] = this.hold[this.holdIndex + 0];
+				coords[1] = this.hold[this.holdIndex + 1];
+				if (type!=PathElementType.MOVE_TO) {
+					type = PathElementType.LINE_TO;
 				}
-				this.lastNextX = x;
-				this.lastNextY = y;
+			}
+
+			searchNext();
+
+			return type;
+		}
+
+		@Override
+		public void reset() {
+			this.source.reset();
+			this.holdIndex = 0;
+			this.holdEnd = 0;
+			this.levelIndex = 0;
+			this.currentX = 0f;
+			this.currentY = 0f;
+			this.moveX = 0f;
+			this.moveY = 0f;
+			this.done = false;
+			searchNext();
+		}
+
+		@Override
+		public PathWindingRule getWindingRule() {
+			return this.source.getWindingRule();
+		}
+		
+		@Override
+		public boolean isPolyline() {
+			return true; // Because the cursor flats the path, this is no curve inside.
+		}
+		
+	} // class FlatteningPathCursor
+
+	/** The flattening cursor that is used by the hit tests
+	 * of the paths in a thread.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class HitTestCursor extends FlatteningPathCursor {
+
+		/** Buffer that receives the coordinates of the path elements.
+		 */
+		public final float[] buffer = new float[6];
+		
+		private final CopyPathCursor pathCursor;
+		private boolean inUse = false;
+
+		/**
+		 */
+		public HitTestCursor() {
+			this(new CopyPathCursor());
+		}
+
+		private HitTestCursor(CopyPathCursor pathCursor) {
+			super(pathCursor, MathConstants.SPLINE_APPROXIMATION_RATIO, 10);
+			this.pathCursor = pathCursor;
+		}
+
+		/** Replies if this cursor is used by a hit test.
+		 * 
+		 * @return <code>true</code> if the cursor is used.
+		 */
+		public boolean isUsed() {
+			return this.inUse;
+		}
+
+		/** Bind this cursor to the given path.
+		 * 
+		 * @param path is the path to traverse.
+		 */
+		public void bind(Path2f path) {
+			this.inUse = true;
+			this.pathCursor.set(path, null);
+			reset();
+		}
+
+		/** Release this cursor.
+		 */
+		public void release() {
+			this.pathCursor.set(null, null);
+			this.inUse = false;
+		}
+
+	} // class HitTestCursor
+
+	/** A path cursor that is reading the elements replied by a path iterator.
+	 * The elements that were already replied by the iterator are kept,
+	 * so that the cursor may be {@link #reset() reset} without the source path.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class IteratorPathCursor implements PathCursor2f {
+
+		private final PathIterator2f iterator;
+		private final List<PathElement2f> elements = new ArrayList<PathElement2f>();
+		private int index = 0;
+
+		/**
+		 * @param iterator is the iterator to read.
+		 */
+		public IteratorPathCursor(PathIterator2f iterator) {
+			assert(iterator!=null);
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.index<this.elements.size() || this.iterator.hasNext();
+		}
+
+		@Override
+		public PathElementType next(float[] coords) {
+			PathElement2f element;
+			if (this.index<this.elements.size()) {
+				element = this.elements.get(this.index);
 			}
 			else {
+				element = this.iterator.next();
+				this.elements.add(element);
+			}
+			++this.index;
+			element.toArray(coords);
+			return element.type;
+		}
+
+		@Override
+		public void reset() {
+			this.index = 0;
+		}
+
+		@Override
+		public PathWindingRule getWindingRule() {
+			return this.iterator.getWindingRule();
+		}
+
+		@Override
+		public boolean isPolyline() {
+			return this.iterator.isPolyline();
+		}
+
+	} // class IteratorPathCursor
+
+	/** A path iterator that is flattening the path.
+	 * The elements are created from the coordinates
+	 * replied by a {@link FlatteningPathCursor}.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class FlatteningPathIterator implements PathIterator2f {
+
+		private final FlatteningPathCursor cursor;
+		private final float[] coords = new float[6];
+		
+		/** The x of the last move segment replied by next.
+		 */
+		private float lastNextX;
+
+		/** The y of the last move segment replied by next.
+		 */
+		private float lastNextY;
+
+		/** The x of the last move segment.
+		 */
+		private float moveX;
+
+		/** The y of the last move segment.
+		 */
+		private float moveY;
+
+		/**
+		 * @param source is the cursor on the path to flatten.
+		 * @param flatness the maximum allowable distance between the
+		 * control points and the flattened curve
+		 * @param limit the maximum number of recursive subdivisions
+		 * allowed for any curved segment
+		 */
+		public FlatteningPathIterator(PathCursor2f source, float flatness, int limit) {
+			this.cursor = new FlatteningPathCursor(source, flatness, limit);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.cursor.hasNext();
+		}
+
+		@Override
+		public PathElement2f next() {
+			if (!this.cursor.hasNext()) {
+				throw new NoSuchElementException("flattening iterator out of bounds"); //$NON-NLS-1$
+			}
+
+			PathElement2f element;
+			switch(this.cursor.next(this.coords)) {
+			case MOVE_TO:
+				element = new PathElement2f.MovePathElement2f(this.coords[0], this.coords[1]);
+				this.lastNextX = this.moveX = this.coords[0];
+				this.lastNextY = this.moveY = this.coords[1];
+				break;
+			case CLOSE:
 				element = new PathElement2f.ClosePathElement2f(
 						this.lastNextX, this.lastNextY,
 						this.moveX, this.moveY);
 				this.lastNextX = this.moveX;
 				this.lastNextY = this.moveY;
+				break;
+			case LINE_TO:
+			default:
+				element = new PathElement2f.LinePathElement2f(
+						this.lastNextX, this.lastNextY,
+						this.coords[0], this.coords[1]);
+				this.lastNextX = this.coords[0];
+				this.lastNextY = this.coords[1];
 			}
 
-			searchNext();
-
 			return element;
 		}
 
@@ -2988,7 +3584,7 @@ public class Path2f extends AbstractShape2f<Path2f> implements Path2D<Rectangle2
 
 		@Override
 		public PathWindingRule getWindingRule() {
-			return this.windingRule;
+			return this.cursor.getWindingRule();
 		}
 		
 		@Override
@@ -0,0 +1,454 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (C) 2005-09 Stephane GALLAND.
+ * Copyright (C) 2012 Stephane GALLAND.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.geometry2d.continuous;
+
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.GeometryUtil;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+import org.arakhne.afc.math.geometry2d.Point2D;
+
+
+/** A path that is prepared for repeated hit tests.
+ * <p>
+ * The path is flattened once, and its edges are stored in
+ * a uniform grid of horizontal bands. Each band references the edges
+ * that are overlapping it along the y axis. Because the
+ * crossing functions of {@link GeometryUtil} are ignoring
+ * the edges that are not overlapping the query along the y axis,
+ * only the edges of the bands covered by the query are tested,
+ * instead of all the edges of the path.
+ * <p>
+ * The prepared path is a snapshot of the path at the time of its
+ * creation: the changes made to the path after this time are not
+ * taken into account. Each subpath is closed, as if a
+ * {@link PathElementType#CLOSE} was ending it.
+ * <p>
+ * The prepared path is immutable and may be shared between threads.
+ *
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class PreparedPath2f {
+
+	/** Average count of edges in a band of the index.
+	 */
+	private static final int EDGES_PER_BAND = 4;
+	
+	/** Maximal average count of references to an edge in the index.
+	 * The number of bands is reduced until this limit is satisfied.
+	 */
+	private static final int MAX_REFERENCES_PER_EDGE = 8;
+	
+	private final PathWindingRule windingRule;
+	
+	/** Coordinates of the edges: x0, y0, x1, y1 for each edge.
+	 */
+	private final float[] edges;
+	
+	private final int edgeCount;
+	
+	private final float minx;
+	private final float miny;
+	private final float maxx;
+	private final float maxy;
+	
+	private final int bandCount;
+	
+	/** Scaling factor from the y coordinates to the band indexes.
+	 */
+	private final float bandScale;
+	
+	/** Index of the first edge reference of each band in {@link #bandEdges},
+	 * followed by the total count of references.
+	 */
+	private final int[] bandStarts;
+	
+	/** Indexes of the edges referenced by the bands.
+	 */
+	private final int[] bandEdges;
+
+	/**
+	 * @param path is the path to prepare.
+	 */
+	public PreparedPath2f(Path2f path) {
+		this(path, MathConstants.SPLINE_APPROXIMATION_RATIO);
+	}
+
+	/**
+	 * @param path is the path to prepare.
+	 * @param flatness is the maximum distance that the line segments used to approximate
+	 * the curved segments are allowed to deviate from any point on the original curve.
+	 */
+	public PreparedPath2f(Path2f path, float flatness) {
+		assert(path!=null);
+		this.windingRule = path.getWindingRule();
+		
+		// Flatten the path
+		PathCursor2f cursor = path.getPathCursor(null, flatness);
+		float[] buffer = new float[6];
+		float[] e = new float[64];
+		int n = 0;
+		float movx = 0f;
+		float movy = 0f;
+		float curx = 0f;
+		float cury = 0f;
+		while (cursor.hasNext()) {
+			switch(cursor.next(buffer)) {
+			case MOVE_TO:
+				if (curx!=movx || cury!=movy) {
+					e = addEdge(e, n++, curx, cury, movx, movy);
+				}
+				movx = curx = buffer[0];
+				movy = cury = buffer[1];
+				break;
+			case LINE_TO:
+				e = addEdge(e, n++, curx, cury, buffer[0], buffer[1]);
+				curx = buffer[0];
+				cury = buffer[1];
+				break;
+			case CLOSE:
+				if (curx!=movx || cury!=movy) {
+					e = addEdge(e, n++, curx, cury, movx, movy);
+				}
+				curx = movx;
+				cury = movy;
+				break;
+			case QUAD_TO:
+			case CURVE_TO:
+			default:
+				throw new IllegalStateException();
+			}
+		}
+		if (curx!=movx || cury!=movy) {
+			e = addEdge(e, n++, curx, cury, movx, movy);
+		}
+		this.edges = e;
+		this.edgeCount = n;
+		
+		// Bounds of the edges
+		float x1 = Float.POSITIVE_INFINITY;
+		float y1 = Float.POSITIVE_INFINITY;
+		float x2 = Float.NEGATIVE_INFINITY;
+		float y2 = Float.NEGATIVE_INFINITY;
+		for(int i=0; i<4*n; i+=2) {
+			if (e[i]<x1) x1 = e[i];
+			if (e[i]>x2) x2 = e[i];
+			if (e[i+1]<y1) y1 = e[i+1];
+			if (e[i+1]>y2) y2 = e[i+1];
+		}
+		this.minx = x1;
+		this.miny = y1;
+		this.maxx = x2;
+		this.maxy = y2;
+		
+		// Count the references to the edges for the number of bands,
+		// and reduce this number when the edges are too long.
+		float height = y2 - y1;
+		int count = Math.max(1, n / EDGES_PER_BAND);
+		float scale;
+		int[] starts;
+		long references;
+		int b0, b1;
+		while (true) {
+			scale = (height>0f) ? count / height : 0f;
+			starts = new int[count+1];
+			references = 0;
+			for(int i=0, j=0; i<n; ++i, j+=4) {
+				b0 = band(Math.min(e[j+1], e[j+3]), y1, scale, count);
+				b1 = band(Math.max(e[j+1], e[j+3]), y1, scale, count);
+				++starts[b0];
+				--starts[b1+1];
+				references += b1 - b0 + 1;
+			}
+			if (count==1 || references<=(long)MAX_REFERENCES_PER_EDGE*n) {
+				break;
+			}
+			count /= 2;
+		}
+		
+		this.bandCount = count;
+		this.bandScale = scale;
+		
+		// Convert the deltas of band sizes into the starts of the bands
+		int size = 0;
+		int start = 0;
+		for(int b=0; b<=count; ++b) {
+			size += starts[b];
+			starts[b] = start;
+			start += size;
+		}
+		this.bandStarts = starts;
+		
+		int[] refs = new int[starts[count]];
+		int[] fill = new int[count];
+		System.arraycopy(starts, 0, fill, 0, count);
+		for(int i=0, j=0; i<n; ++i, j+=4) {
+			b0 = band(Math.min(e[j+1], e[j+3]), y1, scale, count);
+			b1 = band(Math.max(e[j+1], e[j+3]), y1, scale, count);
+			for(int b=b0; b<=b1; ++b) {
+				refs[fill[b]++] = i;
+			}
+		}
+		this.bandEdges = refs;
+	}
+	
+	private static float[] addEdge(float[] edges, int index, float x0, float y0, float x1, float y1) {
+		float[] e = edges;
+		int j = index * 4;
+		if (j+4>e.length) {
+			float[] t = new float[e.length*2];
+			System.arraycopy(e, 0, t, 0, j);
+			e = t;
+		}
+		e[j] = x0;
+		e[j+1] = y0;
+		e[j+2] = x1;
+		e[j+3] = y1;
+		return e;
+	}
+	
+	/** Replies the band that is containing the given y coordinate.
+	 * The function is monotonic, so that an edge overlapping a
+	 * query along the y axis shares at least one band with it.
+	 */
+	private static int band(float y, float origin, float scale, int count) {
+		int b = (int)((y - origin) * scale);
+		if (b<0) return 0;
+		if (b>=count) return count - 1;
+		return b;
+	}
+	
+	private int band(float y) {
+		return band(y, this.miny, this.bandScale, this.bandCount);
+	}
+	
+	/** Replies the winding rule of the prepared path.
+	 * 
+	 * @return the winding rule.
+	 */
+	public PathWindingRule getWindingRule() {
+		return this.windingRule;
+	}
+	
+	/** Replies the number of edges of the flattened path.
+	 * 
+	 * @return the number of edges.
+	 */
+	public int getEdgeCount() {
+		return this.edgeCount;
+	}
+	
+	/** Replies the bounding box of the flattened path.
+	 * 
+	 * @return the bounding box, or <code>null</code> if the path has no edge.
+	 */
+	public Rectangle2f toBoundingBox() {
+		if (this.edgeCount==0) return null;
+		return new Rectangle2f(
+				this.minx, this.miny,
+				this.maxx - this.minx,
+				this.maxy - this.miny);
+	}
+	
+	/**
+	 * Calculates the number of times the prepared path
+	 * crosses the ray extending to the right from (px,py).
+	 * 
+	 * @param px is the reference point to test.
+	 * @param py is the reference point to test.
+	 * @return the crossing, or {@link MathConstants#SHAPE_INTERSECTS}
+	 * if the point is a vertex of the path.
+	 * @see Path2f#computeCrossingsFromPoint(PathIterator2f, float, float)
+	 */
+	public int computeCrossingsFromPoint(float px, float py) {
+		if (this.edgeCount==0 || py<this.miny || py>this.maxy || px>this.maxx) {
+			return 0;
+		}
+		float[] e = this.edges;
+		int[] refs = this.bandEdges;
+		int b = band(py);
+		int crossings = 0;
+		int j;
+		for(int i=this.bandStarts[b]; i<this.bandStarts[b+1]; ++i) {
+			j = refs[i] * 4;
+			if (e[j+2]==px && e[j+3]==py)
+				return MathConstants.SHAPE_INTERSECTS;
+			crossings += GeometryUtil.computeCrossingsFromPoint(
+					e[j], e[j+1], e[j+2], e[j+3],
+					px, py);
+		}
+		return crossings;
+	}
+	
+	/**
+	 * Accumulate the number of times the prepared path crosses the shadow
+	 * extending to the right of the rectangle.
+	 * 
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @return the crossings, or {@link MathConstants#SHAPE_INTERSECTS}.
+	 * @see Path2f#computeCrossingsFromRect(PathIterator2f, float, float, float, float)
+	 */
+	public int computeCrossingsFromRect(float rxmin, float rymin, float rxmax, float rymax) {
+		if (this.edgeCount==0 || rymax<this.miny || rymin>this.maxy || rxmin>this.maxx) {
+			return 0;
+		}
+		float[] e = this.edges;
+		int[] refs = this.bandEdges;
+		int b0 = band(rymin);
+		int b1 = band(rymax);
+		int crossings = 0;
+		int j;
+		for(int b=b0; b<=b1; ++b) {
+			for(int i=this.bandStarts[b]; i<this.bandStarts[b+1]; ++i) {
+				j = refs[i] * 4;
+				// An edge in several bands is tested only in the first of them
+				if (b!=b0 && band(Math.min(e[j+1], e[j+3]))!=b) continue;
+				crossings = GeometryUtil.computeCrossingsFromRect(
+						crossings,
+						rxmin, rymin, rxmax, rymax,
+						e[j], e[j+1], e[j+2], e[j+3]);
+				if (crossings==MathConstants.SHAPE_INTERSECTS)
+					return crossings;
+			}
+		}
+		return crossings;
+	}
+	
+	/**
+	 * Accumulate the number of times the prepared path crosses the shadow
+	 * extending to the right of the segment.
+	 * 
+	 * @param x1 is the first point of the segment.
+	 * @param y1 is the first point of the segment.
+	 * @param x2 is the second point of the segment.
+	 * @param y2 is the second point of the segment.
+	 * @return the crossings, or {@link MathConstants#SHAPE_INTERSECTS}.
+	 * @see Path2f#computeCrossingsFromSegment(PathIterator2f, float, float, float, float)
+	 */
+	public int computeCrossingsFromSegment(float x1, float y1, float x2, float y2) {
+		float symin = Math.min(y1, y2);
+		float symax = Math.max(y1, y2);
+		if (this.edgeCount==0 || symax<this.miny || symin>this.maxy || Math.min(x1, x2)>this.maxx) {
+			return 0;
+		}
+		float[] e = this.edges;
+		int[] refs = this.bandEdges;
+		int b0 = band(symin);
+		int b1 = band(symax);
+		int crossings = 0;
+		int j;
+		for(int b=b0; b<=b1; ++b) {
+			for(int i=this.bandStarts[b]; i<this.bandStarts[b+1]; ++i) {
+				j = refs[i] * 4;
+				// An edge in several bands is tested only in the first of them
+				if (b!=b0 && band(Math.min(e[j+1], e[j+3]))!=b) continue;
+				crossings = GeometryUtil.computeCrossingsFromSegment(
+						crossings,
+						x1, y1, x2, y2,
+						e[j], e[j+1], e[j+2], e[j+3]);
+				if (crossings==MathConstants.SHAPE_INTERSECTS)
+					return crossings;
+			}
+		}
+		return crossings;
+	}
+	
+	/** Replies if the given point is inside the prepared path.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return <code>true</code> if the point is inside the path,
+	 * otherwise <code>false</code>.
+	 * @see Path2f#contains(float, float)
+	 */
+	public boolean contains(float x, float y) {
+		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 1);
+		return ((computeCrossingsFromPoint(x, y) & mask) != 0);
+	}
+
+	/** Replies if the given point is inside the prepared path.
+	 * 
+	 * @param p
+	 * @return <code>true</code> if the point is inside the path,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean contains(Point2D p) {
+		return contains(p.getX(), p.getY());
+	}
+
+	/** Replies if the given rectangle is inside the prepared path.
+	 * 
+	 * @param r
+	 * @return <code>true</code> if the rectangle is inside the path,
+	 * otherwise <code>false</code>.
+	 * @see Path2f#contains(Rectangle2f)
+	 */
+	public boolean contains(Rectangle2f r) {
+		if (r.getWidth() <= 0 || r.getHeight() <= 0) {
+			return false;
+		}
+		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2);
+		int crossings = computeCrossingsFromRect(
+				r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
+		return (crossings != MathConstants.SHAPE_INTERSECTS &&
+				(crossings & mask) != 0);
+	}
+
+	/** Replies if the given rectangle is intersecting the prepared path.
+	 * 
+	 * @param s
+	 * @return <code>true</code> if the rectangle is intersecting the path,
+	 * otherwise <code>false</code>.
+	 * @see Path2f#intersects(Rectangle2f)
+	 */
+	public boolean intersects(Rectangle2f s) {
+		if (s.isEmpty()) return false;
+		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2);
+		int crossings = computeCrossingsFromRect(
+				s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY());
+		return (crossings == MathConstants.SHAPE_INTERSECTS ||
+				(crossings & mask) != 0);
+	}
+
+	/** Replies if the given segment is intersecting the prepared path.
+	 * 
+	 * @param s
+	 * @return <code>true</code> if the segment is intersecting the path,
+	 * otherwise <code>false</code>.
+	 * @see Path2f#intersects(Segment2f)
+	 */
+	public boolean intersects(Segment2f s) {
+		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2);
+		int crossings = computeCrossingsFromSegment(
+				s.getX1(), s.getY1(), s.getX2(), s.getY2());
+		return (crossings == MathConstants.SHAPE_INTERSECTS ||
+				(crossings & mask) != 0);
+	}
+
+}
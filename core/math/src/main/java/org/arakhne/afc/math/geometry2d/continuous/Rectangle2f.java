@@ -89,7 +89,7 @@ public class Rectangle2f extends AbstractRectangularShape2f<Rectangle2f> {
 	 */
 	@Override
 	public float distanceSquared(Point2D p) {
-		return GeometryUtil.distanceSquaredPointRectangle(p.getX(), p.getY(), this.getMinX(), this.getMinY(), this.getMaxX(),this.getMaxY());
+		return GeometryUtil.distanceSquaredPointRectangle(p.getX(), p.getY(), this.getMinX(), this.getMinY(), this.getWidth(), this.getHeight());
 	}
 
 	/** {@inheritDoc}
@@ -0,0 +1,50 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (C) 2005-09 Stephane GALLAND.
+ * Copyright (C) 2012 Stephane GALLAND.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.geometry2d.continuous;
+
+/** This interface is a listener invoked by a {@link SegmentIntersectionSweep2f}
+ * for each pair of intersecting segments.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public interface SegmentIntersectionListener {
+
+	/** Invoked when two segments are intersecting.
+	 * <p>
+	 * The coordinates of the intersection point are the ones
+	 * replied by
+	 * {@link org.arakhne.afc.math.geometry.GeometryUtil#getIntersectionPointSegmentSegment(float, float, float, float, float, float, float, float, org.arakhne.afc.math.geometry2d.Point2D)}
+	 * for the two segments: they are positive infinities when
+	 * the segments are collinear and overlapping.
+	 * 
+	 * @param segment1 is the index of the first segment, lower than <var>segment2</var>.
+	 * @param segment2 is the index of the second segment.
+	 * @param x is the x coordinate of the intersection point.
+	 * @param y is the y coordinate of the intersection point.
+	 */
+	public void intersectionFound(int segment1, int segment2, float x, float y);
+
+}
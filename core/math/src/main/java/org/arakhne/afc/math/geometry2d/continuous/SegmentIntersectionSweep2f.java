@@ -0,0 +1,692 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (C) 2005-09 Stephane GALLAND.
+ * Copyright (C) 2012 Stephane GALLAND.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.geometry2d.continuous;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.arakhne.afc.math.geometry.GeometryUtil;
+
+
+/** This class computes all the intersections between a set
+ * of segments with a sweep line (Bentley-Ottmann algorithm).
+ * <p>
+ * A vertical line is swept from the left to the right. The segments
+ * that are crossing the sweep line are sorted along it, and only
+ * the segments that become adjacent on the sweep line are tested
+ * against each other. All the <var>k</var> intersections among
+ * <var>n</var> segments are found in <code>O((n+k) log n)</code>,
+ * instead of the <code>O(n<sup>2</sup>)</code> pairwise tests.
+ * <p>
+ * The intersection tests are the ones of
+ * {@link GeometryUtil#getIntersectionPointSegmentSegment(float, float, float, float, float, float, float, float, org.arakhne.afc.math.geometry2d.Point2D)}:
+ * a pair of segments is reported if, and only if, this function
+ * replies an intersection point for them, and the reported point
+ * is the one replied by this function. The segments that are sharing
+ * an end point, or that have an end point on the other segment,
+ * are intersecting. The collinear segments that are overlapping
+ * are reported with an intersection point at positive infinity.
+ * <p>
+ * Each pair of intersecting segments is reported once, even
+ * if several segments are intersecting at the same point.
+ * <p>
+ * Because the intersection points are rounded, a segment that is
+ * closer to an event point than a tolerance relative to the magnitude
+ * of the coordinates is considered as passing through this point.
+ * The nearly vertical segments are directly tested against the
+ * segments in their range, instead of being sorted along the sweep line.
+ *
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public final class SegmentIntersectionSweep2f {
+
+	/** Maximal distance between an event point and the segments
+	 * that are considered as passing through it, relatively to
+	 * the magnitude of the coordinates of the event point. It absorbs
+	 * the rounding errors on the computed intersection points.
+	 */
+	private static final float RELATIVE_TOLERANCE = 1e-6f;
+
+	/** Compute the intersections between the given segments.
+	 * The index of a segment is its position in the iteration
+	 * order of the collection.
+	 * 
+	 * @param segments are the segments.
+	 * @param listener is the listener to notify about each pair of intersecting segments.
+	 * @return the number of pairs of intersecting segments.
+	 */
+	public static int computeIntersections(Collection<? extends Segment2f> segments, SegmentIntersectionListener listener) {
+		assert(segments!=null);
+		float[] coordinates = new float[segments.size()*4];
+		int i = 0;
+		for(Segment2f segment : segments) {
+			coordinates[i++] = segment.getX1();
+			coordinates[i++] = segment.getY1();
+			coordinates[i++] = segment.getX2();
+			coordinates[i++] = segment.getY2();
+		}
+		return computeIntersections(coordinates, segments.size(), listener);
+	}
+
+	/** Compute the intersections between the given segments.
+	 * 
+	 * @param segments are the coordinates of the segments: x1, y1, x2, y2 for each segment.
+	 * @param count is the number of segments to consider.
+	 * @param listener is the listener to notify about each pair of intersecting segments.
+	 * @return the number of pairs of intersecting segments.
+	 */
+	public static int computeIntersections(float[] segments, int count, SegmentIntersectionListener listener) {
+		assert(segments!=null);
+		assert(count>=0 && count*4<=segments.length);
+		assert(listener!=null);
+		SegmentIntersectionSweep2f sweep = new SegmentIntersectionSweep2f(segments, count, listener);
+		sweep.sweep();
+		return sweep.reportCount;
+	}
+
+	/** Coordinates of the segments, as given by the caller.
+	 */
+	private final float[] coordinates;
+	
+	/** Coordinates of the segments, the first end point being
+	 * the leftmost (then the lowest) end point.
+	 */
+	private final float[] ends;
+	
+	private final SegmentIntersectionListener listener;
+	
+	private final TreeMap<Event,Event> events = new TreeMap<Event,Event>();
+	
+	/** Keys of the pairs that were already reported.
+	 */
+	private final Set<Long> reported = new HashSet<Long>();
+	
+	/** Nearly vertical segments that may contain the next event points.
+	 */
+	private final List<Integer> verticals = new ArrayList<Integer>();
+	
+	/** Nodes of the segments in the sweep line status, or <code>null</code>.
+	 */
+	private final Node[] nodes;
+	
+	private Node root = null;
+	
+	private int seed = 0x2545F491;
+
+	/** Marks of the segments already collected for the current event.
+	 */
+	private final int[] marks;
+	
+	private int stamp = 0;
+	
+	/** Indicates if the segment is considered as passing through
+	 * the current event point.
+	 */
+	private final boolean[] atSweep;
+	
+	private float sweepX;
+	
+	private float sweepY;
+	
+	/** Square of the tolerance distance at the current event point.
+	 */
+	private float tolerance;
+	
+	private final Point2f intersection = new Point2f();
+	
+	private int reportCount = 0;
+
+	private SegmentIntersectionSweep2f(float[] segments, int count, SegmentIntersectionListener listener) {
+		this.coordinates = segments;
+		this.listener = listener;
+		this.ends = new float[count*4];
+		this.nodes = new Node[count];
+		this.marks = new int[count];
+		this.atSweep = new boolean[count];
+		float x1, y1, x2, y2;
+		for(int s=0, j=0; s<count; ++s, j+=4) {
+			x1 = segments[j];
+			y1 = segments[j+1];
+			x2 = segments[j+2];
+			y2 = segments[j+3];
+			if (x1>x2 || (x1==x2 && y1>y2)) {
+				this.ends[j] = x2;
+				this.ends[j+1] = y2;
+				this.ends[j+2] = x1;
+				this.ends[j+3] = y1;
+			}
+			else {
+				this.ends[j] = x1;
+				this.ends[j+1] = y1;
+				this.ends[j+2] = x2;
+				this.ends[j+3] = y2;
+			}
+			getEvent(this.ends[j], this.ends[j+1]).starts.add(s);
+			getEvent(this.ends[j+2], this.ends[j+3]).ends.add(s);
+		}
+	}
+	
+	private Event getEvent(float x, float y) {
+		Event event = new Event(x, y);
+		Event e = this.events.get(event);
+		if (e==null) {
+			this.events.put(event, event);
+			e = event;
+		}
+		return e;
+	}
+	
+	private void sweep() {
+		Map.Entry<Event,Event> entry;
+		while ((entry = this.events.pollFirstEntry())!=null) {
+			handleEvent(entry.getKey());
+		}
+	}
+	
+	private void handleEvent(Event event) {
+		this.sweepX = event.x;
+		this.sweepY = event.y;
+		++this.stamp;
+		
+		// Collect the segments starting, ending or passing through the event point
+		List<Integer> segments = new ArrayList<Integer>();
+		List<Integer> passing = new ArrayList<Integer>();
+		for(Integer s : event.starts) {
+			collect(s, segments);
+		}
+		for(Integer s : event.ends) {
+			collect(s, segments);
+		}
+		Iterator<Integer> iterator = this.verticals.iterator();
+		Integer vertical;
+		int j;
+		float t;
+		while (iterator.hasNext()) {
+			vertical = iterator.next();
+			j = vertical.intValue() * 4;
+			t = getTolerance(vertical);
+			if (this.ends[j+2]<this.sweepX
+				|| (this.ends[j+2]==this.sweepX && Math.max(this.ends[j+1], this.ends[j+3])+t<this.sweepY)) {
+				iterator.remove();
+			}
+			else if (Math.min(this.ends[j+1], this.ends[j+3])-t<=this.sweepY
+					&& Math.max(this.ends[j+1], this.ends[j+3])+t>=this.sweepY) {
+				collect(vertical, segments);
+			}
+		}
+		this.tolerance = RELATIVE_TOLERANCE * Math.max(1f, Math.max(Math.abs(this.sweepX), Math.abs(this.sweepY)));
+		this.tolerance *= this.tolerance;
+		Node upper = lowerBound(this.sweepY);
+		Node node = (upper==null) ? last() : predecessor(upper);
+		while (node!=null && isPassingThrough(node.segment)) {
+			if (collect(node.segment, segments)) passing.add(node.segment);
+			node = predecessor(node);
+		}
+		node = upper;
+		while (node!=null && isPassingThrough(node.segment)) {
+			if (collect(node.segment, segments)) passing.add(node.segment);
+			node = successor(node);
+		}
+		int s;
+		for(Long pair : event.pairs) {
+			s = getFirstSegment(pair);
+			if (this.nodes[s]!=null && collect(s, segments)) passing.add(s);
+			s = getSecondSegment(pair);
+			if (this.nodes[s]!=null && collect(s, segments)) passing.add(s);
+		}
+		
+		// Report the intersections at the event point
+		for(int i=0; i<segments.size()-1; ++i) {
+			for(int k=i+1; k<segments.size(); ++k) {
+				report(segments.get(i), segments.get(k));
+			}
+		}
+		for(Long pair : event.pairs) {
+			report(getFirstSegment(pair), getSecondSegment(pair));
+		}
+		for(Integer segment : event.ends) {
+			// The rounding errors may delay the crossings of a steep segment
+			// after its end point: the segments between its position in the
+			// status and the event point are crossing it.
+			node = this.nodes[segment];
+			if (node!=null) {
+				upper = predecessor(node);
+				while (upper!=null && getY(upper.segment)>this.sweepY) {
+					report(segment, upper.segment);
+					upper = predecessor(upper);
+				}
+				upper = successor(node);
+				while (upper!=null && getY(upper.segment)<this.sweepY) {
+					report(segment, upper.segment);
+					upper = successor(upper);
+				}
+			}
+		}
+		
+		// Update the sweep line status; the segments passing through
+		// the event point are reinserted to reverse their order.
+		List<Node> neighbours = new ArrayList<Node>();
+		for(Integer segment : event.ends) {
+			if (this.nodes[segment]!=null) remove(segment, neighbours);
+		}
+		for(Integer segment : passing) {
+			remove(segment, neighbours);
+		}
+		List<Integer> inserted = new ArrayList<Integer>(event.starts.size()+passing.size());
+		for(Integer segment : event.starts) {
+			j = segment.intValue() * 4;
+			t = getTolerance(segment);
+			if (this.ends[j+2]-this.ends[j]>t) {
+				inserted.add(segment);
+			}
+			else {
+				// The nearly vertical segments are not inserted in the sweep line
+				// status because the rounding errors on their intersection points
+				// are too large. They are tested against all the segments crossing
+				// the sweep line in their range, and against the next events in their range.
+				this.verticals.add(segment);
+				float ymin = Math.min(this.ends[j+1], this.ends[j+3]) - t;
+				float ymax = Math.max(this.ends[j+1], this.ends[j+3]) + t;
+				upper = lowerBound(ymin);
+				node = (upper==null) ? last() : predecessor(upper);
+				while (node!=null && Math.max(getY(node.segment), getY(node.segment, this.ends[j+2]))>=ymin) {
+					report(segment, node.segment);
+					node = predecessor(node);
+				}
+				node = upper;
+				while (node!=null && Math.min(getY(node.segment), getY(node.segment, this.ends[j+2]))<=ymax) {
+					report(segment, node.segment);
+					node = successor(node);
+				}
+			}
+		}
+		inserted.addAll(passing);
+		for(Integer segment : inserted) {
+			this.atSweep[segment] = true;
+		}
+		for(Integer segment : inserted) {
+			insert(segment);
+		}
+		for(Integer segment : inserted) {
+			this.atSweep[segment] = false;
+		}
+		
+		// Test the segments that became adjacent. The neighbours of the
+		// removed segments are tested because the rounding errors may
+		// move a segment that was not detected as passing through the event point.
+		for(Integer segment : inserted) {
+			node = this.nodes[segment];
+			check(predecessor(node), node);
+			check(node, successor(node));
+		}
+		for(Node neighbour : neighbours) {
+			if (this.nodes[neighbour.segment]==neighbour) {
+				check(predecessor(neighbour), neighbour);
+				check(neighbour, successor(neighbour));
+			}
+		}
+	}
+	
+	/** Replies the tolerance distance for the given segment.
+	 */
+	private float getTolerance(int segment) {
+		int j = segment * 4;
+		return RELATIVE_TOLERANCE * Math.max(
+				Math.max(1f, Math.max(Math.abs(this.ends[j]), Math.abs(this.ends[j+1]))),
+				Math.max(Math.abs(this.ends[j+2]), Math.abs(this.ends[j+3])));
+	}
+	
+	/** Replies if the segment is passing through the event point.
+	 */
+	private boolean isPassingThrough(int segment) {
+		int j = segment * 4;
+		return GeometryUtil.isInsidePointSegment(this.sweepX, this.sweepY,
+				this.ends[j], this.ends[j+1], this.ends[j+2], this.ends[j+3],
+				this.tolerance);
+	}
+	
+	private boolean collect(int segment, List<Integer> segments) {
+		if (this.marks[segment]!=this.stamp) {
+			this.marks[segment] = this.stamp;
+			segments.add(segment);
+			return true;
+		}
+		return false;
+	}
+	
+	/** Test two adjacent segments, and schedule their intersection
+	 * if it is on the right of the sweep line.
+	 */
+	private void check(Node lower, Node upper) {
+		if (lower==null || upper==null) return;
+		int s1 = Math.min(lower.segment, upper.segment);
+		int s2 = Math.max(lower.segment, upper.segment);
+		Long key = getPairKey(s1, s2);
+		if (this.reported.contains(key)) return;
+		computeIntersection(s1, s2);
+		float x = this.intersection.getX();
+		float y = this.intersection.getY();
+		if (Float.isNaN(x)) return;
+		if (Float.isInfinite(x)) {
+			// Collinear segments
+			fire(s1, s2, x, y, key);
+		}
+		else if (x<this.sweepX || (x==this.sweepX && y<=this.sweepY)) {
+			// The intersection is not after the event point because of the
+			// rounding errors, mainly on the nearly vertical segments.
+			fire(s1, s2, x, y, key);
+			if (getSlope(lower.segment)>getSlope(upper.segment)) {
+				// The segments are not crossed yet in the status
+				swap(lower, upper);
+				check(predecessor(lower), lower);
+				check(upper, successor(upper));
+			}
+		}
+		else {
+			getEvent(x, y).pairs.add(key);
+		}
+	}
+	
+	private void report(int segment1, int segment2) {
+		int s1 = Math.min(segment1, segment2);
+		int s2 = Math.max(segment1, segment2);
+		Long key = getPairKey(s1, s2);
+		if (this.reported.contains(key)) return;
+		computeIntersection(s1, s2);
+		float x = this.intersection.getX();
+		if (!Float.isNaN(x)) {
+			fire(s1, s2, x, this.intersection.getY(), key);
+		}
+	}
+	
+	private void fire(int s1, int s2, float x, float y, Long key) {
+		this.reported.add(key);
+		++this.reportCount;
+		this.listener.intersectionFound(s1, s2, x, y);
+	}
+	
+	private void computeIntersection(int s1, int s2) {
+		int i = s1 * 4;
+		int j = s2 * 4;
+		GeometryUtil.getIntersectionPointSegmentSegment(
+				this.coordinates[i], this.coordinates[i+1],
+				this.coordinates[i+2], this.coordinates[i+3],
+				this.coordinates[j], this.coordinates[j+1],
+				this.coordinates[j+2], this.coordinates[j+3],
+				this.intersection);
+	}
+	
+	private static Long getPairKey(int s1, int s2) {
+		return Long.valueOf(((long)s1 << 32) | s2);
+	}
+	
+	private static int getFirstSegment(Long key) {
+		return (int)(key.longValue() >>> 32);
+	}
+	
+	private static int getSecondSegment(Long key) {
+		return (int)key.longValue();
+	}
+	
+	/** Replies the y coordinate of the segment on the sweep line.
+	 */
+	private float getY(int segment) {
+		if (this.atSweep[segment]) return this.sweepY;
+		return getY(segment, this.sweepX);
+	}
+	
+	/** Replies the y coordinate of the segment at the given x coordinate.
+	 */
+	private float getY(int segment, float x) {
+		int j = segment * 4;
+		float x1 = this.ends[j];
+		float y1 = this.ends[j+1];
+		float x2 = this.ends[j+2];
+		float y2 = this.ends[j+3];
+		if (x<=x1) return y1;
+		if (x>=x2) return y2;
+		return (float)(y1 + (double)(x - x1) * (y2 - y1) / (x2 - x1));
+	}
+	
+	private double getSlope(int segment) {
+		int j = segment * 4;
+		return ((double)this.ends[j+3] - this.ends[j+1]) / ((double)this.ends[j+2] - this.ends[j]);
+	}
+	
+	/** Compare the positions of two segments on the sweep line.
+	 * Segments at the same position are sorted by their order
+	 * after this position.
+	 */
+	private int compare(int segment1, int segment2) {
+		float y1 = getY(segment1);
+		float y2 = getY(segment2);
+		if (y1<y2) return -1;
+		if (y1>y2) return 1;
+		double slope1 = getSlope(segment1);
+		double slope2 = getSlope(segment2);
+		if (slope1!=slope2) {
+			int cmp = (slope1<slope2) ? -1 : 1;
+			// Above the event point, the segments are not crossed yet
+			return (y1>this.sweepY) ? -cmp : cmp;
+		}
+		return (segment1<segment2) ? -1 : ((segment1>segment2) ? 1 : 0);
+	}
+	
+	/** Replies the lowest node of the sweep line status that is
+	 * not below the given position.
+	 */
+	private Node lowerBound(float y) {
+		Node node = this.root;
+		Node candidate = null;
+		while (node!=null) {
+			if (getY(node.segment)>=y) {
+				candidate = node;
+				node = node.left;
+			}
+			else {
+				node = node.right;
+			}
+		}
+		return candidate;
+	}
+	
+	private Node last() {
+		Node node = this.root;
+		if (node!=null) {
+			while (node.right!=null) node = node.right;
+		}
+		return node;
+	}
+	
+	private static Node successor(Node node) {
+		Node n = node;
+		if (n.right!=null) {
+			n = n.right;
+			while (n.left!=null) n = n.left;
+			return n;
+		}
+		while (n.parent!=null && n==n.parent.right) n = n.parent;
+		return n.parent;
+	}
+	
+	private static Node predecessor(Node node) {
+		Node n = node;
+		if (n.left!=null) {
+			n = n.left;
+			while (n.right!=null) n = n.right;
+			return n;
+		}
+		while (n.parent!=null && n==n.parent.left) n = n.parent;
+		return n.parent;
+	}
+	
+	private void insert(int segment) {
+		this.seed ^= this.seed << 13;
+		this.seed ^= this.seed >>> 17;
+		this.seed ^= this.seed << 5;
+		Node node = new Node(segment, this.seed);
+		this.nodes[segment] = node;
+		if (this.root==null) {
+			this.root = node;
+			return;
+		}
+		Node parent = this.root;
+		while (true) {
+			if (compare(segment, parent.segment)<0) {
+				if (parent.left==null) {
+					parent.left = node;
+					break;
+				}
+				parent = parent.left;
+			}
+			else {
+				if (parent.right==null) {
+					parent.right = node;
+					break;
+				}
+				parent = parent.right;
+			}
+		}
+		node.parent = parent;
+		while (node.parent!=null && node.priority>node.parent.priority) {
+			rotateUp(node);
+		}
+	}
+	
+	/** Remove the segment from the sweep line status without
+	 * comparing it to the other segments.
+	 * 
+	 * @param segment is the segment to remove.
+	 * @param neighbours is the list to fill with the neighbours of the removed segment.
+	 */
+	private void remove(int segment, List<Node> neighbours) {
+		Node node = this.nodes[segment];
+		this.nodes[segment] = null;
+		Node neighbour = predecessor(node);
+		if (neighbour!=null) neighbours.add(neighbour);
+		neighbour = successor(node);
+		if (neighbour!=null) neighbours.add(neighbour);
+		while (node.left!=null && node.right!=null) {
+			rotateUp(node.left.priority>node.right.priority ? node.left : node.right);
+		}
+		Node child = (node.left!=null) ? node.left : node.right;
+		Node parent = node.parent;
+		if (child!=null) child.parent = parent;
+		if (parent==null) this.root = child;
+		else if (parent.left==node) parent.left = child;
+		else parent.right = child;
+	}
+	
+	private void swap(Node node1, Node node2) {
+		int segment = node1.segment;
+		node1.segment = node2.segment;
+		node2.segment = segment;
+		this.nodes[node1.segment] = node1;
+		this.nodes[node2.segment] = node2;
+	}
+	
+	private void rotateUp(Node node) {
+		Node parent = node.parent;
+		Node grandParent = parent.parent;
+		if (node==parent.left) {
+			parent.left = node.right;
+			if (node.right!=null) node.right.parent = parent;
+			node.right = parent;
+		}
+		else {
+			parent.right = node.left;
+			if (node.left!=null) node.left.parent = parent;
+			node.left = parent;
+		}
+		parent.parent = node;
+		node.parent = grandParent;
+		if (grandParent==null) this.root = node;
+		else if (grandParent.left==parent) grandParent.left = node;
+		else grandParent.right = node;
+	}
+	
+	/** Point where segments are starting, ending or intersecting.
+	 * 
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Event implements Comparable<Event> {
+		
+		public final float x;
+		public final float y;
+		public final List<Integer> starts = new ArrayList<Integer>(1);
+		public final List<Integer> ends = new ArrayList<Integer>(1);
+		public final List<Long> pairs = new ArrayList<Long>(1);
+		
+		public Event(float x, float y) {
+			this.x = x;
+			this.y = y;
+		}
+		
+		@Override
+		public int compareTo(Event o) {
+			if (this.x<o.x) return -1;
+			if (this.x>o.x) return 1;
+			if (this.y<o.y) return -1;
+			if (this.y>o.y) return 1;
+			return 0;
+		}
+		
+	} // class Event
+	
+	/** Node of the sweep line status, which is a treap.
+	 * 
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Node {
+		
+		public int segment;
+		public final int priority;
+		public Node parent = null;
+		public Node left = null;
+		public Node right = null;
+		
+		public Node(int segment, int priority) {
+			this.segment = segment;
+			this.priority = priority;
+		}
+		
+	} // class Node
+
+}
@@ -22,9 +22,11 @@
 package org.arakhne.afc.math.geometry2d.discrete;
 
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.arakhne.afc.math.MathConstants;
@@ -49,6 +51,16 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	/** Multiple of cubic & quad curve size.
 	 */
 	static final int GROW_SIZE = 24;
+	
+	/** Cursors used by the hit tests of the paths
+	 * in each thread, to avoid any allocation.
+	 */
+	private static final ThreadLocal<HitTestCursor> HIT_TEST_CURSOR = new ThreadLocal<HitTestCursor>() {
+		@Override
+		protected HitTestCursor initialValue() {
+			return new HitTestCursor();
+		}
+	};
 
 	/**
 	 * Calculates the number of times the given path
@@ -315,6 +327,30 @@ public class Path2i extends AbstractShape2i<Path2i> {
 		return computeCrossingsFromPoint(pi, px, py, true);
 	}
 	
+	/**
+	 * Calculates the number of times the given path
+	 * crosses the ray extending to the right from (px,py).
+	 * If the point lies on a part of the path,
+	 * then no crossings are counted for that intersection.
+	 * +1 is added for each crossing where the Y coordinate is increasing
+	 * -1 is added for each crossing where the Y coordinate is decreasing
+	 * The return value is the sum of all crossings for every segment in
+	 * the path.
+	 * The path must start with a MOVE_TO, otherwise an exception is
+	 * thrown.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param px is the reference point to test.
+	 * @param py is the reference point to test.
+	 * @return the crossing
+	 * @since 12.0
+	 */
+	public static int computeCrossingsFromPoint(PathCursor2i cursor, int[] buffer, int px, int py) {
+		return computeCrossingsFromPoint(cursor, buffer, px, py, true);
+	}
+	
 	/**
 	 * Calculates the number of times the given path
 	 * crosses the ray extending to the right from (px,py).
@@ -334,32 +370,55 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 * @return the crossing, or {@link MathConstants#SHAPE_INTERSECTS}
 	 */
 	static int computeCrossingsFromPoint(PathIterator2i pi, int px, int py, boolean autoClose) {
-		// Copied and adapted from the AWT API
-		if (!pi.hasNext()) return 0;
-		PathElement2i element;
+		return computeCrossingsFromPoint(new IteratorPathCursor(pi), new int[6], px, py, autoClose);
+	}
 
-		element = pi.next();
-		if (element.type != PathElementType.MOVE_TO) {
+	/**
+	 * Calculates the number of times the given path
+	 * crosses the ray extending to the right from (px,py).
+	 * If the point lies on a part of the path,
+	 * then no crossings are counted for that intersection.
+	 * +1 is added for each crossing where the Y coordinate is increasing
+	 * -1 is added for each crossing where the Y coordinate is decreasing
+	 * The return value is the sum of all crossings for every segment in
+	 * the path.
+	 * The path must start with a MOVE_TO, otherwise an exception is
+	 * thrown.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param px is the reference point to test.
+	 * @param py is the reference point to test.
+	 * @param autoClose indicates if the shape is automatically assumed as closed.
+	 * @return the crossing, or {@link MathConstants#SHAPE_INTERSECTS}
+	 * @since 12.0
+	 */
+	static int computeCrossingsFromPoint(PathCursor2i cursor, int[] buffer, int px, int py, boolean autoClose) {
+		// Copied and adapted from the AWT API
+		if (!cursor.hasNext()) return 0;
+		PathElementType type = cursor.next(buffer);
+		if (type != PathElementType.MOVE_TO) {
 			throw new IllegalArgumentException("missing initial moveto in path definition"); //$NON-NLS-1$
 		}
 
-		int movx = element.toX;
-		int movy = element.toY;
+		int movx = buffer[0];
+		int movy = buffer[1];
 		int curx = movx;
 		int cury = movy;
 		int endx, endy;
 		int crossings = 0;
 		
-		while (pi.hasNext()) {
-			element = pi.next();
-			switch (element.type) {
+		while (cursor.hasNext()) {
+			type = cursor.next(buffer);
+			switch (type) {
 			case MOVE_TO:
-				movx = curx = element.toX;
-				movy = cury = element.toY;
+				movx = curx = buffer[0];
+				movy = cury = buffer[1];
 				break;
 			case LINE_TO:
-				endx = element.toX;
-				endy = element.toY;
+				endx = buffer[0];
+				endy = buffer[1];
 				crossings = Segment2i.computeCrossingsFromPoint(
 						crossings,
 						px, py,
@@ -372,11 +431,11 @@ public class Path2i extends AbstractShape2i<Path2i> {
 				cury = endy;
 				break;
 			case QUAD_TO:
-				endx = element.toX;
-				endy = element.toY;
+				endx = buffer[2];
+				endy = buffer[3];
 				Path2i curve = new Path2i();
-				curve.moveTo(element.fromX, element.fromY);
-				curve.quadTo(element.ctrlX1, element.ctrlY1, endx, endy);
+				curve.moveTo(curx, cury);
+				curve.quadTo(buffer[0], buffer[1], endx, endy);
 				int numCrosses = computeCrossingsFromPoint(
 						curve.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
 						px, py, false);
@@ -388,13 +447,13 @@ public class Path2i extends AbstractShape2i<Path2i> {
 				cury = endy;
 				break;
 			case CURVE_TO:
-				endx = element.toX;
-				endy = element.toY;
+				endx = buffer[4];
+				endy = buffer[5];
 				curve = new Path2i();
-				curve.moveTo(element.fromX, element.fromY);
+				curve.moveTo(curx, cury);
 				curve.curveTo(
-						element.ctrlX1, element.ctrlY1,
-						element.ctrlX2, element.ctrlY2,
+						buffer[0], buffer[1],
+						buffer[2], buffer[3],
 						endx, endy);
 				numCrosses = computeCrossingsFromPoint(
 						curve.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
@@ -450,9 +509,26 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 *         specified {@code PathIterator2f}; {@code false} otherwise
 	 */
 	public static boolean contains(PathIterator2i pi, int x, int y) {
+		return contains(new IteratorPathCursor(pi), new int[6], x, y);
+	}
+
+	/**
+	 * Tests if the specified coordinates are inside the closed
+	 * boundary of the path replied by the specified {@link PathCursor2i}.
+	 *
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param x the specified X coordinate
+	 * @param y the specified Y coordinate
+	 * @return {@code true} if the specified coordinates are inside the
+	 *         specified path; {@code false} otherwise
+	 * @since 12.0
+	 */
+	public static boolean contains(PathCursor2i cursor, int[] buffer, int x, int y) {
 		// Copied from the AWT API
-		int mask = (pi.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 1);
-		int cross = computeCrossingsFromPoint(pi, x, y);
+		int mask = (cursor.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 1);
+		int cross = computeCrossingsFromPoint(cursor, buffer, x, y, true);
 		return ((cross & mask) != 0);
 	}
 	
@@ -481,6 +557,35 @@ public class Path2i extends AbstractShape2i<Path2i> {
 		return __computeCrossingsFromRect(pi, rxmin, rymin, rxmax, rymax, true, true);
 	}
 	
+	/**
+	 * Accumulate the number of times the path crosses the shadow
+	 * extending to the right of the rectangle.  See the comment
+	 * for the SHAPE_INTERSECTS constant for more complete details.
+	 * The return value is the sum of all crossings for both the
+	 * top and bottom of the shadow for every segment in the path,
+	 * or the special value SHAPE_INTERSECTS if the path ever enters
+	 * the interior of the rectangle.
+	 * The path must start with a SEG_MOVETO, otherwise an exception is
+	 * thrown.
+	 * The caller must check r[xy]{min,max} for NaN values.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @return the crossings.
+	 * @since 12.0
+	 */
+	public static int computeCrossingsFromRect(PathCursor2i cursor,
+			int[] buffer,
+			int rxmin, int rymin,
+			int rxmax, int rymax) {
+		return __computeCrossingsFromRect(cursor, buffer, rxmin, rymin, rxmax, rymax, true, true);
+	}
+	
 	private static int crossingHelper1(
 			int crossings,
 			int rxmin, int rymin,
@@ -537,34 +642,74 @@ public class Path2i extends AbstractShape2i<Path2i> {
 			int rxmax, int rymax,
 			boolean autoClose,
 			boolean intersectingBehavior) {
+		return __computeCrossingsFromRect(
+				new IteratorPathCursor(pi), new int[6],
+				rxmin, rymin, rxmax, rymax,
+				autoClose, intersectingBehavior);
+	}
+
+	/**
+	 * Accumulate the number of times the path crosses the shadow
+	 * extending to the right of the rectangle.  See the comment
+	 * for the SHAPE_INTERSECTS constant for more complete details.
+	 * The return value is the sum of all crossings for both the
+	 * top and bottom of the shadow for every segment in the path,
+	 * or the special value SHAPE_INTERSECTS if the path ever enters
+	 * the interior of the rectangle.
+	 * The path must start with a SEG_MOVETO, otherwise an exception is
+	 * thrown.
+	 * The caller must check r[xy]{min,max} for NaN values.
+	 * 
+	 * @param cursor is the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @param autoClose indicates if the line from the last point to the last move
+	 * point must be include in the crossing computation.
+	 * @param intersectingBehavior indicates the function is called to determine if the rectangle
+	 * is inside the shape or not. This function determines
+	 * {@link MathConstants#SHAPE_INTERSECTS} in a different way if the
+	 * function is used for containing or intersecting tests.
+	 * @return the crossings count or {@link MathConstants#SHAPE_INTERSECTS}.
+	 * @since 12.0
+	 */
+	static int __computeCrossingsFromRect(PathCursor2i cursor,
+			int[] buffer,
+			int rxmin, int rymin,
+			int rxmax, int rymax,
+			boolean autoClose,
+			boolean intersectingBehavior) {
 		// Copied from AWT API
 		if (rxmax <= rxmin || rymax <= rymin) return 0;
-		if (!pi.hasNext()) return 0;
+		if (!cursor.hasNext()) return 0;
 
-		PathElement2i pathElement = pi.next();
+		PathElementType type = cursor.next(buffer);
 
-		if (pathElement.type != PathElementType.MOVE_TO) {
+		if (type != PathElementType.MOVE_TO) {
 			throw new IllegalArgumentException("missing initial moveto in path definition"); //$NON-NLS-1$
 		}
 
 		int curx, cury, movx, movy, endx, endy;
-		curx = movx = pathElement.toX;
-		cury = movy = pathElement.toY;
+		curx = movx = buffer[0];
+		cury = movy = buffer[1];
 		int crossings = 0;
 
 		while (crossings != MathConstants.SHAPE_INTERSECTS
-				&& pi.hasNext()) {
-			pathElement = pi.next();
-			switch (pathElement.type) {
+				&& cursor.hasNext()) {
+			type = cursor.next(buffer);
+			switch (type) {
 			case MOVE_TO:
 				// Count should always be a multiple of 2 here.
 				// assert((crossings & 1) != 0);
-				movx = curx = pathElement.toX;
-				movy = cury = pathElement.toY;
+				movx = curx = buffer[0];
+				movy = cury = buffer[1];
 				break;
 			case LINE_TO:
-				endx = pathElement.toX;
-				endy = pathElement.toY;
+				endx = buffer[0];
+				endy = buffer[1];
 				crossings = crossingHelper1(crossings,
 						rxmin, rymin, rxmax, rymax,
 						curx, cury, endx, endy,
@@ -576,11 +721,11 @@ public class Path2i extends AbstractShape2i<Path2i> {
 				cury = endy;
 				break;
 			case QUAD_TO:
-				endx = pathElement.toX;
-				endy = pathElement.toY;
+				endx = buffer[2];
+				endy = buffer[3];
 				Path2i curve = new Path2i();
-				curve.moveTo(pathElement.fromX, pathElement.fromY);
-				curve.quadTo(pathElement.ctrlX1, pathElement.ctrlY1, endx, endy);
+				curve.moveTo(curx, cury);
+				curve.quadTo(buffer[0], buffer[1], endx, endy);
 				int numCrosses = __computeCrossingsFromRect(
 						curve.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
 						rxmin, rymin, rxmax, rymax,
@@ -593,11 +738,11 @@ public class Path2i extends AbstractShape2i<Path2i> {
 				cury = endy;
 				break;
 			case CURVE_TO:
-				endx = pathElement.toX;
-				endy = pathElement.toY;
+				endx = buffer[4];
+				endy = buffer[5];
 				curve = new Path2i();
-				curve.moveTo(pathElement.fromX, pathElement.fromY);
-				curve.curveTo(pathElement.ctrlX1, pathElement.ctrlY1, pathElement.ctrlX2, pathElement.ctrlY2, endx, endy);
+				curve.moveTo(curx, cury);
+				curve.curveTo(buffer[0], buffer[1], buffer[2], buffer[3], endx, endy);
 				numCrosses = __computeCrossingsFromRect(
 						curve.getPathIterator(MathConstants.SPLINE_APPROXIMATION_RATIO),
 						rxmin, rymin, rxmax, rymax,
@@ -657,14 +802,33 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 *         specified {@code PathIterator2f}; {@code false} otherwise.
 	 */
 	public static boolean contains(PathIterator2i pi, int rx, int ry, int rwidth, int rheight) {
+		return contains(new IteratorPathCursor(pi), new int[6], rx, ry, rwidth, rheight);
+	}
+
+	/**
+	 * Tests if the specified rectangle is inside the closed
+	 * boundary of the path replied by the specified {@link PathCursor2i}.
+	 *
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param rx the lowest corner of the rectangle.
+	 * @param ry the lowest corner of the rectangle.
+	 * @param rwidth is the width of the rectangle.
+	 * @param rheight is the width of the rectangle.
+	 * @return {@code true} if the specified rectangle is inside the
+	 *         specified path; {@code false} otherwise.
+	 * @since 12.0
+	 */
+	public static boolean contains(PathCursor2i cursor, int[] buffer, int rx, int ry, int rwidth, int rheight) {
 		// Copied and adapted from AWT API
-        if (rwidth <= 0 || rheight <= 0) {
-            return false;
-        }
-        int mask = (pi.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
-        int crossings = __computeCrossingsFromRect(pi, rx, ry, rx+rwidth, ry+rheight, true, false);
-        return (crossings != MathConstants.SHAPE_INTERSECTS &&
-                (crossings & mask) != 0);
+		if (rwidth <= 0 || rheight <= 0) {
+			return false;
+		}
+		int mask = (cursor.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
+		int crossings = __computeCrossingsFromRect(cursor, buffer, rx, ry, rx+rwidth, ry+rheight, true, false);
+		return (crossings != MathConstants.SHAPE_INTERSECTS &&
+				(crossings & mask) != 0);
 	}
 	
 	/**
@@ -699,11 +863,51 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 *         coordinates intersect each other; {@code false} otherwise.
 	 */
 	public static boolean intersects(PathIterator2i pi, int x, int y, int w, int h) {
+		return intersects(new IteratorPathCursor(pi), new int[6], x, y, w, h);
+	}
+
+	/**
+	 * Tests if the interior of the path replied by the specified
+	 * {@link PathCursor2i} intersects the interior of a specified
+	 * set of rectangular coordinates.
+	 *
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements. Its size must be at least 6.
+	 * @param x the specified X coordinate
+	 * @param y the specified Y coordinate
+	 * @param w the width of the specified rectangular coordinates
+	 * @param h the height of the specified rectangular coordinates
+	 * @return {@code true} if the specified path and
+	 *         the interior of the specified set of rectangular
+	 *         coordinates intersect each other; {@code false} otherwise.
+	 * @see #intersects(PathIterator2i, int, int, int, int)
+	 * @since 12.0
+	 */
+	public static boolean intersects(PathCursor2i cursor, int[] buffer, int x, int y, int w, int h) {
 		if (w <= 0f || h <= 0f) {
 			return false;
 		}
-		int mask = (pi.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
-		int crossings = __computeCrossingsFromRect(pi, x, y, x+w, y+h, true, true);
+		return intersectsBounds(cursor, buffer, x, y, x+w, y+h);
+	}
+
+	/** Tests if the interior of the path replied by the given cursor
+	 * intersects the given bounds, without checking if the bounds are empty.
+	 * 
+	 * @param cursor the cursor on the path elements.
+	 * @param buffer is the array that receives the coordinates of the path
+	 * elements.
+	 * @param rxmin is the first corner of the rectangle.
+	 * @param rymin is the first corner of the rectangle.
+	 * @param rxmax is the second corner of the rectangle.
+	 * @param rymax is the second corner of the rectangle.
+	 * @return {@code true} if the path and the bounds intersect.
+	 */
+	private static boolean intersectsBounds(PathCursor2i cursor, int[] buffer,
+			int rxmin, int rymin, int rxmax, int rymax) {
+		// Copied from AWT API
+		int mask = (cursor.getWindingRule() == PathWindingRule.NON_ZERO ? -1 : 2);
+		int crossings = __computeCrossingsFromRect(cursor, buffer, rxmin, rymin, rxmax, rymax, true, true);
 		return (crossings == MathConstants.SHAPE_INTERSECTS ||
 				(crossings & mask) != 0);
 	}
@@ -1021,7 +1225,7 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 * @return an iterator on the path elements.
 	 */
 	public PathIterator2i getPathIterator(float flatness) {
-		return new FlatteningPathIterator(getWindingRule(), getPathIterator(null), flatness, 10);
+		return new FlatteningPathIterator(getPathCursor(null), flatness, 10);
 	}
 
 	/** Replies an iterator on the path elements.
@@ -1048,7 +1252,7 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 * @return an iterator on the path elements.
 	 */
 	public PathIterator2i getPathIterator(Transform2D transform, float flatness) {
-		return new FlatteningPathIterator(getWindingRule(), getPathIterator(transform), flatness, 10);
+		return new FlatteningPathIterator(getPathCursor(transform), flatness, 10);
 	}
 
 	/** {@inheritDoc}
@@ -1061,6 +1265,40 @@ public class Path2i extends AbstractShape2i<Path2i> {
 		return new TransformPathIterator(transform);
 	}
 
+	/** Replies a cursor on the path elements.
+	 * <p>
+	 * Contrary to the iterators, the cursor does not create an
+	 * object for each element of the path. It may be reused
+	 * by invoking {@link PathCursor2i#reset()}.
+	 * <p>
+	 * The cursor for this class is not multi-threaded safe.
+	 *
+	 * @param transform is an optional affine Transform2D to be applied to the
+	 * coordinates as they are returned in the iteration, or <code>null</code> if 
+	 * untransformed coordinates are desired.
+	 * @return a cursor on the path elements.
+	 * @since 12.0
+	 */
+	public PathCursor2i getPathCursor(Transform2D transform) {
+		return new CopyPathCursor(this, transform);
+	}
+
+	/** Replies the cursor that is dedicated to the
+	 * hit tests on this path in the current thread.
+	 * The cursor must be released by the caller.
+	 * 
+	 * @return the cursor.
+	 */
+	private HitTestCursor acquireHitTestCursor() {
+		HitTestCursor cursor = HIT_TEST_CURSOR.get();
+		if (cursor.isUsed()) {
+			// Nested hit test in the same thread
+			cursor = new HitTestCursor();
+		}
+		cursor.bind(this);
+		return cursor;
+	}
+
 	/** Transform the current path.
 	 * This function changes the current path.
 	 * 
@@ -1160,26 +1398,38 @@ public class Path2i extends AbstractShape2i<Path2i> {
 
 	@Override
 	public boolean contains(int x, int y) {
-		return contains(getPathIterator(), x, y);
+		HitTestCursor cursor = acquireHitTestCursor();
+		try {
+			return contains(cursor, cursor.buffer, x, y);
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
 	public boolean contains(Rectangle2i r) {
-		return contains(getPathIterator(),
-				r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+		HitTestCursor cursor = acquireHitTestCursor();
+		try {
+			return contains(cursor, cursor.buffer,
+					r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight());
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
 	public boolean intersects(Rectangle2i s) {
-		// Copied from AWT API
 		if (s.isEmpty()) return false;
-		int mask = (this.windingRule == PathWindingRule.NON_ZERO ? -1 : 2);
-		int crossings = __computeCrossingsFromRect(
-				getPathIterator(),
-				s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY(),
-				true, true);
-		return (crossings == MathConstants.SHAPE_INTERSECTS ||
-				(crossings & mask) != 0);
+		HitTestCursor cursor = acquireHitTestCursor();
+		try {
+			return intersectsBounds(cursor, cursor.buffer,
+					s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY());
+		}
+		finally {
+			cursor.release();
+		}
 	}
 
 	@Override
@@ -1885,6 +2135,225 @@ public class Path2i extends AbstractShape2i<Path2i> {
 
 	} // class CopyPathIterator
 
+	/** A path cursor that reads the elements of a path.
+	 * This cursor may be bound to another path.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class CopyPathCursor implements PathCursor2i {
+
+		private final Point2D tmp = new Point2i();
+		private Path2i path;
+		private Transform2D transform;
+		private int iType = 0;
+		private int iCoord = 0;
+
+		/**
+		 */
+		public CopyPathCursor() {
+			//
+		}
+
+		/**
+		 * @param path is the path to traverse.
+		 * @param transform is the transformation to apply to the coordinates, or <code>null</code>.
+		 */
+		public CopyPathCursor(Path2i path, Transform2D transform) {
+			set(path, transform);
+		}
+
+		/** Bind this cursor to the given path and move it before
+		 * the first element of the path.
+		 * 
+		 * @param path is the path to traverse, or <code>null</code>.
+		 * @param transform is the transformation to apply to the coordinates, or <code>null</code>.
+		 */
+		public void set(Path2i path, Transform2D transform) {
+			this.path = path;
+			this.transform = transform;
+			reset();
+		}
+
+		@Override
+		public void reset() {
+			this.iType = 0;
+			this.iCoord = 0;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.path!=null && this.iType<this.path.numTypes;
+		}
+
+		@Override
+		public PathElementType next(int[] coords) {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			PathElementType type = this.path.types[this.iType];
+			int count;
+			switch(type) {
+			case MOVE_TO:
+			case LINE_TO:
+				count = 2;
+				break;
+			case QUAD_TO:
+				count = 4;
+				break;
+			case CURVE_TO:
+				count = 6;
+				break;
+			case CLOSE:
+			default:
+				count = 0;
+			}
+			if (this.iCoord+count>this.path.numCoords) {
+				throw new NoSuchElementException();
+			}
+			if (this.transform==null) {
+				System.arraycopy(this.path.coords, this.iCoord, coords, 0, count);
+			}
+			else {
+				for(int i=0; i<count; i+=2) {
+					this.tmp.set(
+							this.path.coords[this.iCoord+i],
+							this.path.coords[this.iCoord+i+1]);
+					this.transform.transform(this.tmp);
+					coords[i] = this.tmp.x();
+					coords[i+1] = this.tmp.y();
+				}
+			}
+			this.iCoord += count;
+			++this.iType;
+			return type;
+		}
+
+		@Override
+		public PathWindingRule getWindingRule() {
+			return this.path==null ? PathWindingRule.NON_ZERO : this.path.getWindingRule();
+		}
+
+		@Override
+		public boolean isPolyline() {
+			return this.path==null || this.path.isPolyline();
+		}
+
+	} // class CopyPathCursor
+
+	/** The cursor that is used by the hit tests
+	 * of the paths in a thread.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class HitTestCursor extends CopyPathCursor {
+
+		/** Buffer that receives the coordinates of the path elements.
+		 */
+		public final int[] buffer = new int[6];
+		
+		private boolean inUse = false;
+
+		/**
+		 */
+		public HitTestCursor() {
+			//
+		}
+
+		/** Replies if this cursor is used by a hit test.
+		 * 
+		 * @return <code>true</code> if the cursor is used.
+		 */
+		public boolean isUsed() {
+			return this.inUse;
+		}
+
+		/** Bind this cursor to the given path.
+		 * 
+		 * @param path is the path to traverse.
+		 */
+		public void bind(Path2i path) {
+			this.inUse = true;
+			set(path, null);
+		}
+
+		/** Release this cursor.
+		 */
+		public void release() {
+			set(null, null);
+			this.inUse = false;
+		}
+
+	} // class HitTestCursor
+
+	/** A path cursor that is reading the elements replied by a path iterator.
+	 * The elements that were already replied by the iterator are kept,
+	 * so that the cursor may be {@link #reset() reset} without the source path.
+	 *
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class IteratorPathCursor implements PathCursor2i {
+
+		private final PathIterator2i iterator;
+		private final List<PathElement2i> elements = new ArrayList<PathElement2i>();
+		private int index = 0;
+
+		/**
+		 * @param iterator is the iterator to read.
+		 */
+		public IteratorPathCursor(PathIterator2i iterator) {
+			assert(iterator!=null);
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.index<this.elements.size() || this.iterator.hasNext();
+		}
+
+		@Override
+		public PathElementType next(int[] coords) {
+			PathElement2i element;
+			if (this.index<this.elements.size()) {
+				element = this.elements.get(this.index);
+			}
+			else {
+				element = this.iterator.next();
+				this.elements.add(element);
+			}
+			++this.index;
+			element.toArray(coords);
+			return element.type;
+		}
+
+		@Override
+		public void reset() {
+			this.index = 0;
+		}
+
+		@Override
+		public PathWindingRule getWindingRule() {
+			return this.iterator.getWindingRule();
+		}
+
+		@Override
+		public boolean isPolyline() {
+			return this.iterator.isPolyline();
+		}
+
+	} // class IteratorPathCursor
+
 	/** A path iterator that transforms the coordinates.
 	 *
 	 * @author $Author: galland$
@@ -2251,6 +2720,7 @@ public class Path2i extends AbstractShape2i<Path2i> {
 
 	/** A path iterator that is flattening the path.
 	 * This iterator was copied from AWT FlatteningPathIterator.
+	 * It reads the elements of the path with a {@link PathCursor2i}.
 	 *
 	 * @author $Author: galland$
 	 * @version $FullVersion$
@@ -2259,13 +2729,13 @@ public class Path2i extends AbstractShape2i<Path2i> {
 	 */
 	private static class FlatteningPathIterator implements PathIterator2i {
 
-		/** Winding rule of the path.
+		/** The source cursor.
 		 */
-		private final PathWindingRule windingRule;
+		private final PathCursor2i pathCursor;
 
-		/** The source iterator.
+		/** The coordinates replied by the source cursor.
 		 */
-		private final Iterator<PathElement2i> pathIterator;
+		private final int[] pathCoords = new int[6];
 
 		/**
 		 * Square of the flatness parameter for testing against squared lengths.
@@ -2343,19 +2813,17 @@ public class Path2i extends AbstractShape2i<Path2i> {
 		private int lastNextY;
 
 		/**
-		 * @param windingRule is the winding rule of the path.
-		 * @param pathIterator is the path iterator that may be used to initialize the path.
+		 * @param pathCursor is the cursor on the elements of the path to flatten.
 		 * @param flatness the maximum allowable distance between the
 		 * control points and the flattened curve
 		 * @param limit the maximum number of recursive subdivisions
 		 * allowed for any curved segment
 		 */
-		public FlatteningPathIterator(PathWindingRule windingRule, Iterator<PathElement2i> pathIterator, float flatness, int limit) {
-			assert(windingRule!=null);
+		public FlatteningPathIterator(PathCursor2i pathCursor, float flatness, int limit) {
+			assert(pathCursor!=null);
 			assert(flatness>=0f);
 			assert(limit>=0);
-			this.windingRule = windingRule;
-			this.pathIterator = pathIterator;
+			this.pathCursor = pathCursor;
 			this.squaredFlatness = flatness * flatness;
 			this.limit = limit;
 			this.levels = new int[limit + 1];
@@ -2593,13 +3061,14 @@ public class Path2i extends AbstractShape2i<Path2i> {
 			int level;
 
 			if (this.holdIndex >= this.holdEnd) {
-				if (!this.pathIterator.hasNext()) {
+				if (!this.pathCursor.hasNext()) {
 					this.done = true;
 					return;
 				}
-				PathElement2i pathElement = this.pathIterator.next();
-				this.holdType = pathElement.type;
-				pathElement.toArray(this.hold);
+				this.holdType = this.pathCursor.next(this.pathCoords);
+				for(int i=0; i<this.pathCoords.length; ++i) {
+					this.hold[i] = this.pathCoords[i];
+				}
 				this.levelIndex = 0;
 				this.levels[0] = 0;
 			}
@@ -2769,7 +3238,7 @@ public class Path2i extends AbstractShape2i<Path2i> {
 
 		@Override
 		public PathWindingRule getWindingRule() {
-			return this.windingRule;
+			return this.pathCursor.getWindingRule();
 		}
 		
 		@Override
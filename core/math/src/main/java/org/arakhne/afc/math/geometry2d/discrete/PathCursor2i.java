@@ -0,0 +1,90 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (C) 2005-09 Stephane GALLAND.
+ * Copyright (C) 2012 Stephane GALLAND.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.geometry2d.discrete;
+
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+
+
+/** This interface describes a cursor on path elements.
+ * <p>
+ * Contrary to {@link PathIterator2i}, the cursor does not create
+ * an object for each path element: the type of the element is
+ * replied and its coordinates are written into an array
+ * that is given by the caller. The same cursor may traverse
+ * the path again after a call to {@link #reset()}.
+ * <p>
+ * The coordinates written in the array are the same as
+ * the ones given by {@link PathElement2i#toArray(int[])},
+ * ie. the coordinates of the element without its starting point:
+ * <ul>
+ * <li>2 values for {@link PathElementType#MOVE_TO} and {@link PathElementType#LINE_TO},</li>
+ * <li>4 values for {@link PathElementType#QUAD_TO},</li>
+ * <li>6 values for {@link PathElementType#CURVE_TO},</li>
+ * <li>no value for {@link PathElementType#CLOSE}.</li>
+ * </ul>
+ *
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public interface PathCursor2i {
+
+	/** Replies the winding rule for the path.
+	 * 
+	 * @return the winding rule for the path.
+	 */
+	public PathWindingRule getWindingRule();
+	
+	/** Replies the cursor may reply only elements of type
+	 * <code>MOVE_TO</code>, <code>LINE_TO</code>, or
+	 * <code>CLOSE</code> (no curve).
+	 * 
+	 * @return <code>true</code> if the cursor does not
+	 * contain curve primitives, <code>false</code>
+	 * otherwise.
+	 */
+	public boolean isPolyline();
+
+	/** Replies if the cursor has another path element.
+	 * 
+	 * @return <code>true</code> if {@link #next(int[])} may
+	 * be invoked, <code>false</code> otherwise.
+	 */
+	public boolean hasNext();
+	
+	/** Move the cursor to the next path element.
+	 * 
+	 * @param coords is the array to fill with the coordinates
+	 * of the element. Its size must be at least 6.
+	 * @return the type of the path element.
+	 * @throws java.util.NoSuchElementException if there is no more element.
+	 */
+	public PathElementType next(int[] coords);
+	
+	/** Move the cursor before the first element of the path.
+	 */
+	public void reset();
+
+}
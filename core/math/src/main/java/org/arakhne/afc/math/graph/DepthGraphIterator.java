@@ -63,13 +63,46 @@ extends GraphIterator<ST,PT> {
 			PT starting_point,
 			boolean allowManyReplies,
 			boolean assumeOrientedSegments) {
-		this(graph, depth, segment, starting_point, allowManyReplies,
+		this(graph, null, depth, position_from_starting_point, segment,
+				starting_point, allowManyReplies, assumeOrientedSegments);
+	}
+
+	/**
+	 * @param graph is the graph associated to this iterator.
+	 * @param courseModel is the course model to use, or <code>null</code>
+	 * to use a {@link BreadthFirstGraphCourseModel}. A
+	 * {@link HeapShortestSegmentFirstGraphCourseModel} permits to
+	 * reply the segments by increasing distances from the starting point.
+	 * @param depth is the maximal depth to reach (in the metric coordiante system).
+	 * @param position_from_starting_point is the starting position from
+	 * the <var>starting_point</var> (in meters).
+	 * @param segment is the segment from which to start.
+	 * @param starting_point is the segment's point indicating the direction.
+	 * @param allowManyReplies may be <code>true</code> to allow to reply many times the same segment, otherwhise <code>false</code>.
+	 * @param assumeOrientedSegments may be <code>true</code> to assume that the same segment has two different
+	 * instances for graph iteration: the first instance is associated the first point of the segment and the second
+	 * instance is associated to the last point of the segment. If this parameter is <code>false</code> to assume that
+	 * the end points of a segment are not distinguished.
+	 * @since 12.0
+	 */
+	public DepthGraphIterator(
+			Graph<ST,PT> graph,
+			GraphCourseModel<ST,PT> courseModel,
+			float depth,
+			float position_from_starting_point,
+			ST segment, 
+			PT starting_point,
+			boolean allowManyReplies,
+			boolean assumeOrientedSegments) {
+		this(graph, courseModel, depth, segment, starting_point, allowManyReplies,
 				assumeOrientedSegments, 
 				-getStartingDistance(position_from_starting_point,segment));
 	}
 	
 	/**
 	 * @param graph is the graph associated to this iterator.
+	 * @param courseModel is the course model to use, or <code>null</code>
+	 * to use a {@link BreadthFirstGraphCourseModel}.
 	 * @param depth is the maximal depth to reach (in the metric coordiante system).
 	 * @param position_from_starting_point is the starting position from
 	 * the <var>starting_point</var> (in meters).
@@ -85,6 +118,7 @@ extends GraphIterator<ST,PT> {
 	 */
 	private DepthGraphIterator(
 			Graph<ST,PT> graph,
+			GraphCourseModel<ST,PT> courseModel,
 			float depth,
 			ST segment, 
 			PT starting_point,
@@ -92,7 +126,7 @@ extends GraphIterator<ST,PT> {
 			boolean assumeOrientedSegments,
 			float distanceToReachStartingPoint) {
 		super(graph,
-				new BreadthFirstGraphCourseModel<ST,PT>(),
+				(courseModel==null) ? new BreadthFirstGraphCourseModel<ST,PT>() : courseModel,
 				segment,starting_point,
 				allowManyReplies,
 				assumeOrientedSegments,
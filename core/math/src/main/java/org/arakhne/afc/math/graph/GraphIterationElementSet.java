@@ -0,0 +1,194 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/** Set of iteration elements that is based on the hash codes
+ * of the segments.
+ * <p>
+ * Two elements are equal if they have the same segment, and if
+ * the segments are assumed to be oriented, if they are entering
+ * the segment by the same point. It is the same behaviour as
+ * the default {@link GraphIterationElementComparator}.
+ * 
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+class GraphIterationElementSet<ST extends GraphSegment<ST,PT>,PT extends GraphPoint<PT,ST>>
+extends AbstractSet<GraphIterationElement<ST,PT>> {
+
+	/** Elements, or elements entering their segments by the first point
+	 * if the segments are oriented.
+	 */
+	private final Map<ST,GraphIterationElement<ST,PT>> elements = new HashMap<ST,GraphIterationElement<ST,PT>>();
+	
+	/** Elements entering their segments by the last point, or <code>null</code>
+	 * if the segments are not oriented.
+	 */
+	private final Map<ST,GraphIterationElement<ST,PT>> reverseElements;
+	
+	/**
+	 * @param assumeOrientedSegments may be <code>true</code> to assume that the same segment has two different
+	 * instances for graph iteration: the first instance is associated the first point of the segment and the second
+	 * instance is associated to the last point of the segment. If this parameter is <code>false</code> to assume that
+	 * the end points of a segment are not distinguished.
+	 */
+	public GraphIterationElementSet(boolean assumeOrientedSegments) {
+		this.reverseElements = assumeOrientedSegments ? new HashMap<ST,GraphIterationElement<ST,PT>>() : null;
+	}
+	
+	private Map<ST,GraphIterationElement<ST,PT>> getMap(GraphIterationElement<?,?> element) {
+		if (this.reverseElements!=null) {
+			GraphSegment<?,?> segment = element.getSegment();
+			Object point = element.getPoint();
+			if (segment!=null && point!=null && !point.equals(segment.getBeginPoint())) {
+				return this.reverseElements;
+			}
+		}
+		return this.elements;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean add(GraphIterationElement<ST,PT> e) {
+		Map<ST,GraphIterationElement<ST,PT>> map = getMap(e);
+		ST segment = e.getSegment();
+		if (map.containsKey(segment)) return false;
+		map.put(segment, e);
+		return true;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (o instanceof GraphIterationElement<?,?>) {
+			GraphIterationElement<?,?> e = (GraphIterationElement<?,?>)o;
+			return getMap(e).containsKey(e.getSegment());
+		}
+		return false;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof GraphIterationElement<?,?>) {
+			GraphIterationElement<?,?> e = (GraphIterationElement<?,?>)o;
+			return getMap(e).remove(e.getSegment())!=null;
+		}
+		return false;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		this.elements.clear();
+		if (this.reverseElements!=null) this.reverseElements.clear();
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		int s = this.elements.size();
+		if (this.reverseElements!=null) s += this.reverseElements.size();
+		return s;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public Iterator<GraphIterationElement<ST,PT>> iterator() {
+		return new ElementIterator();
+	}
+	
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class ElementIterator implements Iterator<GraphIterationElement<ST,PT>> {
+
+		private Iterator<GraphIterationElement<ST,PT>> iterator;
+		private boolean reverse = false;
+		private Iterator<GraphIterationElement<ST,PT>> lastIterator = null;
+		
+		/**
+		 */
+		@SuppressWarnings("synthetic-access")
+		public ElementIterator() {
+			this.iterator = GraphIterationElementSet.this.elements.values().iterator();
+		}
+		
+		@SuppressWarnings("synthetic-access")
+		private void searchNext() {
+			if (!this.iterator.hasNext() && !this.reverse
+				&& GraphIterationElementSet.this.reverseElements!=null) {
+				this.reverse = true;
+				this.iterator = GraphIterationElementSet.this.reverseElements.values().iterator();
+			}
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			searchNext();
+			return this.iterator.hasNext();
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public GraphIterationElement<ST,PT> next() {
+			searchNext();
+			if (!this.iterator.hasNext()) throw new NoSuchElementException();
+			this.lastIterator = this.iterator;
+			return this.iterator.next();
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (this.lastIterator==null) throw new IllegalStateException();
+			this.lastIterator.remove();
+			this.lastIterator = null;
+		}
+		
+	} // class ElementIterator
+
+}
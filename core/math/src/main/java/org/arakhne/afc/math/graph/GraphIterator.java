@@ -26,6 +26,7 @@ import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.TreeSet;
 
 /**
@@ -60,7 +61,7 @@ implements Iterator<ST> {
 	private final boolean allowManyReplies;
 	private final boolean assumeOrientedSegments;
 	private final GraphCourseModel<ST,PT> courseModel;
-	private final TreeSet<GraphIterationElement<ST,PT>> visited;
+	private final Set<GraphIterationElement<ST,PT>> visited;
 	private GraphIterationElement<ST,PT> current = null;
 	private final WeakReference<Graph<ST,PT>> graph;
 	
@@ -134,9 +135,8 @@ implements Iterator<ST> {
 		
 		this.courseModel.addIterationElement(firstElement);
 		if (!this.allowManyReplies) {
-			GraphIterationElementComparator<ST,PT> comparator = createVisitedSegmentComparator(this.assumeOrientedSegments);
-			assert(comparator!=null);
-			this.visited = new TreeSet<GraphIterationElement<ST,PT>>(comparator);
+			this.visited = createVisitedSegmentSet(this.assumeOrientedSegments);
+			assert(this.visited!=null);
 			this.visited.add(firstElement);
 		}
 		else {
@@ -144,6 +144,29 @@ implements Iterator<ST> {
 		}
 	}
 
+	/** Invoked when the set of the visited segments is required.
+	 * <p>
+	 * If {@link #createVisitedSegmentComparator(boolean)} replies
+	 * a comparator of type {@link GraphIterationElementComparator},
+	 * the visited segments are stored in a hash-based set.
+	 * Otherwise they are stored in a tree set sorted by the comparator.
+	 * 
+	 * @param assumeOrientedSegments may be <code>true</code> to assume that the same segment has two different
+	 * instances for graph iteration: the first instance is associated the first point of the segment and the second
+	 * instance is associated to the last point of the segment. If this parameter is <code>false</code> to assume that
+	 * the end points of a segment are not distinguished.
+	 * @return the set of the visited segments.
+	 * @since 12.0
+	 */
+	protected Set<GraphIterationElement<ST,PT>> createVisitedSegmentSet(boolean assumeOrientedSegments) {
+		GraphIterationElementComparator<ST,PT> comparator = createVisitedSegmentComparator(assumeOrientedSegments);
+		assert(comparator!=null);
+		if (comparator.getClass()==GraphIterationElementComparator.class) {
+			return new GraphIterationElementSet<ST,PT>(comparator.isOrientedSegments());
+		}
+		return new TreeSet<GraphIterationElement<ST,PT>>(comparator);
+	}
+
 	/** Invoked when a comparator on visited segments is required.
 	 * 
 	 * @param assumeOrientedSegments may be <code>true</code> to assume that the same segment has two different
@@ -56,6 +56,15 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 		this.isReversable = true;
 	}
 
+	/**
+	 * @param storage is the type of storage of the segments.
+	 * @since 12.0
+	 */
+	public GraphPath(GraphPathStorage storage) {
+		this();
+		setStorage(storage);
+	}
+
 	/**
 	 * @param segment is the segment from which to start.
 	 * @param startingPoint is the segment's point indicating the direction.
@@ -137,6 +146,40 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 		this.isReversable = isReversable;
 	}
 
+	/** Replies how the segments of this path are stored.
+	 * 
+	 * @return the type of storage.
+	 * @since 12.0
+	 */
+	public GraphPathStorage getStorage() {
+		if (this.segmentList instanceof GraphPathSegmentArray<?,?>) {
+			return GraphPathStorage.ARRAY;
+		}
+		return GraphPathStorage.LINKED_LIST;
+	}
+
+	/** Change how the segments of this path are stored.
+	 * The segments already inside the path are copied in the
+	 * new storage.
+	 * 
+	 * @param storage is the type of storage, or <code>null</code>
+	 * to use {@link GraphPathStorage#LINKED_LIST}.
+	 * @since 12.0
+	 */
+	public void setStorage(GraphPathStorage storage) {
+		GraphPathStorage s = (storage==null) ? GraphPathStorage.LINKED_LIST : storage;
+		if (s!=getStorage()) {
+			this.segmentList = newSegmentList(s, this.segmentList);
+		}
+	}
+	
+	private static <ST extends GraphSegment<ST,PT>,PT extends GraphPoint<PT,ST>> List<ST> newSegmentList(GraphPathStorage storage, List<ST> segments) {
+		if (storage==GraphPathStorage.ARRAY) {
+			return new GraphPathSegmentArray<ST,PT>(segments);
+		}
+		return new LinkedList<ST>(segments);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -648,6 +691,7 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 		return removeUntil(indexOf(o,p), true);
 	}
 
+	@SuppressWarnings("unchecked")
 	private boolean removeAfter(int index, boolean inclusive) {
 		if (index>=0) {
 			boolean changed = false;
@@ -664,6 +708,13 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 					this.length = 0;
 				}
 			}
+			else if (limit<this.segmentList.size()
+					&& this.segmentList instanceof GraphPathSegmentArray<?,?>) {
+				this.length = ((GraphPathSegmentArray<ST,PT>)this.segmentList).getDistanceToReachSegment(limit);
+				this.endingPoint = getStartingPointFor(limit);
+				this.segmentList.subList(limit, this.segmentList.size()).clear();
+				changed = true;
+			}
 			else {
 				this.length = 0;
 				for(int i=0; i<this.segmentList.size() && i<limit; ++i) {
@@ -1140,8 +1191,7 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 	public GP clone() {
 		try {
 			GP clone = (GP)super.clone();
-			clone.segmentList = new LinkedList<ST>();
-			clone.segmentList.addAll(this.segmentList);
+			clone.segmentList = newSegmentList(getStorage(), this.segmentList);
 			return clone;
 		}
 		catch(CloneNotSupportedException e) {
@@ -1305,6 +1355,49 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 		return splitAt(indexOf(o,startPoint), true);
 	}
 
+	/** Split this path and retains the first part of the
+	 * part in this object and reply the second part.
+	 * The segment that is covering the given distance from the
+	 * begining of the path will be in the second part.
+	 * <p>
+	 * With the {@link GraphPathStorage#ARRAY array storage}, the segment
+	 * is found in O(log n) and the two parts of the path are sharing
+	 * the storage of this path, so that the split is done in O(log n).
+	 * With the linked list storage, the split is done in O(n).
+	 * 
+	 * @param distance is the distance from the begining of the path.
+	 * @return the rest of the path from the segment at the given distance.
+	 * @since 12.0
+	 */
+	@SuppressWarnings("unchecked")
+	public GP splitAtDistance(float distance) {
+		int index = getSegmentIndexAt(distance);
+		if (index>=0 && this.segmentList instanceof GraphPathSegmentArray<?,?>) {
+			GraphPathSegmentArray<ST,PT> array = (GraphPathSegmentArray<ST,PT>)this.segmentList;
+			PT splitPoint = getStartingPointFor(index);
+			float firstLength = array.getDistanceToReachSegment(index);
+			GraphPath<GP,ST,PT> secondPath;
+			try {
+				secondPath = (GP)super.clone();
+			}
+			catch(CloneNotSupportedException e) {
+				throw new Error(e);
+			}
+			secondPath.segmentList = array.split(index);
+			secondPath.startingPoint = splitPoint;
+			secondPath.length = Math.max(0f, this.length - firstLength);
+			if (index==0) {
+				clear();
+			}
+			else {
+				this.endingPoint = splitPoint;
+				this.length = firstLength;
+			}
+			return (GP)secondPath;
+		}
+		return splitAt(index, true);
+	}
+
 	/** Replies the length of the path.
 	 * 
 	 * @return the length of the path.
@@ -1314,6 +1407,62 @@ public class GraphPath<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<S
 		return this.length;
 	}
 
+	/** Replies the distance from the begining of the path
+	 * to the segment at the given index.
+	 * <p>
+	 * This function is running in O(1) with the
+	 * {@link GraphPathStorage#ARRAY array storage}, and
+	 * in O(n) with the linked list storage.
+	 * 
+	 * @param index is the index of the segment, or the size of the path.
+	 * @return the distance to reach the segment.
+	 * @throws IndexOutOfBoundsException if the index is invalid.
+	 * @since 12.0
+	 */
+	@SuppressWarnings("unchecked")
+	public float getDistanceToReachSegment(int index) {
+		if (this.segmentList instanceof GraphPathSegmentArray<?,?>) {
+			return ((GraphPathSegmentArray<ST,PT>)this.segmentList).getDistanceToReachSegment(index);
+		}
+		if (index<0 || index>this.segmentList.size()) throw new IndexOutOfBoundsException();
+		float distance = 0f;
+		Iterator<ST> iterator = this.segmentList.iterator();
+		for(int i=0; i<index; ++i) {
+			distance += iterator.next().getLength();
+		}
+		return distance;
+	}
+
+	/** Replies the index of the segment that is covering the given
+	 * distance from the begining of the path.
+	 * <p>
+	 * This function is running in O(log n) with the
+	 * {@link GraphPathStorage#ARRAY array storage}, and
+	 * in O(n) with the linked list storage.
+	 * 
+	 * @param distance is the distance from the begining of the path.
+	 * @return the index of the segment, or <code>-1</code> if the distance
+	 * is outside the path.
+	 * @since 12.0
+	 */
+	@SuppressWarnings("unchecked")
+	public int getSegmentIndexAt(float distance) {
+		if (this.segmentList instanceof GraphPathSegmentArray<?,?>) {
+			return ((GraphPathSegmentArray<ST,PT>)this.segmentList).getSegmentIndexAt(distance);
+		}
+		if (distance>=0f) {
+			float d = 0f;
+			int i = 0;
+			for(ST segment : this.segmentList) {
+				d += segment.getLength();
+				if (d>distance) return i;
+				++i;
+			}
+			if (i>0 && d==distance) return i-1;
+		}
+		return -1;
+	}
+
 	/**
 	 * Iterable on points.
 	 * 
@@ -0,0 +1,397 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/** List of segments for the {@link GraphPath graph paths}
+ * that is stored in a growable array, with the prefix sums
+ * of the lengths of the segments.
+ * <p>
+ * The first element of the list is not always stored at the
+ * beginning of the array, so that the removal of the first
+ * segments does not move the other segments.
+ * The prefix sums are updated lazily from the first modified
+ * segment. They are relative to a reference distance that is
+ * moved when the first segments are removed or inserted; the
+ * prefix sums are rebased on zero when this reference distance
+ * becomes greater than the length of the list, so that they are not
+ * losing their precision on long-living lists.
+ * <p>
+ * When the list is {@link #split(int) split}, the two parts are
+ * sharing the same arrays, each part using its own window of slots.
+ * A part is copying its segments in new arrays only when it must grow
+ * outside its window.
+ * 
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+class GraphPathSegmentArray<ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
+extends AbstractList<ST> implements RandomAccess {
+
+	private Object[] segments;
+	
+	/** <code>distances[i]</code> is equal to <code>headLength</code> plus
+	 * the lengths of the segments stored from <code>offset</code>
+	 * to <code>i</code> inclusive.
+	 */
+	private float[] distances;
+	
+	/** Index of the first segment in the arrays.
+	 */
+	private int offset = 0;
+	
+	/** First slot of the arrays that could be used by this list.
+	 */
+	private int start = 0;
+	
+	/** Slot after the last one that could be used by this list.
+	 */
+	private int end;
+	
+	private int size = 0;
+	
+	/** The distances are valid in the range [offset;validEnd).
+	 */
+	private int validEnd = 0;
+	
+	/** Reference distance before the first segment.
+	 */
+	private float headLength = 0f;
+
+	/**
+	 */
+	public GraphPathSegmentArray() {
+		this(10);
+	}
+
+	/**
+	 * @param capacity is the initial capacity of the list.
+	 */
+	public GraphPathSegmentArray(int capacity) {
+		this.segments = new Object[Math.max(1, capacity)];
+		this.distances = new float[this.segments.length];
+		this.end = this.segments.length;
+	}
+
+	/**
+	 * @param segments are the shared segments.
+	 * @param distances are the shared distances.
+	 * @param start is the first slot of the window of this list.
+	 * @param end is the slot after the last one of the window of this list.
+	 */
+	private GraphPathSegmentArray(Object[] segments, float[] distances, int start, int end) {
+		this.segments = segments;
+		this.distances = distances;
+		this.start = this.offset = this.validEnd = start;
+		this.end = end;
+	}
+
+	/**
+	 * @param segments are the initial segments.
+	 */
+	public GraphPathSegmentArray(Collection<? extends ST> segments) {
+		this(segments.size());
+		for(ST segment : segments) {
+			this.segments[this.size] = segment;
+			++this.size;
+		}
+	}
+
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public ST get(int index) {
+		if (index<0 || index>=this.size) throw new IndexOutOfBoundsException();
+		return (ST)this.segments[this.offset + index];
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public ST set(int index, ST element) {
+		if (index<0 || index>=this.size) throw new IndexOutOfBoundsException();
+		int slot = this.offset + index;
+		ST old = (ST)this.segments[slot];
+		this.segments[slot] = element;
+		if (this.validEnd>slot) this.validEnd = slot;
+		return old;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void add(int index, ST element) {
+		if (index<0 || index>this.size) throw new IndexOutOfBoundsException();
+		if (index==0 && this.offset>this.start) {
+			--this.offset;
+			this.segments[this.offset] = element;
+			if (this.validEnd>this.offset+1) {
+				this.distances[this.offset] = this.headLength;
+			}
+			else {
+				this.validEnd = this.offset;
+			}
+			this.headLength -= element.getLength();
+			rebaseDistances();
+		}
+		else {
+			if (this.offset+this.size==this.end) {
+				ensureCapacity(this.size+1);
+			}
+			int slot = this.offset + index;
+			System.arraycopy(this.segments, slot, this.segments, slot+1, this.size-index);
+			this.segments[slot] = element;
+			if (this.validEnd>slot) this.validEnd = slot;
+		}
+		++this.size;
+		++this.modCount;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public ST remove(int index) {
+		if (index<0 || index>=this.size) throw new IndexOutOfBoundsException();
+		int slot = this.offset + index;
+		ST old = (ST)this.segments[slot];
+		if (index==0) {
+			removeHead(1);
+		}
+		else {
+			System.arraycopy(this.segments, slot+1, this.segments, slot, this.size-index-1);
+			--this.size;
+			this.segments[this.offset+this.size] = null;
+			if (this.validEnd>slot) this.validEnd = slot;
+			++this.modCount;
+		}
+		return old;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(this.segments, this.offset, this.offset+this.size, null);
+		this.size = 0;
+		this.offset = this.validEnd = this.start;
+		this.headLength = 0f;
+		++this.modCount;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex<0 || toIndex>this.size || fromIndex>toIndex) throw new IndexOutOfBoundsException();
+		if (fromIndex==toIndex) return;
+		if (fromIndex==0) {
+			removeHead(toIndex);
+		}
+		else {
+			int from = this.offset + fromIndex;
+			int end = this.offset + this.size;
+			System.arraycopy(this.segments, this.offset+toIndex, this.segments, from, this.size-toIndex);
+			this.size -= toIndex - fromIndex;
+			Arrays.fill(this.segments, this.offset+this.size, end, null);
+			if (this.validEnd>from) this.validEnd = from;
+			++this.modCount;
+		}
+	}
+	
+	/** Remove the first segments without moving the other segments.
+	 * 
+	 * @param count is the number of segments to remove.
+	 */
+	private void removeHead(int count) {
+		int lastRemoved = this.offset + count - 1;
+		if (this.validEnd>lastRemoved) {
+			this.headLength = this.distances[lastRemoved];
+		}
+		else {
+			this.validEnd = lastRemoved + 1;
+		}
+		Arrays.fill(this.segments, this.offset, lastRemoved+1, null);
+		this.offset += count;
+		this.size -= count;
+		if (this.size==0) {
+			this.offset = this.validEnd = this.start;
+			this.headLength = 0f;
+		}
+		else {
+			rebaseDistances();
+		}
+		++this.modCount;
+	}
+	
+	/** Move the prefix sums so that they are relative to a
+	 * null reference distance, if the reference distance is
+	 * greater than the length covered by the valid prefix sums.
+	 */
+	private void rebaseDistances() {
+		if (this.validEnd>this.offset) {
+			float head = this.headLength;
+			if (Math.abs(head)>Math.abs(this.distances[this.validEnd-1]-head)) {
+				for(int i=this.offset; i<this.validEnd; ++i) {
+					this.distances[i] -= head;
+				}
+				this.headLength = 0f;
+			}
+		}
+		else {
+			this.headLength = 0f;
+		}
+	}
+	
+	/** Split this list at the given index.
+	 * This list is keeping the segments before the index,
+	 * and the replied list contains the segments from the index.
+	 * <p>
+	 * This function is running in O(1) because the two lists
+	 * are sharing the arrays.
+	 * 
+	 * @param index is the index of the first segment of the replied list.
+	 * @return the segments from the given index.
+	 */
+	GraphPathSegmentArray<ST,PT> split(int index) {
+		if (index<0 || index>this.size) throw new IndexOutOfBoundsException();
+		int slot = this.offset + index;
+		GraphPathSegmentArray<ST,PT> tail = new GraphPathSegmentArray<ST,PT>(
+				this.segments, this.distances, slot, this.end);
+		tail.size = this.size - index;
+		if (tail.size>0 && this.validEnd>slot) {
+			tail.validEnd = this.validEnd;
+			tail.headLength = (index>0) ? this.distances[slot-1] : this.headLength;
+		}
+		this.end = slot;
+		this.size = index;
+		if (this.validEnd>slot) this.validEnd = slot;
+		if (this.size==0) {
+			this.offset = this.validEnd = this.start;
+			this.headLength = 0f;
+		}
+		++this.modCount;
+		return tail;
+	}
+	
+	/** Ensure that the segments could be stored from the begining
+	 * of the arrays with the given capacity.
+	 * 
+	 * @param capacity is the minimal capacity.
+	 */
+	private void ensureCapacity(int capacity) {
+		Object[] newSegments = this.segments;
+		float[] newDistances = this.distances;
+		int newStart = this.start;
+		int windowSize = this.end - this.start;
+		if (capacity>windowSize) {
+			int newCapacity = Math.max(capacity, (windowSize * 3) / 2 + 1);
+			newSegments = new Object[newCapacity];
+			newDistances = new float[newCapacity];
+			newStart = 0;
+			this.start = 0;
+			this.end = newCapacity;
+		}
+		System.arraycopy(this.segments, this.offset, newSegments, newStart, this.size);
+		System.arraycopy(this.distances, this.offset, newDistances, newStart, this.validEnd - this.offset);
+		if (newSegments==this.segments) {
+			Arrays.fill(this.segments, newStart+this.size, this.offset+this.size, null);
+		}
+		this.segments = newSegments;
+		this.distances = newDistances;
+		this.validEnd += newStart - this.offset;
+		this.offset = newStart;
+	}
+	
+	/** Update the prefix sums until the given slot.
+	 * 
+	 * @param slot is the last slot to update.
+	 */
+	private void updateDistances(int slot) {
+		float distance = (this.validEnd==this.offset) ? this.headLength : this.distances[this.validEnd-1];
+		for(int i=this.validEnd; i<=slot; ++i) {
+			distance += ((GraphSegment<?,?>)this.segments[i]).getLength();
+			this.distances[i] = distance;
+		}
+		this.validEnd = slot + 1;
+	}
+
+	/** Replies the sum of the lengths of the segments before the given index.
+	 * 
+	 * @param index is the index of a segment, or the size of the list.
+	 * @return the sum of the lengths of the segments before the given index.
+	 */
+	public float getDistanceToReachSegment(int index) {
+		if (index<0 || index>this.size) throw new IndexOutOfBoundsException();
+		if (index==0) return 0f;
+		int slot = this.offset + index - 1;
+		if (this.validEnd<=slot) updateDistances(slot);
+		return this.distances[slot] - this.headLength;
+	}
+
+	/** Replies the index of the segment that is covering the given
+	 * distance from the begining of the list.
+	 * 
+	 * @param distance is the distance from the begining of the list.
+	 * @return the index of the segment, or <code>-1</code> if the distance
+	 * is outside the list.
+	 */
+	public int getSegmentIndexAt(float distance) {
+		if (this.size==0 || distance<0f) return -1;
+		int last = this.offset + this.size - 1;
+		if (this.validEnd<=last) updateDistances(last);
+		float d = distance + this.headLength;
+		if (d>this.distances[last]) return -1;
+		// Search the first segment that is ending after the distance.
+		int low = this.offset;
+		int high = last;
+		int middle;
+		while (low<high) {
+			middle = (low + high) >>> 1;
+			if (this.distances[middle]>d) {
+				high = middle;
+			}
+			else {
+				low = middle + 1;
+			}
+		}
+		return low - this.offset;
+	}
+
+}
@@ -0,0 +1,48 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+/** Indicates how the segments of a {@link GraphPath} are stored.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see GraphPath#setStorage(GraphPathStorage)
+ * @since 12.0
+ */
+public enum GraphPathStorage {
+
+	/** The segments are stored in a linked list.
+	 * The accesses by index and the computations of the distances
+	 * along the path are linear.
+	 */
+	LINKED_LIST,
+
+	/** The segments are stored in a growable array, with the
+	 * cumulated lengths of the segments. The accesses by index and
+	 * the removals of the first segments are done in O(1); the
+	 * distances along the path are computed in O(1), and the
+	 * segment at a given distance is found in O(log n).
+	 */
+	ARRAY;
+
+}
@@ -0,0 +1,204 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This class permits to implement a shortest path
+ * algorithm to make a course inside a graph.
+ * <p>
+ * In opposite to {@link ShortestSegmentFirstGraphCourseModel}, the
+ * elements are stored in a binary heap, so that the addition and the
+ * removal of an element are done in O(log n).
+ * The elements are replied by increasing distances to reach the end of
+ * their segments; when the distances are equal, the last added element
+ * is replied first, as by {@link ShortestSegmentFirstGraphCourseModel}.
+ * 
+ * @param <PT> is the type of node in the graph
+ * @param <ST> is the type of edge in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class HeapShortestSegmentFirstGraphCourseModel<ST extends GraphSegment<ST,PT>,PT extends GraphPoint<PT,ST>> implements GraphCourseModel<ST,PT>{
+
+	private GraphIterationElement<?,?>[] elements = new GraphIterationElement<?,?>[16];
+	private float[] distances = new float[16];
+	private long[] orders = new long[16];
+	private int size = 0;
+	private long insertionCount = 0;
+	
+	/**
+	 */
+	public HeapShortestSegmentFirstGraphCourseModel() {
+		//
+	}
+
+	/** Replies if this model restitutes the elements in a reverse order.
+	 * <p>
+	 * If <code>true</code> this model is assumed to replies the <code>GraphIterationElement</code>
+	 * in the reverse order than the sequence of calls to <code>addIterationElement()</code>.
+	 * If <code>false</code> this model is assumed to replies the <code>GraphIterationElement</code>
+	 * in the same order as the sequence of calls to <code>addIterationElement()</code>.
+	 * 
+	 * @return <code>true</code> if reversed, otherwise <code>false</code>
+	 */
+	@Override
+	public final boolean isReversedRestitution() {
+		return false;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void addIterationElement(GraphIterationElement<ST,PT> element) {
+		if (this.size==this.elements.length) {
+			int capacity = this.size * 2;
+			this.elements = Arrays.copyOf(this.elements, capacity);
+			this.distances = Arrays.copyOf(this.distances, capacity);
+			this.orders = Arrays.copyOf(this.orders, capacity);
+		}
+		int i = this.size;
+		++this.size;
+		this.elements[i] = element;
+		this.distances[i] = element.getDistanceToReachSegment() + element.getSegment().getLength();
+		this.orders[i] = this.insertionCount;
+		++this.insertionCount;
+		siftUp(i);
+	}
+	
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return this.size==0;
+	}
+		
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public GraphIterationElement<ST,PT> getNextIterationElement() {
+		if (this.size==0) return null;
+		return (GraphIterationElement<ST,PT>)this.elements[0];
+	}
+
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public GraphIterationElement<ST,PT> removeNextIterationElement() {
+		if (this.size==0) return null;
+		GraphIterationElement<ST,PT> first = (GraphIterationElement<ST,PT>)this.elements[0];
+		--this.size;
+		if (this.size>0) {
+			move(this.size, 0);
+			siftDown(0);
+		}
+		this.elements[this.size] = null;
+		return first;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void removeIterationElements(Collection<GraphIterationElement<ST,PT>> elements) {
+		if (elements.isEmpty()) return;
+		int newSize = 0;
+		for(int i=0; i<this.size; ++i) {
+			if (!elements.contains(this.elements[i])) {
+				move(i, newSize);
+				++newSize;
+			}
+		}
+		if (newSize!=this.size) {
+			Arrays.fill(this.elements, newSize, this.size, null);
+			this.size = newSize;
+			for(int i=(this.size>>>1)-1; i>=0; --i) {
+				siftDown(i);
+			}
+		}
+	}
+	
+	private void move(int from, int to) {
+		this.elements[to] = this.elements[from];
+		this.distances[to] = this.distances[from];
+		this.orders[to] = this.orders[from];
+	}
+	
+	private void swap(int i, int j) {
+		GraphIterationElement<?,?> e = this.elements[i];
+		this.elements[i] = this.elements[j];
+		this.elements[j] = e;
+		float d = this.distances[i];
+		this.distances[i] = this.distances[j];
+		this.distances[j] = d;
+		long o = this.orders[i];
+		this.orders[i] = this.orders[j];
+		this.orders[j] = o;
+	}
+	
+	/** Replies if the element at the first index must be replied before
+	 * the element at the second index.
+	 * 
+	 * @param i
+	 * @param j
+	 * @return <code>true</code> if the element at <var>i</var> is before
+	 * the element at <var>j</var>.
+	 */
+	private boolean isBefore(int i, int j) {
+		if (this.distances[i]!=this.distances[j]) {
+			return this.distances[i]<this.distances[j];
+		}
+		return this.orders[i]>this.orders[j];
+	}
+
+	private void siftUp(int index) {
+		int i = index;
+		int parent;
+		while (i>0) {
+			parent = (i-1) >>> 1;
+			if (!isBefore(i, parent)) return;
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int index) {
+		int i = index;
+		int half = this.size >>> 1;
+		int child;
+		while (i<half) {
+			child = 2*i+1;
+			if (child+1<this.size && isBefore(child+1, child)) {
+				++child;
+			}
+			if (!isBefore(child, i)) return;
+			swap(i, child);
+			i = child;
+		}
+	}
+
+}
@@ -59,6 +59,16 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 	
 	private boolean enableClosedNodeReopening = true;
 	
+	private AStarSearchMode searchMode = AStarSearchMode.SORTED_LIST;
+	
+	private boolean enableBidirectionalSearch = false;
+	
+	private AStarOpenHeap<ST,PT> heapOpenList = null;
+	private AStarCloseSet<ST,PT> heapCloseList = null;
+	
+	private List<Candidate> candidatePool = null;
+	private int usedCandidates = 0;
+	
 	/**
 	 * @param heuristic is the heuristic to use by the A* algorithm.
 	 * @param pathFactory is the factory to create new paths.
@@ -169,6 +179,64 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 		return this.enableClosedNodeReopening;
 	}
 
+	/** Change the structures used to store the open and close lists
+	 * during the search.
+	 * 
+	 * @param mode is the search mode, or <code>null</code> to use
+	 * {@link AStarSearchMode#SORTED_LIST}.
+	 * @return the old search mode.
+	 * @since 12.0
+	 */
+	public AStarSearchMode setSearchMode(AStarSearchMode mode) {
+		AStarSearchMode old = this.searchMode;
+		this.searchMode = (mode==null) ? AStarSearchMode.SORTED_LIST : mode;
+		return old;
+	}
+
+	/** Replies the structures used to store the open and close lists
+	 * during the search.
+	 * 
+	 * @return the search mode.
+	 * @since 12.0
+	 */
+	public AStarSearchMode getSearchMode() {
+		return this.searchMode;
+	}
+
+	/** Change the flag that permits to search the path from the start
+	 * point and from the end point at the same time.
+	 * <p>
+	 * The bidirectional search is used only if no
+	 * {@link #setSegmentOrientationTool(AStarSegmentOrientation) orientation tool}
+	 * is set, ie. the graph is not oriented. In this case, the search mode is
+	 * ignored and the open lists are indexed heaps; the functions
+	 * {@link #translateCandidate(GraphPoint, AStarNode)} and
+	 * {@link AStarNode#getGraphSegments()} are not invoked.
+	 * <p>
+	 * The two searches are driven by the average of the forward and
+	 * backward estimations, so that the found path is the shortest one
+	 * when the heuristic is consistent, eg. the euclidian distance or
+	 * the {@link AStarLandmarkHeuristic landmark heuristic}.
+	 * 
+	 * @param enable is <code>true</code> to enable the bidirectional search;
+	 * <code>false</code> to search only from the start point.
+	 * @since 12.0
+	 */
+	public void setBidirectionalSearchEnabled(boolean enable) {
+		this.enableBidirectionalSearch = enable;
+	}
+
+	/** Replies the flag that permits to search the path from the start
+	 * point and from the end point at the same time.
+	 * 
+	 * @return <code>true</code> if the bidirectional search is enabled;
+	 * <code>false</code> to search only from the start point.
+	 * @since 12.0
+	 */
+	public boolean isBidirectionalSearchEnabled() {
+		return this.enableBidirectionalSearch;
+	}
+
 	/** Set the path factory used by the A* algorithm.
 	 * 
 	 * @param factory is the new factory.
@@ -391,6 +459,9 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 	 * @return the found path, or <code>null</code> if none found.
 	 */
 	public final GP solve(PT startPoint, PT endPoint) {
+		if (isBidirectionalSearchEnabled() && this.segmentOrientation==null) {
+			return solveBidirectional(startPoint, endPoint);
+		}
 		return solve(
 				node(startPoint,
 					0f,
@@ -460,6 +531,36 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 		return new Candidate(arrival, node, cost, estimatedCost);
 	}
 
+	/** Create or recycle an A* node for the
+	 * {@link AStarSearchMode#POOLED_HEAP pooled search mode}.
+	 * 
+	 * @param node is the node of the graph to put in the A* node.
+	 * @param cost is the cost to reach the node.
+	 * @param estimatedCost is the estimated cost to reach the target.
+	 * @param arrival is the segment, which permits to arrive at the node.
+	 * @return the A* node.
+	 */
+	private AStarNode<ST,PT> pooledNode(PT node, float cost, float estimatedCost, ST arrival) {
+		if (node instanceof AStarNode<?,?>) {
+			return node(node, cost, estimatedCost, arrival);
+		}
+		if (this.candidatePool!=null && this.usedCandidates<this.candidatePool.size()) {
+			Candidate candidate = this.candidatePool.get(this.usedCandidates);
+			++this.usedCandidates;
+			candidate.set(arrival, node, cost, estimatedCost);
+			return candidate;
+		}
+		AStarNode<ST,PT> aNode = newAStarNode(node, cost, estimatedCost, arrival);
+		if (aNode.getClass()==Candidate.class) {
+			if (this.candidatePool==null) {
+				this.candidatePool = new ArrayList<Candidate>();
+			}
+			this.candidatePool.add((Candidate)aNode);
+			++this.usedCandidates;
+		}
+		return aNode;
+	}
+
 	/** Run the A* algorithm and tries to find a path from
 	 *  the startPoint to the endPoint.
 	 *  
@@ -468,6 +569,21 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 	 * @return the close list of the A* algorithm.
 	 */
 	List<AStarNode<ST,PT>> findPath(AStarNode<ST,PT> startPoint, PT endPoint) {
+		if (this.searchMode==AStarSearchMode.INDEXED_HEAP
+			|| this.searchMode==AStarSearchMode.POOLED_HEAP) {
+			return findPathInIndexedHeap(startPoint, endPoint);
+		}
+		return findPathInSortedLists(startPoint, endPoint);
+	}
+
+	/** Run the A* algorithm with sorted open and close lists.
+	 *  
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the close list of the A* algorithm.
+	 * @see AStarSearchMode#SORTED_LIST
+	 */
+	private List<AStarNode<ST,PT>> findPathInSortedLists(AStarNode<ST,PT> startPoint, PT endPoint) {
 		CloseComparator<ST,PT> cComparator = new CloseComparator<ST,PT>();
 		OpenComparator<ST,PT> oComparatorWithoutRef = new OpenComparator<ST,PT>();
 		List<AStarNode<ST,PT>> openList = new ArrayList<AStarNode<ST,PT>>();
@@ -570,6 +686,299 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 		return closeList;
 	}
 	
+	/** Run the A* algorithm with an indexed binary heap as open list
+	 * and a hash-based close list.
+	 * <p>
+	 * The A* nodes are created only when they are put in the open list.
+	 * The costs of the nodes that are already in the open list are
+	 * updated in place. In {@link AStarSearchMode#POOLED_HEAP} mode,
+	 * the A* nodes of the previous search are recycled.
+	 *  
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the close list of the A* algorithm.
+	 * @see AStarSearchMode#INDEXED_HEAP
+	 * @see AStarSearchMode#POOLED_HEAP
+	 */
+	private List<AStarNode<ST,PT>> findPathInIndexedHeap(AStarNode<ST,PT> startPoint, PT endPoint) {
+		// The lists are reused from a search to the next one
+		// to avoid to grow again their internal buffers.
+		AStarOpenHeap<ST,PT> openList = this.heapOpenList;
+		AStarCloseSet<ST,PT> closeList = this.heapCloseList;
+		if (openList==null) {
+			openList = new AStarOpenHeap<ST,PT>(new OpenComparator<ST,PT>());
+			closeList = new AStarCloseSet<ST,PT>();
+			this.heapOpenList = openList;
+			this.heapCloseList = closeList;
+		}
+		else {
+			openList.clear();
+			closeList.clear();
+		}
+		boolean pooling = (this.searchMode==AStarSearchMode.POOLED_HEAP);
+		this.usedCandidates = 0;
+
+		openList.add(startPoint);
+		fireNodeOpened(startPoint, openList);
+		
+		AStarNode<ST,PT> candidate, ocandidate, reachedCandidate;
+		PT reachableNode, node;
+		float g, h;
+		boolean foundTarget = false;
+		boolean reopening = isClosedNodeReopeningEnabled();
+		
+		while (!foundTarget && !openList.isEmpty()) {
+			
+			ocandidate = openList.poll();
+			fireNodeConsumed(ocandidate, openList);
+			
+			candidate = translateCandidate(endPoint, ocandidate);
+			foundTarget = (candidate==null);
+			
+			if (!foundTarget) {
+				assert(candidate!=null);
+				node = candidate.getGraphPoint();
+				// Update the nodes that are reachable from the current candidate.
+				for(ST segment : candidate.getGraphSegments()) {
+					reachableNode = segment.getOtherSidePoint(node);
+					if (reachableNode!=null && !reachableNode.equals(node)) {
+						g = candidate.cost()
+							+ computeCostFor(node)
+							+ computeCostFor(segment);
+						reachedCandidate = closeList.getNode(reachableNode);
+						if (reachedCandidate!=null) {
+							// Reopen node if better cost
+							if (reopening && g < reachedCandidate.cost()) {
+								closeList.removeNode(reachableNode);
+								h = estimate(reachableNode, endPoint);
+								AStarNode<ST,PT> nn = pooling
+										? pooledNode(reachableNode, g, h, segment)
+										: node(reachableNode, g, h, segment);
+								openList.add(nn);
+								fireNodeOpened(nn, openList);
+							}
+						}
+						else {
+							h = estimate(reachableNode, endPoint);
+							reachedCandidate = openList.getNode(reachableNode);
+							if (reachedCandidate!=null) {
+								// Rearrange open list if better cost
+								if ((g+h) < reachedCandidate.pathCost()) {
+									reachedCandidate.setCost(g);
+									reachedCandidate.setEstimatedCost(h);
+									reachedCandidate.setArrivalConnection(segment);
+									openList.update(reachableNode);
+									fireNodeReopened(reachedCandidate, openList);
+								}
+							}
+							else {
+								// Node was neither treated nor seen, add it
+								AStarNode<ST,PT> nn = pooling
+										? pooledNode(reachableNode, g, h, segment)
+										: node(reachableNode, g, h, segment);
+								openList.add(nn);
+								fireNodeOpened(nn, openList);
+							}
+						}
+					}
+				}
+			}
+				
+			// Refresh the close list
+			closeList.add(ocandidate);
+			fireNodeClosed(ocandidate, closeList);
+		}
+		
+		return closeList;
+	}
+	
+	/** Replies the average potential of the given point for the bidirectional
+	 * search. The potential of the backward search is the opposite of
+	 * this value.
+	 * 
+	 * @param point is the point to evaluate.
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the potential of the point for the forward search.
+	 */
+	private float potential(PT point, PT startPoint, PT endPoint) {
+		return (estimate(point, endPoint) - estimate(startPoint, point)) / 2f;
+	}
+
+	/** Run the bidirectional A* algorithm.
+	 * <p>
+	 * The forward search starts from the start point, and the backward
+	 * search starts from the end point. The cost of the nodes in the
+	 * backward search is the cost from the node to the end point.
+	 * The search stops when the sum of the best path costs in the two
+	 * open lists is not lower than the cost of the best path found
+	 * at the meeting points of the two searches.
+	 * 
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the found path, or <code>null</code> if none found.
+	 * @see #setBidirectionalSearchEnabled(boolean)
+	 */
+	private GP solveBidirectional(PT startPoint, PT endPoint) {
+		OpenComparator<ST,PT> comparator = new OpenComparator<ST,PT>();
+		AStarOpenHeap<ST,PT> forwardOpenList = new AStarOpenHeap<ST,PT>(comparator);
+		AStarCloseSet<ST,PT> forwardCloseList = new AStarCloseSet<ST,PT>();
+		AStarOpenHeap<ST,PT> backwardOpenList = new AStarOpenHeap<ST,PT>(comparator);
+		AStarCloseSet<ST,PT> backwardCloseList = new AStarCloseSet<ST,PT>();
+		
+		AStarNode<ST,PT> startNode = newAStarNode(startPoint, 0f,
+				potential(startPoint, startPoint, endPoint), null);
+		AStarNode<ST,PT> endNode = newAStarNode(endPoint, 0f,
+				-potential(endPoint, startPoint, endPoint), null);
+
+		fireAlgorithmStart(startNode, endPoint);
+		
+		forwardOpenList.add(startNode);
+		fireNodeOpened(startNode, forwardOpenList);
+		backwardOpenList.add(endNode);
+		fireNodeOpened(endNode, backwardOpenList);
+		
+		float bestCost = Float.POSITIVE_INFINITY;
+		PT meetingPoint = null;
+		if (startPoint.equals(endPoint)) {
+			bestCost = 0f;
+			meetingPoint = startPoint;
+		}
+		
+		boolean forward;
+		AStarOpenHeap<ST,PT> openList, otherOpenList;
+		AStarCloseSet<ST,PT> closeList, otherCloseList;
+		AStarNode<ST,PT> candidate, reachedCandidate, otherCandidate;
+		PT reachableNode, node;
+		float g, h;
+		boolean changed;
+		
+		while (!forwardOpenList.isEmpty() && !backwardOpenList.isEmpty()
+				&& (forwardOpenList.get(0).pathCost() + backwardOpenList.get(0).pathCost()) < bestCost) {
+			
+			// Expand the smallest search frontier
+			forward = forwardOpenList.size() <= backwardOpenList.size();
+			if (forward) {
+				openList = forwardOpenList;
+				closeList = forwardCloseList;
+				otherOpenList = backwardOpenList;
+				otherCloseList = backwardCloseList;
+			}
+			else {
+				openList = backwardOpenList;
+				closeList = backwardCloseList;
+				otherOpenList = forwardOpenList;
+				otherCloseList = forwardCloseList;
+			}
+			
+			candidate = openList.poll();
+			fireNodeConsumed(candidate, openList);
+			
+			node = candidate.getGraphPoint();
+			for(ST segment : node.getConnectedSegments()) {
+				reachableNode = segment.getOtherSidePoint(node);
+				if (reachableNode!=null && !reachableNode.equals(node)
+					&& closeList.getNode(reachableNode)==null) {
+					// The backward search is traversing the segment
+					// from the reachable node to the current node.
+					g = candidate.cost()
+						+ computeCostFor(forward ? node : reachableNode)
+						+ computeCostFor(segment);
+					reachedCandidate = openList.getNode(reachableNode);
+					changed = true;
+					if (reachedCandidate==null) {
+						h = potential(reachableNode, startPoint, endPoint);
+						reachedCandidate = newAStarNode(reachableNode, g, forward ? h : -h, segment);
+						openList.add(reachedCandidate);
+						fireNodeOpened(reachedCandidate, openList);
+					}
+					else if (g < reachedCandidate.cost()) {
+						reachedCandidate.setCost(g);
+						reachedCandidate.setArrivalConnection(segment);
+						openList.update(reachableNode);
+						fireNodeReopened(reachedCandidate, openList);
+					}
+					else {
+						changed = false;
+					}
+					
+					if (changed) {
+						// Is the point reached by the other search?
+						otherCandidate = otherOpenList.getNode(reachableNode);
+						if (otherCandidate==null) {
+							otherCandidate = otherCloseList.getNode(reachableNode);
+						}
+						if (otherCandidate!=null && (g + otherCandidate.cost()) < bestCost) {
+							bestCost = g + otherCandidate.cost();
+							meetingPoint = reachableNode;
+						}
+					}
+				}
+			}
+			
+			// Refresh the close list
+			closeList.add(candidate);
+			fireNodeClosed(candidate, closeList);
+		}
+		
+		if (this.listeners!=null) {
+			List<AStarNode<ST,PT>> fullCloseList = new ArrayList<AStarNode<ST,PT>>(
+					forwardCloseList.size() + backwardCloseList.size());
+			fullCloseList.addAll(forwardCloseList);
+			fullCloseList.addAll(backwardCloseList);
+			fireAlgorithmEnd(fullCloseList);
+		}
+		
+		if (meetingPoint==null) return null;
+		
+		// Create the path
+		LinkedList<ST> pathSegments = new LinkedList<ST>();
+		PT point = meetingPoint;
+		AStarNode<ST,PT> n = getBidirectionalNode(point, forwardOpenList, forwardCloseList);
+		ST segment = (n==null) ? null : n.getArrivalConnection();
+		while (segment!=null) {
+			pathSegments.addFirst(segment);
+			point = segment.getOtherSidePoint(point);
+			n = getBidirectionalNode(point, forwardOpenList, forwardCloseList);
+			segment = (n==null) ? null : n.getArrivalConnection();
+		}
+		point = meetingPoint;
+		n = getBidirectionalNode(point, backwardOpenList, backwardCloseList);
+		segment = (n==null) ? null : n.getArrivalConnection();
+		while (segment!=null) {
+			pathSegments.addLast(segment);
+			point = segment.getOtherSidePoint(point);
+			n = getBidirectionalNode(point, backwardOpenList, backwardCloseList);
+			segment = (n==null) ? null : n.getArrivalConnection();
+		}
+		
+		GP path = null;
+		Iterator<ST> iterator = pathSegments.iterator();
+		if (iterator.hasNext()) {
+			path = newPath(startPoint, iterator.next());
+			while (iterator.hasNext()) {
+				addToPath(path, iterator.next());
+			}
+		}
+		return path;
+	}
+	
+	/** Replies the node associated to the given point in one
+	 * of the searches of the bidirectional algorithm.
+	 * 
+	 * @param point
+	 * @param openList
+	 * @param closeList
+	 * @return the node, or <code>null</code> if the point was not reached.
+	 */
+	private AStarNode<ST,PT> getBidirectionalNode(PT point, AStarOpenHeap<ST,PT> openList, AStarCloseSet<ST,PT> closeList) {
+		AStarNode<ST,PT> node = closeList.getNode(point);
+		if (node==null) {
+			node = openList.getNode(point);
+		}
+		return node;
+	}
+	
 	/** Create the path from the given close list.
 	 * 
 	 * @param startPoint is the starting point.
@@ -578,18 +987,15 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 	 * @return the path, or <code>null</code> if no path found.
 	 */
 	GP createPath(AStarNode<ST,PT> startPoint, PT endPoint, List<AStarNode<ST,PT>> closeList) {
-		int idx;
 		ST segment;
 		PT point;
 		AStarNode<ST,PT> node;
 		GP path = null;
 		CloseComparator<ST,PT> cComparator = new CloseComparator<ST,PT>();
 
-		node = newAStarNode(endPoint, Float.NaN, Float.NaN, null);
-		idx = ListUtil.indexOf(closeList, cComparator, node);
+		node = removeFromCloseList(closeList, cComparator, endPoint);
 		
-		if (idx>=0) {
-			node = closeList.remove(idx);
+		if (node!=null) {
 			point = node.getGraphPoint();
 			segment = node.getArrivalConnection();
 			if (point!=null && segment!=null) {
@@ -597,10 +1003,8 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 				pathSegments.add(segment);
 				do {
 					point = segment.getOtherSidePoint(point);
-					node = newAStarNode(point, Float.NaN, Float.NaN, null);
-					idx = ListUtil.indexOf(closeList, cComparator, node);
-					if (idx>=0) {
-						node = closeList.remove(idx);
+					node = removeFromCloseList(closeList, cComparator, point);
+					if (node!=null) {
 						segment = node.getArrivalConnection();
 						if (segment!=null) {
 							pathSegments.add(segment);
@@ -635,6 +1039,27 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 		return path;
 	}
 	
+	/** Remove from the close list the node associated to the given point.
+	 * 
+	 * @param closeList is the close list.
+	 * @param cComparator is the comparator used to sort the close list.
+	 * @param point is the point to search for.
+	 * @return the removed node, or <code>null</code> if the point is not in the close list.
+	 */
+	private AStarNode<ST,PT> removeFromCloseList(List<AStarNode<ST,PT>> closeList, CloseComparator<ST,PT> cComparator, PT point) {
+		// The heap searches always reply the close set stored in this object
+		AStarCloseSet<ST,PT> closeSet = this.heapCloseList;
+		if (closeSet!=null && closeSet==closeList) {
+			return closeSet.removeNode(point);
+		}
+		AStarNode<ST,PT> node = newAStarNode(point, Float.NaN, Float.NaN, null);
+		int idx = ListUtil.indexOf(closeList, cComparator, node);
+		if (idx>=0) {
+			return closeList.remove(idx);
+		}
+		return null;
+	}
+	
 	/** Invoked to replace a segment before adding it to the shortest path.
 	 * <p>
 	 * By default, this function invoked the {@link AStarSegmentReplacer}
@@ -682,7 +1107,7 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 		private ST entryConnection;
 		private float costToReach;
 		private float estimatedCost;
-		private final PT node;
+		private PT node;
 
 		/**
 		 * @param entryConnection
@@ -697,6 +1122,20 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 			this.estimatedCost = estimatedCost;
 		}
 		
+		/** Change all the attributes of this candidate.
+		 * 
+		 * @param entryConnection
+		 * @param node
+		 * @param costToReach
+		 * @param estimatedCost
+		 */
+		void set(ST entryConnection, PT node, float costToReach, float estimatedCost) {
+			this.entryConnection = entryConnection;
+			this.node = node;
+			this.costToReach = costToReach;
+			this.estimatedCost = estimatedCost;
+		}
+		
 		/**
 		 * {@inheritDoc}
 		 */
@@ -975,7 +1414,7 @@ public class AStar<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT
 	 * @mavenartifactid $ArtifactId$
 	 * @since 4.0
 	 */
-	private static class AStarReflectionPathFactory<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
+	static class AStarReflectionPathFactory<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
 	implements AStarPathFactory<GP,ST,PT> {
 		
 		private final Class<? extends GP> type;
@@ -0,0 +1,260 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+import org.arakhne.afc.util.Pair;
+import org.arakhne.afc.vmutil.ThreadServiceFinder;
+
+/** This class permits to solve a batch of shortest-path
+ * problems with the {@link AStar A* algorithm} on several threads.
+ * <p>
+ * Each worker thread is running its own instance of the A*
+ * algorithm, which is created by a {@link AStarFactory factory},
+ * so that the internal buffers of the A* algorithm
+ * are reused from a pair of points to the next one without
+ * synchronization. The factory may reply instances of any
+ * subtype of {@link AStar}, and it is responsible of their
+ * configuration.
+ * <p>
+ * The graph and the tools that are shared by the A* instances,
+ * eg. the heuristic, the cost computer or the path factory,
+ * must not be modified during a batch and
+ * they must support concurrent readings. The graph points must
+ * not be {@link AStarNode A* nodes} because they are
+ * updated by the A* algorithm.
+ * 
+ * @param <GP> is the type of the graph graph itself.
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class AStarBatchSolver<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>> {
+
+	private final AStarFactory<GP,ST,PT> factory;
+	private final ExecutorService executor;
+	private int parallelism;
+	
+	/** Create a solver that is running on the executor
+	 * service of the {@link ThreadServiceFinder}.
+	 * 
+	 * @param factory is the factory of the A* algorithms used by the workers.
+	 */
+	public AStarBatchSolver(AStarFactory<GP,ST,PT> factory) {
+		this(factory, null);
+	}
+	
+	/**
+	 * @param factory is the factory of the A* algorithms used by the workers.
+	 * @param executor is the executor service to use, or <code>null</code>
+	 * to use the executor service of the {@link ThreadServiceFinder}.
+	 */
+	public AStarBatchSolver(AStarFactory<GP,ST,PT> factory, ExecutorService executor) {
+		assert(factory!=null);
+		this.factory = factory;
+		this.executor = executor;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+	
+	/** Replies the factory of the A* algorithms used by the workers.
+	 * 
+	 * @return the factory.
+	 */
+	public AStarFactory<GP,ST,PT> getFactory() {
+		return this.factory;
+	}
+	
+	/** Replies the maximal number of workers, including the calling thread.
+	 * 
+	 * @return the maximal number of workers.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+	
+	/** Set the maximal number of workers, including the calling thread.
+	 * By default, it is the number of available processors.
+	 * 
+	 * @param parallelism is the maximal number of workers.
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism<=0) throw new IllegalArgumentException();
+		this.parallelism = parallelism;
+	}
+	
+	/** Replies the executor service used to run the workers.
+	 * 
+	 * @return the executor service.
+	 */
+	protected ExecutorService getExecutorService() {
+		if (this.executor!=null) return this.executor;
+		return ThreadServiceFinder.getProvider().getExecutorService();
+	}
+	
+	/** Create the A* algorithm used by a worker.
+	 * <p>
+	 * By default, this function invokes the factory
+	 * of this batch solver.
+	 * 
+	 * @return the A* algorithm.
+	 */
+	protected AStar<GP,ST,PT> newSolver() {
+		return this.factory.newAStar();
+	}
+	
+	/** Solve the shortest-path problems between the given pairs of points.
+	 * <p>
+	 * The pairs are distributed to the workers one by one.
+	 * The calling thread is one of the workers, and this
+	 * function returns when all the pairs are solved.
+	 * 
+	 * @param pairs are the pairs of start and end points.
+	 * @return the paths in the same order as the pairs; a path is
+	 * <code>null</code> if no path was found between the points of the pair.
+	 * @throws InterruptedException if the calling thread was interrupted
+	 * during the wait of the workers.
+	 */
+	public List<GP> solve(List<? extends Pair<? extends PT, ? extends PT>> pairs) throws InterruptedException {
+		int count = pairs.size();
+		AtomicReferenceArray<GP> paths = new AtomicReferenceArray<GP>(count);
+		AtomicInteger nextPair = new AtomicInteger();
+		
+		int workerCount = Math.min(this.parallelism, count);
+		List<Worker> workers = new ArrayList<Worker>(Math.max(0, workerCount-1));
+		List<Future<?>> futures = new ArrayList<Future<?>>(Math.max(0, workerCount-1));
+		try {
+			if (workerCount>1) {
+				ExecutorService service = getExecutorService();
+				Worker worker;
+				for(int i=1; i<workerCount; ++i) {
+					worker = new Worker(pairs, paths, nextPair);
+					workers.add(worker);
+					futures.add(service.submit(worker));
+				}
+			}
+			
+			// The calling thread is also working
+			new Worker(pairs, paths, nextPair).run();
+			
+			// All the pairs are taken. The workers that are not started
+			// yet are cancelled instead of waiting for a free thread
+			// of the executor service, which may never come.
+			for(int i=0; i<futures.size(); ++i) {
+				if (workers.get(i).tryStart()) {
+					futures.get(i).cancel(false);
+				}
+				else {
+					futures.get(i).get();
+				}
+			}
+		}
+		catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if (cause instanceof Error) throw (Error)cause;
+			throw new IllegalStateException(cause);
+		}
+		finally {
+			// Stop the workers if an error occured
+			nextPair.set(count);
+			for(Future<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+		
+		List<GP> result = new ArrayList<GP>(count);
+		for(int i=0; i<count; ++i) {
+			result.add(paths.get(i));
+		}
+		return result;
+	}
+	
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class Worker implements Runnable {
+
+		private final List<? extends Pair<? extends PT, ? extends PT>> pairs;
+		private final AtomicReferenceArray<GP> paths;
+		private final AtomicInteger nextPair;
+		private final AtomicBoolean started = new AtomicBoolean(false);
+		
+		/**
+		 * @param pairs
+		 * @param paths
+		 * @param nextPair
+		 */
+		public Worker(List<? extends Pair<? extends PT, ? extends PT>> pairs, AtomicReferenceArray<GP> paths, AtomicInteger nextPair) {
+			this.pairs = pairs;
+			this.paths = paths;
+			this.nextPair = nextPair;
+		}
+		
+		/** Mark this worker as started.
+		 * 
+		 * @return <code>true</code> if this worker was not started before,
+		 * <code>false</code> otherwise.
+		 */
+		public boolean tryStart() {
+			return this.started.compareAndSet(false, true);
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			if (!tryStart()) return;
+			AStar<GP,ST,PT> solver = null;
+			Pair<? extends PT, ? extends PT> pair;
+			int count = this.pairs.size();
+			int index = this.nextPair.getAndIncrement();
+			while (index<count) {
+				if (solver==null) {
+					solver = newSolver();
+				}
+				pair = this.pairs.get(index);
+				this.paths.set(index, solver.solve(pair.getA(), pair.getB()));
+				index = this.nextPair.getAndIncrement();
+			}
+		}
+		
+	} // class Worker
+
+}
@@ -0,0 +1,139 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Close list of the A* algorithm that is indexed by
+ * the graph points.
+ * <p>
+ * The addition, the retreival and the removal of a node
+ * are done in O(1). The list view of this set is not sorted.
+ * 
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+class AStarCloseSet<ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
+extends AbstractList<AStarNode<ST,PT>> {
+
+	private final ArrayList<AStarNode<ST,PT>> nodes = new ArrayList<AStarNode<ST,PT>>();
+	private final Map<PT,Integer> index = new HashMap<PT,Integer>();
+
+	/**
+	 */
+	public AStarCloseSet() {
+		//
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public AStarNode<ST,PT> get(int index) {
+		return this.nodes.get(index);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.nodes.size();
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return this.nodes.isEmpty();
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		this.nodes.clear();
+		this.index.clear();
+	}
+
+	/** Add the given node in the set.
+	 * If a node for the same graph point is already inside the set,
+	 * it is replaced by the given node.
+	 * 
+	 * @param node is the node to add.
+	 * @return <code>true</code>
+	 */
+	@Override
+	public boolean add(AStarNode<ST,PT> node) {
+		assert(node!=null);
+		Integer idx = this.index.get(node.getGraphPoint());
+		if (idx!=null) {
+			this.nodes.set(idx.intValue(), node);
+		}
+		else {
+			this.index.put(node.getGraphPoint(), Integer.valueOf(this.nodes.size()));
+			this.nodes.add(node);
+		}
+		return true;
+	}
+
+	/** Replies the node in the set that is associated to
+	 * the given graph point.
+	 * 
+	 * @param point
+	 * @return the node, or <code>null</code> if the point is not in the set.
+	 */
+	public AStarNode<ST,PT> getNode(PT point) {
+		Integer idx = this.index.get(point);
+		return idx==null ? null : this.nodes.get(idx.intValue());
+	}
+
+	/** Remove the node associated to the given point.
+	 * The last node of the list view is moved at the
+	 * position of the removed node.
+	 * 
+	 * @param point
+	 * @return the removed node, or <code>null</code> if the point is not in the set.
+	 */
+	public AStarNode<ST,PT> removeNode(PT point) {
+		Integer idx = this.index.remove(point);
+		if (idx==null) return null;
+		int i = idx.intValue();
+		int lastIndex = this.nodes.size()-1;
+		AStarNode<ST,PT> node = this.nodes.get(i);
+		AStarNode<ST,PT> last = this.nodes.remove(lastIndex);
+		if (i!=lastIndex) {
+			this.nodes.set(i, last);
+			this.index.put(last.getGraphPoint(), idx);
+		}
+		return node;
+	}
+
+}
@@ -0,0 +1,54 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This interface provides a mean to create the instances
+ * of the {@link AStar A* algorithm} used by the
+ * {@link AStarBatchSolver batch solver}.
+ * <p>
+ * Each invocation of {@link #newAStar()} must reply a new
+ * instance, because the replied instance is used by a single
+ * thread. The replied instances may be of any subtype of
+ * {@link AStar}.
+ * 
+ * @param <GP> is the type of the path to create.
+ * @param <ST> is the type of the segments in the path.
+ * @param <PT> is the type of the nodes in the path.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see AStarBatchSolver
+ * @since 12.0
+ */
+public interface AStarFactory<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>> {
+
+	/** Create a new instance of the A* algorithm.
+	 * 
+	 * @return the new A* algorithm.
+	 */
+	public AStar<GP,ST,PT> newAStar();
+
+}
@@ -0,0 +1,302 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This class provides a landmark-based heuristic for
+ * the {@link AStar A* algorithm}, also named ALT heuristic
+ * (A*, Landmarks and Triangle inequality).
+ * <p>
+ * When the heuristic is created, the distances from a small set of
+ * landmarks to all the points of the graph are computed once.
+ * The evaluation between two points <var>p1</var> and <var>p2</var>
+ * is the best lower bound given by the triangle inequality:
+ * <code>max<sub>L</sub> |d(L,p2) - d(L,p1)|</code>.
+ * <p>
+ * The graph is assumed to be not oriented, and the costs are
+ * assumed to be positive or nul. If a cost computer is given,
+ * the cost of traversing the segment <var>s</var> between the
+ * points <var>u</var> and <var>v</var> is assumed to be lower
+ * than <code>cost(s) + min(cost(u), cost(v))</code>, so that
+ * the heuristic remains admissible for the A* costs.
+ * The heuristic is consistent; it could be used with
+ * the bidirectional A* algorithm.
+ * <p>
+ * The graph must not change after the creation of the heuristic.
+ * The points that were not inside the graph at the creation time
+ * are evaluated with a nul heuristic.
+ * 
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see AStar#setBidirectionalSearchEnabled(boolean)
+ * @since 12.0
+ */
+public class AStarLandmarkHeuristic<ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
+implements AStarHeuristic<PT> {
+
+	private final Map<PT,Integer> pointIndexes = new HashMap<PT,Integer>();
+	private final List<PT> points = new ArrayList<PT>();
+	private final List<PT> landmarks = new ArrayList<PT>();
+	private final AStarCostComputer<? super ST, ? super PT> costComputer;
+	
+	/** Distances from the landmarks. The distance from the
+	 * landmark <var>l</var> to the point <var>p</var> is
+	 * stored at <code>p * landmarkCount + l</code>.
+	 */
+	private final float[] distances;
+	
+	/** Create a heuristic with landmarks selected with
+	 * the farthest-point strategy, and with the lengths of
+	 * the segments as costs.
+	 * 
+	 * @param graph is the graph on which the heuristic is computed.
+	 * @param landmarkCount is the number of landmarks to select.
+	 */
+	public AStarLandmarkHeuristic(Graph<ST,PT> graph, int landmarkCount) {
+		this(graph, landmarkCount, null);
+	}
+
+	/** Create a heuristic with landmarks selected with
+	 * the farthest-point strategy.
+	 * 
+	 * @param graph is the graph on which the heuristic is computed.
+	 * @param landmarkCount is the number of landmarks to select.
+	 * @param costComputer is the tool that permits to compute the costs,
+	 * or <code>null</code> to use the lengths of the segments.
+	 */
+	public AStarLandmarkHeuristic(Graph<ST,PT> graph, int landmarkCount, AStarCostComputer<? super ST, ? super PT> costComputer) {
+		if (landmarkCount<=0) throw new IllegalArgumentException();
+		this.costComputer = costComputer;
+		collectPoints(graph);
+		int n = this.points.size();
+		int count = Math.min(landmarkCount, n);
+		this.distances = new float[n * count];
+		if (count>0) {
+			// The nearest landmarks to each point
+			float[] minDistances = new float[n];
+			float[] buffer = new float[n];
+			// Farthest point from an arbitrary point
+			computeDistancesFrom(0, buffer);
+			int landmark = selectFarthest(buffer);
+			Arrays.fill(minDistances, Float.POSITIVE_INFINITY);
+			for(int l=0; l<count; ++l) {
+				this.landmarks.add(this.points.get(landmark));
+				computeDistancesFrom(landmark, buffer);
+				for(int p=0; p<n; ++p) {
+					this.distances[p * count + l] = buffer[p];
+					if (buffer[p]<minDistances[p]) minDistances[p] = buffer[p];
+				}
+				landmark = selectFarthest(minDistances);
+			}
+		}
+	}
+
+	/** Create a heuristic with the given landmarks.
+	 * 
+	 * @param graph is the graph on which the heuristic is computed.
+	 * @param landmarks are the landmarks.
+	 * @param costComputer is the tool that permits to compute the costs,
+	 * or <code>null</code> to use the lengths of the segments.
+	 */
+	public AStarLandmarkHeuristic(Graph<ST,PT> graph, Collection<? extends PT> landmarks, AStarCostComputer<? super ST, ? super PT> costComputer) {
+		this.costComputer = costComputer;
+		collectPoints(graph);
+		int n = this.points.size();
+		for(PT landmark : landmarks) {
+			if (this.pointIndexes.containsKey(landmark)) {
+				this.landmarks.add(landmark);
+			}
+		}
+		int count = this.landmarks.size();
+		this.distances = new float[n * count];
+		float[] buffer = new float[n];
+		for(int l=0; l<count; ++l) {
+			computeDistancesFrom(this.pointIndexes.get(this.landmarks.get(l)).intValue(), buffer);
+			for(int p=0; p<n; ++p) {
+				this.distances[p * count + l] = buffer[p];
+			}
+		}
+	}
+	
+	private void collectPoints(Graph<ST,PT> graph) {
+		for(ST segment : graph) {
+			addPoint(segment.getBeginPoint());
+			addPoint(segment.getEndPoint());
+		}
+	}
+	
+	private void addPoint(PT point) {
+		if (point!=null && !this.pointIndexes.containsKey(point)) {
+			this.pointIndexes.put(point, Integer.valueOf(this.points.size()));
+			this.points.add(point);
+		}
+	}
+	
+	private static int selectFarthest(float[] distances) {
+		int selected = 0;
+		float max = Float.NEGATIVE_INFINITY;
+		for(int i=0; i<distances.length; ++i) {
+			if (distances[i]>max) {
+				max = distances[i];
+				selected = i;
+			}
+		}
+		return selected;
+	}
+	
+	/** Compute the cost to traverse the given segment
+	 * between the two given points.
+	 * 
+	 * @param segment
+	 * @param p1
+	 * @param p2
+	 * @return the cost.
+	 */
+	private float computeCost(ST segment, PT p1, PT p2) {
+		if (this.costComputer!=null) {
+			return this.costComputer.computeCostFor(segment)
+					+ Math.min(
+							this.costComputer.computeCostFor(p1),
+							this.costComputer.computeCostFor(p2));
+		}
+		return segment.getLength();
+	}
+	
+	/** Dijkstra algorithm from the given point.
+	 * 
+	 * @param source is the index of the source point.
+	 * @param distances are the computed distances.
+	 */
+	private void computeDistancesFrom(int source, float[] distances) {
+		Arrays.fill(distances, Float.POSITIVE_INFINITY);
+		boolean[] closed = new boolean[distances.length];
+		PriorityQueue<Entry> queue = new PriorityQueue<Entry>();
+		distances[source] = 0f;
+		queue.add(new Entry(source, 0f));
+		Entry entry;
+		PT point, other;
+		Integer otherIndex;
+		float d;
+		while (!queue.isEmpty()) {
+			entry = queue.poll();
+			if (!closed[entry.point]) {
+				closed[entry.point] = true;
+				point = this.points.get(entry.point);
+				for(ST segment : point.getConnectedSegments()) {
+					other = segment.getOtherSidePoint(point);
+					if (other!=null) {
+						otherIndex = this.pointIndexes.get(other);
+						if (otherIndex!=null && !closed[otherIndex.intValue()]) {
+							d = entry.distance + computeCost(segment, point, other);
+							if (d<distances[otherIndex.intValue()]) {
+								distances[otherIndex.intValue()] = d;
+								queue.add(new Entry(otherIndex.intValue(), d));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	/** Replies the landmarks used by this heuristic.
+	 * 
+	 * @return the landmarks.
+	 */
+	public List<PT> getLandmarks() {
+		return Collections.unmodifiableList(this.landmarks);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public float evaluate(PT p1, PT p2) {
+		Integer i1 = this.pointIndexes.get(p1);
+		Integer i2 = this.pointIndexes.get(p2);
+		if (i1==null || i2==null) return 0f;
+		int count = this.landmarks.size();
+		int o1 = i1.intValue() * count;
+		int o2 = i2.intValue() * count;
+		float h = 0f;
+		float d1, d2, e;
+		for(int l=0; l<count; ++l) {
+			d1 = this.distances[o1 + l];
+			d2 = this.distances[o2 + l];
+			if (d1!=Float.POSITIVE_INFINITY && d2!=Float.POSITIVE_INFINITY) {
+				e = Math.abs(d2 - d1);
+				if (e>h) h = e;
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Entry implements Comparable<Entry> {
+
+		/** Index of the point.
+		 */
+		final int point;
+		
+		/** Distance to the point.
+		 */
+		final float distance;
+		
+		/**
+		 * @param point
+		 * @param distance
+		 */
+		public Entry(int point, float distance) {
+			this.point = point;
+			this.distance = distance;
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public int compareTo(Entry o) {
+			return Float.compare(this.distance, o.distance);
+		}
+		
+	} // class Entry
+
+}
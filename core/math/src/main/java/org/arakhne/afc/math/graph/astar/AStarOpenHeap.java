@@ -0,0 +1,302 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** Open list of the A* algorithm that is implemented with
+ * an indexed binary heap.
+ * <p>
+ * The heap is indexed by the graph points, so that
+ * the retreival of a node is done in O(1), and the decrease
+ * of the cost of a node is done in O(log n).
+ * <p>
+ * The list view of this heap replies the nodes in the order
+ * of the heap array. Only the first element of the list
+ * is guaranteed to be the lowest node according to
+ * the comparator.
+ * <p>
+ * The slots of the removed nodes are kept for the next
+ * additions, so that the heap is not allocating slots
+ * when it is reused.
+ * 
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+class AStarOpenHeap<ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
+extends AbstractList<AStarNode<ST,PT>> {
+
+	private final Comparator<? super AStarNode<ST,PT>> comparator;
+	private final Map<PT,Slot<ST,PT>> index = new HashMap<PT,Slot<ST,PT>>();
+	private Slot<ST,PT>[] heap;
+	private int size = 0;
+	private Slot<ST,PT>[] freeSlots;
+	private int freeSlotCount = 0;
+
+	/**
+	 * @param comparator is the comparator used to sort the nodes.
+	 */
+	public AStarOpenHeap(Comparator<? super AStarNode<ST,PT>> comparator) {
+		this.comparator = comparator;
+		this.heap = newSlotArray(16);
+		this.freeSlots = newSlotArray(16);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>> Slot<ST,PT>[] newSlotArray(int size) {
+		return (Slot<ST,PT>[])new Slot<?,?>[size];
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public AStarNode<ST,PT> get(int index) {
+		if (index<0 || index>=this.size) throw new IndexOutOfBoundsException();
+		return this.heap[index].node;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return this.size==0;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		for(int i=0; i<this.size; ++i) {
+			releaseSlot(this.heap[i]);
+			this.heap[i] = null;
+		}
+		this.size = 0;
+		this.index.clear();
+	}
+
+	/** Add the given node in the heap.
+	 * If a node for the same graph point is already inside the heap,
+	 * it is replaced by the given node.
+	 * 
+	 * @param node is the node to add.
+	 * @return <code>true</code>
+	 */
+	@Override
+	public boolean add(AStarNode<ST,PT> node) {
+		assert(node!=null);
+		Slot<ST,PT> slot = this.index.get(node.getGraphPoint());
+		if (slot!=null) {
+			slot.node = node;
+			update(slot);
+		}
+		else {
+			if (this.size==this.heap.length) {
+				this.heap = Arrays.copyOf(this.heap, this.size*2);
+			}
+			if (this.freeSlotCount>0) {
+				--this.freeSlotCount;
+				slot = this.freeSlots[this.freeSlotCount];
+				this.freeSlots[this.freeSlotCount] = null;
+				slot.node = node;
+				slot.index = this.size;
+			}
+			else {
+				slot = new Slot<ST,PT>(node, this.size);
+			}
+			this.heap[this.size] = slot;
+			++this.size;
+			this.index.put(node.getGraphPoint(), slot);
+			siftUp(slot);
+		}
+		return true;
+	}
+
+	/** Replies the node in the heap that is associated to
+	 * the given graph point.
+	 * 
+	 * @param point
+	 * @return the node, or <code>null</code> if the point is not in the heap.
+	 */
+	public AStarNode<ST,PT> getNode(PT point) {
+		Slot<ST,PT> slot = this.index.get(point);
+		return slot==null ? null : slot.node;
+	}
+
+	/** Move the node associated to the given point according
+	 * to its new costs. This function must be invoked each time
+	 * the costs of a node inside the heap are changed.
+	 * 
+	 * @param point is the point associated to the node that has changed.
+	 */
+	public void update(PT point) {
+		Slot<ST,PT> slot = this.index.get(point);
+		if (slot!=null) {
+			update(slot);
+		}
+	}
+
+	private void update(Slot<ST,PT> slot) {
+		if (!siftUp(slot)) {
+			siftDown(slot);
+		}
+	}
+
+	/** Remove and reply the lowest node in the heap.
+	 * 
+	 * @return the lowest node, or <code>null</code> if the heap is empty.
+	 */
+	public AStarNode<ST,PT> poll() {
+		if (this.size==0) return null;
+		Slot<ST,PT> first = this.heap[0];
+		AStarNode<ST,PT> node = first.node;
+		removeSlot(first);
+		return node;
+	}
+
+	/** Remove the node associated to the given point.
+	 * 
+	 * @param point
+	 * @return the removed node, or <code>null</code> if the point is not in the heap.
+	 */
+	public AStarNode<ST,PT> removeNode(PT point) {
+		Slot<ST,PT> slot = this.index.get(point);
+		if (slot==null) return null;
+		AStarNode<ST,PT> node = slot.node;
+		removeSlot(slot);
+		return node;
+	}
+
+	private void removeSlot(Slot<ST,PT> slot) {
+		this.index.remove(slot.node.getGraphPoint());
+		--this.size;
+		Slot<ST,PT> last = this.heap[this.size];
+		this.heap[this.size] = null;
+		if (last!=slot) {
+			last.index = slot.index;
+			this.heap[last.index] = last;
+			update(last);
+		}
+		releaseSlot(slot);
+	}
+
+	private void releaseSlot(Slot<ST,PT> slot) {
+		slot.node = null;
+		if (this.freeSlotCount==this.freeSlots.length) {
+			this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeSlotCount*2);
+		}
+		this.freeSlots[this.freeSlotCount] = slot;
+		++this.freeSlotCount;
+	}
+
+	private boolean siftUp(Slot<ST,PT> slot) {
+		int i = slot.index;
+		int parent;
+		Slot<ST,PT> p;
+		boolean moved = false;
+		while (i>0) {
+			parent = (i-1) >>> 1;
+			p = this.heap[parent];
+			if (this.comparator.compare(slot.node, p.node)>=0) break;
+			this.heap[i] = p;
+			p.index = i;
+			i = parent;
+			moved = true;
+		}
+		this.heap[i] = slot;
+		slot.index = i;
+		return moved;
+	}
+
+	private void siftDown(Slot<ST,PT> slot) {
+		int i = slot.index;
+		int half = this.size >>> 1;
+		int child;
+		Slot<ST,PT> c, right;
+		while (i<half) {
+			child = 2*i+1;
+			c = this.heap[child];
+			if (child+1<this.size) {
+				right = this.heap[child+1];
+				if (this.comparator.compare(right.node, c.node)<0) {
+					++child;
+					c = right;
+				}
+			}
+			if (this.comparator.compare(slot.node, c.node)<=0) break;
+			this.heap[i] = c;
+			c.index = i;
+			i = child;
+		}
+		this.heap[i] = slot;
+		slot.index = i;
+	}
+
+	/** Slot in the heap.
+	 * 
+	 * @param <ST> is the type of edge in the graph
+	 * @param <PT> is the type of node in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Slot<ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>> {
+
+		/** Node in the slot.
+		 */
+		AStarNode<ST,PT> node;
+
+		/** Index of the slot in the heap array.
+		 */
+		int index;
+
+		/**
+		 * @param node
+		 * @param index
+		 */
+		public Slot(AStarNode<ST,PT> node, int index) {
+			this.node = node;
+			this.index = index;
+		}
+
+	} // class Slot
+
+}
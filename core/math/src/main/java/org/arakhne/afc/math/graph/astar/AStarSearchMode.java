@@ -0,0 +1,64 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+/** Indicates how the {@link AStar A* algorithm} is storing
+ * its open and close lists during the search.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see AStar#setSearchMode(AStarSearchMode)
+ * @since 12.0
+ */
+public enum AStarSearchMode {
+
+	/** The open and close lists are sorted lists.
+	 * The nodes are retreived by dichotomic or linear
+	 * searches. The listeners receive a sorted open list.
+	 */
+	SORTED_LIST,
+
+	/** The open list is an indexed binary heap that
+	 * supports the decrease of the node costs, and the close
+	 * list is a hash-based set of the graph points.
+	 * The open list given to the listeners is the heap
+	 * array, ie. only its first element is guaranteed to
+	 * be the best candidate.
+	 * The lists are reused by the next searches of the same
+	 * A* instance.
+	 */
+	INDEXED_HEAP,
+
+	/** The lists are the same as for {@link #INDEXED_HEAP}.
+	 * In addition, the A* nodes that are created by the search
+	 * are recycled by the next searches of the same A* instance.
+	 * Consequently, the A* nodes given to the listeners and
+	 * the close list are valid only until the next search.
+	 * The nodes of the graph that are implementing {@link AStarNode},
+	 * and the A* nodes that are not created by
+	 * {@link AStar#newAStarNode(GraphPoint, float, float, GraphSegment)}
+	 * as instances of {@link AStar.Candidate}, are never recycled.
+	 */
+	POOLED_HEAP;
+
+}
@@ -0,0 +1,874 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This class provides a contraction hierarchy over a graph
+ * (Geisberger et al., 2008).
+ * <p>
+ * The points of the graph are contracted one by one, from the less
+ * important to the most important. When a point is contracted,
+ * shortcuts are added between its neighbours if the shortest path
+ * between them is passing through the contracted point.
+ * The shortest path between two points is then found by a
+ * bidirectional Dijkstra search that is only following the segments
+ * and the shortcuts toward more important points. The shortcuts
+ * are unpacked into the segments of the graph when the path is built.
+ * <p>
+ * The graph is assumed to be not oriented and static. The cost
+ * of a segment is given by the cost computer, or is the length of
+ * the segment; the costs of the points are ignored.
+ * <p>
+ * The contraction hierarchy is serializable; the points and the
+ * segments of the graph are identified by their ranks in the
+ * iteration on the graph. After a deserialization, the graph must be
+ * bound with {@link #bind(Graph)} before any search.
+ * <p>
+ * This class is not thread-safe: the searches are using
+ * internal buffers.
+ * 
+ * @param <GP> is the type of the graph graph itself.
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class ContractionHierarchy<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>>
+implements Serializable {
+
+	private static final long serialVersionUID = -1650735216364811232L;
+
+	/** Maximal number of points settled by a witness search.
+	 */
+	private static final int WITNESS_SETTLE_LIMIT = 500;
+
+	/** Maximal number of points settled by a witness search
+	 * when the contraction of a point is simulated.
+	 */
+	private static final int SIMULATION_SETTLE_LIMIT = 50;
+
+	private final int pointCount;
+	private final int segmentCount;
+	
+	/** The edges of the point <var>p</var> are in the range
+	 * [<code>firstEdges[p]</code>; <code>firstEdges[p+1]</code>).
+	 * The edges are stored with their less important point.
+	 */
+	private final int[] firstEdges;
+	private final int[] edgeSources;
+	private final int[] edgeTargets;
+	private final float[] edgeWeights;
+	
+	/** Index of the segment, or <code>-1</code> for a shortcut.
+	 */
+	private final int[] edgeSegments;
+	
+	/** The two edges that are replaced by a shortcut.
+	 */
+	private final int[] edgeChildren;
+	
+	private transient List<PT> points = null;
+	private transient Map<PT,Integer> pointIndexes = null;
+	private transient List<ST> segments = null;
+	private transient AStarPathFactory<GP,ST,PT> pathFactory = null;
+	private transient QueryBuffers buffers = null;
+
+	/** Build the contraction hierarchy with the lengths of the segments as costs.
+	 * 
+	 * @param graph is the graph to contract.
+	 */
+	public ContractionHierarchy(Graph<ST,PT> graph) {
+		this(graph, null);
+	}
+	
+	/** Build the contraction hierarchy.
+	 * 
+	 * @param graph is the graph to contract.
+	 * @param costComputer is the tool that permits to compute the costs of
+	 * the segments, or <code>null</code> to use the lengths of the segments.
+	 */
+	public ContractionHierarchy(Graph<ST,PT> graph, AStarCostComputer<? super ST, ? super PT> costComputer) {
+		bind(graph);
+		this.pointCount = this.points.size();
+		this.segmentCount = this.segments.size();
+		
+		Contractor contractor = new Contractor(this.pointCount);
+		ST segment;
+		Integer p1, p2;
+		for(int i=0; i<this.segmentCount; ++i) {
+			segment = this.segments.get(i);
+			p1 = this.pointIndexes.get(segment.getBeginPoint());
+			p2 = this.pointIndexes.get(segment.getEndPoint());
+			if (p1!=null && p2!=null && p1.intValue()!=p2.intValue()) {
+				contractor.addEdge(p1.intValue(), p2.intValue(),
+						(costComputer==null) ? segment.getLength() : costComputer.computeCostFor(segment),
+						i, null, null);
+			}
+		}
+		contractor.contractAll();
+		
+		// Build the upward graph
+		List<Edge> edges;
+		int edgeCount = 0;
+		this.firstEdges = new int[this.pointCount+1];
+		for(int p=0; p<this.pointCount; ++p) {
+			this.firstEdges[p] = edgeCount;
+			edges = contractor.upwardEdges.get(p);
+			for(Edge edge : edges) {
+				edge.index = edgeCount;
+				++edgeCount;
+			}
+		}
+		this.firstEdges[this.pointCount] = edgeCount;
+		this.edgeSources = new int[edgeCount];
+		this.edgeTargets = new int[edgeCount];
+		this.edgeWeights = new float[edgeCount];
+		this.edgeSegments = new int[edgeCount];
+		this.edgeChildren = new int[edgeCount*2];
+		for(int p=0; p<this.pointCount; ++p) {
+			for(Edge edge : contractor.upwardEdges.get(p)) {
+				int e = edge.index;
+				this.edgeSources[e] = p;
+				this.edgeTargets[e] = edge.getOtherSide(p);
+				this.edgeWeights[e] = edge.weight;
+				this.edgeSegments[e] = edge.segment;
+				this.edgeChildren[2*e] = (edge.child1==null) ? -1 : edge.child1.index;
+				this.edgeChildren[2*e+1] = (edge.child2==null) ? -1 : edge.child2.index;
+			}
+		}
+	}
+	
+	/** Bind this contraction hierarchy to the given graph.
+	 * The graph must be the graph from which the contraction hierarchy
+	 * was built, and it must reply its segments in the same order.
+	 * 
+	 * @param graph is the graph to bind.
+	 * @throws IllegalArgumentException if the graph has not the same
+	 * numbers of points and segments as the contraction hierarchy.
+	 */
+	public void bind(Graph<ST,PT> graph) {
+		List<PT> pts = new ArrayList<PT>();
+		Map<PT,Integer> indexes = new HashMap<PT,Integer>();
+		List<ST> sgmts = new ArrayList<ST>();
+		for(ST segment : graph) {
+			sgmts.add(segment);
+			addPoint(segment.getBeginPoint(), pts, indexes);
+			addPoint(segment.getEndPoint(), pts, indexes);
+		}
+		if (this.firstEdges!=null
+			&& (pts.size()!=this.pointCount || sgmts.size()!=this.segmentCount)) {
+			throw new IllegalArgumentException();
+		}
+		this.points = pts;
+		this.pointIndexes = indexes;
+		this.segments = sgmts;
+	}
+	
+	private static <PT> void addPoint(PT point, List<PT> points, Map<PT,Integer> indexes) {
+		if (point!=null && !indexes.containsKey(point)) {
+			indexes.put(point, Integer.valueOf(points.size()));
+			points.add(point);
+		}
+	}
+	
+	/** Set the path factory used to build the paths.
+	 * 
+	 * @param factory is the new factory.
+	 * @return the old factory
+	 */
+	public AStarPathFactory<GP,ST,PT> setPathFactory(AStarPathFactory<GP,ST,PT> factory) {
+		AStarPathFactory<GP,ST,PT> old = this.pathFactory;
+		this.pathFactory = factory;
+		return old;
+	}
+	
+	/** Set the path factory used to build the paths.
+	 * 
+	 * @param type is the type of path to instance with a reflection-based factory.
+	 * @return the old factory
+	 */
+	public AStarPathFactory<GP,ST,PT> setPathType(Class<? extends GP> type) {
+		return setPathFactory(new AStar.AStarReflectionPathFactory<GP,ST,PT>(type));
+	}
+
+	/** Replies the path factory used to build the paths.
+	 * 
+	 * @return the factory
+	 */
+	public AStarPathFactory<GP,ST,PT> getPathFactory() {
+		return this.pathFactory;
+	}
+	
+	/** Replies the number of edges in the hierarchy, including
+	 * the segments and the shortcuts.
+	 * 
+	 * @return the number of edges.
+	 */
+	public int getEdgeCount() {
+		return this.edgeSources.length;
+	}
+
+	/** Create an empty path.
+	 * <p>
+	 * By default this function invokes the path factory.
+	 * 
+	 * @param startPoint is the first point in the path.
+	 * @param segment is the first connection to follow.
+	 * @return the path instance.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected GP newPath(PT startPoint, ST segment) {
+		if (this.pathFactory!=null) {
+			return this.pathFactory.newPath(startPoint, segment);
+		}
+		try {
+			return (GP)new GraphPath(segment, startPoint);
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("no path factory found", e); //$NON-NLS-1$
+		}
+	}
+
+	/** Add the given segment into the given path.
+	 * <p>
+	 * By default this function invokes the path factory.
+	 * 
+	 * @param path is the path to build.
+	 * @param segment is the segment to add.
+	 * @return <code>true</code> if the segment was added;
+	 * otherwise <code>false</code>.
+	 */
+	protected boolean addToPath(GP path, ST segment) {
+		if (this.pathFactory!=null) {
+			return this.pathFactory.addToPath(path, segment);
+		}
+		assert(path!=null);
+		assert(segment!=null);
+		try {
+			return path.add(segment);
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("no path factory found", e); //$NON-NLS-1$
+		}
+	}
+
+	/** Search the shortest path between the given points.
+	 * 
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the found path, or <code>null</code> if none found.
+	 * @throws IllegalStateException if no graph is bound.
+	 */
+	public GP solve(PT startPoint, PT endPoint) {
+		if (this.pointIndexes==null) throw new IllegalStateException("no graph bound"); //$NON-NLS-1$
+		Integer s = this.pointIndexes.get(startPoint);
+		Integer t = this.pointIndexes.get(endPoint);
+		if (s==null || t==null || s.intValue()==t.intValue()) return null;
+		
+		if (this.buffers==null) this.buffers = new QueryBuffers(this.pointCount);
+		QueryBuffers b = this.buffers;
+		
+		int meetingPoint = b.search(s.intValue(), t.intValue());
+		
+		List<ST> pathSegments = new ArrayList<ST>();
+		if (meetingPoint>=0) {
+			// Edges from the start point to the meeting point
+			List<Integer> upEdges = new ArrayList<Integer>();
+			int p = meetingPoint;
+			int e;
+			while (p!=s.intValue()) {
+				e = b.forwardParents[p];
+				upEdges.add(Integer.valueOf(e));
+				p = this.edgeSources[e];
+			}
+			for(int i=upEdges.size()-1; i>=0; --i) {
+				e = upEdges.get(i).intValue();
+				unpack(e, this.edgeSources[e], pathSegments);
+			}
+			// Edges from the meeting point to the end point
+			p = meetingPoint;
+			while (p!=t.intValue()) {
+				e = b.backwardParents[p];
+				unpack(e, p, pathSegments);
+				p = this.edgeSources[e];
+			}
+		}
+		
+		b.reset();
+		
+		if (pathSegments.isEmpty()) return null;
+		GP path = newPath(startPoint, pathSegments.get(0));
+		for(int i=1; i<pathSegments.size(); ++i) {
+			addToPath(path, pathSegments.get(i));
+		}
+		return path;
+	}
+	
+	/** Add the segments of the given edge into the given list.
+	 * 
+	 * @param edge is the edge to unpack.
+	 * @param from is the point from which the edge is traversed.
+	 * @param pathSegments is the list to fill.
+	 */
+	private void unpack(int edge, int from, List<ST> pathSegments) {
+		int[] stack = new int[16];
+		int size = 0;
+		stack[size++] = edge;
+		stack[size++] = from;
+		int e, f, c1, c2, middle;
+		while (size>0) {
+			f = stack[--size];
+			e = stack[--size];
+			if (this.edgeSegments[e]>=0) {
+				pathSegments.add(this.segments.get(this.edgeSegments[e]));
+			}
+			else {
+				c1 = this.edgeChildren[2*e];
+				c2 = this.edgeChildren[2*e+1];
+				if (this.edgeTargets[c1]!=f) {
+					int tmp = c1;
+					c1 = c2;
+					c2 = tmp;
+				}
+				middle = this.edgeSources[c1];
+				if (size+4>stack.length) {
+					stack = Arrays.copyOf(stack, stack.length*2);
+				}
+				// The second part is treated after the first part
+				stack[size++] = c2;
+				stack[size++] = middle;
+				stack[size++] = c1;
+				stack[size++] = f;
+			}
+		}
+	}
+	
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class QueryBuffers {
+		
+		final float[] forwardDistances;
+		final float[] backwardDistances;
+		final int[] forwardParents;
+		final int[] backwardParents;
+		private final IntFloatHeap forwardHeap = new IntFloatHeap();
+		private final IntFloatHeap backwardHeap = new IntFloatHeap();
+		private int[] touched = new int[64];
+		private int touchedCount = 0;
+
+		/**
+		 * @param pointCount
+		 */
+		public QueryBuffers(int pointCount) {
+			this.forwardDistances = new float[pointCount];
+			this.backwardDistances = new float[pointCount];
+			this.forwardParents = new int[pointCount];
+			this.backwardParents = new int[pointCount];
+			Arrays.fill(this.forwardDistances, Float.POSITIVE_INFINITY);
+			Arrays.fill(this.backwardDistances, Float.POSITIVE_INFINITY);
+		}
+		
+		private void touch(int point) {
+			if (this.touchedCount==this.touched.length) {
+				this.touched = Arrays.copyOf(this.touched, this.touchedCount*2);
+			}
+			this.touched[this.touchedCount++] = point;
+		}
+		
+		/** Reset the distances of the touched points.
+		 */
+		public void reset() {
+			int p;
+			for(int i=0; i<this.touchedCount; ++i) {
+				p = this.touched[i];
+				this.forwardDistances[p] = Float.POSITIVE_INFINITY;
+				this.backwardDistances[p] = Float.POSITIVE_INFINITY;
+			}
+			this.touchedCount = 0;
+			this.forwardHeap.clear();
+			this.backwardHeap.clear();
+		}
+		
+		/** Run the bidirectional upward search.
+		 * 
+		 * @param start
+		 * @param end
+		 * @return the meeting point, or <code>-1</code> if no path exists.
+		 */
+		@SuppressWarnings("synthetic-access")
+		public int search(int start, int end) {
+			this.forwardDistances[start] = 0f;
+			this.backwardDistances[end] = 0f;
+			touch(start);
+			touch(end);
+			this.forwardHeap.add(start, 0f);
+			this.backwardHeap.add(end, 0f);
+			
+			float best = Float.POSITIVE_INFINITY;
+			int meetingPoint = -1;
+			boolean forward;
+			IntFloatHeap heap;
+			float[] distances, otherDistances;
+			int[] parents;
+			float minForward, minBackward, d, dd;
+			int p, target;
+			
+			while (true) {
+				minForward = this.forwardHeap.isEmpty() ? Float.POSITIVE_INFINITY : this.forwardHeap.peekKey();
+				minBackward = this.backwardHeap.isEmpty() ? Float.POSITIVE_INFINITY : this.backwardHeap.peekKey();
+				if (minForward>=best && minBackward>=best) break;
+				forward = minForward<=minBackward;
+				if (forward) {
+					heap = this.forwardHeap;
+					distances = this.forwardDistances;
+					otherDistances = this.backwardDistances;
+					parents = this.forwardParents;
+				}
+				else {
+					heap = this.backwardHeap;
+					distances = this.backwardDistances;
+					otherDistances = this.forwardDistances;
+					parents = this.backwardParents;
+				}
+				d = heap.peekKey();
+				p = heap.poll();
+				if (d<=distances[p]) {
+					if (otherDistances[p]!=Float.POSITIVE_INFINITY && d+otherDistances[p]<best) {
+						best = d + otherDistances[p];
+						meetingPoint = p;
+					}
+					for(int e=ContractionHierarchy.this.firstEdges[p]; e<ContractionHierarchy.this.firstEdges[p+1]; ++e) {
+						target = ContractionHierarchy.this.edgeTargets[e];
+						dd = d + ContractionHierarchy.this.edgeWeights[e];
+						if (dd<distances[target]) {
+							if (this.forwardDistances[target]==Float.POSITIVE_INFINITY
+								&& this.backwardDistances[target]==Float.POSITIVE_INFINITY) {
+								touch(target);
+							}
+							distances[target] = dd;
+							parents[target] = e;
+							heap.add(target, dd);
+						}
+					}
+				}
+			}
+			
+			return meetingPoint;
+		}
+		
+	} // class QueryBuffers
+
+	/** Binary heap of integers with float keys. The same integer
+	 * may be inside the heap several times.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class IntFloatHeap {
+		
+		private int[] values = new int[64];
+		private float[] keys = new float[64];
+		private int size = 0;
+		
+		/**
+		 */
+		public IntFloatHeap() {
+			//
+		}
+		
+		/** Replies if the heap is empty.
+		 * 
+		 * @return <code>true</code> if the heap is empty.
+		 */
+		public boolean isEmpty() {
+			return this.size==0;
+		}
+		
+		/** Remove all the values.
+		 */
+		public void clear() {
+			this.size = 0;
+		}
+		
+		/** Replies the lowest key.
+		 * 
+		 * @return the lowest key.
+		 */
+		public float peekKey() {
+			return this.keys[0];
+		}
+		
+		/** Add a value.
+		 * 
+		 * @param value
+		 * @param key
+		 */
+		public void add(int value, float key) {
+			if (this.size==this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size*2);
+				this.keys = Arrays.copyOf(this.keys, this.size*2);
+			}
+			int i = this.size++;
+			int parent;
+			while (i>0) {
+				parent = (i-1) >>> 1;
+				if (this.keys[parent]<=key) break;
+				this.values[i] = this.values[parent];
+				this.keys[i] = this.keys[parent];
+				i = parent;
+			}
+			this.values[i] = value;
+			this.keys[i] = key;
+		}
+		
+		/** Remove and reply the value with the lowest key.
+		 * 
+		 * @return the value with the lowest key.
+		 */
+		public int poll() {
+			int first = this.values[0];
+			--this.size;
+			if (this.size>0) {
+				int value = this.values[this.size];
+				float key = this.keys[this.size];
+				int i = 0;
+				int half = this.size >>> 1;
+				int child;
+				while (i<half) {
+					child = 2*i+1;
+					if (child+1<this.size && this.keys[child+1]<this.keys[child]) ++child;
+					if (key<=this.keys[child]) break;
+					this.values[i] = this.values[child];
+					this.keys[i] = this.keys[child];
+					i = child;
+				}
+				this.values[i] = value;
+				this.keys[i] = key;
+			}
+			return first;
+		}
+		
+	} // class IntFloatHeap
+	
+	/** Edge of the graph that is under contraction.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Edge {
+		
+		final int p1;
+		final int p2;
+		float weight;
+		int segment;
+		Edge child1;
+		Edge child2;
+		int index = -1;
+		
+		/**
+		 * @param p1
+		 * @param p2
+		 * @param weight
+		 * @param segment
+		 * @param child1
+		 * @param child2
+		 */
+		public Edge(int p1, int p2, float weight, int segment, Edge child1, Edge child2) {
+			this.p1 = p1;
+			this.p2 = p2;
+			this.weight = weight;
+			this.segment = segment;
+			this.child1 = child1;
+			this.child2 = child2;
+		}
+		
+		/** Replies the other point of this edge.
+		 * 
+		 * @param p
+		 * @return the other point.
+		 */
+		public int getOtherSide(int p) {
+			return (p==this.p1) ? this.p2 : this.p1;
+		}
+		
+	} // class Edge
+
+	/** Contract the points of a graph.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Contractor {
+		
+		/** The edges of each point to the points that are not contracted.
+		 */
+		private final List<List<Edge>> edges;
+		
+		/** The edges of each point to the more important points.
+		 */
+		final List<List<Edge>> upwardEdges;
+		
+		private final boolean[] contracted;
+		private final int[] contractedNeighbours;
+		
+		private final float[] witnessDistances;
+		private final boolean[] witnessTargets;
+		private final IntFloatHeap witnessHeap = new IntFloatHeap();
+		private int[] touched = new int[64];
+		private int touchedCount = 0;
+		
+		private final List<Edge> neighbourEdges = new ArrayList<Edge>();
+		
+		/**
+		 * @param pointCount
+		 */
+		public Contractor(int pointCount) {
+			this.edges = new ArrayList<List<Edge>>(pointCount);
+			this.upwardEdges = new ArrayList<List<Edge>>(pointCount);
+			for(int i=0; i<pointCount; ++i) {
+				this.edges.add(new ArrayList<Edge>());
+			}
+			this.contracted = new boolean[pointCount];
+			this.contractedNeighbours = new int[pointCount];
+			this.witnessDistances = new float[pointCount];
+			this.witnessTargets = new boolean[pointCount];
+			Arrays.fill(this.witnessDistances, Float.POSITIVE_INFINITY);
+		}
+		
+		/** Add an edge, or replace the existing edge between the
+		 * same points if the new edge is shorter.
+		 * 
+		 * @param p1
+		 * @param p2
+		 * @param weight
+		 * @param segment
+		 * @param child1
+		 * @param child2
+		 */
+		public void addEdge(int p1, int p2, float weight, int segment, Edge child1, Edge child2) {
+			for(Edge edge : this.edges.get(p1)) {
+				if (edge.getOtherSide(p1)==p2) {
+					if (weight<edge.weight) {
+						edge.weight = weight;
+						edge.segment = segment;
+						edge.child1 = child1;
+						edge.child2 = child2;
+					}
+					return;
+				}
+			}
+			Edge edge = new Edge(p1, p2, weight, segment, child1, child2);
+			this.edges.get(p1).add(edge);
+			this.edges.get(p2).add(edge);
+		}
+		
+		/** Contract all the points.
+		 */
+		public void contractAll() {
+			int pointCount = this.edges.size();
+			for(int i=0; i<pointCount; ++i) {
+				this.upwardEdges.add(null);
+			}
+			IntFloatHeap queue = new IntFloatHeap();
+			for(int p=0; p<pointCount; ++p) {
+				queue.add(p, computePriority(p));
+			}
+			int p;
+			float priority;
+			while (!queue.isEmpty()) {
+				p = queue.poll();
+				if (!this.contracted[p]) {
+					// Lazy update of the priority
+					priority = computePriority(p);
+					if (!queue.isEmpty() && priority>queue.peekKey()) {
+						queue.add(p, priority);
+					}
+					else {
+						contract(p);
+					}
+				}
+			}
+		}
+		
+		private float computePriority(int point) {
+			collectNeighbourEdges(point);
+			int degree = this.neighbourEdges.size();
+			int shortcuts = addShortcuts(point, true);
+			return (shortcuts - degree) + this.contractedNeighbours[point];
+		}
+		
+		private void collectNeighbourEdges(int point) {
+			this.neighbourEdges.clear();
+			for(Edge edge : this.edges.get(point)) {
+				if (!this.contracted[edge.getOtherSide(point)]) {
+					this.neighbourEdges.add(edge);
+				}
+			}
+		}
+		
+		private void contract(int point) {
+			collectNeighbourEdges(point);
+			List<Edge> upward = new ArrayList<Edge>(this.neighbourEdges);
+			addShortcuts(point, false);
+			this.contracted[point] = true;
+			this.upwardEdges.set(point, upward);
+			int other;
+			for(Edge edge : upward) {
+				other = edge.getOtherSide(point);
+				++this.contractedNeighbours[other];
+				this.edges.get(other).remove(edge);
+			}
+			this.edges.get(point).clear();
+		}
+		
+		/** Compute the shortcuts that are needed to contract the given point.
+		 * The neighbour edges must be collected before.
+		 * 
+		 * @param point is the point to contract.
+		 * @param simulate is <code>true</code> to only count the shortcuts.
+		 * @return the number of shortcuts.
+		 */
+		private int addShortcuts(int point, boolean simulate) {
+			int count = 0;
+			List<Edge> neighbours = new ArrayList<Edge>(this.neighbourEdges);
+			int size = neighbours.size();
+			Edge in, out;
+			int source, target;
+			float maxOut, viaPoint;
+			for(int i=0; i<size-1; ++i) {
+				in = neighbours.get(i);
+				source = in.getOtherSide(point);
+				maxOut = 0f;
+				for(int j=i+1; j<size; ++j) {
+					maxOut = Math.max(maxOut, neighbours.get(j).weight);
+				}
+				for(int j=i+1; j<size; ++j) {
+					this.witnessTargets[neighbours.get(j).getOtherSide(point)] = true;
+				}
+				searchWitnesses(source, point, in.weight + maxOut, size-i-1,
+						simulate ? SIMULATION_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT);
+				for(int j=i+1; j<size; ++j) {
+					out = neighbours.get(j);
+					target = out.getOtherSide(point);
+					this.witnessTargets[target] = false;
+					viaPoint = in.weight + out.weight;
+					if (this.witnessDistances[target]>viaPoint) {
+						++count;
+						if (!simulate) {
+							addEdge(source, target, viaPoint, -1, in, out);
+						}
+					}
+				}
+				resetWitnesses();
+			}
+			return count;
+		}
+		
+		/** Dijkstra search from the given source that is avoiding the
+		 * given point and that is limited to the given distance.
+		 * 
+		 * @param source
+		 * @param avoidedPoint
+		 * @param maxDistance
+		 * @param targetCount is the number of marked targets.
+		 * @param settleLimit
+		 */
+		private void searchWitnesses(int source, int avoidedPoint, float maxDistance, int targetCount, int settleLimit) {
+			this.witnessDistances[source] = 0f;
+			touch(source);
+			this.witnessHeap.add(source, 0f);
+			int settled = 0;
+			int remainingTargets = targetCount;
+			int p, other;
+			float d, dd;
+			while (!this.witnessHeap.isEmpty() && settled<settleLimit && remainingTargets>0) {
+				d = this.witnessHeap.peekKey();
+				if (d>maxDistance) break;
+				p = this.witnessHeap.poll();
+				if (d<=this.witnessDistances[p]) {
+					++settled;
+					if (this.witnessTargets[p]) {
+						this.witnessTargets[p] = false;
+						--remainingTargets;
+					}
+					for(Edge edge : this.edges.get(p)) {
+						other = edge.getOtherSide(p);
+						if (other!=avoidedPoint && !this.contracted[other]) {
+							dd = d + edge.weight;
+							if (dd<this.witnessDistances[other]) {
+								if (this.witnessDistances[other]==Float.POSITIVE_INFINITY) {
+									touch(other);
+								}
+								this.witnessDistances[other] = dd;
+								this.witnessHeap.add(other, dd);
+							}
+						}
+					}
+				}
+			}
+			this.witnessHeap.clear();
+		}
+		
+		private void touch(int point) {
+			if (this.touchedCount==this.touched.length) {
+				this.touched = Arrays.copyOf(this.touched, this.touchedCount*2);
+			}
+			this.touched[this.touchedCount++] = point;
+		}
+		
+		private void resetWitnesses() {
+			for(int i=0; i<this.touchedCount; ++i) {
+				this.witnessDistances[this.touched[i]] = Float.POSITIVE_INFINITY;
+			}
+			this.touchedCount = 0;
+		}
+		
+	} // class Contractor
+	
+}
@@ -0,0 +1,656 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.arakhne.afc.math.graph.GraphPath;
+import org.arakhne.afc.math.graph.GraphPoint;
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This class provides an implementation of the
+ * incremental D* Lite algorithm (Koenig and Likhachev, 2002).
+ * <p>
+ * In opposite to the {@link AStar A* algorithm}, the search
+ * state is kept between the calls to
+ * {@link #solve(GraphPoint, GraphPoint)}. When the costs of some
+ * segments or points are changing, the caller reports the changes
+ * with {@link #segmentChanged(GraphSegment)} or
+ * {@link #pointChanged(GraphPoint)}, and the next search repairs
+ * only the part of the search state that is affected by the changes.
+ * The search is running from the end point to the start point, so
+ * that the start point could move along the found path between two
+ * searches without discarding the search state.
+ * <p>
+ * The graph is assumed to be not oriented. The heuristic must be
+ * consistent, eg. the euclidian distance or the
+ * {@link AStarLandmarkHeuristic landmark heuristic}.
+ * The cost to go from a point <var>p</var> to the other side of
+ * a connected segment <var>s</var> is <code>cost(p) + cost(s)</code>,
+ * as for the {@link AStar A* algorithm}.
+ * <p>
+ * This class is not thread-safe.
+ * 
+ * @param <GP> is the type of the graph graph itself.
+ * @param <ST> is the type of edge in the graph
+ * @param <PT> is the type of node in the graph
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class DStarLite<GP extends GraphPath<GP,ST,PT>, ST extends GraphSegment<ST,PT>, PT extends GraphPoint<PT,ST>> {
+
+	private AStarHeuristic<? super PT> h;
+	private AStarPathFactory<GP,ST,PT> pathFactory;
+	private AStarCostComputer<? super ST, ? super PT> costComputer = null;
+	
+	private final Map<PT,State<PT>> states = new HashMap<PT,State<PT>>();
+	private final StateHeap<PT> openList = new StateHeap<PT>();
+	
+	private PT startPoint = null;
+	private PT endPoint = null;
+	private PT lastStartPoint = null;
+	private float km = 0f;
+	
+	/**
+	 * @param heuristic is the heuristic to use by the algorithm.
+	 * @param pathFactory is the factory to create new paths.
+	 */
+	public DStarLite(AStarHeuristic<? super PT> heuristic, AStarPathFactory<GP,ST,PT> pathFactory) {
+		this.h = heuristic;
+		this.pathFactory = pathFactory;
+	}
+
+	/**
+	 * @param heuristic is the heuristic to use by the algorithm.
+	 * @param pathType is the type of path to instance with a reflection-based factory.
+	 */
+	public DStarLite(AStarHeuristic<? super PT> heuristic, Class<? extends GP> pathType) {
+		this(heuristic, new AStar.AStarReflectionPathFactory<GP,ST,PT>(pathType));
+	}
+	
+	/** Set the path factory used by the algorithm.
+	 * 
+	 * @param factory is the new factory.
+	 * @return the old factory
+	 */
+	public AStarPathFactory<GP,ST,PT> setPathFactory(AStarPathFactory<GP,ST,PT> factory) {
+		AStarPathFactory<GP,ST,PT> old = this.pathFactory;
+		this.pathFactory = factory;
+		return old;
+	}
+
+	/** Replies the path factory used by the algorithm.
+	 * 
+	 * @return the factory
+	 */
+	public AStarPathFactory<GP,ST,PT> getPathFactory() {
+		return this.pathFactory;
+	}
+
+	/** Set the evaluation heuristic used by the algorithm.
+	 * The search state is reset.
+	 * 
+	 * @param heuristic is the evaluation heuristic.
+	 * @return the old heurisstic.
+	 */
+	public AStarHeuristic<? super PT> setEvaluationHeuristic(AStarHeuristic<? super PT> heuristic) {
+		AStarHeuristic<? super PT> old = this.h;
+		this.h = heuristic;
+		reset();
+		return old;
+	}
+
+	/** Replies the evaluation heuristic used by the algorithm.
+	 * 
+	 * @return the heurisstic.
+	 */
+	public AStarHeuristic<? super PT> getEvaluationHeuristic() {
+		return this.h;
+	}
+
+	/** Set the tool that permits to compute the costs of the nodes and the edges.
+	 * The search state is reset.
+	 * 
+	 * @param costComputer is the object that permits to compute the costs.
+	 * @return the old cost computer.
+	 */
+	public AStarCostComputer<? super ST, ? super PT> setCostComputer(AStarCostComputer<? super ST, ? super PT> costComputer) {
+		AStarCostComputer<? super ST, ? super PT> old = this.costComputer;
+		this.costComputer = costComputer;
+		reset();
+		return old;
+	}
+
+	/** Replies the tool that permits to compute the costs of the nodes and edges.
+	 * 
+	 * @return the cost computer
+	 */
+	public AStarCostComputer<? super ST, ? super PT> getCostComputer() {
+		return this.costComputer;
+	}
+	
+	/** Replies the start point of the last search.
+	 * 
+	 * @return the start point, or <code>null</code> if no search was run.
+	 */
+	public PT getStartPoint() {
+		return this.startPoint;
+	}
+
+	/** Replies the end point of the last search.
+	 * 
+	 * @return the end point, or <code>null</code> if no search was run.
+	 */
+	public PT getEndPoint() {
+		return this.endPoint;
+	}
+
+	/** Evaluate the distance between two points in the graph.
+	 * <p>
+	 * By default, this function uses the heuristic passed as parameter
+	 * of the constructor.
+	 * 
+	 * @param p1
+	 * @param p2
+	 * @return the evaluated distance between <var>p1</var> and <var>p2</var>.
+	 */
+	protected float estimate(PT p1, PT p2) {
+		assert(p1!=null && p2!=null);
+		if (this.h==null) throw new IllegalStateException("no heuristic found"); //$NON-NLS-1$
+		return this.h.evaluate(p1, p2);
+	}
+
+	/** Compute and replies the cost to traverse the given graph point.
+	 * 
+	 * @param p
+	 * @return the cost to traverse the point.
+	 */
+	protected float computeCostFor(PT p) {
+		if (this.costComputer!=null)
+			return this.costComputer.computeCostFor(p);
+		return 0f;
+	}
+
+	/** Compute and replies the cost to traverse the given graph segment.
+	 * 
+	 * @param s
+	 * @return the cost to traverse the segment.
+	 */
+	protected float computeCostFor(ST s) {
+		if (this.costComputer!=null)
+			return this.costComputer.computeCostFor(s);
+		return s.getLength();
+	}
+
+	/** Create an empty path.
+	 * <p>
+	 * By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 * 
+	 * @param startPoint is the first point in the path.
+	 * @param segment is the first connection to follow.
+	 * @return the path instance.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected GP newPath(PT startPoint, ST segment) {
+		if (this.pathFactory!=null) {
+			return this.pathFactory.newPath(startPoint, segment);
+		}
+		try {
+			return (GP)new GraphPath(segment, startPoint);
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("no path factory found", e); //$NON-NLS-1$
+		}
+	}
+
+	/** Add the given segment into the given path.
+	 * <p>
+	 * By default this function invokes the path factory
+	 * passed as parameter of the constructor.
+	 * 
+	 * @param path is the path to build.
+	 * @param segment is the segment to add.
+	 * @return <code>true</code> if the segment was added;
+	 * otherwise <code>false</code>.
+	 */
+	protected boolean addToPath(GP path, ST segment) {
+		if (this.pathFactory!=null) {
+			return this.pathFactory.addToPath(path, segment);
+		}
+		assert(path!=null);
+		assert(segment!=null);
+		try {
+			return path.add(segment);
+		}
+		catch(Throwable e) {
+			throw new IllegalStateException("no path factory found", e); //$NON-NLS-1$
+		}
+	}
+	
+	/** Forget the search state. The next search will be run
+	 * from scratch.
+	 */
+	public void reset() {
+		this.states.clear();
+		this.openList.clear();
+		this.startPoint = this.endPoint = this.lastStartPoint = null;
+		this.km = 0f;
+	}
+	
+	/** Notify this planner that the cost of the given segment
+	 * has changed, or that the segment was added or removed from the graph.
+	 * The search state is repaired during the next search.
+	 * 
+	 * @param segment is the changed segment.
+	 */
+	public void segmentChanged(ST segment) {
+		if (this.endPoint!=null) {
+			PT p = segment.getBeginPoint();
+			if (p!=null) updateVertex(p);
+			p = segment.getEndPoint();
+			if (p!=null) updateVertex(p);
+		}
+	}
+
+	/** Notify this planner that the costs of the given segments
+	 * have changed, or that the segments were added or removed from the graph.
+	 * The search state is repaired during the next search.
+	 * 
+	 * @param segments are the changed segments.
+	 */
+	public void segmentsChanged(Collection<? extends ST> segments) {
+		for(ST segment : segments) {
+			segmentChanged(segment);
+		}
+	}
+
+	/** Notify this planner that the cost of the given point
+	 * has changed.
+	 * The search state is repaired during the next search.
+	 * 
+	 * @param point is the changed point.
+	 */
+	public void pointChanged(PT point) {
+		if (this.endPoint!=null) {
+			updateVertex(point);
+		}
+	}
+	
+	/** Run the algorithm and reply the shortest path.
+	 * <p>
+	 * If the end point is the same as for the previous search,
+	 * the search state is reused; the start point may be
+	 * different. Otherwise the search is run from scratch.
+	 * 
+	 * @param startPoint is the starting point.
+	 * @param endPoint is the point to reach.
+	 * @return the found path, or <code>null</code> if none found.
+	 */
+	public GP solve(PT startPoint, PT endPoint) {
+		assert(startPoint!=null && endPoint!=null);
+		if (!endPoint.equals(this.endPoint)) {
+			reset();
+			this.endPoint = endPoint;
+			this.lastStartPoint = startPoint;
+			State<PT> goal = getState(endPoint);
+			goal.rhs = 0f;
+			this.startPoint = startPoint;
+			computeKey(goal);
+			this.openList.add(goal);
+		}
+		else if (!startPoint.equals(this.lastStartPoint)) {
+			this.km += estimate(this.lastStartPoint, startPoint);
+			this.lastStartPoint = startPoint;
+		}
+		this.startPoint = startPoint;
+		
+		computeShortestPath();
+		
+		return createPath();
+	}
+	
+	private State<PT> getState(PT point) {
+		State<PT> state = this.states.get(point);
+		if (state==null) {
+			state = new State<PT>(point);
+			this.states.put(point, state);
+		}
+		return state;
+	}
+	
+	private float g(PT point) {
+		State<PT> state = this.states.get(point);
+		return (state==null) ? Float.POSITIVE_INFINITY : state.g;
+	}
+	
+	private void computeKey(State<PT> state) {
+		float m = Math.min(state.g, state.rhs);
+		state.key1 = m + estimate(this.startPoint, state.point) + this.km;
+		state.key2 = m;
+	}
+	
+	/** Compute the best cost to reach the end point from the given point
+	 * through its neighbours, and update its position in the open list.
+	 * 
+	 * @param point
+	 */
+	private void updateVertex(PT point) {
+		State<PT> state = getState(point);
+		if (!point.equals(this.endPoint)) {
+			float rhs = Float.POSITIVE_INFINITY;
+			float pointCost = computeCostFor(point);
+			PT other;
+			float cost;
+			for(ST segment : point.getConnectedSegments()) {
+				other = segment.getOtherSidePoint(point);
+				if (other!=null && !other.equals(point)) {
+					cost = pointCost + computeCostFor(segment) + g(other);
+					if (cost<rhs) rhs = cost;
+				}
+			}
+			state.rhs = rhs;
+		}
+		if (state.g!=state.rhs) {
+			computeKey(state);
+			if (state.heapIndex>=0) {
+				this.openList.update(state);
+			}
+			else {
+				this.openList.add(state);
+			}
+		}
+		else if (state.heapIndex>=0) {
+			this.openList.remove(state);
+		}
+	}
+	
+	private void updateNeighbours(PT point) {
+		PT other;
+		for(ST segment : point.getConnectedSegments()) {
+			other = segment.getOtherSidePoint(point);
+			if (other!=null && !other.equals(point)) {
+				updateVertex(other);
+			}
+		}
+	}
+	
+	private void computeShortestPath() {
+		State<PT> start = getState(this.startPoint);
+		computeKey(start);
+		State<PT> top;
+		float oldKey1, oldKey2;
+		while (!this.openList.isEmpty()) {
+			top = this.openList.peek();
+			if (start.rhs==start.g && !State.isLower(top, start)) {
+				break;
+			}
+			oldKey1 = top.key1;
+			oldKey2 = top.key2;
+			computeKey(top);
+			if (oldKey1<top.key1 || (oldKey1==top.key1 && oldKey2<top.key2)) {
+				// The key is outdated by the move of the start point
+				this.openList.update(top);
+			}
+			else if (top.g>top.rhs) {
+				this.openList.remove(top);
+				top.g = top.rhs;
+				updateNeighbours(top.point);
+			}
+			else {
+				top.g = Float.POSITIVE_INFINITY;
+				updateVertex(top.point);
+				updateNeighbours(top.point);
+			}
+			computeKey(start);
+		}
+	}
+	
+	private GP createPath() {
+		PT point = this.startPoint;
+		if (point.equals(this.endPoint) || g(point)==Float.POSITIVE_INFINITY) {
+			return null;
+		}
+		GP path = null;
+		int maxLength = this.states.size();
+		PT other, bestPoint;
+		ST bestSegment;
+		float pointCost, cost, bestCost;
+		while (!point.equals(this.endPoint) && maxLength>0) {
+			bestSegment = null;
+			bestPoint = null;
+			bestCost = Float.POSITIVE_INFINITY;
+			pointCost = computeCostFor(point);
+			for(ST segment : point.getConnectedSegments()) {
+				other = segment.getOtherSidePoint(point);
+				if (other!=null && !other.equals(point)) {
+					cost = pointCost + computeCostFor(segment) + g(other);
+					if (cost<bestCost) {
+						bestCost = cost;
+						bestSegment = segment;
+						bestPoint = other;
+					}
+				}
+			}
+			if (bestSegment==null) return null;
+			if (path==null) {
+				path = newPath(point, bestSegment);
+			}
+			else {
+				addToPath(path, bestSegment);
+			}
+			point = bestPoint;
+			--maxLength;
+		}
+		return point.equals(this.endPoint) ? path : null;
+	}
+	
+	/**
+	 * @param <PT> is the type of node in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class State<PT> {
+		
+		/** Point associated to this state.
+		 */
+		public final PT point;
+		
+		/** Cost to reach the end point.
+		 */
+		public float g = Float.POSITIVE_INFINITY;
+
+		/** One-step lookahead cost to reach the end point.
+		 */
+		public float rhs = Float.POSITIVE_INFINITY;
+		
+		/** First part of the key in the open list.
+		 */
+		public float key1;
+
+		/** Second part of the key in the open list.
+		 */
+		public float key2;
+		
+		/** Index in the open list, or <code>-1</code>.
+		 */
+		public int heapIndex = -1;
+		
+		/**
+		 * @param point
+		 */
+		public State(PT point) {
+			this.point = point;
+		}
+		
+		/** Replies if the key of the first state is lower than
+		 * the key of the second state.
+		 * 
+		 * @param s1
+		 * @param s2
+		 * @return <code>true</code> if <var>s1</var> is lower than <var>s2</var>.
+		 */
+		public static boolean isLower(State<?> s1, State<?> s2) {
+			if (s1.key1!=s2.key1) return s1.key1<s2.key1;
+			return s1.key2<s2.key2;
+		}
+		
+	} // class State
+
+	/**
+	 * @param <PT> is the type of node in the graph
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class StateHeap<PT> {
+
+		private State<?>[] heap = new State<?>[16];
+		private int size = 0;
+		
+		/**
+		 */
+		public StateHeap() {
+			//
+		}
+		
+		/** Replies if the heap is empty.
+		 * 
+		 * @return <code>true</code> if the heap is empty.
+		 */
+		public boolean isEmpty() {
+			return this.size==0;
+		}
+		
+		/** Remove all the states from the heap.
+		 */
+		public void clear() {
+			for(int i=0; i<this.size; ++i) {
+				this.heap[i].heapIndex = -1;
+			}
+			Arrays.fill(this.heap, 0, this.size, null);
+			this.size = 0;
+		}
+		
+		/** Replies the lowest state.
+		 * 
+		 * @return the lowest state.
+		 */
+		@SuppressWarnings("unchecked")
+		public State<PT> peek() {
+			return (State<PT>)this.heap[0];
+		}
+		
+		/** Add the given state in the heap.
+		 * 
+		 * @param state
+		 */
+		public void add(State<PT> state) {
+			if (this.size==this.heap.length) {
+				this.heap = Arrays.copyOf(this.heap, this.size*2);
+			}
+			state.heapIndex = this.size;
+			this.heap[this.size] = state;
+			++this.size;
+			siftUp(state);
+		}
+		
+		/** Move the given state according to its new key.
+		 * 
+		 * @param state
+		 */
+		public void update(State<PT> state) {
+			siftUp(state);
+			siftDown(state);
+		}
+		
+		/** Remove the given state from the heap.
+		 * 
+		 * @param state
+		 */
+		public void remove(State<PT> state) {
+			int index = state.heapIndex;
+			--this.size;
+			State<?> last = this.heap[this.size];
+			this.heap[this.size] = null;
+			state.heapIndex = -1;
+			if (last!=state) {
+				last.heapIndex = index;
+				this.heap[index] = last;
+				siftUp(last);
+				siftDown(last);
+			}
+		}
+		
+		private void siftUp(State<?> state) {
+			int i = state.heapIndex;
+			int parent;
+			State<?> p;
+			while (i>0) {
+				parent = (i-1) >>> 1;
+				p = this.heap[parent];
+				if (!State.isLower(state, p)) break;
+				this.heap[i] = p;
+				p.heapIndex = i;
+				i = parent;
+			}
+			this.heap[i] = state;
+			state.heapIndex = i;
+		}
+		
+		private void siftDown(State<?> state) {
+			int i = state.heapIndex;
+			int half = this.size >>> 1;
+			int child;
+			State<?> c, right;
+			while (i<half) {
+				child = 2*i+1;
+				c = this.heap[child];
+				if (child+1<this.size) {
+					right = this.heap[child+1];
+					if (State.isLower(right, c)) {
+						++child;
+						c = right;
+					}
+				}
+				if (!State.isLower(c, state)) break;
+				this.heap[i] = c;
+				c.heapIndex = i;
+				i = child;
+			}
+			this.heap[i] = state;
+			state.heapIndex = i;
+		}
+		
+	} // class StateHeap
+	
+}
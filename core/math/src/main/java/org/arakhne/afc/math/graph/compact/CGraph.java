@@ -0,0 +1,328 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.compact;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.arakhne.afc.math.graph.DepthGraphIterator;
+import org.arakhne.afc.math.graph.Graph;
+import org.arakhne.afc.math.graph.GraphIterator;
+
+/** This class provides an immutable and compact implementation of a graph.
+ * <p>
+ * The topology of the graph is stored inside arrays of primitive
+ * types with a compressed sparse row layout: the connections of the
+ * point <var>p</var> are the segment indexes stored in
+ * <code>connections[firstConnections[p]]</code> to
+ * <code>connections[firstConnections[p+1]-1]</code>.
+ * The {@link CGraphPoint points} and the {@link CGraphSegment segments}
+ * are lightweight flyweights that are created on demand, and that
+ * are equal when they have the same index in the same graph.
+ * <p>
+ * A compact graph is created with a {@link CGraphBuilder}.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see CGraphBuilder
+ * @since 12.0
+ */
+public class CGraph
+implements Graph<CGraphSegment,CGraphPoint> {
+
+	private final int[] beginPoints;
+	private final int[] endPoints;
+	private final float[] lengths;
+	private final int[] firstConnections;
+	private final int[] connections;
+	
+	/**
+	 * @param pointCount is the number of points in the graph.
+	 * @param beginPoints is the index of the begin point of each segment.
+	 * @param endPoints is the index of the end point of each segment.
+	 * @param lengths is the length of each segment.
+	 * @param segmentCount is the number of segments in the given arrays.
+	 */
+	CGraph(int pointCount, int[] beginPoints, int[] endPoints, float[] lengths, int segmentCount) {
+		this.beginPoints = new int[segmentCount];
+		this.endPoints = new int[segmentCount];
+		this.lengths = new float[segmentCount];
+		System.arraycopy(beginPoints, 0, this.beginPoints, 0, segmentCount);
+		System.arraycopy(endPoints, 0, this.endPoints, 0, segmentCount);
+		System.arraycopy(lengths, 0, this.lengths, 0, segmentCount);
+		
+		// Count the connections of each point
+		this.firstConnections = new int[pointCount+1];
+		for(int s=0; s<segmentCount; ++s) {
+			++this.firstConnections[this.beginPoints[s]+1];
+			++this.firstConnections[this.endPoints[s]+1];
+		}
+		for(int p=0; p<pointCount; ++p) {
+			this.firstConnections[p+1] += this.firstConnections[p];
+		}
+		
+		// Fill the connections
+		this.connections = new int[segmentCount*2];
+		int[] fill = new int[pointCount];
+		int p;
+		for(int s=0; s<segmentCount; ++s) {
+			p = this.beginPoints[s];
+			this.connections[this.firstConnections[p]+fill[p]] = s;
+			++fill[p];
+			p = this.endPoints[s];
+			this.connections[this.firstConnections[p]+fill[p]] = s;
+			++fill[p];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<CGraphSegment> iterator() {
+		return new SegmentIterator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * @deprecated see {@link #getSegmentCount()}
+	 */
+	@Deprecated
+	@Override
+	public final int size() {
+		return getSegmentCount();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getSegmentCount() {
+		return this.lengths.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getPointCount() {
+		return this.firstConnections.length - 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return this.lengths.length==0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object obj) {
+		return (obj instanceof CGraphSegment)
+				&& ((CGraphSegment)obj).getGraph()==this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public GraphIterator<CGraphSegment,CGraphPoint> iterator(
+			CGraphSegment starting_segment, CGraphPoint starting_point,
+			boolean allowManyReplies, boolean assumeOrientedSegments) {
+		if (starting_segment.getGraph()!=this
+			||starting_point.getGraph()!=this) {
+			throw new IllegalArgumentException();
+		}
+		return new GraphIterator<CGraphSegment,CGraphPoint>(
+				this,
+				starting_segment,
+				starting_point,
+				allowManyReplies,
+				assumeOrientedSegments,
+				0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public GraphIterator<CGraphSegment, CGraphPoint> depthIterator(
+			CGraphSegment startingSegment, float depth,
+			float position_from_starting_point, CGraphPoint startingPoint,
+			boolean allowManyReplies, boolean assumeOrientedSegments) {
+		if (startingSegment.getGraph()!=this
+			||startingPoint.getGraph()!=this) {
+			throw new IllegalArgumentException();
+		}
+		return new DepthGraphIterator<CGraphSegment, CGraphPoint>(
+				this,
+				depth,
+				position_from_starting_point,
+				startingSegment,
+				startingPoint,
+				allowManyReplies,
+				assumeOrientedSegments);
+	}
+	
+	/** Replies the point at the given index.
+	 * 
+	 * @param index is the index of the point.
+	 * @return the point.
+	 * @throws IndexOutOfBoundsException
+	 */
+	public CGraphPoint getPoint(int index) {
+		if (index<0 || index>=getPointCount()) throw new IndexOutOfBoundsException();
+		return new CGraphPoint(this, index);
+	}
+	
+	/** Replies the segment at the given index.
+	 * 
+	 * @param index is the index of the segment.
+	 * @return the segment.
+	 * @throws IndexOutOfBoundsException
+	 */
+	public CGraphSegment getSegment(int index) {
+		if (index<0 || index>=getSegmentCount()) throw new IndexOutOfBoundsException();
+		return new CGraphSegment(this, index);
+	}
+
+	/** Replies the index of the begin point of the given segment.
+	 * 
+	 * @param segment is the index of the segment.
+	 * @return the index of the begin point.
+	 */
+	public int getBeginPointIndex(int segment) {
+		return this.beginPoints[segment];
+	}
+
+	/** Replies the index of the end point of the given segment.
+	 * 
+	 * @param segment is the index of the segment.
+	 * @return the index of the end point.
+	 */
+	public int getEndPointIndex(int segment) {
+		return this.endPoints[segment];
+	}
+	
+	/** Replies the index of the point at the other side of the given segment.
+	 * 
+	 * @param segment is the index of the segment.
+	 * @param point is the index of the point.
+	 * @return the index of the point at the other side of the segment,
+	 * or <code>-1</code> if the given point is not an end of the segment.
+	 */
+	public int getOtherSidePointIndex(int segment, int point) {
+		if (this.beginPoints[segment]==point) return this.endPoints[segment];
+		if (this.endPoints[segment]==point) return this.beginPoints[segment];
+		return -1;
+	}
+
+	/** Replies the length of the given segment.
+	 * 
+	 * @param segment is the index of the segment.
+	 * @return the length of the segment.
+	 */
+	public float getSegmentLength(int segment) {
+		return this.lengths[segment];
+	}
+	
+	/** Replies the position of the first connection of the given point.
+	 * The connections of the point are the positions from
+	 * <code>getFirstConnection(point)</code> inclusive to
+	 * <code>getFirstConnection(point+1)</code> exclusive.
+	 * 
+	 * @param point is the index of the point.
+	 * @return the position of the first connection of the point.
+	 * @see #getConnectedSegmentIndex(int)
+	 */
+	public int getFirstConnection(int point) {
+		return this.firstConnections[point];
+	}
+
+	/** Replies the number of segments connected to the given point.
+	 * 
+	 * @param point is the index of the point.
+	 * @return the number of connections of the point.
+	 */
+	public int getConnectionCount(int point) {
+		return this.firstConnections[point+1] - this.firstConnections[point];
+	}
+
+	/** Replies the index of the segment at the given connection position.
+	 * 
+	 * @param connection is the position of the connection.
+	 * @return the index of the connected segment.
+	 * @see #getFirstConnection(int)
+	 */
+	public int getConnectedSegmentIndex(int connection) {
+		return this.connections[connection];
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class SegmentIterator implements Iterator<CGraphSegment> {
+
+		private int index = 0;
+		
+		/**
+		 */
+		public SegmentIterator() {
+			//
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return this.index<getSegmentCount();
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public CGraphSegment next() {
+			if (this.index>=getSegmentCount()) throw new NoSuchElementException();
+			CGraphSegment s = new CGraphSegment(CGraph.this, this.index);
+			++this.index;
+			return s;
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+		
+	} // class SegmentIterator
+
+}
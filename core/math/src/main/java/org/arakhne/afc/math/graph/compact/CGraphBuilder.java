@@ -0,0 +1,136 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.compact;
+
+import java.util.Arrays;
+
+/** This class permits to build a {@link CGraph}.
+ * <p>
+ * The points and the segments are identified by their
+ * indexes, which are given in the order of their creation.
+ * These indexes are the same in the built graph.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class CGraphBuilder {
+
+	private int pointCount = 0;
+	private int segmentCount = 0;
+	private int[] beginPoints;
+	private int[] endPoints;
+	private float[] lengths;
+	
+	/**
+	 */
+	public CGraphBuilder() {
+		this(16);
+	}
+
+	/**
+	 * @param segmentCapacity is the expected number of segments.
+	 */
+	public CGraphBuilder(int segmentCapacity) {
+		int capacity = Math.max(1, segmentCapacity);
+		this.beginPoints = new int[capacity];
+		this.endPoints = new int[capacity];
+		this.lengths = new float[capacity];
+	}
+	
+	/** Replies the number of points already created.
+	 * 
+	 * @return the number of points.
+	 */
+	public int getPointCount() {
+		return this.pointCount;
+	}
+	
+	/** Replies the number of segments already created.
+	 * 
+	 * @return the number of segments.
+	 */
+	public int getSegmentCount() {
+		return this.segmentCount;
+	}
+
+	/** Create a point.
+	 * 
+	 * @return the index of the new point.
+	 */
+	public int addPoint() {
+		return this.pointCount++;
+	}
+
+	/** Create the given number of points.
+	 * 
+	 * @param count is the number of points to create.
+	 * @return the index of the first created point.
+	 */
+	public int addPoints(int count) {
+		if (count<0) throw new IllegalArgumentException();
+		int first = this.pointCount;
+		this.pointCount += count;
+		return first;
+	}
+
+	/** Create a segment between the two given points.
+	 * 
+	 * @param beginPoint is the index of the begin point of the segment.
+	 * @param endPoint is the index of the end point of the segment.
+	 * @param length is the length of the segment.
+	 * @return the index of the new segment.
+	 * @throws IndexOutOfBoundsException if one of the point indexes is invalid.
+	 */
+	public int addSegment(int beginPoint, int endPoint, float length) {
+		if (beginPoint<0 || beginPoint>=this.pointCount
+			|| endPoint<0 || endPoint>=this.pointCount) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (this.segmentCount==this.lengths.length) {
+			int capacity = this.segmentCount * 2;
+			this.beginPoints = Arrays.copyOf(this.beginPoints, capacity);
+			this.endPoints = Arrays.copyOf(this.endPoints, capacity);
+			this.lengths = Arrays.copyOf(this.lengths, capacity);
+		}
+		this.beginPoints[this.segmentCount] = beginPoint;
+		this.endPoints[this.segmentCount] = endPoint;
+		this.lengths[this.segmentCount] = length;
+		return this.segmentCount++;
+	}
+
+	/** Build the graph from the points and the segments
+	 * that were added in this builder.
+	 * The builder may continue to be used after this call
+	 * without changing the built graph.
+	 * 
+	 * @return the graph.
+	 */
+	public CGraph build() {
+		return new CGraph(
+				this.pointCount,
+				this.beginPoints, this.endPoints, this.lengths,
+				this.segmentCount);
+	}
+
+}
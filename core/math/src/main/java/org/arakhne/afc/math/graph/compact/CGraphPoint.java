@@ -0,0 +1,396 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.compact;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.arakhne.afc.math.graph.GraphPoint;
+
+/** This class provides a flyweight on a point of a {@link CGraph}.
+ * <p>
+ * A point does not store any data; it is only the index of
+ * the point inside the arrays of the graph. Two instances
+ * are equal if they have the same index in the same graph.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public final class CGraphPoint implements GraphPoint<CGraphPoint,CGraphSegment> {
+
+	private final CGraph graph;
+	private final int index;
+	
+	/**
+	 * @param graph is the graph in which the point is.
+	 * @param index is the index of the point in the graph.
+	 */
+	CGraphPoint(CGraph graph, int index) {
+		this.graph = graph;
+		this.index = index;
+	}
+	
+	/** Replies the graph in which this point is.
+	 * 
+	 * @return the graph in which this point is.
+	 */
+	public CGraph getGraph() {
+		return this.graph;
+	}
+
+	/** Replies the index of this point in the graph.
+	 * 
+	 * @return the index of this point.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/** {@inheritDoc}
+     */
+	@Override
+	public int getConnectedSegmentCount() {
+		return this.graph.getConnectionCount(this.index);
+	}
+
+    /** {@inheritDoc}
+     */
+	@Override
+	public Iterable<CGraphSegment> getConnectedSegments() {
+		return new SegmentIterable(0);
+	}
+	
+	/** {@inheritDoc}
+	 */
+	@Override
+	public Iterable<CGraphSegment> getConnectedSegmentsStartingFrom(CGraphSegment startingPoint) {
+		return new SegmentIterable(indexOf(startingPoint));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterable<? extends GraphPointConnection<CGraphPoint, CGraphSegment>> getConnections() {
+		return new ConnectionIterable(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterable<? extends GraphPointConnection<CGraphPoint, CGraphSegment>> getConnectionsStartingFrom(
+			CGraphSegment startingPoint) {
+		return new ConnectionIterable(indexOf(startingPoint));
+	}
+
+	/** Replies the position of the given segment in the connections of this point.
+	 * 
+	 * @param segment
+	 * @return the position of the segment relatively to the first connection
+	 * of this point, or <code>0</code> if the segment is not connected.
+	 */
+	private int indexOf(CGraphSegment segment) {
+		if (segment!=null && segment.getGraph()==this.graph) {
+			int first = this.graph.getFirstConnection(this.index);
+			int count = this.graph.getConnectionCount(this.index);
+			int s = segment.getIndex();
+			for(int i=0; i<count; ++i) {
+				if (this.graph.getConnectedSegmentIndex(first+i)==s) {
+					return i;
+				}
+			}
+		}
+		return 0;
+	}
+	
+	/** {@inheritDoc}
+     */
+	@Override
+	public boolean isConnectedSegment(CGraphSegment segment) {
+		if (segment!=null && segment.getGraph()==this.graph) {
+			int s = segment.getIndex();
+			return this.graph.getBeginPointIndex(s)==this.index
+					|| this.graph.getEndPointIndex(s)==this.index;
+		}
+		return false;
+	}
+
+    /** {@inheritDoc}
+     */
+	@Override
+	public boolean isFinalConnectionPoint() {
+		return this.graph.getConnectionCount(this.index)<=1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj==this) return true;
+		if (obj instanceof CGraphPoint) {
+			CGraphPoint p = (CGraphPoint)obj;
+			return p.index==this.index && p.graph==this.graph;
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return this.index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int compareTo(GraphPoint<CGraphPoint,CGraphSegment> o) {
+		if (o==null) return Integer.MAX_VALUE;
+		if (o instanceof CGraphPoint) {
+			return this.index - ((CGraphPoint)o).index;
+		}
+		return hashCode() - o.hashCode();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "P" + this.index; //$NON-NLS-1$
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class SegmentIterable implements Iterable<CGraphSegment> {
+
+		private final int start;
+		
+		/**
+		 * @param start is the position of the first replied connection.
+		 */
+		public SegmentIterable(int start) {
+			this.start = start;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public Iterator<CGraphSegment> iterator() {
+			return new SegmentIterator(this.start);
+		}
+		
+	} // class SegmentIterable
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class ConnectionIterable implements Iterable<PointConnection> {
+
+		private final int start;
+		
+		/**
+		 * @param start is the position of the first replied connection.
+		 */
+		public ConnectionIterable(int start) {
+			this.start = start;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public Iterator<PointConnection> iterator() {
+			return new ConnectionIterator(this.start);
+		}
+		
+	} // class ConnectionIterable
+
+	/** Iterator on the connections of the point, which is
+	 * starting from a given position and going around.
+	 * 
+	 * @param <T> is the type of the replied objects.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private abstract class AbstractConnectionIterator<T> implements Iterator<T> {
+
+		private final int first;
+		private final int count;
+		private final int start;
+		private int replied = 0;
+		
+		/**
+		 * @param start is the position of the first replied connection.
+		 */
+		public AbstractConnectionIterator(int start) {
+			CGraph g = CGraphPoint.this.graph;
+			this.first = g.getFirstConnection(CGraphPoint.this.index);
+			this.count = g.getConnectionCount(CGraphPoint.this.index);
+			this.start = start;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return this.replied<this.count;
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public T next() {
+			if (this.replied>=this.count) throw new NoSuchElementException();
+			int position = this.first + (this.start + this.replied) % this.count;
+			++this.replied;
+			return create(CGraphPoint.this.graph.getConnectedSegmentIndex(position));
+		}
+		
+		/** Create the replied object.
+		 * 
+		 * @param segment is the index of the connected segment.
+		 * @return the replied object.
+		 */
+		protected abstract T create(int segment);
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	} // class AbstractConnectionIterator
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class SegmentIterator extends AbstractConnectionIterator<CGraphSegment> {
+
+		/**
+		 * @param start is the position of the first replied connection.
+		 */
+		public SegmentIterator(int start) {
+			super(start);
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		protected CGraphSegment create(int segment) {
+			return new CGraphSegment(CGraphPoint.this.graph, segment);
+		}
+		
+	} // class SegmentIterator
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class ConnectionIterator extends AbstractConnectionIterator<PointConnection> {
+
+		/**
+		 * @param start is the position of the first replied connection.
+		 */
+		public ConnectionIterator(int start) {
+			super(start);
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		protected PointConnection create(int segment) {
+			return new PointConnection(segment);
+		}
+		
+	} // class ConnectionIterator
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private class PointConnection implements GraphPointConnection<CGraphPoint,CGraphSegment> {
+
+		private final int segment;
+		
+		/**
+		 * @param segment is the index of the connected segment.
+		 */
+		public PointConnection(int segment) {
+			this.segment = segment;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CGraphSegment getGraphSegment() {
+			return new CGraphSegment(CGraphPoint.this.graph, this.segment);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public CGraphPoint getGraphPoint() {
+			return CGraphPoint.this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isSegmentStartConnected() {
+			return CGraphPoint.this.graph.getBeginPointIndex(this.segment)==CGraphPoint.this.index;
+		}
+		
+	} // class PointConnection
+
+}
@@ -0,0 +1,139 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.compact;
+
+import org.arakhne.afc.math.graph.GraphSegment;
+
+/** This class provides a flyweight on a segment of a {@link CGraph}.
+ * <p>
+ * A segment does not store any data; it is only the index of
+ * the segment inside the arrays of the graph. Two instances
+ * are equal if they have the same index in the same graph.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public final class CGraphSegment implements GraphSegment<CGraphSegment,CGraphPoint>, Comparable<CGraphSegment> {
+
+	private final CGraph graph;
+	private final int index;
+	
+	/**
+	 * @param graph is the graph in which the segment is.
+	 * @param index is the index of the segment in the graph.
+	 */
+	CGraphSegment(CGraph graph, int index) {
+		this.graph = graph;
+		this.index = index;
+	}
+
+	/** Replies the graph in which this segment is.
+	 * 
+	 * @return the graph in which this segment is.
+	 */
+	public CGraph getGraph() {
+		return this.graph;
+	}
+	
+	/** Replies the index of this segment in the graph.
+	 * 
+	 * @return the index of this segment.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/** {@inheritDoc}
+     */
+	@Override
+	public CGraphPoint getBeginPoint() {
+		return new CGraphPoint(this.graph, this.graph.getBeginPointIndex(this.index));
+	}
+
+    /** {@inheritDoc}
+     */
+	@Override
+	public CGraphPoint getEndPoint() {
+		return new CGraphPoint(this.graph, this.graph.getEndPointIndex(this.index));
+	}
+
+    /** {@inheritDoc}
+     */
+	@Override
+	public CGraphPoint getOtherSidePoint(CGraphPoint point) {
+		if (point!=null && point.getGraph()==this.graph) {
+			int other = this.graph.getOtherSidePointIndex(this.index, point.getIndex());
+			if (other>=0) {
+				return new CGraphPoint(this.graph, other);
+			}
+		}
+		return null;
+	}
+	
+    /** {@inheritDoc}
+     */
+	@Override
+	public float getLength() {
+		return this.graph.getSegmentLength(this.index);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj==this) return true;
+		if (obj instanceof CGraphSegment) {
+			CGraphSegment s = (CGraphSegment)obj;
+			return s.index==this.index && s.graph==this.graph;
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return this.index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int compareTo(CGraphSegment o) {
+		if (o==null) return Integer.MAX_VALUE;
+		return this.index - o.index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "S" + this.index; //$NON-NLS-1$
+	}
+
+}
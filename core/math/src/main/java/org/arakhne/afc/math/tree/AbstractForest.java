@@ -28,6 +28,7 @@ import org.arakhne.afc.math.tree.iterator.DataBroadFirstForestIterator;
 import org.arakhne.afc.math.tree.iterator.DataDepthFirstForestIterator;
 import org.arakhne.afc.math.tree.iterator.DepthFirstForestIterator;
 import org.arakhne.afc.math.tree.iterator.DepthFirstNodeOrder;
+import org.arakhne.afc.math.tree.iterator.SplittableTreeIterator;
 
 
 /**
@@ -184,6 +185,22 @@ implements Forest<D> {
 		return new DataBroadFirstForestIterator<D>(this.trees.iterator());
 	}
 
+	/** Replies a prefixed depth-first iterator on the nodes of
+	 * the trees, which may be split to traverse the forest on
+	 * several threads.
+	 * 
+	 * @return the splittable iterator.
+	 * @see org.arakhne.afc.math.tree.iterator.ParallelTreeTraversal
+	 * @since 12.0
+	 */
+	public final SplittableTreeIterator<TreeNode<D,?>> splittableIterator() {
+		List<TreeNode<D,?>> roots = new ArrayList<TreeNode<D,?>>(this.trees.size());
+		for(Tree<D,?> tree : this.trees) {
+			roots.add(tree.getRoot());
+		}
+		return new SplittableTreeIterator<TreeNode<D,?>>(roots);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -22,13 +22,16 @@ import java.util.Iterator;
 
 import org.arakhne.afc.math.tree.iterator.BroadFirstTreeIterator;
 import org.arakhne.afc.math.tree.iterator.DataBroadFirstTreeIterator;
+import org.arakhne.afc.math.tree.iterator.DataVisitor;
 import org.arakhne.afc.math.tree.iterator.DepthFirstNodeOrder;
 import org.arakhne.afc.math.tree.iterator.InfixDataDepthFirstTreeIterator;
 import org.arakhne.afc.math.tree.iterator.InfixDepthFirstTreeIterator;
+import org.arakhne.afc.math.tree.iterator.NodeVisitor;
 import org.arakhne.afc.math.tree.iterator.PostfixDataDepthFirstTreeIterator;
 import org.arakhne.afc.math.tree.iterator.PostfixDepthFirstTreeIterator;
 import org.arakhne.afc.math.tree.iterator.PrefixDataDepthFirstTreeIterator;
 import org.arakhne.afc.math.tree.iterator.PrefixDepthFirstTreeIterator;
+import org.arakhne.afc.math.tree.iterator.SplittableTreeIterator;
 
 
 /**
@@ -49,6 +52,11 @@ public abstract class AbstractTree<D,N extends TreeNode<D,N>> implements DepthFi
 
 	private static final long serialVersionUID = 1192947956138993568L;
 
+	/** Iterator that is reused by the visiting functions.
+	 * It is <code>null</code> when it is used by a visit.
+	 */
+	private transient PrefixDepthFirstTreeIterator<N> pooledIterator = null;
+
 	/** {@inheritDoc}
 	 */
 	@Override
@@ -235,4 +243,91 @@ public abstract class AbstractTree<D,N extends TreeNode<D,N>> implements DepthFi
 		};
 	}
 	
+	/** Replies a prefixed depth-first iterator on the nodes of
+	 * this tree, which may be split to traverse the tree on
+	 * several threads.
+	 * 
+	 * @return the splittable iterator.
+	 * @see org.arakhne.afc.math.tree.iterator.ParallelTreeTraversal
+	 * @since 12.0
+	 */
+	public final SplittableTreeIterator<N> splittableIterator() {
+		return new SplittableTreeIterator<N>(getRoot());
+	}
+
+	/** Replies an iterator on the nodes from the pool.
+	 * 
+	 * @return the iterator, started on the root of the tree.
+	 */
+	private synchronized PrefixDepthFirstTreeIterator<N> acquireIterator() {
+		PrefixDepthFirstTreeIterator<N> iterator = this.pooledIterator;
+		if (iterator==null) {
+			return new PrefixDepthFirstTreeIterator<N>(getRoot());
+		}
+		this.pooledIterator = null;
+		iterator.reset(getRoot());
+		return iterator;
+	}
+
+	/** Give back the given iterator to the pool.
+	 * 
+	 * @param iterator is the iterator to release.
+	 */
+	private synchronized void releaseIterator(PrefixDepthFirstTreeIterator<N> iterator) {
+		iterator.reset(null);
+		this.pooledIterator = iterator;
+	}
+
+	/** Invoke the visitor on each node of the tree.
+	 * The nodes are visited in a prefixed depth-first order.
+	 * <p>
+	 * Contrary to the iterators, this function does not
+	 * allocate memory for each traversed node.
+	 * 
+	 * @param visitor is the visitor to invoke.
+	 * @return <code>true</code> if all the nodes were visited,
+	 * <code>false</code> if the visitor has stopped the traversal.
+	 * @since 12.0
+	 */
+	public final boolean forEachNode(NodeVisitor<? super N> visitor) {
+		PrefixDepthFirstTreeIterator<N> iterator = acquireIterator();
+		try {
+			while (iterator.hasNext()) {
+				if (!visitor.visitNode(iterator.next())) return false;
+			}
+			return true;
+		}
+		finally {
+			releaseIterator(iterator);
+		}
+	}
+
+	/** Invoke the visitor on each user data of the tree.
+	 * The data are visited in a prefixed depth-first order of the nodes.
+	 * <p>
+	 * Contrary to the iterators, this function does not
+	 * allocate memory for each traversed node.
+	 * 
+	 * @param visitor is the visitor to invoke.
+	 * @return <code>true</code> if all the data were visited,
+	 * <code>false</code> if the visitor has stopped the traversal.
+	 * @since 12.0
+	 */
+	public final boolean forEachData(DataVisitor<? super D> visitor) {
+		PrefixDepthFirstTreeIterator<N> iterator = acquireIterator();
+		try {
+			N node;
+			while (iterator.hasNext()) {
+				node = iterator.next();
+				for(int i=0; i<node.getUserDataCount(); ++i) {
+					if (!visitor.visitData(node.getUserDataAt(i))) return false;
+				}
+			}
+			return true;
+		}
+		finally {
+			releaseIterator(iterator);
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,776 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.arakhne.afc.math.geometry2d.Point2D;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry2d.continuous.Shape2f;
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
+
+
+/**
+ * This is a spatial quad tree that supports concurrent readers
+ * and writers.
+ * <p>
+ * The tree is persistent: its nodes are never changed after their
+ * creation. An update copies the nodes along the path from the root
+ * to the changed node, and publishes the new root atomically.
+ * The readers are working on a {@link Snapshot snapshot} of the tree,
+ * ie. on the root that was published when the snapshot was taken.
+ * Consequently, the readers are never blocked and they never see
+ * a partially updated tree. The writers are serialized.
+ * <p>
+ * The organization of the tree is the same as in {@link SpatialQuadTree}:
+ * the objects that are intersecting the split lines of a node
+ * are stored in its icosep child, and the objects that are outside
+ * the bounds of the tree are stored inside the root.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see SpatialQuadTree
+ * @since 12.0
+ */
+public class ConcurrentSpatialQuadTree<D extends Shape2f> {
+
+	private static final Object[] EMPTY = new Object[0];
+	
+	private static final int ICOSEP_INDEX = IcosepQuadTreeZone.ICOSEP.ordinal();
+	
+	private final int splittingCount;
+	
+	private volatile Node root;
+	
+	/**
+	 * @param bounds are the bounds of the area covered by the tree.
+	 */
+	public ConcurrentSpatialQuadTree(Rectangle2f bounds) {
+		this(bounds, SpatialQuadTree.DEFAULT_SPLITTING_COUNT);
+	}
+
+	/**
+	 * @param bounds are the bounds of the area covered by the tree.
+	 * @param splittingCount is the count of objects over which a leaf is splitted.
+	 */
+	public ConcurrentSpatialQuadTree(Rectangle2f bounds, int splittingCount) {
+		this.splittingCount = Math.max(1, splittingCount);
+		this.root = new Node(
+				bounds.getMinX(), bounds.getMinY(),
+				bounds.getMaxX(), bounds.getMaxY(),
+				EMPTY, null);
+	}
+	
+	/** Replies the count of objects over which a leaf is splitted.
+	 * 
+	 * @return the splitting count.
+	 */
+	public int getSplittingCount() {
+		return this.splittingCount;
+	}
+
+	/** Replies a snapshot of the current state of the tree.
+	 * The snapshot is not changed by the next updates of the tree.
+	 * 
+	 * @return the snapshot.
+	 */
+	public Snapshot<D> snapshot() {
+		return new Snapshot<D>(this.root);
+	}
+	
+	/** Replies the count of objects in the tree.
+	 * 
+	 * @return the count of objects.
+	 */
+	public int size() {
+		return this.root.size;
+	}
+	
+	/** Add the given object inside the tree.
+	 * 
+	 * @param object
+	 * @return <code>true</code> if the object was added,
+	 * otherwise <code>false</code>.
+	 */
+	public synchronized boolean add(D object) {
+		if (object==null) return false;
+		this.root = insert(this.root, object, object.toBoundingBox(), 0);
+		return true;
+	}
+
+	/** Add the given objects inside the tree.
+	 * The objects are visible by the readers only when all of them
+	 * were added.
+	 * 
+	 * @param objects
+	 * @return <code>true</code> if one object was added,
+	 * otherwise <code>false</code>.
+	 */
+	public synchronized boolean addAll(Collection<? extends D> objects) {
+		Node r = this.root;
+		boolean changed = false;
+		for(D object : objects) {
+			if (object!=null) {
+				r = insert(r, object, object.toBoundingBox(), 0);
+				changed = true;
+			}
+		}
+		this.root = r;
+		return changed;
+	}
+
+	/** Remove the given object from the tree.
+	 * 
+	 * @param object
+	 * @return <code>true</code> if the object was removed,
+	 * otherwise <code>false</code>.
+	 */
+	public synchronized boolean remove(D object) {
+		if (object==null) return false;
+		Node r = deleteFromRoot(this.root, object, object.toBoundingBox());
+		if (r==this.root) return false;
+		this.root = r;
+		return true;
+	}
+	
+	/** Replace an object by another one. This function must be used to
+	 * move an object: the old object is the object before its move, and
+	 * the new object is the object after its move.
+	 * The readers see the old object or the new object,
+	 * but never both or none of them.
+	 * 
+	 * @param oldObject is the object to remove.
+	 * @param newObject is the object to add.
+	 * @return <code>true</code> if the old object was replaced,
+	 * otherwise <code>false</code>.
+	 */
+	public synchronized boolean replace(D oldObject, D newObject) {
+		if (oldObject==null || newObject==null) return false;
+		Node r = deleteFromRoot(this.root, oldObject, oldObject.toBoundingBox());
+		if (r==this.root) return false;
+		this.root = insert(r, newObject, newObject.toBoundingBox(), 0);
+		return true;
+	}
+	
+	/** Remove all the objects from the tree.
+	 */
+	public synchronized void clear() {
+		Node r = this.root;
+		this.root = new Node(r.minx, r.miny, r.maxx, r.maxy, EMPTY, null);
+	}
+	
+	/** Replies the objects that are intersecting the given rectangle.
+	 * 
+	 * @param window
+	 * @return the objects intersecting the window.
+	 * @see Snapshot#getObjectsIn(Rectangle2f)
+	 */
+	public List<D> getObjectsIn(Rectangle2f window) {
+		return snapshot().getObjectsIn(window);
+	}
+
+	/** Replies the objects that are at a distance lower or equal to
+	 * the given radius from the given point.
+	 * 
+	 * @param center
+	 * @param radius
+	 * @return the objects near the point.
+	 * @see Snapshot#getObjectsNear(Point2D, float)
+	 */
+	public List<D> getObjectsNear(Point2D center, float radius) {
+		return snapshot().getObjectsNear(center, radius);
+	}
+
+	/** Replies the objects that are the nearest to the given point.
+	 * The objects are sorted from the nearest to the farest.
+	 * 
+	 * @param point
+	 * @param count is the maximal count of replied objects.
+	 * @return the nearest objects.
+	 * @see Snapshot#getNearestObjects(Point2D, int)
+	 */
+	public List<D> getNearestObjects(Point2D point, int count) {
+		return snapshot().getNearestObjects(point, count);
+	}
+	
+	/** Replies a copy of the node in which the given object was inserted.
+	 * 
+	 * @param node
+	 * @param object
+	 * @param box is the bounding box of the object.
+	 * @param depth is the depth of the node.
+	 * @return the new node.
+	 */
+	private Node insert(Node node, Object object, Rectangle2f box, int depth) {
+		int zone = node.getZoneFor(box);
+		if (zone<0 || node.children==null) {
+			Node n = new Node(node.minx, node.miny, node.maxx, node.maxy,
+					append(node.data, object), node.children);
+			if (n.children==null && zone>=0 && n.data.length>this.splittingCount
+				&& depth<SpatialQuadTree.MAX_DEPTH) {
+				n = split(n, depth);
+			}
+			return n;
+		}
+		Node[] newChildren = node.children.clone();
+		Node child = newChildren[zone];
+		if (zone==ICOSEP_INDEX) {
+			// The icosep nodes are never splitted
+			if (child==null) {
+				child = new Node(node.minx, node.miny, node.maxx, node.maxy, new Object[] {object}, null);
+			}
+			else {
+				child = new Node(child.minx, child.miny, child.maxx, child.maxy,
+						append(child.data, object), null);
+			}
+		}
+		else {
+			if (child==null) {
+				child = node.newChild(zone, EMPTY);
+			}
+			child = insert(child, object, box, depth+1);
+		}
+		newChildren[zone] = child;
+		return new Node(node.minx, node.miny, node.maxx, node.maxy, node.data, newChildren);
+	}
+	
+	/** Replies a new node that is the splitted version of the given leaf.
+	 * 
+	 * @param leaf
+	 * @param depth is the depth of the leaf.
+	 * @return the new node.
+	 */
+	private Node split(Node leaf, int depth) {
+		IcosepQuadTreeZone[] zones = IcosepQuadTreeZone.values();
+		List<List<Object>> parts = new ArrayList<List<Object>>(zones.length);
+		for(int i=0; i<zones.length; ++i) {
+			parts.add(null);
+		}
+		List<Object> outside = new ArrayList<Object>();
+		Rectangle2f box = new Rectangle2f();
+		int zone;
+		List<Object> part;
+		for(Object object : leaf.data) {
+			((Shape2f)object).toBoundingBox(box);
+			zone = leaf.getZoneFor(box);
+			if (zone<0) {
+				outside.add(object);
+			}
+			else {
+				part = parts.get(zone);
+				if (part==null) {
+					part = new ArrayList<Object>();
+					parts.set(zone, part);
+				}
+				part.add(object);
+			}
+		}
+		Node[] children = new Node[zones.length];
+		Node child;
+		for(int i=0; i<zones.length; ++i) {
+			part = parts.get(i);
+			if (part!=null) {
+				child = leaf.newChild(i, part.toArray());
+				if (i!=ICOSEP_INDEX && child.data.length>this.splittingCount
+					&& depth+1<SpatialQuadTree.MAX_DEPTH) {
+					child = split(child, depth+1);
+				}
+				children[i] = child;
+			}
+		}
+		return new Node(leaf.minx, leaf.miny, leaf.maxx, leaf.maxy, outside.toArray(), children);
+	}
+	
+	/** Replies a copy of the root from which the given object was removed.
+	 * The root is never removed: when it becomes empty, it is replaced
+	 * by an empty leaf with the same bounds.
+	 * 
+	 * @param root
+	 * @param object
+	 * @param box is the bounding box of the object.
+	 * @return the new root, or the given root if the object was not found.
+	 */
+	private static Node deleteFromRoot(Node root, Object object, Rectangle2f box) {
+		Node r = delete(root, object, box);
+		if (r==null) {
+			return new Node(root.minx, root.miny, root.maxx, root.maxy, EMPTY, null);
+		}
+		return r;
+	}
+
+	/** Replies a copy of the node from which the given object was removed.
+	 * 
+	 * @param node
+	 * @param object
+	 * @param box is the bounding box of the object.
+	 * @return the new node, <code>null</code> if the node becomes empty,
+	 * or the given node if the object was not found.
+	 */
+	private static Node delete(Node node, Object object, Rectangle2f box) {
+		int zone = node.getZoneFor(box);
+		if (zone<0 || node.children==null) {
+			int index = indexOf(node.data, object);
+			if (index<0) return node;
+			Object[] newData = remove(node.data, index);
+			if (newData.length==0 && node.children==null) return null;
+			return new Node(node.minx, node.miny, node.maxx, node.maxy, newData, node.children);
+		}
+		Node child = node.children[zone];
+		if (child==null) return node;
+		Node newChild = delete(child, object, box);
+		if (newChild==child) return node;
+		Node[] newChildren = node.children.clone();
+		newChildren[zone] = newChild;
+		boolean isLeaf = true;
+		for(Node c : newChildren) {
+			if (c!=null) {
+				isLeaf = false;
+				break;
+			}
+		}
+		if (isLeaf) {
+			newChildren = null;
+			if (node.data.length==0) return null;
+		}
+		return new Node(node.minx, node.miny, node.maxx, node.maxy, node.data, newChildren);
+	}
+	
+	/** Replies a copy of the given array with the given object at its end.
+	 * 
+	 * @param array
+	 * @param object
+	 * @return the new array.
+	 */
+	private static Object[] append(Object[] array, Object object) {
+		Object[] newArray = new Object[array.length+1];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		newArray[array.length] = object;
+		return newArray;
+	}
+
+	/** Replies a copy of the given array without the object at the given index.
+	 * 
+	 * @param array
+	 * @param index
+	 * @return the new array.
+	 */
+	private static Object[] remove(Object[] array, int index) {
+		if (array.length==1) return EMPTY;
+		Object[] newArray = new Object[array.length-1];
+		System.arraycopy(array, 0, newArray, 0, index);
+		System.arraycopy(array, index+1, newArray, index, array.length-index-1);
+		return newArray;
+	}
+
+	private static int indexOf(Object[] array, Object object) {
+		for(int i=0; i<array.length; ++i) {
+			if (object.equals(array[i])) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * This is an immutable node of a {@link ConcurrentSpatialQuadTree}.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Node {
+		
+		/** Bounds of the node.
+		 */
+		final float minx;
+		/** Bounds of the node.
+		 */
+		final float miny;
+		/** Bounds of the node.
+		 */
+		final float maxx;
+		/** Bounds of the node.
+		 */
+		final float maxy;
+		
+		/** Objects of the node.
+		 */
+		final Object[] data;
+		
+		/** Children of the node, indexed by the ordinals of
+		 * {@link IcosepQuadTreeZone}; <code>null</code> for a leaf.
+		 */
+		final Node[] children;
+		
+		/** Count of objects in the subtree.
+		 */
+		final int size;
+		
+		/**
+		 * @param minx
+		 * @param miny
+		 * @param maxx
+		 * @param maxy
+		 * @param data
+		 * @param children
+		 */
+		public Node(float minx, float miny, float maxx, float maxy, Object[] data, Node[] children) {
+			this.minx = minx;
+			this.miny = miny;
+			this.maxx = maxx;
+			this.maxy = maxy;
+			this.data = data;
+			this.children = children;
+			int s = data.length;
+			if (children!=null) {
+				for(Node child : children) {
+					if (child!=null) s += child.size;
+				}
+			}
+			this.size = s;
+		}
+		
+		/** Replies the zone in which the given box should be stored.
+		 * 
+		 * @param box
+		 * @return the ordinal of the zone, or <code>-1</code> if the
+		 * box is outside the node.
+		 */
+		public int getZoneFor(Rectangle2f box) {
+			float bminx = box.getMinX();
+			float bminy = box.getMinY();
+			float bmaxx = box.getMaxX();
+			float bmaxy = box.getMaxY();
+			if (bminx<this.minx || bmaxx>this.maxx || bminy<this.miny || bmaxy>this.maxy) {
+				return -1;
+			}
+			float cx = (this.minx+this.maxx)/2f;
+			float cy = (this.miny+this.maxy)/2f;
+			boolean west, south;
+			if (bmaxx<=cx) west = true;
+			else if (bminx>=cx) west = false;
+			else return ICOSEP_INDEX;
+			if (bmaxy<=cy) south = true;
+			else if (bminy>=cy) south = false;
+			else return ICOSEP_INDEX;
+			if (south) {
+				return (west ? IcosepQuadTreeZone.SOUTH_WEST : IcosepQuadTreeZone.SOUTH_EAST).ordinal();
+			}
+			return (west ? IcosepQuadTreeZone.NORTH_WEST : IcosepQuadTreeZone.NORTH_EAST).ordinal();
+		}
+		
+		/** Create a child for the given zone.
+		 * 
+		 * @param zone
+		 * @param childData
+		 * @return the new child.
+		 */
+		public Node newChild(int zone, Object[] childData) {
+			float cx = (this.minx+this.maxx)/2f;
+			float cy = (this.miny+this.maxy)/2f;
+			switch(IcosepQuadTreeZone.values()[zone]) {
+			case NORTH_WEST:
+				return new Node(this.minx, cy, cx, this.maxy, childData, null);
+			case NORTH_EAST:
+				return new Node(cx, cy, this.maxx, this.maxy, childData, null);
+			case SOUTH_WEST:
+				return new Node(this.minx, this.miny, cx, cy, childData, null);
+			case SOUTH_EAST:
+				return new Node(cx, this.miny, this.maxx, cy, childData, null);
+			default:
+				return new Node(this.minx, this.miny, this.maxx, this.maxy, childData, null);
+			}
+		}
+		
+		/** Replies if the bounds of this node are intersecting the given rectangle.
+		 * 
+		 * @param window
+		 * @return <code>true</code> if the node intersects the window.
+		 */
+		public boolean intersects(Rectangle2f window) {
+			return this.minx<=window.getMaxX() && window.getMinX()<=this.maxx
+					&& this.miny<=window.getMaxY() && window.getMinY()<=this.maxy;
+		}
+
+		/** Replies the square of the distance between the given point
+		 * and the bounds of this node.
+		 * 
+		 * @param x
+		 * @param y
+		 * @return the square of the distance, or zero if the point is inside.
+		 */
+		public float distanceSquared(float x, float y) {
+			float dx, dy;
+			if (x<this.minx) dx = this.minx - x;
+			else if (x>this.maxx) dx = x - this.maxx;
+			else dx = 0f;
+			if (y<this.miny) dy = this.miny - y;
+			else if (y>this.maxy) dy = y - this.maxy;
+			else dy = 0f;
+			return dx*dx + dy*dy;
+		}
+
+	} // class Node
+
+	/**
+	 * This is a snapshot of a {@link ConcurrentSpatialQuadTree}.
+	 * The snapshot is immutable and may be used by several threads.
+	 * 
+	 * @param <D> is the type of the data inside the tree
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	public static class Snapshot<D extends Shape2f> {
+		
+		private final Node root;
+		
+		/**
+		 * @param root
+		 */
+		Snapshot(Node root) {
+			this.root = root;
+		}
+		
+		/** Replies the count of objects in the snapshot.
+		 * 
+		 * @return the count of objects.
+		 */
+		public int size() {
+			return this.root.size;
+		}
+		
+		/** Replies the bounds of the area covered by the tree.
+		 * 
+		 * @return the bounds of the tree.
+		 */
+		public Rectangle2f getBounds() {
+			Rectangle2f r = new Rectangle2f();
+			r.setFromCorners(this.root.minx, this.root.miny, this.root.maxx, this.root.maxy);
+			return r;
+		}
+		
+		/** Replies the objects that are intersecting the given rectangle.
+		 * 
+		 * @param window
+		 * @return the objects intersecting the window.
+		 */
+		@SuppressWarnings("unchecked")
+		public List<D> getObjectsIn(Rectangle2f window) {
+			List<D> result = new ArrayList<D>();
+			List<Node> stack = new ArrayList<Node>();
+			stack.add(this.root);
+			Node node;
+			D object;
+			while (!stack.isEmpty()) {
+				node = stack.remove(stack.size()-1);
+				for(Object o : node.data) {
+					object = (D)o;
+					if (object.intersects(window)) {
+						result.add(object);
+					}
+				}
+				if (node.children!=null) {
+					for(Node child : node.children) {
+						if (child!=null && child.intersects(window)) {
+							stack.add(child);
+						}
+					}
+				}
+			}
+			return result;
+		}
+
+		/** Replies the objects that are at a distance lower or equal to
+		 * the given radius from the given point.
+		 * 
+		 * @param center
+		 * @param radius
+		 * @return the objects near the point.
+		 */
+		@SuppressWarnings("unchecked")
+		public List<D> getObjectsNear(Point2D center, float radius) {
+			List<D> result = new ArrayList<D>();
+			float r2 = radius * radius;
+			float x = center.getX();
+			float y = center.getY();
+			List<Node> stack = new ArrayList<Node>();
+			stack.add(this.root);
+			Node node;
+			D object;
+			while (!stack.isEmpty()) {
+				node = stack.remove(stack.size()-1);
+				for(Object o : node.data) {
+					object = (D)o;
+					if (object.distanceSquared(center)<=r2) {
+						result.add(object);
+					}
+				}
+				if (node.children!=null) {
+					for(Node child : node.children) {
+						if (child!=null && child.distanceSquared(x, y)<=r2) {
+							stack.add(child);
+						}
+					}
+				}
+			}
+			return result;
+		}
+
+		/** Replies the object that is the nearest to the given point.
+		 * 
+		 * @param point
+		 * @return the nearest object, or <code>null</code> if the snapshot is empty.
+		 */
+		public D getNearestObject(Point2D point) {
+			List<D> objects = getNearestObjects(point, 1);
+			return objects.isEmpty() ? null : objects.get(0);
+		}
+
+		/** Replies the objects that are the nearest to the given point.
+		 * The objects are sorted from the nearest to the farest.
+		 * 
+		 * @param point
+		 * @param count is the maximal count of replied objects.
+		 * @return the nearest objects.
+		 */
+		@SuppressWarnings("unchecked")
+		public List<D> getNearestObjects(Point2D point, int count) {
+			if (count<=0) return Collections.emptyList();
+			float x = point.getX();
+			float y = point.getY();
+			List<D> result = new ArrayList<D>(count);
+			PriorityQueue<Entry> queue = new PriorityQueue<Entry>(32, EntryComparator.SINGLETON);
+			// The objects outside the bounds are stored in the root; the
+			// distance of the root node is not a lower bound of their distances.
+			for(Object o : this.root.data) {
+				queue.add(new Entry(((D)o).distanceSquared(point), null, o));
+			}
+			if (this.root.children!=null) {
+				for(Node child : this.root.children) {
+					if (child!=null) {
+						queue.add(new Entry(child.distanceSquared(x, y), child, null));
+					}
+				}
+			}
+			Entry entry;
+			while (result.size()<count && (entry = queue.poll())!=null) {
+				if (entry.node==null) {
+					result.add((D)entry.object);
+				}
+				else {
+					for(Object o : entry.node.data) {
+						queue.add(new Entry(((D)o).distanceSquared(point), null, o));
+					}
+					if (entry.node.children!=null) {
+						for(Node child : entry.node.children) {
+							if (child!=null) {
+								queue.add(new Entry(child.distanceSquared(x, y), child, null));
+							}
+						}
+					}
+				}
+			}
+			return result;
+		}
+
+	} // class Snapshot
+	
+	/**
+	 * Entry of the priority queue of the nearest-neighbour search.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Entry {
+		
+		/** Square of the distance to the searched point.
+		 */
+		public final float distance;
+		
+		/** Node to explore, or <code>null</code>.
+		 */
+		public final Node node;
+		
+		/** Object to reply, or <code>null</code>.
+		 */
+		public final Object object;
+		
+		/**
+		 * @param distance
+		 * @param node
+		 * @param object
+		 */
+		public Entry(float distance, Node node, Object object) {
+			this.distance = distance;
+			this.node = node;
+			this.object = object;
+		}
+		
+	} // class Entry
+	
+	/**
+	 * Comparator of the entries of the nearest-neighbour search.
+	 * On equal distances, the objects are before the nodes.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class EntryComparator implements Comparator<Entry> {
+		
+		/** Singleton.
+		 */
+		public static final EntryComparator SINGLETON = new EntryComparator();
+		
+		/**
+		 */
+		public EntryComparator() {
+			//
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			int cmp = Float.compare(o1.distance, o2.distance);
+			if (cmp!=0) return cmp;
+			if (o1.node==null) {
+				return (o2.node==null) ? 0 : -1;
+			}
+			return (o2.node==null) ? 1 : 0;
+		}
+		
+	} // class EntryComparator
+
+}
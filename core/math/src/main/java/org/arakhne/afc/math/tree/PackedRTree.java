@@ -0,0 +1,678 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.arakhne.afc.math.geometry2d.Point2D;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry2d.continuous.Shape2f;
+
+
+/**
+ * This is a R-tree that is bulk loaded from a static set of 2D shapes.
+ * <p>
+ * The tree is built once from the entire set of objects: the objects
+ * are sorted according to a {@link RTreePacking packing method} and
+ * grouped into nodes of a fixed size, the nodes are grouped into
+ * parent nodes in the same way, and so on until the root.
+ * The resulting tree is balanced and its nodes are full.
+ * <p>
+ * The minimal bounding rectangles of the objects and of the nodes
+ * are stored inside a single array of floats; the links between
+ * the nodes are stored inside an array of integers. The tree
+ * cannot be changed after its building.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class PackedRTree<D extends Shape2f> implements Iterable<D> {
+
+	/** Default count of children per node.
+	 */
+	public static final int DEFAULT_NODE_SIZE = 16;
+
+	/** Size of the grid on which the centers are projected
+	 * to compute the Hilbert values.
+	 */
+	private static final int HILBERT_MAX = (1 << 16) - 1;
+	
+	private final int nodeSize;
+	
+	/** The objects, in the order of the leaves.
+	 */
+	private final Object[] data;
+	
+	/** The bounds of the objects followed by the bounds of the nodes,
+	 * level by level. Each entry is composed of four floats:
+	 * min x, min y, max x, and max y.
+	 */
+	private final float[] bounds;
+	
+	/** For each node, the index of its first child and the index
+	 * after its last child in the entries of {@link #bounds}.
+	 */
+	private final int[] children;
+
+	/** Build a tree with Sort-Tile-Recursive packing.
+	 * 
+	 * @param objects are the objects to put inside the tree.
+	 */
+	public PackedRTree(Collection<? extends D> objects) {
+		this(objects, DEFAULT_NODE_SIZE, RTreePacking.SORT_TILE_RECURSIVE);
+	}
+
+	/**
+	 * @param objects are the objects to put inside the tree.
+	 * @param nodeSize is the maximal count of children per node.
+	 * @param packing is the method used to group the entries into nodes.
+	 */
+	public PackedRTree(Collection<? extends D> objects, int nodeSize, RTreePacking packing) {
+		assert(objects!=null);
+		assert(packing!=null);
+		this.nodeSize = Math.max(2, nodeSize);
+		
+		int n = objects.size();
+		
+		// Compute the count of entries
+		int total = n;
+		if (n>0) {
+			int levelSize = n;
+			do {
+				levelSize = (levelSize + this.nodeSize - 1) / this.nodeSize;
+				total += levelSize;
+			}
+			while (levelSize>1);
+		}
+		
+		this.data = new Object[n];
+		this.bounds = new float[total*4];
+		this.children = new int[(total-n)*2];
+		
+		if (n>0) {
+			// Leaves
+			Object[] unsorted = objects.toArray();
+			float[] levelBounds = new float[n*4];
+			Rectangle2f box = new Rectangle2f();
+			for(int i=0, j=0; i<n; ++i, j+=4) {
+				((Shape2f)unsorted[i]).toBoundingBox(box);
+				levelBounds[j] = box.getMinX();
+				levelBounds[j+1] = box.getMinY();
+				levelBounds[j+2] = box.getMaxX();
+				levelBounds[j+3] = box.getMaxY();
+			}
+			int[] order = sort(levelBounds, n, packing);
+			for(int i=0; i<n; ++i) {
+				this.data[i] = unsorted[order[i]];
+				System.arraycopy(levelBounds, order[i]*4, this.bounds, i*4, 4);
+			}
+			
+			// Nodes
+			int levelStart = 0;
+			int levelEnd = n;
+			int count, first, last;
+			int[] firstChildren;
+			while (levelEnd-levelStart>1 || levelEnd==n) {
+				count = (levelEnd - levelStart + this.nodeSize - 1) / this.nodeSize;
+				levelBounds = new float[count*4];
+				firstChildren = new int[count];
+				for(int i=0; i<count; ++i) {
+					first = levelStart + i * this.nodeSize;
+					last = Math.min(first + this.nodeSize, levelEnd);
+					firstChildren[i] = first;
+					union(this.bounds, first, last, levelBounds, i);
+				}
+				order = sort(levelBounds, count, packing);
+				for(int i=0, k=levelEnd; i<count; ++i, ++k) {
+					System.arraycopy(levelBounds, order[i]*4, this.bounds, k*4, 4);
+					first = firstChildren[order[i]];
+					this.children[(k-n)*2] = first;
+					this.children[(k-n)*2+1] = Math.min(first + this.nodeSize, levelEnd);
+				}
+				levelStart = levelEnd;
+				levelEnd += count;
+			}
+			assert(levelEnd==total);
+		}
+	}
+	
+	/** Compute the union of the given entries.
+	 * 
+	 * @param source are the bounds of the entries.
+	 * @param first is the index of the first entry.
+	 * @param last is the index after the last entry.
+	 * @param target is the array to fill.
+	 * @param index is the index of the union in the target array.
+	 */
+	private static void union(float[] source, int first, int last, float[] target, int index) {
+		int j = first*4;
+		float minx = source[j];
+		float miny = source[j+1];
+		float maxx = source[j+2];
+		float maxy = source[j+3];
+		for(int i=first+1; i<last; ++i) {
+			j += 4;
+			if (source[j]<minx) minx = source[j];
+			if (source[j+1]<miny) miny = source[j+1];
+			if (source[j+2]>maxx) maxx = source[j+2];
+			if (source[j+3]>maxy) maxy = source[j+3];
+		}
+		j = index*4;
+		target[j] = minx;
+		target[j+1] = miny;
+		target[j+2] = maxx;
+		target[j+3] = maxy;
+	}
+	
+	/** Replies the order in which the given entries must be stored.
+	 * 
+	 * @param boxes are the bounds of the entries.
+	 * @param count is the count of entries.
+	 * @param packing is the packing method.
+	 * @return the indexes of the entries in the order of storage.
+	 */
+	private int[] sort(float[] boxes, int count, RTreePacking packing) {
+		int[] order = new int[count];
+		for(int i=0; i<count; ++i) order[i] = i;
+		if (count<=this.nodeSize) return order;
+		double[] keys = new double[count];
+		if (packing==RTreePacking.HILBERT) {
+			float minx = Float.POSITIVE_INFINITY;
+			float miny = Float.POSITIVE_INFINITY;
+			float maxx = Float.NEGATIVE_INFINITY;
+			float maxy = Float.NEGATIVE_INFINITY;
+			float cx, cy;
+			for(int i=0, j=0; i<count; ++i, j+=4) {
+				cx = (boxes[j]+boxes[j+2])/2f;
+				cy = (boxes[j+1]+boxes[j+3])/2f;
+				if (cx<minx) minx = cx;
+				if (cx>maxx) maxx = cx;
+				if (cy<miny) miny = cy;
+				if (cy>maxy) maxy = cy;
+			}
+			float width = maxx - minx;
+			float height = maxy - miny;
+			float sx = (width>0f) ? HILBERT_MAX / width : 0f;
+			float sy = (height>0f) ? HILBERT_MAX / height : 0f;
+			for(int i=0, j=0; i<count; ++i, j+=4) {
+				cx = (boxes[j]+boxes[j+2])/2f;
+				cy = (boxes[j+1]+boxes[j+3])/2f;
+				keys[i] = hilbert(
+						(int)((cx - minx) * sx),
+						(int)((cy - miny) * sy));
+			}
+			sort(keys, order, 0, count-1);
+		}
+		else {
+			for(int i=0, j=0; i<count; ++i, j+=4) {
+				keys[i] = boxes[j]+boxes[j+2];
+			}
+			sort(keys, order, 0, count-1);
+			// Split into vertical slices of s*nodeSize entries,
+			// where s is the square root of the count of nodes.
+			int nodeCount = (count + this.nodeSize - 1) / this.nodeSize;
+			int sliceSize = (int)Math.ceil(Math.sqrt(nodeCount)) * this.nodeSize;
+			int j;
+			for(int i=0; i<count; ++i) {
+				j = order[i]*4;
+				keys[i] = boxes[j+1]+boxes[j+3];
+			}
+			for(int start=0; start<count; start+=sliceSize) {
+				sort(keys, order, start, Math.min(start+sliceSize, count)-1);
+			}
+		}
+		return order;
+	}
+	
+	/** Replies the Hilbert value of the given point.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return the distance of the point along the Hilbert curve.
+	 */
+	private static long hilbert(int x, int y) {
+		long d = 0;
+		int rx, ry, t;
+		int px = x;
+		int py = y;
+		for(int s=(HILBERT_MAX+1)>>1; s>0; s>>=1) {
+			rx = (px & s)!=0 ? 1 : 0;
+			ry = (py & s)!=0 ? 1 : 0;
+			d += (long)s * s * ((3 * rx) ^ ry);
+			// Rotate the quadrant
+			if (ry==0) {
+				if (rx==1) {
+					px = HILBERT_MAX - px;
+					py = HILBERT_MAX - py;
+				}
+				t = px;
+				px = py;
+				py = t;
+			}
+		}
+		return d;
+	}
+	
+	/** Sort the given keys and apply the same permutation
+	 * to the given values.
+	 * 
+	 * @param keys
+	 * @param values
+	 * @param left is the index of the first element to sort.
+	 * @param right is the index of the last element to sort.
+	 */
+	private static void sort(double[] keys, int[] values, int left, int right) {
+		int l = left;
+		int r = right;
+		while (r-l>16) {
+			double pivot = keys[(l+r)>>>1];
+			int i = l;
+			int j = r;
+			while (i<=j) {
+				while (keys[i]<pivot) ++i;
+				while (keys[j]>pivot) --j;
+				if (i<=j) {
+					swap(keys, values, i, j);
+					++i;
+					--j;
+				}
+			}
+			// Recurse on the smallest part to bound the stack depth
+			if (j-l<r-i) {
+				sort(keys, values, l, j);
+				l = i;
+			}
+			else {
+				sort(keys, values, i, r);
+				r = j;
+			}
+		}
+		// Insertion sort of the small ranges
+		for(int i=l+1; i<=r; ++i) {
+			double k = keys[i];
+			int v = values[i];
+			int j = i-1;
+			while (j>=l && keys[j]>k) {
+				keys[j+1] = keys[j];
+				values[j+1] = values[j];
+				--j;
+			}
+			keys[j+1] = k;
+			values[j+1] = v;
+		}
+	}
+	
+	private static void swap(double[] keys, int[] values, int i, int j) {
+		double k = keys[i];
+		keys[i] = keys[j];
+		keys[j] = k;
+		int v = values[i];
+		values[i] = values[j];
+		values[j] = v;
+	}
+	
+	/** Replies the count of objects in the tree.
+	 * 
+	 * @return the count of objects.
+	 */
+	public int size() {
+		return this.data.length;
+	}
+	
+	/** Replies if the tree is empty.
+	 * 
+	 * @return <code>true</code> if the tree contains no object.
+	 */
+	public boolean isEmpty() {
+		return this.data.length==0;
+	}
+	
+	/** Replies the maximal count of children per node.
+	 * 
+	 * @return the node size.
+	 */
+	public int getNodeSize() {
+		return this.nodeSize;
+	}
+
+	/** Replies the count of nodes in the tree, including the root
+	 * and excluding the objects.
+	 * 
+	 * @return the count of nodes.
+	 */
+	public int getNodeCount() {
+		return this.children.length / 2;
+	}
+	
+	/** Replies the bounds of all the objects in the tree.
+	 * 
+	 * @return the bounds of the tree, or <code>null</code> if the tree is empty.
+	 */
+	public Rectangle2f getBounds() {
+		if (isEmpty()) return null;
+		int j = this.bounds.length - 4;
+		Rectangle2f r = new Rectangle2f();
+		r.setFromCorners(this.bounds[j], this.bounds[j+1], this.bounds[j+2], this.bounds[j+3]);
+		return r;
+	}
+	
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<D> iterator() {
+		List<?> list = Arrays.asList(this.data);
+		return Collections.unmodifiableList((List<D>)list).iterator();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private D getData(int index) {
+		return (D)this.data[index];
+	}
+	
+	/** Replies the objects that are intersecting the given rectangle.
+	 * 
+	 * @param window
+	 * @return the objects intersecting the window.
+	 */
+	public List<D> getObjectsIntersecting(Rectangle2f window) {
+		List<D> result = new ArrayList<D>();
+		if (isEmpty()) return result;
+		float minx = window.getMinX();
+		float miny = window.getMinY();
+		float maxx = window.getMaxX();
+		float maxy = window.getMaxY();
+		int n = this.data.length;
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = this.bounds.length/4 - 1;
+		int entry, j;
+		while (top>0) {
+			entry = stack[--top];
+			j = entry*4;
+			if (this.bounds[j]<=maxx && minx<=this.bounds[j+2]
+				&& this.bounds[j+1]<=maxy && miny<=this.bounds[j+3]) {
+				if (entry<n) {
+					D object = getData(entry);
+					if (object.intersects(window)) {
+						result.add(object);
+					}
+				}
+				else {
+					stack = pushChildren(stack, top, entry);
+					top += childCount(entry);
+				}
+			}
+		}
+		return result;
+	}
+
+	/** Replies the objects that are entirely inside the given rectangle.
+	 * 
+	 * @param window
+	 * @return the objects inside the window.
+	 */
+	public List<D> getObjectsInside(Rectangle2f window) {
+		List<D> result = new ArrayList<D>();
+		if (isEmpty()) return result;
+		float minx = window.getMinX();
+		float miny = window.getMinY();
+		float maxx = window.getMaxX();
+		float maxy = window.getMaxY();
+		int n = this.data.length;
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = this.bounds.length/4 - 1;
+		int entry, j;
+		while (top>0) {
+			entry = stack[--top];
+			j = entry*4;
+			if (entry<n) {
+				if (minx<=this.bounds[j] && this.bounds[j+2]<=maxx
+					&& miny<=this.bounds[j+1] && this.bounds[j+3]<=maxy) {
+					result.add(getData(entry));
+				}
+			}
+			else if (this.bounds[j]<=maxx && minx<=this.bounds[j+2]
+					&& this.bounds[j+1]<=maxy && miny<=this.bounds[j+3]) {
+				stack = pushChildren(stack, top, entry);
+				top += childCount(entry);
+			}
+		}
+		return result;
+	}
+
+	/** Replies the objects that are containing the given point.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return the objects containing the point.
+	 */
+	public List<D> getObjectsContaining(float x, float y) {
+		List<D> result = new ArrayList<D>();
+		if (isEmpty()) return result;
+		int n = this.data.length;
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = this.bounds.length/4 - 1;
+		int entry, j;
+		while (top>0) {
+			entry = stack[--top];
+			j = entry*4;
+			if (this.bounds[j]<=x && x<=this.bounds[j+2]
+				&& this.bounds[j+1]<=y && y<=this.bounds[j+3]) {
+				if (entry<n) {
+					D object = getData(entry);
+					if (object.contains(x, y)) {
+						result.add(object);
+					}
+				}
+				else {
+					stack = pushChildren(stack, top, entry);
+					top += childCount(entry);
+				}
+			}
+		}
+		return result;
+	}
+	
+	/** Replies the object that is the nearest to the given point.
+	 * 
+	 * @param point
+	 * @return the nearest object, or <code>null</code> if the tree is empty.
+	 */
+	public D getNearestObject(Point2D point) {
+		List<D> objects = getNearestObjects(point, 1);
+		return objects.isEmpty() ? null : objects.get(0);
+	}
+	
+	/** Replies the objects that are the nearest to the given point.
+	 * The objects are sorted from the nearest to the farest.
+	 * 
+	 * @param point
+	 * @param count is the maximal count of replied objects.
+	 * @return the nearest objects.
+	 */
+	public List<D> getNearestObjects(Point2D point, int count) {
+		if (count<=0 || isEmpty()) return Collections.emptyList();
+		float x = point.getX();
+		float y = point.getY();
+		int n = this.data.length;
+		List<D> result = new ArrayList<D>(Math.min(count, n));
+		DistanceHeap heap = new DistanceHeap();
+		int root = this.bounds.length/4 - 1;
+		heap.add(root, distanceSquared(root, x, y));
+		int entry;
+		// The objects are added twice in the heap: first with the distance
+		// to their bounds, then with their exact distance as negative entries.
+		while (!heap.isEmpty() && result.size()<count) {
+			entry = heap.poll();
+			if (entry<0) {
+				result.add(getData(-entry-1));
+			}
+			else if (entry<n) {
+				heap.add(-entry-1, getData(entry).distanceSquared(point));
+			}
+			else {
+				int first = this.children[(entry-n)*2];
+				int last = this.children[(entry-n)*2+1];
+				for(int i=first; i<last; ++i) {
+					heap.add(i, distanceSquared(i, x, y));
+				}
+			}
+		}
+		return result;
+	}
+	
+	/** Replies the square of the distance between the given point
+	 * and the bounds of the given entry.
+	 * 
+	 * @param entry
+	 * @param x
+	 * @param y
+	 * @return the square of the distance.
+	 */
+	private float distanceSquared(int entry, float x, float y) {
+		int j = entry*4;
+		float dx, dy;
+		if (x<this.bounds[j]) dx = this.bounds[j] - x;
+		else if (x>this.bounds[j+2]) dx = x - this.bounds[j+2];
+		else dx = 0f;
+		if (y<this.bounds[j+1]) dy = this.bounds[j+1] - y;
+		else if (y>this.bounds[j+3]) dy = y - this.bounds[j+3];
+		else dy = 0f;
+		return dx*dx + dy*dy;
+	}
+	
+	private int childCount(int node) {
+		int k = (node-this.data.length)*2;
+		return this.children[k+1] - this.children[k];
+	}
+	
+	/** Push the children of the given node on the stack.
+	 * 
+	 * @param stack
+	 * @param top is the count of elements in the stack.
+	 * @param node
+	 * @return the stack, which may be reallocated.
+	 */
+	private int[] pushChildren(int[] stack, int top, int node) {
+		int k = (node-this.data.length)*2;
+		int first = this.children[k];
+		int last = this.children[k+1];
+		int[] s = stack;
+		if (top + last - first > s.length) {
+			s = Arrays.copyOf(s, Math.max(s.length*2, top + last - first));
+		}
+		for(int i=first, j=top; i<last; ++i, ++j) {
+			s[j] = i;
+		}
+		return s;
+	}
+
+	/**
+	 * Binary heap of entries sorted by distance.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class DistanceHeap {
+		
+		private int[] values = new int[64];
+		private float[] keys = new float[64];
+		private int size = 0;
+		
+		/**
+		 */
+		public DistanceHeap() {
+			//
+		}
+		
+		/** Replies if the heap is empty.
+		 * 
+		 * @return <code>true</code> if the heap is empty.
+		 */
+		public boolean isEmpty() {
+			return this.size==0;
+		}
+		
+		/** Add a value.
+		 * 
+		 * @param value
+		 * @param key
+		 */
+		public void add(int value, float key) {
+			if (this.size==this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size*2);
+				this.keys = Arrays.copyOf(this.keys, this.size*2);
+			}
+			int i = this.size++;
+			int parent;
+			while (i>0) {
+				parent = (i-1) >>> 1;
+				if (this.keys[parent]<=key) break;
+				this.values[i] = this.values[parent];
+				this.keys[i] = this.keys[parent];
+				i = parent;
+			}
+			this.values[i] = value;
+			this.keys[i] = key;
+		}
+		
+		/** Remove and reply the value with the lowest key.
+		 * 
+		 * @return the value with the lowest key.
+		 */
+		public int poll() {
+			int first = this.values[0];
+			--this.size;
+			if (this.size>0) {
+				int value = this.values[this.size];
+				float key = this.keys[this.size];
+				int i = 0;
+				int half = this.size >>> 1;
+				int child;
+				while (i<half) {
+					child = 2*i+1;
+					if (child+1<this.size && this.keys[child+1]<this.keys[child]) ++child;
+					if (key<=this.keys[child]) break;
+					this.values[i] = this.values[child];
+					this.keys[i] = this.keys[child];
+					i = child;
+				}
+				this.values[i] = value;
+				this.keys[i] = key;
+			}
+			return first;
+		}
+		
+	} // class DistanceHeap
+
+}
@@ -0,0 +1,49 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+/** Indicates how a {@link PackedRTree} is grouping
+ * the objects and the nodes during its bulk loading.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see PackedRTree
+ * @since 12.0
+ */
+public enum RTreePacking {
+
+	/** Sort-Tile-Recursive packing: the entries of each level
+	 * are sorted according to the x coordinates of their centers,
+	 * splitted into vertical slices, and each slice is sorted
+	 * according to the y coordinates of the centers.
+	 * This packing gives the best query performances on
+	 * uniformly distributed objects.
+	 */
+	SORT_TILE_RECURSIVE,
+
+	/** Hilbert packing: the entries of each level are sorted
+	 * along the Hilbert curve that is passing through
+	 * their centers.
+	 * This packing is faster to build and is better suited to
+	 * clustered objects.
+	 */
+	HILBERT;
+
+}
@@ -0,0 +1,608 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arakhne.afc.math.geometry.ClassifierUtil;
+import org.arakhne.afc.math.geometry.IntersectionType;
+import org.arakhne.afc.math.geometry3d.continuous.AxisAlignedBox;
+import org.arakhne.afc.math.geometry3d.continuous.OrientedBox;
+import org.arakhne.afc.math.geometry3d.continuous.PlanarClassificationType;
+import org.arakhne.afc.math.geometry3d.continuous.Plane;
+import org.arakhne.afc.math.geometry3d.continuous.Point3f;
+import org.arakhne.afc.math.geometry3d.continuous.Sphere;
+import org.arakhne.afc.math.geometry3d.continuous.Vector3f;
+import org.arakhne.afc.math.tree.node.IcosepOctTreeNode.IcosepOctTreeZone;
+import org.arakhne.afc.math.tree.node.SpatialOctTreeNode;
+
+
+/**
+ * This is an octree that is indexing 3D objects according to
+ * their axis-aligned bounds.
+ * <p>
+ * Each node of the tree is covering an axis-aligned box.
+ * When the count of objects inside a leaf is greater
+ * than the splitting count, the leaf is splitted in
+ * eight voxels. The objects that are intersecting
+ * the split planes are stored in the icosep child of the
+ * node, which is never splitted. The objects that are
+ * outside the bounds of the tree are stored inside the root.
+ * <p>
+ * The queries classify the nodes against the query volume
+ * with {@link IntersectionType}: the subtrees that are
+ * {@link IntersectionType#INSIDE inside} the volume are
+ * replied without testing their objects, the subtrees that
+ * are {@link IntersectionType#OUTSIDE outside} the volume
+ * are ignored, and only the objects of the
+ * {@link IntersectionType#SPANNING spanning} nodes are tested.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class SpatialOctTree<D extends AxisAlignedBox> extends LinkedTree<D,SpatialOctTreeNode<D>> {
+
+	private static final long serialVersionUID = 6893120948755826016L;
+
+	/** Default count of objects over which a leaf is splitted.
+	 */
+	public static final int DEFAULT_SPLITTING_COUNT = 16;
+	
+	/** Maximal depth of the tree. The nodes at this depth
+	 * are never splitted.
+	 */
+	public static final int MAX_DEPTH = 24;
+	
+	private int splittingCount;
+	
+	private transient Point3f lower = null;
+	private transient Point3f upper = null;
+	
+	/**
+	 * @param bounds are the bounds of the space covered by the tree.
+	 */
+	public SpatialOctTree(AxisAlignedBox bounds) {
+		this(bounds, DEFAULT_SPLITTING_COUNT);
+	}
+
+	/**
+	 * @param bounds are the bounds of the space covered by the tree.
+	 * @param splittingCount is the count of objects over which a leaf is splitted.
+	 */
+	public SpatialOctTree(AxisAlignedBox bounds, int splittingCount) {
+		super(SpatialOctTree.<D>newRoot(bounds));
+		this.splittingCount = Math.max(1, splittingCount);
+	}
+	
+	private static <D extends AxisAlignedBox> SpatialOctTreeNode<D> newRoot(AxisAlignedBox bounds) {
+		Point3f l = new Point3f();
+		Point3f u = new Point3f();
+		bounds.getLowerUpper(l, u);
+		return new SpatialOctTreeNode<D>(
+				l.getX(), l.getY(), l.getZ(),
+				u.getX(), u.getY(), u.getZ());
+	}
+	
+	/** Replies the bounds of the space covered by this tree.
+	 * 
+	 * @return the bounds of the tree.
+	 */
+	public AxisAlignedBox getBounds() {
+		return getRoot().getBounds();
+	}
+
+	/** Set the count of objects over which a leaf is splitted.
+	 * The existing nodes are not changed.
+	 * 
+	 * @param count
+	 */
+	public void setSplittingCount(int count) {
+		this.splittingCount = Math.max(1, count);
+	}
+	
+	/** Replies the count of objects over which a leaf is splitted.
+	 * 
+	 * @return the splitting count.
+	 */
+	public int getSplittingCount() {
+		return this.splittingCount;
+	}
+	
+	/** Fill the temporary points with the bounds of the given object.
+	 * 
+	 * @param object
+	 */
+	private void loadBounds(AxisAlignedBox object) {
+		if (this.lower==null) {
+			this.lower = new Point3f();
+			this.upper = new Point3f();
+		}
+		object.getLowerUpper(this.lower, this.upper);
+	}
+	
+	/** Replies the zone of the given node in which the object
+	 * loaded by {@link #loadBounds(AxisAlignedBox)} should be stored.
+	 * 
+	 * @param node
+	 * @return the zone, or <code>null</code> if the object is outside the node.
+	 */
+	private IcosepOctTreeZone zoneOfLoadedBounds(SpatialOctTreeNode<D> node) {
+		float lx = this.lower.getX();
+		float ly = this.lower.getY();
+		float lz = this.lower.getZ();
+		float ux = this.upper.getX();
+		float uy = this.upper.getY();
+		float uz = this.upper.getZ();
+		if (!node.contains(lx, ly, lz, ux, uy, uz)) return null;
+		return node.getZoneFor(lx, ly, lz, ux, uy, uz);
+	}
+	
+	/** Add the given object inside the tree.
+	 * 
+	 * @param object
+	 * @return <code>true</code> if the object was added,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean add(D object) {
+		if (object==null) return false;
+		loadBounds(object);
+		SpatialOctTreeNode<D> node = getRoot();
+		IcosepOctTreeZone zone = zoneOfLoadedBounds(node);
+		if (zone==null) {
+			return node.addUserData(object);
+		}
+		int depth = 0;
+		while (!node.isLeaf()) {
+			node = node.getOrCreateChild(zone);
+			++depth;
+			if (zone==IcosepOctTreeZone.ICOSEP) {
+				return node.addUserData(object);
+			}
+			zone = zoneOfLoadedBounds(node);
+		}
+		if (!node.addUserData(object)) return false;
+		if (node.getUserDataCount()>this.splittingCount
+			&& depth<MAX_DEPTH && !node.isIcosepNode()) {
+			split(node, depth);
+		}
+		return true;
+	}
+	
+	/** Split the given leaf and dispatch its objects
+	 * inside the new children.
+	 * 
+	 * @param node
+	 * @param depth is the depth of the node.
+	 */
+	private void split(SpatialOctTreeNode<D> node, int depth) {
+		List<D> objects = new ArrayList<D>(node.getAllUserData());
+		node.removeAllUserData();
+		IcosepOctTreeZone zone;
+		for(D object : objects) {
+			loadBounds(object);
+			zone = zoneOfLoadedBounds(node);
+			if (zone!=null) {
+				node.getOrCreateChild(zone).addUserData(object);
+			}
+			else {
+				// Only the root may contain objects outside its bounds
+				node.addUserData(object);
+			}
+		}
+		// All the objects may be inside the same voxel;
+		// this voxel must be splitted again.
+		if (depth+1<MAX_DEPTH) {
+			SpatialOctTreeNode<D> child;
+			for(IcosepOctTreeZone z : IcosepOctTreeZone.values()) {
+				if (z!=IcosepOctTreeZone.ICOSEP) {
+					child = node.getChildAt(z);
+					if (child!=null && child.getUserDataCount()>this.splittingCount) {
+						split(child, depth+1);
+					}
+				}
+			}
+		}
+	}
+	
+	/** Remove the given object from the tree.
+	 * The empty leaves are removed from the tree.
+	 * 
+	 * @param object
+	 * @return <code>true</code> if the object was removed,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean remove(D object) {
+		if (object==null) return false;
+		loadBounds(object);
+		SpatialOctTreeNode<D> node = getRoot();
+		IcosepOctTreeZone zone = zoneOfLoadedBounds(node);
+		if (zone==null) {
+			return node.removeUserData(object);
+		}
+		while (!node.isLeaf()) {
+			SpatialOctTreeNode<D> child = node.getChildAt(zone);
+			if (child==null) return false;
+			node = child;
+			if (zone==IcosepOctTreeZone.ICOSEP) {
+				break;
+			}
+			zone = zoneOfLoadedBounds(node);
+		}
+		if (!node.removeUserData(object)) return false;
+		// Prune the empty leaves
+		SpatialOctTreeNode<D> parent = node.getParentNode();
+		while (parent!=null && node.isLeaf() && node.getUserDataCount()==0) {
+			parent.removeChild(node);
+			node = parent;
+			parent = node.getParentNode();
+		}
+		return true;
+	}
+	
+	/** Replies the objects that are intersecting the given box.
+	 * 
+	 * @param box
+	 * @return the objects intersecting the box.
+	 */
+	public List<D> getObjectsIn(AxisAlignedBox box) {
+		Point3f l = new Point3f();
+		Point3f u = new Point3f();
+		box.getLowerUpper(l, u);
+		return getObjectsIn(new AlignedBoxClassifier(l, u));
+	}
+
+	/** Replies the objects that are intersecting the given sphere.
+	 * 
+	 * @param sphere
+	 * @return the objects intersecting the sphere.
+	 */
+	public List<D> getObjectsIn(Sphere sphere) {
+		Point3f c = new Point3f();
+		sphere.getCenter(c);
+		return getObjectsIn(new SphereClassifier(c, sphere.getRadius()));
+	}
+
+	/** Replies the objects that are intersecting the given oriented box.
+	 * 
+	 * @param box
+	 * @return the objects intersecting the box.
+	 */
+	public List<D> getObjectsIn(OrientedBox box) {
+		// The aligned bounds of an oriented box are centered on the box
+		Point3f l = new Point3f();
+		Point3f u = new Point3f();
+		box.getLowerUpper(l, u);
+		Point3f c = new Point3f(
+				(l.getX() + u.getX()) / 2f,
+				(l.getY() + u.getY()) / 2f,
+				(l.getZ() + u.getZ()) / 2f);
+		return getObjectsIn(new OrientedBoxClassifier(
+				c,
+				box.getOrientedBoundAxis(),
+				box.getOrientedBoundExtents()));
+	}
+
+	/** Replies the objects that are intersecting the volume
+	 * delimited by the given planes, eg. a view frustum.
+	 * The volume is the intersection of the spaces that are
+	 * {@link PlanarClassificationType#IN_FRONT_OF in front of}
+	 * the planes, ie. the normals of the planes are pointing
+	 * to the inside of the volume.
+	 * 
+	 * @param planes are the planes that are delimiting the volume.
+	 * @return the objects intersecting the volume.
+	 */
+	public List<D> getObjectsInFrustum(Plane... planes) {
+		return getObjectsIn(new FrustumClassifier(planes));
+	}
+
+	/** Replies the objects that are intersecting the volume
+	 * of the given classifier.
+	 * 
+	 * @param classifier
+	 * @return the objects intersecting the volume.
+	 */
+	private List<D> getObjectsIn(VolumeClassifier classifier) {
+		List<D> result = new ArrayList<D>();
+		List<SpatialOctTreeNode<D>> stack = new ArrayList<SpatialOctTreeNode<D>>();
+		SpatialOctTreeNode<D> root = getRoot();
+		Point3f l = new Point3f();
+		Point3f u = new Point3f();
+
+		// The objects outside the bounds are stored in the root;
+		// they must be always tested.
+		testObjects(root, classifier, l, u, result);
+		
+		switch(classify(classifier, root)) {
+		case OUTSIDE:
+			return result;
+		case INSIDE:
+			for(int i=0; i<root.getChildCount(); ++i) {
+				addSubtree(root.getChildAt(i), result);
+			}
+			return result;
+		default:
+		}
+
+		SpatialOctTreeNode<D> node, child;
+		for(int i=0; i<root.getChildCount(); ++i) {
+			child = root.getChildAt(i);
+			if (child!=null) stack.add(child);
+		}
+		while (!stack.isEmpty()) {
+			node = stack.remove(stack.size()-1);
+			switch(classify(classifier, node)) {
+			case INSIDE:
+				addSubtree(node, result);
+				break;
+			case OUTSIDE:
+				break;
+			default:
+				testObjects(node, classifier, l, u, result);
+				for(int i=0; i<node.getChildCount(); ++i) {
+					child = node.getChildAt(i);
+					if (child!=null) stack.add(child);
+				}
+			}
+		}
+		return result;
+	}
+	
+	/** Classify the given node against the volume of the classifier.
+	 * 
+	 * @param classifier
+	 * @param node
+	 * @return the classification of the node.
+	 */
+	private static IntersectionType classify(VolumeClassifier classifier, SpatialOctTreeNode<?> node) {
+		IntersectionType t = classifier.classifies(
+				node.getLowerX(), node.getLowerY(), node.getLowerZ(),
+				node.getUpperX(), node.getUpperY(), node.getUpperZ());
+		return (t==IntersectionType.SAME) ? IntersectionType.INSIDE : t;
+	}
+	
+	/** Add the objects of the given node that are intersecting the
+	 * volume of the classifier in the result.
+	 * 
+	 * @param node
+	 * @param classifier
+	 * @param l is a temporary point.
+	 * @param u is a temporary point.
+	 * @param result
+	 */
+	private static <D extends AxisAlignedBox> void testObjects(SpatialOctTreeNode<D> node,
+			VolumeClassifier classifier, Point3f l, Point3f u, List<D> result) {
+		for(D object : node.getAllUserData()) {
+			object.getLowerUpper(l, u);
+			if (classifier.classifies(l.getX(), l.getY(), l.getZ(),
+					u.getX(), u.getY(), u.getZ())!=IntersectionType.OUTSIDE) {
+				result.add(object);
+			}
+		}
+	}
+
+	/** Add all the objects of the given subtree in the result,
+	 * without testing them.
+	 * 
+	 * @param subtree
+	 * @param result
+	 */
+	private static <D extends AxisAlignedBox> void addSubtree(SpatialOctTreeNode<D> subtree, List<D> result) {
+		if (subtree==null) return;
+		List<SpatialOctTreeNode<D>> stack = new ArrayList<SpatialOctTreeNode<D>>();
+		stack.add(subtree);
+		SpatialOctTreeNode<D> node, child;
+		while (!stack.isEmpty()) {
+			node = stack.remove(stack.size()-1);
+			result.addAll(node.getAllUserData());
+			for(int i=0; i<node.getChildCount(); ++i) {
+				child = node.getChildAt(i);
+				if (child!=null) stack.add(child);
+			}
+		}
+	}
+	
+	/**
+	 * Classifier of the axis-aligned boxes against a query volume.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static abstract class VolumeClassifier {
+		
+		/**
+		 */
+		public VolumeClassifier() {
+			//
+		}
+		
+		/** Classify the given box against the volume.
+		 * 
+		 * @param lx
+		 * @param ly
+		 * @param lz
+		 * @param ux
+		 * @param uy
+		 * @param uz
+		 * @return {@link IntersectionType#INSIDE} if the box is inside the volume;
+		 * {@link IntersectionType#OUTSIDE} if the box is outside the volume;
+		 * otherwise the box is intersecting the volume.
+		 */
+		public abstract IntersectionType classifies(float lx, float ly, float lz, float ux, float uy, float uz);
+		
+	} // class VolumeClassifier
+
+	/**
+	 * Classifier against an axis-aligned box.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class AlignedBoxClassifier extends VolumeClassifier {
+		
+		private final Point3f lower;
+		private final Point3f upper;
+		
+		/**
+		 * @param lower
+		 * @param upper
+		 */
+		public AlignedBoxClassifier(Point3f lower, Point3f upper) {
+			this.lower = lower;
+			this.upper = upper;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public IntersectionType classifies(float lx, float ly, float lz, float ux, float uy, float uz) {
+			return ClassifierUtil.classifiesAlignedBoxes(
+					lx, ly, lz, ux, uy, uz,
+					this.lower.getX(), this.lower.getY(), this.lower.getZ(),
+					this.upper.getX(), this.upper.getY(), this.upper.getZ());
+		}
+		
+	} // class AlignedBoxClassifier
+
+	/**
+	 * Classifier against a sphere.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class SphereClassifier extends VolumeClassifier {
+		
+		private final Point3f center;
+		private final float radius;
+		
+		/**
+		 * @param center
+		 * @param radius
+		 */
+		public SphereClassifier(Point3f center, float radius) {
+			this.center = center;
+			this.radius = radius;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public IntersectionType classifies(float lx, float ly, float lz, float ux, float uy, float uz) {
+			return ClassifierUtil.classifiesSolidSphereSolidAlignedBox(
+					this.center.getX(), this.center.getY(), this.center.getZ(), this.radius,
+					lx, ly, lz, ux, uy, uz).invert();
+		}
+		
+	} // class SphereClassifier
+
+	/**
+	 * Classifier against an oriented box.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class OrientedBoxClassifier extends VolumeClassifier {
+		
+		private final Point3f center;
+		private final Vector3f[] axis;
+		private final float[] extent;
+		
+		/**
+		 * @param center
+		 * @param axis
+		 * @param extent
+		 */
+		public OrientedBoxClassifier(Point3f center, Vector3f[] axis, float[] extent) {
+			this.center = center;
+			this.axis = axis;
+			this.extent = extent;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public IntersectionType classifies(float lx, float ly, float lz, float ux, float uy, float uz) {
+			return ClassifierUtil.classifiesAlignedBoxOrientedBox(
+					lx, ly, lz, ux, uy, uz,
+					this.center.getX(), this.center.getY(), this.center.getZ(),
+					this.axis[0].getX(), this.axis[0].getY(), this.axis[0].getZ(),
+					this.axis[1].getX(), this.axis[1].getY(), this.axis[1].getZ(),
+					this.axis[2].getX(), this.axis[2].getY(), this.axis[2].getZ(),
+					this.extent[0], this.extent[1], this.extent[2]);
+		}
+		
+	} // class OrientedBoxClassifier
+
+	/**
+	 * Classifier against the volume in front of a set of planes.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class FrustumClassifier extends VolumeClassifier {
+		
+		private final Plane[] planes;
+		
+		/**
+		 * @param planes
+		 */
+		public FrustumClassifier(Plane[] planes) {
+			this.planes = planes;
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public IntersectionType classifies(float lx, float ly, float lz, float ux, float uy, float uz) {
+			IntersectionType type = IntersectionType.INSIDE;
+			for(Plane plane : this.planes) {
+				switch(plane.classifies(lx, ly, lz, ux, uy, uz)) {
+				case BEHIND:
+					return IntersectionType.OUTSIDE;
+				case COINCIDENT:
+					type = IntersectionType.SPANNING;
+					break;
+				default:
+				}
+			}
+			return type;
+		}
+		
+	} // class FrustumClassifier
+
+}
@@ -0,0 +1,399 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.arakhne.afc.math.geometry2d.Point2D;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry2d.continuous.Shape2f;
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
+import org.arakhne.afc.math.tree.node.SpatialQuadTreeNode;
+
+
+/**
+ * This is a quad tree that is indexing 2D shapes according to
+ * their bounding boxes.
+ * <p>
+ * Each node of the tree is covering a rectangular area.
+ * When the count of objects inside a leaf is greater
+ * than the splitting count, the leaf is splitted in
+ * four quarters. The objects that are intersecting
+ * the split lines are stored in the icosep child of the
+ * node, which is never splitted. The objects that are
+ * outside the bounds of the tree are stored inside the root.
+ * <p>
+ * This tree supports window queries, radius queries,
+ * and nearest-neighbour queries.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class SpatialQuadTree<D extends Shape2f> extends LinkedTree<D,SpatialQuadTreeNode<D>> {
+
+	private static final long serialVersionUID = -2498537929151620717L;
+
+	/** Default count of objects over which a leaf is splitted.
+	 */
+	public static final int DEFAULT_SPLITTING_COUNT = 16;
+	
+	/** Maximal depth of the tree. The nodes at this depth
+	 * are never splitted.
+	 */
+	public static final int MAX_DEPTH = 24;
+	
+	private int splittingCount;
+	
+	/**
+	 * @param bounds are the bounds of the area covered by the tree.
+	 */
+	public SpatialQuadTree(Rectangle2f bounds) {
+		this(bounds, DEFAULT_SPLITTING_COUNT);
+	}
+
+	/**
+	 * @param bounds are the bounds of the area covered by the tree.
+	 * @param splittingCount is the count of objects over which a leaf is splitted.
+	 */
+	public SpatialQuadTree(Rectangle2f bounds, int splittingCount) {
+		super(new SpatialQuadTreeNode<D>(bounds));
+		this.splittingCount = Math.max(1, splittingCount);
+	}
+	
+	/** Replies the bounds of the area covered by this tree.
+	 * 
+	 * @return the bounds of the tree.
+	 */
+	public Rectangle2f getBounds() {
+		return getRoot().getBounds();
+	}
+
+	/** Set the count of objects over which a leaf is splitted.
+	 * The existing nodes are not changed.
+	 * 
+	 * @param count
+	 */
+	public void setSplittingCount(int count) {
+		this.splittingCount = Math.max(1, count);
+	}
+	
+	/** Replies the count of objects over which a leaf is splitted.
+	 * 
+	 * @return the splitting count.
+	 */
+	public int getSplittingCount() {
+		return this.splittingCount;
+	}
+	
+	/** Add the given object inside the tree.
+	 * 
+	 * @param object
+	 * @return <code>true</code> if the object was added,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean add(D object) {
+		if (object==null) return false;
+		Rectangle2f box = object.toBoundingBox();
+		SpatialQuadTreeNode<D> node = getRoot();
+		if (!node.contains(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY())) {
+			return node.addUserData(object);
+		}
+		int depth = 0;
+		while (!node.isLeaf()) {
+			IcosepQuadTreeZone zone = node.getZoneFor(
+					box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+			node = node.getOrCreateChild(zone);
+			++depth;
+			if (zone==IcosepQuadTreeZone.ICOSEP) {
+				return node.addUserData(object);
+			}
+		}
+		if (!node.addUserData(object)) return false;
+		if (node.getUserDataCount()>this.splittingCount
+			&& depth<MAX_DEPTH && !node.isIcosepNode()) {
+			split(node);
+		}
+		return true;
+	}
+	
+	/** Split the given leaf and dispatch its objects
+	 * inside the new children.
+	 * 
+	 * @param node
+	 */
+	private void split(SpatialQuadTreeNode<D> node) {
+		List<D> objects = new ArrayList<D>(node.getAllUserData());
+		node.removeAllUserData();
+		Rectangle2f box = new Rectangle2f();
+		for(D object : objects) {
+			object.toBoundingBox(box);
+			if (node.contains(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY())) {
+				IcosepQuadTreeZone zone = node.getZoneFor(
+						box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+				node.getOrCreateChild(zone).addUserData(object);
+			}
+			else {
+				// Only the root may contain objects outside its bounds
+				node.addUserData(object);
+			}
+		}
+		// All the objects may be inside the same quarter;
+		// this quarter must be splitted again.
+		for(IcosepQuadTreeZone zone : IcosepQuadTreeZone.values()) {
+			if (zone!=IcosepQuadTreeZone.ICOSEP) {
+				SpatialQuadTreeNode<D> child = node.getChildAt(zone);
+				if (child!=null && child.getUserDataCount()>this.splittingCount
+					&& child.getDepth()<MAX_DEPTH) {
+					split(child);
+				}
+			}
+		}
+	}
+	
+	/** Remove the given object from the tree.
+	 * The empty leaves are removed from the tree.
+	 * 
+	 * @param object
+	 * @return <code>true</code> if the object was removed,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean remove(D object) {
+		if (object==null) return false;
+		Rectangle2f box = object.toBoundingBox();
+		SpatialQuadTreeNode<D> node = getRoot();
+		if (!node.contains(box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY())) {
+			return node.removeUserData(object);
+		}
+		while (!node.isLeaf()) {
+			IcosepQuadTreeZone zone = node.getZoneFor(
+					box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY());
+			SpatialQuadTreeNode<D> child = node.getChildAt(zone);
+			if (child==null) return false;
+			node = child;
+			if (zone==IcosepQuadTreeZone.ICOSEP) {
+				break;
+			}
+		}
+		if (!node.removeUserData(object)) return false;
+		// Prune the empty leaves
+		SpatialQuadTreeNode<D> parent = node.getParentNode();
+		while (parent!=null && node.isLeaf() && node.getUserDataCount()==0) {
+			parent.removeChild(node);
+			node = parent;
+			parent = node.getParentNode();
+		}
+		return true;
+	}
+	
+	/** Replies the objects that are intersecting the given rectangle.
+	 * 
+	 * @param window
+	 * @return the objects intersecting the window.
+	 */
+	public List<D> getObjectsIn(Rectangle2f window) {
+		List<D> result = new ArrayList<D>();
+		List<SpatialQuadTreeNode<D>> stack = new ArrayList<SpatialQuadTreeNode<D>>();
+		stack.add(getRoot());
+		Rectangle2f box = new Rectangle2f();
+		SpatialQuadTreeNode<D> node, child;
+		while (!stack.isEmpty()) {
+			node = stack.remove(stack.size()-1);
+			for(D object : node.getAllUserData()) {
+				object.toBoundingBox(box);
+				if (box.intersects(window) && object.intersects(window)) {
+					result.add(object);
+				}
+			}
+			for(int i=0; i<node.getChildCount(); ++i) {
+				child = node.getChildAt(i);
+				if (child!=null && child.getBounds().intersects(window)) {
+					stack.add(child);
+				}
+			}
+		}
+		return result;
+	}
+	
+	/** Replies the objects that are at a distance lower or equal to
+	 * the given radius from the given point.
+	 * 
+	 * @param center
+	 * @param radius
+	 * @return the objects near the point.
+	 */
+	public List<D> getObjectsNear(Point2D center, float radius) {
+		List<D> result = new ArrayList<D>();
+		float r2 = radius * radius;
+		float x = center.getX();
+		float y = center.getY();
+		List<SpatialQuadTreeNode<D>> stack = new ArrayList<SpatialQuadTreeNode<D>>();
+		stack.add(getRoot());
+		SpatialQuadTreeNode<D> node, child;
+		while (!stack.isEmpty()) {
+			node = stack.remove(stack.size()-1);
+			for(D object : node.getAllUserData()) {
+				if (object.distanceSquared(center)<=r2) {
+					result.add(object);
+				}
+			}
+			for(int i=0; i<node.getChildCount(); ++i) {
+				child = node.getChildAt(i);
+				if (child!=null && child.distanceSquared(x, y)<=r2) {
+					stack.add(child);
+				}
+			}
+		}
+		return result;
+	}
+	
+	/** Replies the object that is the nearest to the given point.
+	 * 
+	 * @param point
+	 * @return the nearest object, or <code>null</code> if the tree is empty.
+	 */
+	public D getNearestObject(Point2D point) {
+		List<D> objects = getNearestObjects(point, 1);
+		return objects.isEmpty() ? null : objects.get(0);
+	}
+	
+	/** Replies the objects that are the nearest to the given point.
+	 * The objects are sorted from the nearest to the farest.
+	 * 
+	 * @param point
+	 * @param count is the maximal count of replied objects.
+	 * @return the nearest objects.
+	 */
+	public List<D> getNearestObjects(Point2D point, int count) {
+		if (count<=0) return Collections.emptyList();
+		float x = point.getX();
+		float y = point.getY();
+		List<D> result = new ArrayList<D>(count);
+		PriorityQueue<Entry<D>> queue = new PriorityQueue<Entry<D>>(
+				32, EntryComparator.SINGLETON);
+		SpatialQuadTreeNode<D> root = getRoot();
+		SpatialQuadTreeNode<D> child;
+		queue.add(new Entry<D>(root.distanceSquared(x, y), root, null));
+		// The objects outside the bounds are stored in the root; the
+		// distance of the root node is not a lower bound of their distances.
+		for(D object : root.getAllUserData()) {
+			queue.add(new Entry<D>(object.distanceSquared(point), null, object));
+		}
+		Entry<D> entry;
+		while (result.size()<count && (entry = queue.poll())!=null) {
+			if (entry.node==null) {
+				result.add(entry.object);
+			}
+			else {
+				if (entry.node!=root) {
+					for(D object : entry.node.getAllUserData()) {
+						queue.add(new Entry<D>(object.distanceSquared(point), null, object));
+					}
+				}
+				for(int i=0; i<entry.node.getChildCount(); ++i) {
+					child = entry.node.getChildAt(i);
+					if (child!=null) {
+						queue.add(new Entry<D>(child.distanceSquared(x, y), child, null));
+					}
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Entry of the priority queue of the nearest-neighbour search.
+	 * 
+	 * @param <D> is the type of the data inside the tree
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Entry<D extends Shape2f> {
+		
+		/** Square of the distance to the searched point.
+		 */
+		public final float distance;
+		
+		/** Node to explore, or <code>null</code>.
+		 */
+		public final SpatialQuadTreeNode<D> node;
+		
+		/** Object to reply, or <code>null</code>.
+		 */
+		public final D object;
+		
+		/**
+		 * @param distance
+		 * @param node
+		 * @param object
+		 */
+		public Entry(float distance, SpatialQuadTreeNode<D> node, D object) {
+			this.distance = distance;
+			this.node = node;
+			this.object = object;
+		}
+		
+	} // class Entry
+	
+	/**
+	 * Comparator of the entries of the nearest-neighbour search.
+	 * On equal distances, the objects are before the nodes.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class EntryComparator implements Comparator<Entry<?>> {
+		
+		/** Singleton.
+		 */
+		public static final EntryComparator SINGLETON = new EntryComparator();
+		
+		/**
+		 */
+		public EntryComparator() {
+			//
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public int compare(Entry<?> o1, Entry<?> o2) {
+			int cmp = Float.compare(o1.distance, o2.distance);
+			if (cmp!=0) return cmp;
+			if (o1.node==null) {
+				return (o2.node==null) ? 0 : -1;
+			}
+			return (o2.node==null) ? 1 : 0;
+		}
+		
+	} // class EntryComparator
+	
+}
@@ -0,0 +1,193 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry2d.continuous.Shape2f;
+import org.arakhne.afc.math.tree.SpatialQuadTree;
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
+import org.arakhne.afc.math.tree.node.SpatialQuadTreeNode;
+
+
+/**
+ * This class permits to build a {@link SpatialQuadTree} from
+ * a set of shapes.
+ * <p>
+ * The bounds of the tree are the union of the bounding boxes
+ * of the shapes. The tree is built from the root to the leaves:
+ * each node containing more objects than the splitting count
+ * is splitted and its objects are dispatched inside its children.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class SpatialQuadTreeBuilder<D extends Shape2f> implements TreeBuilder<D,SpatialQuadTree<D>> {
+
+	private int splittingCount = SpatialQuadTree.DEFAULT_SPLITTING_COUNT;
+	private boolean isBuilding = false;
+	
+	/**
+	 */
+	public SpatialQuadTreeBuilder() {
+		//
+	}
+	
+	/**
+	 * @param splittingCount is the count of objects over which a node is splitted.
+	 */
+	public SpatialQuadTreeBuilder(int splittingCount) {
+		setSplittingCount(splittingCount);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void setSplittingCount(int count) {
+		this.splittingCount = Math.max(1, count);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int getSplittingCount() {
+		return this.splittingCount;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public SpatialQuadTree<D> buildTree(List<? extends D> worldEntities) throws TreeBuilderException {
+		if (this.isBuilding) throw new TreeBuilderException.BuilderAlreadyStartedException();
+		this.isBuilding = true;
+		try {
+			if (worldEntities==null || worldEntities.isEmpty())
+				throw new TreeBuilderException.EmptyBoundingBoxException();
+			
+			List<Entry<D>> entries = new ArrayList<Entry<D>>(worldEntities.size());
+			Rectangle2f bounds = null;
+			for(D entity : worldEntities) {
+				if (entity!=null) {
+					Rectangle2f box = entity.toBoundingBox();
+					entries.add(new Entry<D>(entity, box));
+					if (bounds==null) {
+						bounds = new Rectangle2f(box);
+					}
+					else {
+						bounds.union(box);
+					}
+				}
+			}
+			if (bounds==null)
+				throw new TreeBuilderException.EmptyBoundingBoxException();
+			
+			SpatialQuadTree<D> tree = new SpatialQuadTree<D>(bounds, this.splittingCount);
+			buildNode(tree.getRoot(), entries, 0);
+			return tree;
+		}
+		finally {
+			this.isBuilding = false;
+		}
+	}
+	
+	/** Fill the given node with the given entries, and split it
+	 * if the entries are too many.
+	 * 
+	 * @param node is the node to fill.
+	 * @param entries are the entries to put inside the node.
+	 * @param depth is the depth of the node.
+	 */
+	private void buildNode(SpatialQuadTreeNode<D> node, List<Entry<D>> entries, int depth) {
+		if (entries.size()<=this.splittingCount || depth>=SpatialQuadTree.MAX_DEPTH) {
+			for(Entry<D> entry : entries) {
+				node.addUserData(entry.object);
+			}
+			return;
+		}
+
+		IcosepQuadTreeZone[] zones = IcosepQuadTreeZone.values();
+		List<List<Entry<D>>> parts = new ArrayList<List<Entry<D>>>(zones.length);
+		for(int i=0; i<zones.length; ++i) {
+			parts.add(new ArrayList<Entry<D>>());
+		}
+		IcosepQuadTreeZone zone;
+		for(Entry<D> entry : entries) {
+			zone = node.getZoneFor(
+					entry.box.getMinX(), entry.box.getMinY(),
+					entry.box.getMaxX(), entry.box.getMaxY());
+			parts.get(zone.ordinal()).add(entry);
+		}
+		entries.clear();
+		
+		List<Entry<D>> part;
+		SpatialQuadTreeNode<D> child;
+		for(IcosepQuadTreeZone z : zones) {
+			part = parts.get(z.ordinal());
+			if (!part.isEmpty()) {
+				child = node.getOrCreateChild(z);
+				if (z==IcosepQuadTreeZone.ICOSEP) {
+					// The icosep nodes are never splitted
+					for(Entry<D> entry : part) {
+						child.addUserData(entry.object);
+					}
+				}
+				else {
+					buildNode(child, part, depth+1);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Object to insert with its bounding box.
+	 * 
+	 * @param <D> is the type of the data inside the tree
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Entry<D> {
+		
+		/** Object.
+		 */
+		public final D object;
+		
+		/** Bounding box of the object.
+		 */
+		public final Rectangle2f box;
+		
+		/**
+		 * @param object
+		 * @param box
+		 */
+		public Entry(D object, Rectangle2f box) {
+			this.object = object;
+			this.box = box;
+		}
+		
+	} // class Entry
+
+}
@@ -0,0 +1,403 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+import org.arakhne.afc.math.tree.Tree;
+import org.arakhne.afc.math.tree.TreeNode;
+
+
+/**
+ * This is the abstract implementation of the writers that are
+ * exporting a tree in a graph file incrementally.
+ * <p>
+ * Contrary to {@link DotDotWriter} and {@link DotGxlWriter},
+ * the tree is traversed only once, in a depth-first order, and
+ * each node is written with the edge from its parent as soon as
+ * it is visited. The memory used by the traversal depends only
+ * on the depth of the tree. The characters are encoded in a
+ * buffer that is written in a {@link WritableByteChannel} each
+ * time it is full.
+ * <p>
+ * The nodes are identified by their index in the traversal,
+ * so that the identifiers are unique even for very large trees.
+ * The traversal may be limited to a maximal depth; the nodes
+ * at this depth are labeled with the count of the nodes that are
+ * not written below them. The labels of the nodes contain the
+ * count of their user data, followed by the first user data
+ * if {@link #setMaxDataInLabels(int)} is positive.
+ * <p>
+ * The writer is not closed when it is garbage-collected:
+ * the caller must invoke {@link #close()} to write the last
+ * buffered bytes and to close the output channel.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public abstract class AbstractDotStreamWriter implements Closeable, Flushable {
+
+	/** Default size of the output buffer in bytes.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 65536;
+	
+	private final WritableByteChannel channel;
+	private final CharsetEncoder encoder;
+	private final CharBuffer chars;
+	private final ByteBuffer bytes;
+	private final char[] digits = new char[11];
+	
+	private int graphIndex = 1;
+	private int maxDepth = -1;
+	private int maxDataInLabels = 0;
+	
+	private Object[] stackNodes = new Object[16];
+	private int[] stackInfos = new int[48];
+	
+	/**
+	 * Create a new writer that output inside the given channel.
+	 * 
+	 * @param channel is the channel to write in.
+	 * @param charset is the charset used to encode the characters.
+	 * @param bufferSize is the size of the output buffer in bytes.
+	 */
+	protected AbstractDotStreamWriter(WritableByteChannel channel, Charset charset, int bufferSize) {
+		assert(channel!=null);
+		assert(charset!=null);
+		assert(bufferSize>0);
+		this.channel = channel;
+		this.encoder = charset.newEncoder();
+		this.encoder.onMalformedInput(CodingErrorAction.REPLACE);
+		this.encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.bytes = ByteBuffer.allocateDirect(Math.max(bufferSize,
+				(int)Math.ceil(this.encoder.maxBytesPerChar())));
+		this.chars = CharBuffer.allocate(Math.max(1, bufferSize / 2));
+	}
+	
+	/**
+	 * Create a new writer that output inside the given output stream.
+	 * 
+	 * @param outputStream is the stream to write in.
+	 * @param charset is the charset used to encode the characters.
+	 */
+	protected AbstractDotStreamWriter(OutputStream outputStream, Charset charset) {
+		this(Channels.newChannel(outputStream), charset, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/** Replies the maximal depth of the written nodes.
+	 * The root node has the depth <code>0</code>.
+	 * 
+	 * @return the maximal depth, or a negative value if
+	 * the whole trees are written.
+	 */
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+	
+	/** Set the maximal depth of the written nodes.
+	 * The root node has the depth <code>0</code>.
+	 * 
+	 * @param depth is the maximal depth, or a negative value if
+	 * the whole trees must be written.
+	 */
+	public void setMaxDepth(int depth) {
+		this.maxDepth = depth<0 ? -1 : depth;
+	}
+	
+	/** Replies the maximal count of user data that are written
+	 * in the label of each node.
+	 * 
+	 * @return the maximal count of user data in the labels.
+	 */
+	public int getMaxDataInLabels() {
+		return this.maxDataInLabels;
+	}
+	
+	/** Set the maximal count of user data that are written
+	 * in the label of each node. If <code>0</code>, only the
+	 * count of user data is written.
+	 * 
+	 * @param count is the maximal count of user data in the labels.
+	 */
+	public void setMaxDataInLabels(int count) {
+		this.maxDataInLabels = Math.max(0, count);
+	}
+
+	/**
+	 * Write the given tree inside the output channel.
+	 * The output buffer is flushed when the tree is written.
+	 * 
+	 * @param tree is the tree to write
+	 * @throws IOException in case of error
+	 */
+	public void write(Tree<?,?> tree) throws IOException {
+		int index = this.graphIndex++;
+		writeHeader(tree, index);
+		TreeNode<?,?> root = (tree==null) ? null : tree.getRoot();
+		if (root!=null) {
+			int size = 0;
+			int nodeId = 0;
+			push(size++, root, 0, -1, -1);
+			
+			TreeNode<?,?> node, child;
+			int depth, parentId, slot, id;
+			boolean truncated;
+			while (size>0) {
+				--size;
+				node = (TreeNode<?,?>)this.stackNodes[size];
+				this.stackNodes[size] = null;
+				depth = this.stackInfos[size*3];
+				parentId = this.stackInfos[size*3+1];
+				slot = this.stackInfos[size*3+2];
+				id = nodeId++;
+				
+				truncated = (this.maxDepth>=0 && depth>=this.maxDepth && !node.isLeaf());
+				writeNode(id, node, truncated);
+				if (parentId>=0) {
+					writeEdge(parentId, id, (TreeNode<?,?>)node.getParentNode(), slot);
+				}
+				
+				if (!truncated) {
+					// Push the children in reverse order to write them from the first to the last
+					for(int i=node.getChildCount()-1; i>=0; --i) {
+						child = (TreeNode<?,?>)node.getChildAt(i);
+						if (child!=null) {
+							push(size++, child, depth+1, id, i);
+						}
+					}
+				}
+			}
+		}
+		writeFooter(tree);
+		flush();
+	}
+	
+	private void push(int index, TreeNode<?,?> node, int depth, int parentId, int slot) {
+		if (index>=this.stackNodes.length) {
+			Object[] nodes = new Object[this.stackNodes.length*2];
+			System.arraycopy(this.stackNodes, 0, nodes, 0, this.stackNodes.length);
+			this.stackNodes = nodes;
+			int[] infos = new int[nodes.length*3];
+			System.arraycopy(this.stackInfos, 0, infos, 0, this.stackInfos.length);
+			this.stackInfos = infos;
+		}
+		this.stackNodes[index] = node;
+		this.stackInfos[index*3] = depth;
+		this.stackInfos[index*3+1] = parentId;
+		this.stackInfos[index*3+2] = slot;
+	}
+	
+	/** Write the beginning of a graph.
+	 * 
+	 * @param tree is the tree to write, or <code>null</code>.
+	 * @param graphIndex is the index of the graph in the output.
+	 * @throws IOException in case of error
+	 */
+	protected abstract void writeHeader(Tree<?,?> tree, int graphIndex) throws IOException;
+
+	/** Write the end of a graph.
+	 * 
+	 * @param tree is the tree to write, or <code>null</code>.
+	 * @throws IOException in case of error
+	 */
+	protected abstract void writeFooter(Tree<?,?> tree) throws IOException;
+
+	/** Write a node of the graph.
+	 * 
+	 * @param id is the identifier of the node.
+	 * @param node is the node to write.
+	 * @param truncated indicates if the children of the node are not written
+	 * because of the depth limit.
+	 * @throws IOException in case of error
+	 * @see #writeLabel(TreeNode, boolean)
+	 */
+	protected abstract void writeNode(int id, TreeNode<?,?> node, boolean truncated) throws IOException;
+
+	/** Write an edge of the graph.
+	 * 
+	 * @param parentId is the identifier of the parent node.
+	 * @param childId is the identifier of the child node.
+	 * @param parent is the parent node.
+	 * @param childIndex is the index of the child in the parent node.
+	 * @throws IOException in case of error
+	 */
+	protected abstract void writeEdge(int parentId, int childId, TreeNode<?,?> parent, int childIndex) throws IOException;
+
+	/** Write the given text as a part of a label.
+	 * The implementation must escape the special characters
+	 * of the output format.
+	 * 
+	 * @param text is the text to write.
+	 * @throws IOException in case of error
+	 */
+	protected abstract void writeLabelText(CharSequence text) throws IOException;
+
+	/** Write the label of the given node.
+	 * 
+	 * @param node is the node.
+	 * @param truncated indicates if the children of the node are not written
+	 * because of the depth limit.
+	 * @throws IOException in case of error
+	 */
+	protected void writeLabel(TreeNode<?,?> node, boolean truncated) throws IOException {
+		int dataCount = node.getUserDataCount();
+		writeInt(dataCount);
+		int max = Math.min(dataCount, this.maxDataInLabels);
+		for(int i=0; i<max; ++i) {
+			append(i==0 ? ": " : ", "); //$NON-NLS-1$ //$NON-NLS-2$
+			writeLabelText(String.valueOf(node.getUserDataAt(i)));
+		}
+		if (max<dataCount && max>0) {
+			append(", ..."); //$NON-NLS-1$
+		}
+		if (truncated) {
+			append(" (+"); //$NON-NLS-1$
+			writeInt(node.getDeepNodeCount()-1);
+			append(')');
+		}
+	}
+
+	/** Write a character.
+	 * 
+	 * @param c is the character to write.
+	 * @throws IOException in case of error
+	 */
+	protected final void append(char c) throws IOException {
+		if (!this.chars.hasRemaining()) encode(false);
+		this.chars.put(c);
+	}
+
+	/** Write characters.
+	 * 
+	 * @param text is the text to write.
+	 * @throws IOException in case of error
+	 */
+	protected final void append(CharSequence text) throws IOException {
+		int length = text.length();
+		int offset = 0;
+		int count;
+		while (offset<length) {
+			if (!this.chars.hasRemaining()) encode(false);
+			count = Math.min(length-offset, this.chars.remaining());
+			if (text instanceof String) {
+				this.chars.put((String)text, offset, offset+count);
+			}
+			else {
+				for(int i=0; i<count; ++i) {
+					this.chars.put(text.charAt(offset+i));
+				}
+			}
+			offset += count;
+		}
+	}
+
+	/** Write the decimal representation of an integer
+	 * without allocating any string.
+	 * 
+	 * @param value is the value to write.
+	 * @throws IOException in case of error
+	 */
+	protected final void writeInt(int value) throws IOException {
+		if (value==Integer.MIN_VALUE) {
+			append(Integer.toString(value));
+			return;
+		}
+		int v = Math.abs(value);
+		int i = this.digits.length;
+		do {
+			this.digits[--i] = (char)('0' + (v % 10));
+			v /= 10;
+		}
+		while (v!=0);
+		if (value<0) this.digits[--i] = '-';
+		for(; i<this.digits.length; ++i) {
+			append(this.digits[i]);
+		}
+	}
+
+	/** Write the identifier of a node.
+	 * 
+	 * @param id is the identifier of the node.
+	 * @throws IOException in case of error
+	 */
+	protected final void writeNodeName(int id) throws IOException {
+		append("NODE"); //$NON-NLS-1$
+		writeInt(id);
+	}
+	
+	private void encode(boolean endOfInput) throws IOException {
+		this.chars.flip();
+		CoderResult result;
+		do {
+			result = this.encoder.encode(this.chars, this.bytes, endOfInput);
+			if (result.isError()) result.throwException();
+			if (result.isOverflow()) writeBytes();
+		}
+		while (result.isOverflow());
+		this.chars.compact();
+	}
+	
+	private void writeBytes() throws IOException {
+		this.bytes.flip();
+		while (this.bytes.hasRemaining()) {
+			this.channel.write(this.bytes);
+		}
+		this.bytes.clear();
+	}
+
+	/** Write the buffered characters in the output channel.
+	 * 
+	 * @throws IOException in case of error.
+	 */
+	@Override
+	public void flush() throws IOException {
+		encode(false);
+		writeBytes();
+	}
+	
+	/** Flush and close the output channel.
+	 * Nothing is done if the channel is already closed.
+	 * 
+	 * @throws IOException in case of error.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!this.channel.isOpen()) return;
+		encode(true);
+		while (this.encoder.flush(this.bytes).isOverflow()) {
+			writeBytes();
+		}
+		writeBytes();
+		this.channel.close();
+	}
+
+}
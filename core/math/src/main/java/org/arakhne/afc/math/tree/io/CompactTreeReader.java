@@ -0,0 +1,333 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.arakhne.afc.math.tree.TreeNode;
+
+
+/**
+ * This is a reader of the trees written by a {@link CompactTreeWriter}.
+ * <p>
+ * The file is mapped in memory when the reader is created, and
+ * only its header is read: opening a file is independent of its size.
+ * The nodes are identified by their indexes in the file, the root
+ * having the index <code>0</code>. The topology and the user data
+ * may be read from these indexes without creating tree nodes.
+ * <p>
+ * {@link #readNode(int, TreeNodeFactory)} and {@link #readRoot(TreeNodeFactory)}
+ * are not lazy: they create all the nodes of the subtree and decode all
+ * its user data. They should be invoked on the subtrees that are
+ * really needed.
+ * <p>
+ * The files larger than 2GB are mapped in several parts.
+ * A reader may be used by several threads.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class CompactTreeReader<D> {
+
+	/** Default size of the mapped parts of the files, in bits.
+	 * It must be greater or equal to 3 in order to map
+	 * the <code>int</code> and <code>long</code> values in one part.
+	 */
+	private static final int DEFAULT_SEGMENT_SHIFT = 30;
+	
+	private final TreeDataCodec<? extends D> codec;
+	private final int segmentShift;
+	private final long segmentMask;
+	private final ByteBuffer[] segments;
+	private final int nodeCount;
+	private final int dataCount;
+	private final long childSlotsPosition;
+	private final long childrenPosition;
+	private final long dataIndexesPosition;
+	private final long dataPositionsPosition;
+	
+	/**
+	 * @param file is the file to read.
+	 * @param codec is the decoder of the user data.
+	 * @throws IOException in case of error.
+	 */
+	public CompactTreeReader(File file, TreeDataCodec<? extends D> codec) throws IOException {
+		this(file, codec, DEFAULT_SEGMENT_SHIFT);
+	}
+	
+	/**
+	 * @param file is the file to read.
+	 * @param codec is the decoder of the user data.
+	 * @param segmentShift is the size of the mapped parts, in bits.
+	 * @throws IOException in case of error.
+	 */
+	CompactTreeReader(File file, TreeDataCodec<? extends D> codec, int segmentShift) throws IOException {
+		assert(codec!=null);
+		assert(segmentShift>=3 && segmentShift<=30);
+		this.codec = codec;
+		this.segmentShift = segmentShift;
+		this.segmentMask = (1L<<segmentShift) - 1;
+		
+		RandomAccessFile raf = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+		try {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			if (size<CompactTreeWriter.HEADER_SIZE+16) throw new StreamCorruptedException();
+			int count = (int)((size+this.segmentMask)>>>segmentShift);
+			this.segments = new ByteBuffer[count];
+			long position;
+			for(int i=0; i<count; ++i) {
+				position = ((long)i)<<segmentShift;
+				this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						position, Math.min(size-position, 1L<<segmentShift));
+			}
+			
+			if (getInt(0)!=CompactTreeWriter.MAGIC || getInt(4)!=CompactTreeWriter.VERSION)
+				throw new StreamCorruptedException();
+			this.nodeCount = getInt(8);
+			int slotCount = getInt(12);
+			this.dataCount = getInt(16);
+			this.childSlotsPosition = CompactTreeWriter.HEADER_SIZE;
+			this.childrenPosition = this.childSlotsPosition + 4L*(this.nodeCount+1);
+			this.dataIndexesPosition = this.childrenPosition + 4L*slotCount;
+			this.dataPositionsPosition = getLong(size-8);
+			if (this.nodeCount<0 || slotCount<0 || this.dataCount<0
+				|| this.dataPositionsPosition+8L*(this.dataCount+2)!=size)
+				throw new StreamCorruptedException();
+		}
+		finally {
+			// The mapped buffers stay valid after the file is closed
+			raf.close();
+		}
+	}
+	
+	private int getInt(long position) {
+		return this.segments[(int)(position>>>this.segmentShift)].getInt((int)(position & this.segmentMask));
+	}
+	
+	private long getLong(long position) {
+		return this.segments[(int)(position>>>this.segmentShift)].getLong((int)(position & this.segmentMask));
+	}
+	
+	/** Replies the bytes between the given positions.
+	 * 
+	 * @param start is the position of the first byte.
+	 * @param end is the position after the last byte.
+	 * @return the buffer that is containing the bytes.
+	 */
+	private ByteBuffer getBytes(long start, long end) {
+		int segment = (int)(start>>>this.segmentShift);
+		if (end==start || segment==(int)((end-1)>>>this.segmentShift)) {
+			ByteBuffer buffer = this.segments[segment].duplicate();
+			int offset = (int)(start & this.segmentMask);
+			buffer.limit(offset+(int)(end-start));
+			buffer.position(offset);
+			return buffer.slice();
+		}
+		// The bytes are over several mapped parts
+		byte[] bytes = new byte[(int)(end-start)];
+		int offset = 0;
+		long position = start;
+		ByteBuffer buffer;
+		int length;
+		while (offset<bytes.length) {
+			buffer = this.segments[(int)(position>>>this.segmentShift)].duplicate();
+			buffer.position((int)(position & this.segmentMask));
+			length = Math.min(buffer.remaining(), bytes.length-offset);
+			buffer.get(bytes, offset, length);
+			offset += length;
+			position += length;
+		}
+		return ByteBuffer.wrap(bytes);
+	}
+	
+	/** Replies the count of nodes inside the tree.
+	 * 
+	 * @return the count of nodes inside the whole tree.
+	 */
+	public int getNodeCount() {
+		return this.nodeCount;
+	}
+
+	/** Replies the count of data inside the tree.
+	 * 
+	 * @return the count of user objects inside the whole tree.
+	 */
+	public int getUserDataCount() {
+		return this.dataCount;
+	}
+
+	/** Replies the count of children of the given node,
+	 * including the empty positions.
+	 * 
+	 * @param node is the index of the node.
+	 * @return the count of children.
+	 * @throws IndexOutOfBoundsException if the index is invalid.
+	 */
+	public int getChildCount(int node) {
+		if (node<0 || node>=this.nodeCount) throw new IndexOutOfBoundsException();
+		long position = this.childSlotsPosition + 4L*node;
+		return getInt(position+4) - getInt(position);
+	}
+
+	/** Replies the index of the child at the given position.
+	 * 
+	 * @param node is the index of the parent node.
+	 * @param index is the position of the child in its parent.
+	 * @return the index of the child node, or <code>-1</code> if
+	 * the position is empty.
+	 * @throws IndexOutOfBoundsException if an index is invalid.
+	 */
+	public int getChildAt(int node, int index) {
+		if (index<0 || index>=getChildCount(node)) throw new IndexOutOfBoundsException();
+		int slot = getInt(this.childSlotsPosition + 4L*node) + index;
+		return getInt(this.childrenPosition + 4L*slot);
+	}
+
+	/** Replies the count of user data of the given node.
+	 * 
+	 * @param node is the index of the node.
+	 * @return the count of user data.
+	 * @throws IndexOutOfBoundsException if the index is invalid.
+	 */
+	public int getUserDataCount(int node) {
+		if (node<0 || node>=this.nodeCount) throw new IndexOutOfBoundsException();
+		long position = this.dataIndexesPosition + 4L*node;
+		return getInt(position+4) - getInt(position);
+	}
+
+	/** Replies the user data at the given position in the given node.
+	 * The data is decoded at each invocation.
+	 * 
+	 * @param node is the index of the node.
+	 * @param index is the position of the data in the node.
+	 * @return the user data.
+	 * @throws IOException if the data cannot be decoded.
+	 * @throws IndexOutOfBoundsException if an index is invalid.
+	 */
+	public D getUserDataAt(int node, int index) throws IOException {
+		if (index<0 || index>=getUserDataCount(node)) throw new IndexOutOfBoundsException();
+		int data = getInt(this.dataIndexesPosition + 4L*node) + index;
+		long position = this.dataPositionsPosition + 8L*data;
+		return this.codec.readData(getBytes(getLong(position), getLong(position+8)));
+	}
+
+	/** Replies the user data of the given node.
+	 * The data are decoded at each invocation.
+	 * 
+	 * @param node is the index of the node.
+	 * @return the user data.
+	 * @throws IOException if the data cannot be decoded.
+	 * @throws IndexOutOfBoundsException if the index is invalid.
+	 */
+	public List<D> getUserData(int node) throws IOException {
+		int count = getUserDataCount(node);
+		if (count==0) return Collections.emptyList();
+		List<D> data = new ArrayList<D>(count);
+		for(int i=0; i<count; ++i) {
+			data.add(getUserDataAt(node, i));
+		}
+		return data;
+	}
+
+	/** Create the nodes of the subtree rooted at the given node.
+	 * All the nodes of the subtree are created, and all their
+	 * user data are decoded.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param node is the index of the root of the subtree.
+	 * @param factory is the factory of nodes.
+	 * @return the root of the subtree.
+	 * @throws IOException if a data cannot be decoded.
+	 * @throws IndexOutOfBoundsException if the index is invalid.
+	 */
+	public <N extends TreeNode<D,N>> N readNode(int node, TreeNodeFactory<D,N> factory) throws IOException {
+		if (node<0 || node>=this.nodeCount) throw new IndexOutOfBoundsException();
+		// Iterative postfix traversal: each entry of the stack is a node
+		// index and the position of the next child to create.
+		int[] stack = new int[16];
+		List<N> created = new ArrayList<N>();
+		int size = 0;
+		stack[size++] = node;
+		stack[size++] = 0;
+		int current, childIndex, childCount, child;
+		while (size>0) {
+			current = stack[size-2];
+			childIndex = stack[size-1];
+			childCount = getChildCount(current);
+			if (childIndex<childCount) {
+				stack[size-1] = childIndex+1;
+				child = getChildAt(current, childIndex);
+				if (child>=0) {
+					if (size+2>stack.length) stack = Arrays.copyOf(stack, stack.length*2);
+					stack[size++] = child;
+					stack[size++] = 0;
+				}
+			}
+			else {
+				// All the children are created, they are at the end of the list
+				List<N> children = new ArrayList<N>(childCount);
+				int notNullCount = 0;
+				for(int i=0; i<childCount; ++i) {
+					if (getChildAt(current, i)>=0) ++notNullCount;
+				}
+				int first = created.size()-notNullCount;
+				int next = first;
+				for(int i=0; i<childCount; ++i) {
+					if (getChildAt(current, i)>=0) {
+						children.add(created.get(next++));
+					}
+					else {
+						children.add(null);
+					}
+				}
+				created.subList(first, created.size()).clear();
+				created.add(factory.newNode(getUserData(current), children));
+				size -= 2;
+			}
+		}
+		assert(created.size()==1);
+		return created.get(0);
+	}
+
+	/** Create the nodes of the whole tree.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param factory is the factory of nodes.
+	 * @return the root of the tree, or <code>null</code> if the tree is empty.
+	 * @throws IOException if a data cannot be decoded.
+	 */
+	public <N extends TreeNode<D,N>> N readRoot(TreeNodeFactory<D,N> factory) throws IOException {
+		if (this.nodeCount==0) return null;
+		return readNode(0, factory);
+	}
+
+}
@@ -0,0 +1,196 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arakhne.afc.math.tree.Tree;
+import org.arakhne.afc.math.tree.TreeNode;
+
+
+/**
+ * This is a writer of a tree in a compact binary format.
+ * <p>
+ * The nodes are numbered in a broad-first order, the root having
+ * the index <code>0</code>. The topology of the tree is stored
+ * as arrays of indexes, and the user data are encoded by a
+ * {@link TreeDataCodec}. All the values are big-endian.
+ * <table border="1">
+ * <tr><th>Content</th><th>Type</th></tr>
+ * <tr><td>{@link #MAGIC}, {@link #VERSION}, node count, child slot count, data count</td><td>5 <code>int</code></td></tr>
+ * <tr><td>index of the first child slot of each node, and the child slot count</td><td><code>int[node count+1]</code></td></tr>
+ * <tr><td>index of the node in each child slot, or <code>-1</code> if empty</td><td><code>int[child slot count]</code></td></tr>
+ * <tr><td>index of the first data of each node, and the data count</td><td><code>int[node count+1]</code></td></tr>
+ * <tr><td>encoded user data, padded to a multiple of 8 bytes</td><td><code>byte[]</code></td></tr>
+ * <tr><td>position of each encoded data in the file, and the end of the last one</td><td><code>long[data count+1]</code></td></tr>
+ * <tr><td>position of the previous table in the file</td><td><code>long</code></td></tr>
+ * </table>
+ * <p>
+ * The files may be read with a {@link CompactTreeReader}.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public class CompactTreeWriter<D> {
+
+	/** Magic number at the beginning of the compact tree files.
+	 */
+	public static final int MAGIC = 0x41464354;
+	
+	/** Version of the compact tree format.
+	 */
+	public static final int VERSION = 1;
+	
+	/** Size of the header of the compact tree files.
+	 */
+	static final int HEADER_SIZE = 20;
+	
+	private final DataOutputStream output;
+	private final TreeDataCodec<? super D> codec;
+	private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+	private final DataOutputStream recordOutput = new DataOutputStream(this.recordBuffer);
+	
+	/**
+	 * Create a new writer that output inside the given output stream.
+	 * 
+	 * @param outputStream is the stream to write in.
+	 * @param codec is the encoder of the user data.
+	 */
+	public CompactTreeWriter(OutputStream outputStream, TreeDataCodec<? super D> codec) {
+		assert(outputStream!=null);
+		assert(codec!=null);
+		this.output = new DataOutputStream(new BufferedOutputStream(outputStream));
+		this.codec = codec;
+	}
+	
+	/**
+	 * Write the given tree inside the output stream.
+	 * Only one tree should be written in a stream.
+	 * 
+	 * @param tree is the tree to write
+	 * @throws IOException in case of error
+	 */
+	public void write(Tree<? extends D,?> tree) throws IOException {
+		// Number the nodes in a broad-first order
+		List<TreeNode<? extends D,?>> nodes = new ArrayList<TreeNode<? extends D,?>>();
+		TreeNode<? extends D,?> root = (tree==null) ? null : tree.getRoot();
+		if (root!=null) nodes.add(root);
+		long slotCount = 0;
+		long dataCount = 0;
+		TreeNode<? extends D,?> node, child;
+		for(int i=0; i<nodes.size(); ++i) {
+			node = nodes.get(i);
+			slotCount += node.getChildCount();
+			dataCount += node.getUserDataCount();
+			for(int j=0; j<node.getChildCount(); ++j) {
+				child = (TreeNode<? extends D,?>)node.getChildAt(j);
+				if (child!=null) nodes.add(child);
+			}
+		}
+		if (slotCount>Integer.MAX_VALUE)
+			throw new IOException("the count of child slots ("+slotCount //$NON-NLS-1$
+					+") exceeds the limit of the format ("+Integer.MAX_VALUE+")"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (dataCount>=Integer.MAX_VALUE)
+			throw new IOException("the count of user data ("+dataCount //$NON-NLS-1$
+					+") exceeds the limit of the format ("+(Integer.MAX_VALUE-1)+")"); //$NON-NLS-1$ //$NON-NLS-2$
+		
+		long position = HEADER_SIZE;
+		this.output.writeInt(MAGIC);
+		this.output.writeInt(VERSION);
+		this.output.writeInt(nodes.size());
+		this.output.writeInt((int)slotCount);
+		this.output.writeInt((int)dataCount);
+
+		// Child slots
+		int index = 0;
+		for(TreeNode<? extends D,?> n : nodes) {
+			this.output.writeInt(index);
+			index += n.getChildCount();
+		}
+		this.output.writeInt(index);
+		int childIndex = 1;
+		for(TreeNode<? extends D,?> n : nodes) {
+			for(int j=0; j<n.getChildCount(); ++j) {
+				if (n.getChildAt(j)!=null) {
+					this.output.writeInt(childIndex);
+					++childIndex;
+				}
+				else {
+					this.output.writeInt(-1);
+				}
+			}
+		}
+		assert(childIndex==nodes.size() || nodes.isEmpty());
+
+		// Data indexes
+		index = 0;
+		for(TreeNode<? extends D,?> n : nodes) {
+			this.output.writeInt(index);
+			index += n.getUserDataCount();
+		}
+		this.output.writeInt(index);
+		position += 4L * (2L * (nodes.size()+1) + slotCount);
+		
+		// Encoded data
+		long[] dataPositions = new long[(int)dataCount+1];
+		index = 0;
+		for(TreeNode<? extends D,?> n : nodes) {
+			for(int j=0; j<n.getUserDataCount(); ++j) {
+				dataPositions[index++] = position;
+				this.recordBuffer.reset();
+				this.codec.writeData(n.getUserDataAt(j), this.recordOutput);
+				this.recordOutput.flush();
+				this.recordBuffer.writeTo(this.output);
+				position += this.recordBuffer.size();
+			}
+		}
+		dataPositions[index] = position;
+		this.recordBuffer.reset();
+		while ((position%8)!=0) {
+			this.output.writeByte(0);
+			++position;
+		}
+		
+		// Data positions
+		long tablePosition = position;
+		for(long dataPosition : dataPositions) {
+			this.output.writeLong(dataPosition);
+		}
+		this.output.writeLong(tablePosition);
+		this.output.flush();
+	}
+	
+	/** Close the output stream.
+	 * 
+	 * @throws IOException in case of error.
+	 */
+	public void close() throws IOException {
+		this.output.close();
+	}
+
+}
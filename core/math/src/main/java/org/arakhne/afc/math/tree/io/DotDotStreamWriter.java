@@ -0,0 +1,143 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+import org.arakhne.afc.math.tree.Tree;
+import org.arakhne.afc.math.tree.TreeNode;
+
+
+/**
+ * This is a writer of .dot file from a tree that is writing
+ * the nodes incrementally in a channel.
+ * <p>
+ * The .dot file format is defined by the <a href="http://www.graphviz.org/">GraphViz project</a>.
+ * The file is encoded in UTF-8.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see DotDotWriter
+ * @since 12.0
+ */
+public class DotDotStreamWriter extends AbstractDotStreamWriter {
+
+	/**
+	 * Create a new dot writer that output inside the given channel.
+	 * 
+	 * @param channel is the channel to write in.
+	 */
+	public DotDotStreamWriter(WritableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Create a new dot writer that output inside the given channel.
+	 * 
+	 * @param channel is the channel to write in.
+	 * @param bufferSize is the size of the output buffer in bytes.
+	 */
+	public DotDotStreamWriter(WritableByteChannel channel, int bufferSize) {
+		super(channel, Charset.forName("UTF-8"), bufferSize); //$NON-NLS-1$
+	}
+
+	/**
+	 * Create a new dot writer that output inside the given output stream.
+	 * 
+	 * @param outputStream is the stream to write in.
+	 */
+	public DotDotStreamWriter(OutputStream outputStream) {
+		super(outputStream, Charset.forName("UTF-8")); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeHeader(Tree<?, ?> tree, int graphIndex) throws IOException {
+		append("digraph G"); //$NON-NLS-1$
+		writeInt(graphIndex);
+		append(" {\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeFooter(Tree<?, ?> tree) throws IOException {
+		append("}\n\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeNode(int id, TreeNode<?, ?> node, boolean truncated) throws IOException {
+		append('\t');
+		writeNodeName(id);
+		append(" [label=\""); //$NON-NLS-1$
+		writeLabel(node, truncated);
+		append("\"]\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeEdge(int parentId, int childId, TreeNode<?, ?> parent, int childIndex) throws IOException {
+		append('\t');
+		writeNodeName(parentId);
+		append("->"); //$NON-NLS-1$
+		writeNodeName(childId);
+		append(" [label=\""); //$NON-NLS-1$
+		Class<? extends Enum<?>> partitionType = parent.getPartitionEnumeration();
+		if (partitionType!=null) {
+			append(partitionType.getEnumConstants()[childIndex].name());
+		}
+		else {
+			writeInt(childIndex);
+		}
+		append("\"]\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeLabelText(CharSequence text) throws IOException {
+		char c;
+		for(int i=0; i<text.length(); ++i) {
+			c = text.charAt(i);
+			switch(c) {
+			case '"':
+			case '\\':
+				append('\\');
+				append(c);
+				break;
+			case '\n':
+				append("\\n"); //$NON-NLS-1$
+				break;
+			case '\r':
+				break;
+			default:
+				append(c);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+import org.arakhne.afc.math.tree.Tree;
+import org.arakhne.afc.math.tree.TreeNode;
+
+
+/**
+ * This is a writer of .gxl file from a tree that is writing
+ * the nodes incrementally in a channel.
+ * <p>
+ * The .gxl file format is an XML dialect for the .dot file format.
+ * It is defined on <a href="http://www.gupro.de/GXL/">Graph eXchange Language page</a>.
+ * The file is encoded in UTF-8.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see DotGxlWriter
+ * @since 12.0
+ */
+public class DotGxlStreamWriter extends AbstractDotStreamWriter {
+
+	/**
+	 * Create a new gxl writer that output inside the given channel.
+	 * 
+	 * @param channel is the channel to write in.
+	 */
+	public DotGxlStreamWriter(WritableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Create a new gxl writer that output inside the given channel.
+	 * 
+	 * @param channel is the channel to write in.
+	 * @param bufferSize is the size of the output buffer in bytes.
+	 */
+	public DotGxlStreamWriter(WritableByteChannel channel, int bufferSize) {
+		super(channel, Charset.forName("UTF-8"), bufferSize); //$NON-NLS-1$
+	}
+
+	/**
+	 * Create a new gxl writer that output inside the given output stream.
+	 * 
+	 * @param outputStream is the stream to write in.
+	 */
+	public DotGxlStreamWriter(OutputStream outputStream) {
+		super(outputStream, Charset.forName("UTF-8")); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeHeader(Tree<?, ?> tree, int graphIndex) throws IOException {
+		append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+		append("<gxl>\n"); //$NON-NLS-1$
+		if (tree!=null) {
+			append("\t<graph id=\""); //$NON-NLS-1$
+			append(Integer.toHexString(System.identityHashCode(tree)));
+			append('-');
+			writeInt(graphIndex);
+			append("\" edgeids=\"true\" edgemode=\"directed\">\n"); //$NON-NLS-1$
+		}
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeFooter(Tree<?, ?> tree) throws IOException {
+		if (tree!=null) {
+			append("\t</graph>\n"); //$NON-NLS-1$
+		}
+		append("</gxl>\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeNode(int id, TreeNode<?, ?> node, boolean truncated) throws IOException {
+		append("\t\t<node id=\""); //$NON-NLS-1$
+		writeNodeName(id);
+		append("\">\n"); //$NON-NLS-1$
+		append("\t\t\t<attr name=\"label\">\n"); //$NON-NLS-1$
+		append("\t\t\t\t<string>"); //$NON-NLS-1$
+		writeLabel(node, truncated);
+		append("</string>\n"); //$NON-NLS-1$
+		append("\t\t\t</attr>\n"); //$NON-NLS-1$
+		append("\t\t</node>\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeEdge(int parentId, int childId, TreeNode<?, ?> parent, int childIndex) throws IOException {
+		append("\t\t<edge id=\""); //$NON-NLS-1$
+		writeNodeName(parentId);
+		append("--"); //$NON-NLS-1$
+		writeNodeName(childId);
+		append("\" isdirected=\"true\" from=\""); //$NON-NLS-1$
+		writeNodeName(parentId);
+		append("\" to=\""); //$NON-NLS-1$
+		writeNodeName(childId);
+		append("\">\n"); //$NON-NLS-1$
+		append("\t\t\t<attr name=\"label\">\n"); //$NON-NLS-1$
+		append("\t\t\t\t<string>"); //$NON-NLS-1$
+		writeInt(childIndex);
+		append("</string>\n"); //$NON-NLS-1$
+		append("\t\t\t</attr>\n"); //$NON-NLS-1$
+		append("\t\t</edge>\n"); //$NON-NLS-1$
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	protected void writeLabelText(CharSequence text) throws IOException {
+		char c;
+		for(int i=0; i<text.length(); ++i) {
+			c = text.charAt(i);
+			switch(c) {
+			case '<':
+				append("&lt;"); //$NON-NLS-1$
+				break;
+			case '>':
+				append("&gt;"); //$NON-NLS-1$
+				break;
+			case '&':
+				append("&amp;"); //$NON-NLS-1$
+				break;
+			case '"':
+				append("&quot;"); //$NON-NLS-1$
+				break;
+			default:
+				append(c);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * This interface permits to encode and decode the user data
+ * of the tree nodes in the compact binary tree format.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see CompactTreeWriter
+ * @see CompactTreeReader
+ * @since 12.0
+ */
+public interface TreeDataCodec<D> {
+
+	/** Write the given user data.
+	 * 
+	 * @param data is the data to write, never <code>null</code>.
+	 * @param output is the output in which the data must be written.
+	 * @throws IOException in case of error.
+	 */
+	public void writeData(D data, DataOutput output) throws IOException;
+	
+	/** Read a user data.
+	 * <p>
+	 * The given buffer contains exactly the bytes written by
+	 * {@link #writeData(Object, DataOutput)}, in the big-endian
+	 * byte order. The buffer may be a view on a memory-mapped file:
+	 * it must not be stored.
+	 * 
+	 * @param buffer is the buffer from which the data must be read.
+	 * @return the data.
+	 * @throws IOException in case of error.
+	 */
+	public D readData(ByteBuffer buffer) throws IOException;
+	
+}
@@ -0,0 +1,51 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.util.List;
+
+import org.arakhne.afc.math.tree.TreeNode;
+
+/**
+ * This interface permits to create the tree nodes
+ * that are read from the compact binary tree format.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @param <N> is the type of the tree nodes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see CompactTreeReader
+ * @since 12.0
+ */
+public interface TreeNodeFactory<D,N extends TreeNode<D,N>> {
+
+	/** Create a tree node.
+	 * <p>
+	 * The nodes are created from the leaves to the root: the
+	 * children are created before their parent.
+	 * 
+	 * @param data are the user data of the node.
+	 * @param children are the children of the node. A child is <code>null</code>
+	 * when the corresponding position in the node is empty.
+	 * @return the node that is containing the given data and children.
+	 */
+	public N newNode(List<D> data, List<N> children);
+	
+}
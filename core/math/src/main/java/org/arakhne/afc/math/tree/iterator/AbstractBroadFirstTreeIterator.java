@@ -17,11 +17,10 @@
  */
 package org.arakhne.afc.math.tree.iterator;
 
+import java.util.ArrayDeque;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
-import java.util.Queue;
 
 import org.arakhne.afc.math.tree.IterableNode;
 
@@ -30,6 +29,10 @@ import org.arakhne.afc.math.tree.IterableNode;
  * This class is an iterator on a tree.
  * <p>
  * The node A is treated <i>before</i> its children.
+ * <p>
+ * The nodes are stored in an array-based queue, which is kept
+ * when the iterator is {@link #reset(IterableNode) reset}. An iterator
+ * may be reused for several iterations without allocation.
  * 
  * @param <P> is the type of the parent nodes.
  * @param <C> is the type of the child nodes.
@@ -42,7 +45,13 @@ import org.arakhne.afc.math.tree.IterableNode;
 public abstract class AbstractBroadFirstTreeIterator<P extends IterableNode<? extends C>, C extends IterableNode<?>>
 implements Iterator<P> {
 
-	private final Queue<P> availableNodes = new LinkedList<P>();
+	private final ArrayDeque<P> availableNodes = new ArrayDeque<P>();
+	/** Number of nodes of the current level that are still in the queue.
+	 */
+	private int levelNodeCount = 0;
+	/** Number of nodes of the next level that are already in the queue.
+	 */
+	private int nextLevelNodeCount = 0;
 	private P lastReplied = null;
 	private BroadFirstIterationListener levelListener = null;
 	
@@ -53,7 +62,26 @@ implements Iterator<P> {
 	public AbstractBroadFirstTreeIterator(P node) {
 		if (node!=null) {
 			this.availableNodes.offer(node);
-			this.availableNodes.offer(null);
+			this.levelNodeCount = 1;
+		}
+	}
+	
+	/** Restart this iterator on the given node.
+	 * The internal buffers of the iterator are reused.
+	 * The level listener is not changed.
+	 * 
+	 * @param node is the node to iterate, or <code>null</code>
+	 * to release the nodes of the previous iteration.
+	 * @since 12.0
+	 */
+	public void reset(P node) {
+		this.availableNodes.clear();
+		this.levelNodeCount = 0;
+		this.nextLevelNodeCount = 0;
+		this.lastReplied = null;
+		if (node!=null) {
+			this.availableNodes.offer(node);
+			this.levelNodeCount = 1;
 		}
 	}
 	
@@ -127,8 +155,6 @@ implements Iterator<P> {
 		if (this.availableNodes.isEmpty()) throw new NoSuchElementException();
 
 		P current = this.availableNodes.poll();
-		
-		if (current==null) throw new ConcurrentModificationException();
 				
 		// Add the children of the polled element
 		onBeforeChildNodes(current);
@@ -155,15 +181,15 @@ implements Iterator<P> {
 		
 		onAfterChildNodes(current, childCount);
 		
-		if (this.availableNodes.isEmpty()) {
-			onBoardFirstIterationLevelFinished();
-			this.levelListener = null;
-		}
-		else if (this.availableNodes.peek()==null) {
-			this.availableNodes.poll();
-			if (!this.availableNodes.isEmpty())
-				this.availableNodes.offer(null);
+		this.nextLevelNodeCount += childCount;
+		--this.levelNodeCount;
+		if (this.levelNodeCount<=0) {
+			this.levelNodeCount = this.nextLevelNodeCount;
+			this.nextLevelNodeCount = 0;
 			onBoardFirstIterationLevelFinished();
+			if (this.availableNodes.isEmpty()) {
+				this.levelListener = null;
+			}
 		}
 
 		this.lastReplied = current;
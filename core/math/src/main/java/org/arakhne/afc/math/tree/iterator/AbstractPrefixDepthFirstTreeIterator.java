@@ -17,10 +17,9 @@
  */
 package org.arakhne.afc.math.tree.iterator;
 
-import java.util.ConcurrentModificationException;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Stack;
 
 import org.arakhne.afc.math.tree.IterableNode;
 
@@ -28,6 +27,10 @@ import org.arakhne.afc.math.tree.IterableNode;
 /**
  * This class is an prefixed iterator on a tree.
  * It treats the parent node before going inside the child nodes.
+ * <p>
+ * The nodes are stored in an array-based stack, which is kept
+ * when the iterator is {@link #reset(IterableNode) reset}. An iterator
+ * may be reused for several iterations without allocation.
  * 
  * @param <P> is the type of the parent nodes.
  * @param <C> is the type of the child nodes.
@@ -40,7 +43,8 @@ import org.arakhne.afc.math.tree.IterableNode;
 public abstract class AbstractPrefixDepthFirstTreeIterator<P extends IterableNode<? extends C>, C extends IterableNode<?>>
 implements Iterator<P> {
 
-	private final Stack<P> availableNodes = new Stack<P>();	
+	private final ArrayDeque<P> availableNodes = new ArrayDeque<P>();
+	private P startNode;
 	private boolean isStarted = false;
 	private P lastReplied = null;
 	
@@ -48,7 +52,21 @@ implements Iterator<P> {
 	 * @param node is the node to iterate.
 	 */
 	public AbstractPrefixDepthFirstTreeIterator(P node) {
-		this.availableNodes.push(node);
+		this.startNode = node;
+	}
+	
+	/** Restart this iterator on the given node.
+	 * The internal buffers of the iterator are reused.
+	 * 
+	 * @param node is the node to iterate, or <code>null</code>
+	 * to release the nodes of the previous iteration.
+	 * @since 12.0
+	 */
+	public void reset(P node) {
+		this.availableNodes.clear();
+		this.startNode = node;
+		this.isStarted = false;
+		this.lastReplied = null;
 	}
 
 	/** Replies an object to type N which is corresponding to 
@@ -70,7 +88,8 @@ implements Iterator<P> {
 	protected abstract boolean isTraversableParent(P parent);
 
 	private void startIterator() {
-		P root = this.availableNodes.pop();
+		P root = this.startNode;
+		this.startNode = null;
 		if ((root!=null)&&
 			(isTraversableParent(root))) {
 			this.availableNodes.push(root);
@@ -95,7 +114,6 @@ implements Iterator<P> {
 		if (this.availableNodes.isEmpty()) throw new NoSuchElementException();
 		
 		P current = this.availableNodes.pop();
-		if (current==null) throw new ConcurrentModificationException();
 		
 		for(int i=current.getChildCount()-1; i>=0; --i) {
 			C child = current.getChildAt(i);
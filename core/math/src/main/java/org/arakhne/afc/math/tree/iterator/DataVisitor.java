@@ -0,0 +1,41 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+/**
+ * This interface is used to treat the user data
+ * during a traversal of the trees.
+ * 
+ * @param <D> is the type of the data.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+public interface DataVisitor<D> {
+
+	/** Invoked on each traversed user data.
+	 * 
+	 * @param data is the data to treat.
+	 * @return <code>true</code> if the traversal must continue,
+	 * <code>false</code> to stop it.
+	 */
+	public boolean visitData(D data);
+	
+}
@@ -0,0 +1,362 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.arakhne.afc.math.tree.TreeNode;
+import org.arakhne.afc.vmutil.ThreadServiceFinder;
+
+/** This class permits to traverse the nodes of trees
+ * or forests on several threads.
+ * <p>
+ * The nodes replied by a {@link SplittableTreeIterator} are split
+ * at the child boundaries into several parts, which are treated
+ * by the workers. The calling thread is one of the workers.
+ * <p>
+ * The trees must not be modified during a traversal. The visitors
+ * and the selectors are invoked by several threads: they must
+ * support concurrent invocations.
+ * 
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see org.arakhne.afc.math.tree.AbstractTree#splittableIterator()
+ * @see org.arakhne.afc.math.tree.AbstractForest#splittableIterator()
+ * @since 12.0
+ */
+public class ParallelTreeTraversal {
+
+	/** Number of parts per worker, which permits to balance
+	 * the load when the subtrees have different costs.
+	 */
+	private static final int PARTS_PER_WORKER = 4;
+	
+	private final ExecutorService executor;
+	private int parallelism;
+	
+	/** Create a traversal that is running on the executor
+	 * service of the {@link ThreadServiceFinder}.
+	 */
+	public ParallelTreeTraversal() {
+		this(null);
+	}
+	
+	/**
+	 * @param executor is the executor service to use, or <code>null</code>
+	 * to use the executor service of the {@link ThreadServiceFinder}.
+	 */
+	public ParallelTreeTraversal(ExecutorService executor) {
+		this.executor = executor;
+		this.parallelism = Runtime.getRuntime().availableProcessors();
+	}
+	
+	/** Replies the maximal number of workers, including the calling thread.
+	 * 
+	 * @return the maximal number of workers.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+	
+	/** Set the maximal number of workers, including the calling thread.
+	 * By default, it is the number of available processors.
+	 * 
+	 * @param parallelism is the maximal number of workers.
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism<=0) throw new IllegalArgumentException();
+		this.parallelism = parallelism;
+	}
+	
+	/** Replies the executor service used to run the workers.
+	 * 
+	 * @return the executor service.
+	 */
+	protected ExecutorService getExecutorService() {
+		if (this.executor!=null) return this.executor;
+		return ThreadServiceFinder.getProvider().getExecutorService();
+	}
+
+	/** Invoke the visitor on each node replied by the given iterator.
+	 * The nodes are not visited in a specific order.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param nodes is the iterator on the nodes to visit.
+	 * @param visitor is the visitor to invoke.
+	 * @return <code>true</code> if all the nodes were visited,
+	 * <code>false</code> if the visitor has stopped the traversal.
+	 * @throws InterruptedException if the calling thread was interrupted
+	 * during the wait of the workers.
+	 */
+	public <N extends TreeNode<?,?>> boolean forEachNode(SplittableTreeIterator<N> nodes, final NodeVisitor<N> visitor) throws InterruptedException {
+		final AtomicBoolean completed = new AtomicBoolean(true);
+		traverse(nodes, new PartTreatment<N,Object>() {
+			@Override
+			public boolean treat(N node, List<Object> result) {
+				if (!visitor.visitNode(node)) {
+					completed.set(false);
+					return false;
+				}
+				return true;
+			}
+		});
+		return completed.get();
+	}
+
+	/** Replies the nodes that are selected by the given selector.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param nodes is the iterator on the nodes to test.
+	 * @param selector is the selector of nodes.
+	 * @return the selected nodes, in the order of the iterator.
+	 * @throws InterruptedException if the calling thread was interrupted
+	 * during the wait of the workers.
+	 */
+	public <N extends TreeNode<?,?>> List<N> selectNodes(SplittableTreeIterator<N> nodes, final NodeSelector<N> selector) throws InterruptedException {
+		return traverse(nodes, new PartTreatment<N,N>() {
+			@Override
+			public boolean treat(N node, List<N> result) {
+				if (selector.nodeCouldBeTreatedByIterator(node)) {
+					result.add(node);
+				}
+				return true;
+			}
+		});
+	}
+
+	/** Replies the user data that are selected by the given selector.
+	 * 
+	 * @param <D> is the type of the user data.
+	 * @param nodes is the iterator on the nodes that are containing the data to test.
+	 * @param selector is the selector of data.
+	 * @return the selected data, in the order of the iterator.
+	 * @throws InterruptedException if the calling thread was interrupted
+	 * during the wait of the workers.
+	 */
+	public <D> List<D> selectData(SplittableTreeIterator<? extends TreeNode<D,?>> nodes, final DataSelector<? super D> selector) throws InterruptedException {
+		return traverse(nodes, new PartTreatment<TreeNode<D,?>,D>() {
+			@Override
+			public boolean treat(TreeNode<D,?> node, List<D> result) {
+				D data;
+				for(int i=0; i<node.getUserDataCount(); ++i) {
+					data = node.getUserDataAt(i);
+					if (selector.dataCouldBeRepliedByIterator(data)) {
+						result.add(data);
+					}
+				}
+				return true;
+			}
+		});
+	}
+
+	/** Split the iterator and run the treatment on each part.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param <R> is the type of the results.
+	 * @param nodes is the iterator to split.
+	 * @param treatment is the treatment to apply on the nodes.
+	 * @return the results of the treatment, in the order of the iterator.
+	 * @throws InterruptedException
+	 */
+	private <N extends TreeNode<?,?>, R> List<R> traverse(SplittableTreeIterator<? extends N> nodes, PartTreatment<N,R> treatment) throws InterruptedException {
+		List<SplittableTreeIterator<? extends N>> parts = split(nodes, this.parallelism*PARTS_PER_WORKER);
+		int count = parts.size();
+		AtomicReferenceArray<List<R>> results = new AtomicReferenceArray<List<R>>(count);
+		AtomicInteger nextPart = new AtomicInteger();
+		AtomicBoolean stop = new AtomicBoolean(false);
+		
+		int workerCount = Math.min(this.parallelism, count);
+		List<Worker<N,R>> workers = new ArrayList<Worker<N,R>>(Math.max(0, workerCount-1));
+		List<Future<?>> futures = new ArrayList<Future<?>>(Math.max(0, workerCount-1));
+		try {
+			if (workerCount>1) {
+				ExecutorService service = getExecutorService();
+				Worker<N,R> worker;
+				for(int i=1; i<workerCount; ++i) {
+					worker = new Worker<N,R>(parts, treatment, results, nextPart, stop);
+					workers.add(worker);
+					futures.add(service.submit(worker));
+				}
+			}
+			
+			// The calling thread is also working
+			new Worker<N,R>(parts, treatment, results, nextPart, stop).run();
+			
+			// All the parts are taken. The workers that are not started
+			// yet are cancelled instead of waiting for a free thread
+			// of the executor service, which may never come.
+			for(int i=0; i<futures.size(); ++i) {
+				if (workers.get(i).tryStart()) {
+					futures.get(i).cancel(false);
+				}
+				else {
+					futures.get(i).get();
+				}
+			}
+		}
+		catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if (cause instanceof Error) throw (Error)cause;
+			throw new IllegalStateException(cause);
+		}
+		finally {
+			// Stop the workers if an error occured
+			stop.set(true);
+			for(Future<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+		
+		List<R> result = new ArrayList<R>();
+		List<R> partResult;
+		for(int i=0; i<count; ++i) {
+			partResult = results.get(i);
+			if (partResult!=null) result.addAll(partResult);
+		}
+		return result;
+	}
+
+	/** Split the given iterator into the given number of parts, if possible.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param nodes is the iterator to split.
+	 * @param count is the desired number of parts.
+	 * @return the parts, in the order of the iterator.
+	 */
+	private static <N extends TreeNode<?,?>> List<SplittableTreeIterator<? extends N>> split(SplittableTreeIterator<? extends N> nodes, int count) {
+		if (count<=1) return Collections.<SplittableTreeIterator<? extends N>>singletonList(nodes);
+		List<SplittableTreeIterator<? extends N>> parts = new ArrayList<SplittableTreeIterator<? extends N>>(count);
+		parts.add(nodes);
+		boolean changed = true;
+		SplittableTreeIterator<? extends N> part;
+		while (changed && parts.size()<count) {
+			changed = false;
+			for(int i=0; i<parts.size() && parts.size()<count; ++i) {
+				part = parts.get(i).trySplit();
+				if (part!=null) {
+					// The split part is following the source part in the iteration order
+					++i;
+					parts.add(i, part);
+					changed = true;
+				}
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * Treatment of the nodes of a part.
+	 * 
+	 * @param <N> is the type of the nodes.
+	 * @param <R> is the type of the results.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private interface PartTreatment<N,R> {
+		
+		/** Treat the given node.
+		 * 
+		 * @param node is the node to treat.
+		 * @param result is the list of results of the current part.
+		 * @return <code>true</code> if the traversal must continue,
+		 * <code>false</code> to stop it.
+		 */
+		public boolean treat(N node, List<R> result);
+		
+	} // interface PartTreatment
+
+	/**
+	 * @param <N> is the type of the nodes.
+	 * @param <R> is the type of the results.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 12.0
+	 */
+	private static class Worker<N,R> implements Runnable {
+
+		private final List<? extends SplittableTreeIterator<? extends N>> parts;
+		private final PartTreatment<N,R> treatment;
+		private final AtomicReferenceArray<List<R>> results;
+		private final AtomicInteger nextPart;
+		private final AtomicBoolean stop;
+		private final AtomicBoolean started = new AtomicBoolean(false);
+		
+		/**
+		 * @param parts
+		 * @param treatment
+		 * @param results
+		 * @param nextPart
+		 * @param stop
+		 */
+		public Worker(List<? extends SplittableTreeIterator<? extends N>> parts, PartTreatment<N,R> treatment,
+				AtomicReferenceArray<List<R>> results, AtomicInteger nextPart, AtomicBoolean stop) {
+			this.parts = parts;
+			this.treatment = treatment;
+			this.results = results;
+			this.nextPart = nextPart;
+			this.stop = stop;
+		}
+		
+		/** Mark this worker as started.
+		 * 
+		 * @return <code>true</code> if this worker was not started before,
+		 * <code>false</code> otherwise.
+		 */
+		public boolean tryStart() {
+			return this.started.compareAndSet(false, true);
+		}
+		
+		/** {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			if (!tryStart()) return;
+			int count = this.parts.size();
+			int index = this.nextPart.getAndIncrement();
+			while (index<count && !this.stop.get()) {
+				SplittableTreeIterator<? extends N> part = this.parts.get(index);
+				List<R> result = new ArrayList<R>();
+				while (part.hasNext() && !this.stop.get()) {
+					if (!this.treatment.treat(part.next(), result)) {
+						this.stop.set(true);
+					}
+				}
+				this.results.set(index, result);
+				index = this.nextPart.getAndIncrement();
+			}
+		}
+		
+	} // class Worker
+
+}
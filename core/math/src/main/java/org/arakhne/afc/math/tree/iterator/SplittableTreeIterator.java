@@ -0,0 +1,206 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.arakhne.afc.math.tree.TreeNode;
+
+/**
+ * This class is a prefixed depth-first iterator on tree nodes
+ * which may be split in several iterators on disjoint
+ * parts of the trees.
+ * <p>
+ * The iterator maintains a stack of the roots of the subtrees
+ * that are not yet visited. The splits are done at the child
+ * boundaries: the new iterator receives a part of this stack,
+ * balanced with the {@link TreeNode#getDeepNodeCount() sizes} of
+ * the subtrees. The iterators replied by {@link #trySplit()} may be
+ * consumed by different threads, provided that the trees are
+ * not changed during the iterations.
+ * <p>
+ * This iterator does not support {@link #remove()}.
+ * 
+ * @param <N> is the type of the tree nodes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see ParallelTreeTraversal
+ * @since 12.0
+ */
+public class SplittableTreeIterator<N extends TreeNode<?,?>>
+implements Iterator<N> {
+
+	/** Nodes that were already expanded by a split and
+	 * that must be replied before the subtrees in the stack.
+	 */
+	private final List<N> expandedNodes = new ArrayList<N>();
+	
+	private int expandedIndex = 0;
+	
+	/** Roots of the subtrees to iterate on.
+	 * The top of the stack is the next subtree.
+	 */
+	private Object[] subtrees;
+	
+	private int subtreeCount;
+	
+	/**
+	 * @param root is the root of the tree to iterate on.
+	 */
+	public SplittableTreeIterator(N root) {
+		this(root==null ? Collections.<N>emptyList() : Collections.singletonList(root));
+	}
+
+	/**
+	 * @param roots are the roots of the trees to iterate on,
+	 * in the order of the iteration.
+	 */
+	public SplittableTreeIterator(Collection<? extends N> roots) {
+		Object[] array = roots.toArray();
+		this.subtrees = new Object[Math.max(8, array.length)];
+		this.subtreeCount = 0;
+		for(int i=array.length-1; i>=0; --i) {
+			if (array[i]!=null) this.subtrees[this.subtreeCount++] = array[i];
+		}
+	}
+
+	/**
+	 * @param subtrees is the stack of subtrees, not copied.
+	 * @param count is the size of the stack.
+	 */
+	private SplittableTreeIterator(Object[] subtrees, int count) {
+		this.subtrees = subtrees;
+		this.subtreeCount = count;
+	}
+
+	@SuppressWarnings("unchecked")
+	private N pop() {
+		--this.subtreeCount;
+		N node = (N)this.subtrees[this.subtreeCount];
+		this.subtrees[this.subtreeCount] = null;
+		return node;
+	}
+
+	private void pushChildren(N node) {
+		Object child;
+		for(int i=node.getChildCount()-1; i>=0; --i) {
+			child = node.getChildAt(i);
+			if (child!=null) {
+				if (this.subtreeCount>=this.subtrees.length) {
+					this.subtrees = Arrays.copyOf(this.subtrees, this.subtrees.length*2);
+				}
+				this.subtrees[this.subtreeCount++] = child;
+			}
+		}
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		return this.expandedIndex<this.expandedNodes.size() || this.subtreeCount>0;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public N next() {
+		if (this.expandedIndex<this.expandedNodes.size()) {
+			N node = this.expandedNodes.get(this.expandedIndex++);
+			if (this.expandedIndex>=this.expandedNodes.size()) {
+				this.expandedNodes.clear();
+				this.expandedIndex = 0;
+			}
+			return node;
+		}
+		if (this.subtreeCount==0) throw new NoSuchElementException();
+		N current = pop();
+		pushChildren(current);
+		return current;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
+	/** Replies the number of nodes that are not yet replied
+	 * by this iterator.
+	 * 
+	 * @return the number of remaining nodes.
+	 */
+	public int getEstimatedSize() {
+		int size = this.expandedNodes.size() - this.expandedIndex;
+		for(int i=0; i<this.subtreeCount; ++i) {
+			size += ((TreeNode<?,?>)this.subtrees[i]).getDeepNodeCount();
+		}
+		return size;
+	}
+
+	/** Split this iterator.
+	 * <p>
+	 * The replied iterator covers the subtrees that follow, in the
+	 * prefixed order, the nodes that remain in this iterator. This
+	 * iterator and the replied iterator cover disjoint sets of nodes.
+	 * 
+	 * @return the iterator on the second part of the remaining nodes,
+	 * or <code>null</code> if the remaining nodes cannot be split.
+	 */
+	public SplittableTreeIterator<N> trySplit() {
+		// Expand the single subtree until at least two subtrees are available
+		while (this.subtreeCount==1) {
+			N node = pop();
+			this.expandedNodes.add(node);
+			pushChildren(node);
+		}
+		if (this.subtreeCount<2) return null;
+
+		// The bottom of the stack contains the last subtrees
+		int total = 0;
+		int[] weights = new int[this.subtreeCount];
+		for(int i=0; i<this.subtreeCount; ++i) {
+			weights[i] = ((TreeNode<?,?>)this.subtrees[i]).getDeepNodeCount();
+			total += weights[i];
+		}
+		int splitCount = 0;
+		int weight = 0;
+		while (splitCount<this.subtreeCount-1 && (splitCount==0 || weight*2<total)) {
+			weight += weights[splitCount];
+			++splitCount;
+		}
+
+		Object[] split = new Object[Math.max(8, splitCount)];
+		System.arraycopy(this.subtrees, 0, split, 0, splitCount);
+		int remaining = this.subtreeCount - splitCount;
+		System.arraycopy(this.subtrees, splitCount, this.subtrees, 0, remaining);
+		Arrays.fill(this.subtrees, remaining, this.subtreeCount, null);
+		this.subtreeCount = remaining;
+		return new SplittableTreeIterator<N>(split, splitCount);
+	}
+
+}
@@ -91,7 +91,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 	private List<D> datas;
 	
 	/** Indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	private final boolean linkedList;
 	
@@ -100,22 +100,46 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 	 * @see #getNotNullChildCount()
 	 */
 	protected int notNullChildCount = 0;
+
+	/** Indicates if the cached aggregates of the subtree are up-to-date.
+	 * The aggregates are recomputed on demand after deserialization.
+	 * This flag is volatile because the aggregates may be computed
+	 * during a concurrent reading of the tree.
+	 */
+	private transient volatile boolean aggregatesValid = false;
+
+	/** Cached count of nodes in the subtree.
+	 */
+	private transient int deepNodeCount;
+
+	/** Cached count of user data in the subtree.
+	 */
+	private transient int deepUserDataCount;
+
+	/** Cached count of leaf nodes in the subtree.
+	 */
+	private transient int leafCount;
+
+	/** Cached height of the uppest leaf in the subtree.
+	 */
+	private transient int minHeight;
+
+	/** Cached height of the lowest leaf in the subtree.
+	 */
+	private transient int maxHeight;
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public AbstractParentlessTreeNode(boolean useLinkedList) {
 		this.linkedList = useLinkedList;
-		if (this.linkedList)
-			this.datas = new LinkedList<D>();
-		else
-			this.datas = new ArrayList<D>();
+		this.datas = null;
 	}
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -128,63 +152,60 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 				this.datas = idata;
 			}
 			else {
-				if (this.linkedList)
-					this.datas = new LinkedList<D>(idata);
-				else
-					this.datas = new ArrayList<D>(idata);
+				this.datas = newDataList(idata);
 			}
 		}
 		else {
-			if (this.linkedList)
-				this.datas = new LinkedList<D>();
-			else
-				this.datas = new ArrayList<D>();
+			this.datas = null;
 		}
 	}
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param idata are the initial user data
 	 */
 	public AbstractParentlessTreeNode(boolean useLinkedList, Collection<D> idata) {
 		this.linkedList = useLinkedList;
 		if (idata != null){
-			if (this.linkedList)
-				this.datas = new LinkedList<D>(idata);
-			else
-				this.datas = new ArrayList<D>(idata);
+			this.datas = newDataList(idata);
 		}
 		else {
-			if (this.linkedList)
-				this.datas = new LinkedList<D>();
-			else
-				this.datas = new ArrayList<D>();
+			this.datas = null;
 		}
 	}
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param idata are the initial user data
 	 */
 	public AbstractParentlessTreeNode(boolean useLinkedList, D idata) {
 		this.linkedList = useLinkedList;
 		if (idata != null){
-			if (this.linkedList)
-				this.datas = new LinkedList<D>();
-			else
-				this.datas = new ArrayList<D>();
+			this.datas = newDataList(null);
 			this.datas.add(idata);
 		}
 		else {
-			if (this.linkedList)
-				this.datas = new LinkedList<D>();
-			else
-				this.datas = new ArrayList<D>();
+			this.datas = null;
 		}
 	}
 	
+	/** Create the list that is storing the user data.
+	 * The list is allocated only when the first data is added.
+	 * 
+	 * @param idata are the initial user data, or <code>null</code>.
+	 * @return the list.
+	 */
+	private List<D> newDataList(Collection<? extends D> idata) {
+		if (this.linkedList) {
+			if (idata==null) return new LinkedList<D>();
+			return new LinkedList<D>(idata);
+		}
+		if (idata==null) return new CompactDataList<D>();
+		return new CompactDataList<D>(idata);
+	}
+
 	/** Cast this node to N.
 	 * 
 	 *  @return <code>this</code>
@@ -286,10 +307,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 		if ((data==null)||(data.size()==0)) return false;
 		
 		if (this.datas==null) {
-			if (this.linkedList)
-				this.datas = new LinkedList<D>(data);
-			else
-				this.datas = new ArrayList<D>(data);
+			this.datas = newDataList(data);
 		}
 		else if (!this.datas.addAll(data))
 			return false;
@@ -306,10 +324,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 		if ((data==null)||(data.size()==0)) return false;
 
 		if (this.datas==null) {
-			if (this.linkedList)
-				this.datas = new LinkedList<D>();
-			else
-				this.datas = new ArrayList<D>();
+			this.datas = newDataList(null);
 		}
 
 		if (this.datas.addAll(index, data)) {
@@ -392,7 +407,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 			this.datas = null;
 		}
 		else {
-			this.datas = new ArrayList<D>(data);
+			this.datas = newDataList(data);
 		}
 		
 		firePropertyDataChanged(oldData,data);
@@ -425,10 +440,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 			}
 			else {
 				if (this.datas==null) {
-					if (this.linkedList)
-						this.datas = new LinkedList<D>();
-					else
-						this.datas = new ArrayList<D>();
+					this.datas = newDataList(null);
 				}
 				this.datas.add(data);
 			}
@@ -450,6 +462,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 	 * @param newData is the list of new values
 	 */
 	protected final void firePropertyDataChanged(Collection<? extends D> oldData, Collection<? extends D> newData) {
+		invalidateAggregates();
 		firePropertyDataChanged(new TreeDataEvent(this,oldData,newData,this.datas));
 	}
 
@@ -459,6 +472,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 	 * and size after change.
 	 */
 	protected final void firePropertyDataChanged(int delta) {
+		invalidateAggregates();
 		firePropertyDataChanged(new TreeDataEvent(this,delta,this.datas));
 	}
 
@@ -483,7 +497,7 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
 	@Override
 	public final void addTreeNodeListener(TreeNodeListener listener) {
 		if (this.nodeListeners==null)
-			this.nodeListeners = new ArrayList<TreeNodeListener>();
+			this.nodeListeners = new ArrayList<TreeNodeListener>(1);
 		this.nodeListeners.add(listener);
 	}
 
@@ -540,55 +554,151 @@ public abstract class AbstractParentlessTreeNode<D,N extends AbstractParentlessT
     	return o.hashCode() - hashCode(); 
     }
     
+	/** Mark the cached aggregates of this node and of its
+	 * ancestors as invalid. The aggregates will be recomputed
+	 * from the children on the next query.
+	 * <p>
+	 * This function is invoked before the events on a structural
+	 * or data change are fired, so that only the nodes on the path
+	 * from the modified node to the root must be recomputed,
+	 * and the listeners are always replied up-to-date values.
+	 * 
+	 * @since 12.0
+	 */
+	protected final void invalidateAggregates() {
+		AbstractParentlessTreeNode<D,N> node = this;
+		while (node!=null) {
+			node.aggregatesValid = false;
+			node = node.getParentNode();
+		}
+	}
+
+	/** Ensure that the cached aggregates of this node are up-to-date.
+	 * The aggregates of the children are assumed to be
+	 * valid or to be recomputed on demand.
+	 */
+	private void ensureAggregates() {
+		if (!this.aggregatesValid) {
+			int nodes = 1;
+			int data = getUserDataCount();
+			int leaves = 0;
+			for(int index=0; index<getChildCount(); ++index) {
+				N child = getChildAt(index);
+				if (child!=null) {
+					nodes += child.getDeepNodeCount();
+					data += child.getDeepUserDataCount();
+					leaves += child.getLeafCount();
+				}
+			}
+			this.deepNodeCount = nodes;
+			this.deepUserDataCount = data;
+			this.leafCount = isLeaf() ? 1 : leaves;
+			this.minHeight = computeMinHeight();
+			this.maxHeight = computeMaxHeight();
+			this.aggregatesValid = true;
+		}
+	}
+
 	/** {@inheritDoc}
 	 */
 	@Override
 	public int getDeepNodeCount() {
-		int count = 1;
-		for(int index=0; index<getChildCount(); ++index) {
-			N child = getChildAt(index);
-			if (child!=null)
-				count += child.getDeepNodeCount();
-		}
-		return count;
+		ensureAggregates();
+		return this.deepNodeCount;
 	}
 	
 	/** {@inheritDoc}
 	 */
 	@Override
 	public int getDeepUserDataCount() {
-		int count = getUserDataCount();
-		for(int index=0; index<getChildCount(); ++index) {
-			N child = getChildAt(index);
-			if (child!=null)
-				count += child.getDeepUserDataCount();
-		}
-		return count;
+		ensureAggregates();
+		return this.deepUserDataCount;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int getMinHeight() {
+		ensureAggregates();
+		return this.minHeight;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int getMaxHeight() {
+		ensureAggregates();
+		return this.maxHeight;
+	}
+
+	/** Replies the number of leaf nodes in the subtree
+	 * rooted at this node, ie. the number of heights
+	 * replied by {@link #getHeights()}.
+	 * 
+	 * @return the number of leaf nodes, at least <code>1</code>.
+	 * @since 12.0
+	 */
+	public int getLeafCount() {
+		ensureAggregates();
+		return this.leafCount;
 	}
 
+	/** Compute the minimal height of the subtree rooted at this node
+	 * from the heights of the children.
+	 * This function is invoked only when the cached aggregates
+	 * are invalid.
+	 * 
+	 * @return the height of the uppest leaf in the subtree.
+	 * @since 12.0
+	 */
+	protected abstract int computeMinHeight();
+
+	/** Compute the maximal height of the subtree rooted at this node
+	 * from the heights of the children.
+	 * This function is invoked only when the cached aggregates
+	 * are invalid.
+	 * 
+	 * @return the height of the lowest leaf in the subtree.
+	 * @since 12.0
+	 */
+	protected abstract int computeMaxHeight();
+
 	/** {@inheritDoc}
 	 */
 	@Override
 	public final int[] getHeights() {
-		List<Integer> list = new ArrayList<Integer>();
-		getHeights(1, list);
-		int[] heights = new int[list.size()];
-		int idx = 0;
-		for(Integer intObject : list) {
-			heights[idx] = intObject.intValue();
-			++idx;
-		}
-		list.clear();
+		int[] heights = new int[getLeafCount()];
+		getHeights(1, heights, 0);
 		return heights;
 	}
 
+	/** Replies the heights of all the leaf nodes in the given array.
+	 * The order of the heights is given by a depth-first iteration.
+	 * <p>
+	 * This function does not allocate any object.
+	 * 
+	 * @param heights is the array to fill. Its size must be
+	 * at least {@link #getLeafCount()}.
+	 * @return the number of heights put in the array.
+	 * @throws IndexOutOfBoundsException if the array is too small.
+	 * @since 12.0
+	 */
+	public final int getHeights(int[] heights) {
+		int count = getLeafCount();
+		if (heights.length<count) throw new IndexOutOfBoundsException();
+		getHeights(1, heights, 0);
+		return count;
+	}
+
 	/** Replies the heights of all the leaf nodes.
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
-	protected abstract void getHeights(int currentHeight, List<Integer> heights);
+	protected abstract int getHeights(int currentHeight, int[] heights, int offset);
 	
 	/**
 	 * This collection permits to store the data of a tree node
@@ -51,7 +51,7 @@ public abstract class AbstractTreeNode<D,N extends AbstractTreeNode<D,N>> extend
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public AbstractTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -60,7 +60,7 @@ public abstract class AbstractTreeNode<D,N extends AbstractTreeNode<D,N>> extend
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -73,7 +73,7 @@ public abstract class AbstractTreeNode<D,N extends AbstractTreeNode<D,N>> extend
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial user data.
 	 */
 	public AbstractTreeNode(boolean useLinkedList, Collection<D> data) {
@@ -83,7 +83,7 @@ public abstract class AbstractTreeNode<D,N extends AbstractTreeNode<D,N>> extend
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial user data.
 	 */
 	public AbstractTreeNode(boolean useLinkedList, D data) {
@@ -179,6 +179,7 @@ public abstract class AbstractTreeNode<D,N extends AbstractTreeNode<D,N>> extend
 	 * @param newChild is the child that was added.
 	 */
 	protected final void firePropertyChildAdded(int childIndex, N newChild) {
+		invalidateAggregates();
 		firePropertyChildAdded(new TreeNodeAddedEvent(toN(),childIndex, newChild));		
 	}
 
@@ -207,6 +208,7 @@ public abstract class AbstractTreeNode<D,N extends AbstractTreeNode<D,N>> extend
 	 * @param oldChild is the child that was removed.
 	 */
 	protected final void firePropertyChildRemoved(int childIndex, N oldChild) {
+		invalidateAggregates();
 		firePropertyChildRemoved(new TreeNodeRemovedEvent(toN(),childIndex, oldChild));		
 	}
 
@@ -73,7 +73,7 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public BinaryTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -83,7 +83,7 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -97,7 +97,7 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial data.
 	 */
 	public BinaryTreeNode(boolean useLinkedList, D data) {
@@ -207,7 +207,6 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(0, oldChild);
 		}
 		
 		if (newChild!=null) {
@@ -218,6 +217,10 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 		}
 
 		this.left = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(0, oldChild);
+		}
 		
 		if (newChild!=null) {
 			++this.notNullChildCount;
@@ -248,7 +251,6 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(1, oldChild);
 		}
 		
 		if (newChild!=null) {
@@ -260,6 +262,10 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 
 		this.right = newChild;
 
+		if (oldChild!=null) {
+			firePropertyChildRemoved(1, oldChild);
+		}
+
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
 			++this.notNullChildCount;
@@ -384,7 +390,7 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		return 1+Math.min(
 				this.left!=null ? this.left.getMinHeight() : 0,
 				this.right!=null ? this.right.getMinHeight() : 0);
@@ -393,7 +399,7 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		return 1+Math.max(
 				this.left!=null ? this.left.getMaxHeight() : 0,
 				this.right!=null ? this.right.getMaxHeight() : 0);
@@ -403,17 +409,20 @@ public abstract class BinaryTreeNode<D,N extends BinaryTreeNode<D,N>> extends Ab
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
-		}
-		else {
-			if (this.left!=null) this.left.getHeights(currentHeight+1, heights);
-			if (this.right!=null) this.right.getHeights(currentHeight+1, heights);
+			heights[offset] = currentHeight;
+			return offset+1;
 		}
+		int idx = offset;
+		if (this.left!=null) idx = this.left.getHeights(currentHeight+1, heights, idx);
+		if (this.right!=null) idx = this.right.getHeights(currentHeight+1, heights, idx);
+		return idx;
 	}
 
 	/**
@@ -0,0 +1,162 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.node;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * This is the list which is storing the user data of the
+ * tree nodes when no linked list is used.
+ * <p>
+ * A single data is stored inline, without any array.
+ * A plain array is allocated when a second data is added,
+ * and it is released when only one data remains.
+ * Contrary to {@link java.util.ArrayList}, no array is
+ * allocated in advance.
+ * 
+ * @param <D> is the type of the data.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 12.0
+ */
+class CompactDataList<D> extends AbstractList<D> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = -6146287853003427416L;
+
+	/** The single data if {@link #size} is <code>1</code>,
+	 * or the array of the data if {@link #size} is greater than <code>1</code>.
+	 */
+	private Object data = null;
+	
+	private int size = 0;
+	
+	/**
+	 */
+	public CompactDataList() {
+		//
+	}
+
+	/**
+	 * @param data are the initial data.
+	 */
+	public CompactDataList(Collection<? extends D> data) {
+		Object[] array = data.toArray();
+		this.size = array.length;
+		if (this.size==1) {
+			this.data = array[0];
+		}
+		else if (this.size>1) {
+			// toArray() may not reply an Object[] (see Java bug 6260652)
+			if (array.getClass()!=Object[].class)
+				array = Arrays.copyOf(array, array.length, Object[].class);
+			this.data = array;
+		}
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public D get(int index) {
+		if (index<0 || index>=this.size) throw new IndexOutOfBoundsException();
+		if (this.size==1) return (D)this.data;
+		return (D)((Object[])this.data)[index];
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public D set(int index, D element) {
+		D old = get(index);
+		if (this.size==1) this.data = element;
+		else ((Object[])this.data)[index] = element;
+		return old;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void add(int index, D element) {
+		if (index<0 || index>this.size) throw new IndexOutOfBoundsException();
+		++this.modCount;
+		if (this.size==0) {
+			this.data = element;
+		}
+		else {
+			Object[] array;
+			if (this.size==1) {
+				array = new Object[2];
+				array[0] = this.data;
+			}
+			else {
+				array = (Object[])this.data;
+				if (this.size>=array.length) {
+					array = Arrays.copyOf(array, array.length + (array.length>>1) + 1);
+				}
+			}
+			System.arraycopy(array, index, array, index+1, this.size-index);
+			array[index] = element;
+			this.data = array;
+		}
+		++this.size;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public D remove(int index) {
+		D old = get(index);
+		++this.modCount;
+		--this.size;
+		if (this.size==0) {
+			this.data = null;
+		}
+		else {
+			Object[] array = (Object[])this.data;
+			System.arraycopy(array, index+1, array, index, this.size-index);
+			array[this.size] = null;
+			if (this.size==1) {
+				this.data = array[0];
+			}
+		}
+		return old;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		++this.modCount;
+		this.data = null;
+		this.size = 0;
+	}
+
+}
@@ -82,7 +82,7 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 	/**
 	 * @param childCount is the constant count of child
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public ConstantNaryTreeNode(int childCount, boolean useLinkedList) {
 		super(useLinkedList);
@@ -92,7 +92,7 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 	/**
 	 * @param childCount is the constant count of child
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -106,7 +106,7 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 	/**
 	 * @param childCount is the constant count of child
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial user data
 	 */
 	public ConstantNaryTreeNode(int childCount, boolean useLinkedList, D data) {
@@ -221,7 +221,6 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(index, oldChild);
 		}
 		
 		if (newChild!=null) {
@@ -233,6 +232,10 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 
 		// set the element
 		this.children[index] = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(index, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);		
@@ -292,7 +295,7 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		int min = Integer.MAX_VALUE;
 		boolean set = false;
 		for(N child : this.children) {
@@ -312,7 +315,7 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		int max = Integer.MIN_VALUE;
 		boolean set = false;
 		for(N child : this.children) {
@@ -333,18 +336,21 @@ public abstract class ConstantNaryTreeNode<D,N extends ConstantNaryTreeNode<D,N>
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
+			heights[offset] = currentHeight;
+			return offset+1;
 		}
-		else {
-			for(N child : this.children) {
-				if (child!=null) child.getHeights(currentHeight+1, heights);
-			}
+		int idx = offset;
+		for(N child : this.children) {
+			if (child!=null) idx = child.getHeights(currentHeight+1, heights, idx);
 		}
+		return idx;
 	}
 
 	/**
@@ -76,7 +76,7 @@ implements IcosepTreeNodeContainer<N> {
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public IcosepQuadTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -85,7 +85,7 @@ implements IcosepTreeNodeContainer<N> {
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -98,7 +98,7 @@ implements IcosepTreeNodeContainer<N> {
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial user data
 	 */
 	public IcosepQuadTreeNode(boolean useLinkedList, D data) {
@@ -183,7 +183,6 @@ implements IcosepTreeNodeContainer<N> {
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(IcosepQuadTreeZone.ICOSEP.ordinal(), oldChild);
 		}
 
 		if (newChild!=null) {
@@ -194,6 +193,10 @@ implements IcosepTreeNodeContainer<N> {
 		}
 
 		this.nIcosep = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(IcosepQuadTreeZone.ICOSEP.ordinal(), oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -277,25 +280,21 @@ implements IcosepTreeNodeContainer<N> {
 		}
 	}
 
-	/** Replies the minimal height of the tree.
-	 * 
-	 * @return the height of the uppest leaf in the tree.
+	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		return Math.min(
-				super.getMinHeight(),
+				super.computeMinHeight(),
 				1+(this.nIcosep!=null ? this.nIcosep.getMinHeight() : 0));
 	}
 
-	/** Replies the maximal height of the tree.
-	 * 
-	 * @return the height of the lowest leaf in the tree.
+	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		return Math.max(
-				super.getMaxHeight(),
+				super.computeMaxHeight(),
 				1+(this.nIcosep!=null ? this.nIcosep.getMaxHeight() : 0));
 	}
 
@@ -303,12 +302,15 @@ implements IcosepTreeNodeContainer<N> {
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
-		super.getHeights(currentHeight, heights);
-		if (this.nIcosep!=null) this.nIcosep.getHeights(currentHeight+1, heights);
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
+		int idx = super.getHeights(currentHeight, heights, offset);
+		if (this.nIcosep!=null) idx = this.nIcosep.getHeights(currentHeight+1, heights, idx);
+		return idx;
 	}
 
 	/**
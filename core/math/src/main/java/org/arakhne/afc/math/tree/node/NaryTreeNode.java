@@ -79,7 +79,7 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public NaryTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -88,7 +88,7 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -101,7 +101,7 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial user data
 	 */
 	public NaryTreeNode(boolean useLinkedList, D data) {
@@ -242,7 +242,6 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(index, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -262,6 +261,10 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 			if (this.children==null) this.children = newInternalList(index+1);
 			this.children.add(newChild);
 		}
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(index, oldChild);
+		}
 				
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);		
@@ -383,7 +386,7 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		int min = Integer.MAX_VALUE;
 		boolean set = false;
 		if (this.children!=null) {
@@ -405,7 +408,7 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		int max = Integer.MIN_VALUE;
 		boolean set = false;
 		if (this.children!=null) {
@@ -428,18 +431,21 @@ public abstract class NaryTreeNode<D,N extends NaryTreeNode<D,N>> extends Abstra
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
+			heights[offset] = currentHeight;
+			return offset+1;
 		}
-		else {
-			for(N child : this.children) {
-				if (child!=null) child.getHeights(currentHeight+1, heights);
-			}
+		int idx = offset;
+		for(N child : this.children) {
+			if (child!=null) idx = child.getHeights(currentHeight+1, heights, idx);
 		}
+		return idx;
 	}
 
 	/**
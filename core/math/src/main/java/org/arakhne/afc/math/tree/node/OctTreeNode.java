@@ -85,7 +85,7 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public OctTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -101,7 +101,7 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -121,7 +121,7 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are the initial user data
 	 */
 	public OctTreeNode(boolean useLinkedList, D data) {
@@ -438,12 +438,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild1(N newChild) {
-		if (this.child1==newChild) return false;
+		N oldChild = this.child1;
+		if (oldChild==newChild) return false;
 
-		if (this.child1!=null) {
-			this.child1.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(0, this.child1);
 		}
 
 		if (newChild!=null) {
@@ -454,6 +454,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child1 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(0, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -471,12 +475,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild2(N newChild) {
-		if (this.child2==newChild) return false;
+		N oldChild = this.child2;
+		if (oldChild==newChild) return false;
 
-		if (this.child2!=null) {
-			this.child2.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(1, this.child2);
 		}
 
 		if (newChild!=null) {
@@ -487,6 +491,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child2 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(1, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -504,12 +512,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild3(N newChild) {
-		if (this.child3==newChild) return false;
+		N oldChild = this.child3;
+		if (oldChild==newChild) return false;
 
-		if (this.child3!=null) {
-			this.child3.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(2, this.child3);
 		}
 
 		if (newChild!=null) {
@@ -520,6 +528,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child3 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(2, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -537,12 +549,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild4(N newChild) {
-		if (this.child4==newChild) return false;
+		N oldChild = this.child4;
+		if (oldChild==newChild) return false;
 
-		if (this.child4!=null) {
-			this.child4.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(3, this.child4);
 		}
 
 		if (newChild!=null) {
@@ -553,6 +565,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child4 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(3, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -570,12 +586,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild5(N newChild) {
-		if (this.child5==newChild) return false;
+		N oldChild = this.child5;
+		if (oldChild==newChild) return false;
 
-		if (this.child5!=null) {
-			this.child5.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(4, this.child5);
 		}
 
 		if (newChild!=null) {
@@ -586,6 +602,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child5 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(4, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -603,12 +623,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild6(N newChild) {
-		if (this.child6==newChild) return false;
+		N oldChild = this.child6;
+		if (oldChild==newChild) return false;
 
-		if (this.child6!=null) {
-			this.child6.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(5, this.child5);
 		}
 
 		if (newChild!=null) {
@@ -619,6 +639,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child6 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(5, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -636,12 +660,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild7(N newChild) {
-		if (this.child7==newChild) return false;
+		N oldChild = this.child7;
+		if (oldChild==newChild) return false;
 
-		if (this.child7!=null) {
-			this.child7.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(6, this.child7);
 		}
 
 		if (newChild!=null) {
@@ -652,6 +676,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child7 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(6, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -669,12 +697,12 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild8(N newChild) {
-		if (this.child8==newChild) return false;
+		N oldChild = this.child8;
+		if (oldChild==newChild) return false;
 
-		if (this.child8!=null) {
-			this.child8.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(7, this.child8);
 		}
 
 		if (newChild!=null) {
@@ -685,6 +713,10 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 		}
 
 		this.child8 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(7, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -750,7 +782,7 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		return 1+minInteger(
 				this.child1!=null ? this.child1.getMinHeight() : 0,
 				this.child2!=null ? this.child2.getMinHeight() : 0,
@@ -765,7 +797,7 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		return 1+maxInteger(
 				this.child1!=null ? this.child1.getMaxHeight() : 0,
 				this.child2!=null ? this.child2.getMaxHeight() : 0,
@@ -781,23 +813,26 @@ public abstract class OctTreeNode<D,N extends OctTreeNode<D,N>> extends Abstract
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
-		}
-		else {
-			if (this.child1!=null) this.child1.getHeights(currentHeight+1, heights);
-			if (this.child2!=null) this.child2.getHeights(currentHeight+1, heights);
-			if (this.child3!=null) this.child3.getHeights(currentHeight+1, heights);
-			if (this.child4!=null) this.child4.getHeights(currentHeight+1, heights);
-			if (this.child5!=null) this.child5.getHeights(currentHeight+1, heights);
-			if (this.child6!=null) this.child6.getHeights(currentHeight+1, heights);
-			if (this.child7!=null) this.child7.getHeights(currentHeight+1, heights);
-			if (this.child8!=null) this.child8.getHeights(currentHeight+1, heights);
-		}
+			heights[offset] = currentHeight;
+			return offset+1;
+		}
+		int idx = offset;
+		if (this.child1!=null) idx = this.child1.getHeights(currentHeight+1, heights, idx);
+		if (this.child2!=null) idx = this.child2.getHeights(currentHeight+1, heights, idx);
+		if (this.child3!=null) idx = this.child3.getHeights(currentHeight+1, heights, idx);
+		if (this.child4!=null) idx = this.child4.getHeights(currentHeight+1, heights, idx);
+		if (this.child5!=null) idx = this.child5.getHeights(currentHeight+1, heights, idx);
+		if (this.child6!=null) idx = this.child6.getHeights(currentHeight+1, heights, idx);
+		if (this.child7!=null) idx = this.child7.getHeights(currentHeight+1, heights, idx);
+		if (this.child8!=null) idx = this.child8.getHeights(currentHeight+1, heights, idx);
+		return idx;
 	}
 
 	/**
@@ -79,7 +79,7 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public PentaTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -92,7 +92,7 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -109,7 +109,7 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are initial user data
 	 */
 	public PentaTreeNode(boolean useLinkedList, D data) {
@@ -232,12 +232,12 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild1(N newChild) {
-		if (this.child1==newChild) return false;
+		N oldChild = this.child1;
+		if (oldChild==newChild) return false;
 
-		if (this.child1!=null) {
-			this.child1.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(0, this.child1);
 		}
 
 		if (newChild!=null) {
@@ -248,6 +248,10 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 		}
 
 		this.child1 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(0, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -265,12 +269,12 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild2(N newChild) {
-		if (this.child2==newChild) return false;
+		N oldChild = this.child2;
+		if (oldChild==newChild) return false;
 
-		if (this.child2!=null) {
-			this.child2.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(1, this.child2);
 		}
 
 		if (newChild!=null) {
@@ -281,6 +285,10 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 		}
 
 		this.child2 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(1, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -298,12 +306,12 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild3(N newChild) {
-		if (this.child3==newChild) return false;
+		N oldChild = this.child3;
+		if (oldChild==newChild) return false;
 
-		if (this.child3!=null) {
-			this.child3.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(2, this.child3);
 		}
 
 		if (newChild!=null) {
@@ -314,6 +322,10 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 		}
 
 		this.child3 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(2, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -331,12 +343,12 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild4(N newChild) {
-		if (this.child4==newChild) return false;
+		N oldChild = this.child4;
+		if (oldChild==newChild) return false;
 
-		if (this.child4!=null) {
-			this.child4.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(3, this.child4);
 		}
 
 		if (newChild!=null) {
@@ -347,6 +359,10 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 		}
 
 		this.child4 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(3, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -364,12 +380,12 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	 * @return <code>true</code> on success, otherwise <code>false</code>
 	 */
 	private boolean setChild5(N newChild) {
-		if (this.child5==newChild) return false;
+		N oldChild = this.child5;
+		if (oldChild==newChild) return false;
 
-		if (this.child5!=null) {
-			this.child5.setParentNodeReference(null, true);
+		if (oldChild!=null) {
+			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(4, this.child5);
 		}
 
 		if (newChild!=null) {
@@ -380,6 +396,10 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 		}
 
 		this.child5 = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(4, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -515,7 +535,7 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		return 1+minInteger(
 				this.child1!=null ? this.child1.getMinHeight() : 0,
 				this.child2!=null ? this.child2.getMinHeight() : 0,
@@ -527,7 +547,7 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		return 1+maxInteger(
 				this.child1!=null ? this.child1.getMaxHeight() : 0,
 				this.child2!=null ? this.child2.getMaxHeight() : 0,
@@ -540,20 +560,23 @@ public abstract class PentaTreeNode<D,N extends PentaTreeNode<D,N>> extends Abst
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
-		}
-		else {
-			if (this.child1!=null) this.child1.getHeights(currentHeight+1, heights);
-			if (this.child2!=null) this.child2.getHeights(currentHeight+1, heights);
-			if (this.child3!=null) this.child3.getHeights(currentHeight+1, heights);
-			if (this.child4!=null) this.child4.getHeights(currentHeight+1, heights);
-			if (this.child5!=null) this.child5.getHeights(currentHeight+1, heights);
+			heights[offset] = currentHeight;
+			return offset+1;
 		}
+		int idx = offset;
+		if (this.child1!=null) idx = this.child1.getHeights(currentHeight+1, heights, idx);
+		if (this.child2!=null) idx = this.child2.getHeights(currentHeight+1, heights, idx);
+		if (this.child3!=null) idx = this.child3.getHeights(currentHeight+1, heights, idx);
+		if (this.child4!=null) idx = this.child4.getHeights(currentHeight+1, heights, idx);
+		if (this.child5!=null) idx = this.child5.getHeights(currentHeight+1, heights, idx);
+		return idx;
 	}
 
 	/**
@@ -77,7 +77,7 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public QuadTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -89,7 +89,7 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 	
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -105,7 +105,7 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data are initial user data
 	 */
 	public QuadTreeNode(boolean useLinkedList, D data) {
@@ -230,7 +230,6 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(0, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -241,6 +240,10 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		}
 
 		this.nNorthWest = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(0, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -271,7 +274,6 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(1, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -282,6 +284,10 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		}
 
 		this.nNorthEast = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(1, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -312,7 +318,6 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(2, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -323,6 +328,10 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		}
 
 		this.nSouthWest = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(2, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -353,7 +362,6 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(3, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -364,6 +372,10 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 		}
 
 		this.nSouthEast = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(3, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -532,7 +544,7 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		return 1+minInteger(
 				this.nNorthWest!=null ? this.nNorthWest.getMinHeight() : 0,
 				this.nNorthEast!=null ? this.nNorthEast.getMinHeight() : 0,
@@ -543,7 +555,7 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		return 1+maxInteger(
 				this.nNorthWest!=null ? this.nNorthWest.getMaxHeight() : 0,
 				this.nNorthEast!=null ? this.nNorthEast.getMaxHeight() : 0,
@@ -555,19 +567,22 @@ public abstract class QuadTreeNode<D,N extends QuadTreeNode<D,N>> extends Abstra
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
-		}
-		else {
-			if (this.nNorthWest!=null) this.nNorthWest.getHeights(currentHeight+1, heights);
-			if (this.nNorthEast!=null) this.nNorthEast.getHeights(currentHeight+1, heights);
-			if (this.nSouthWest!=null) this.nSouthWest.getHeights(currentHeight+1, heights);
-			if (this.nSouthEast!=null) this.nSouthEast.getHeights(currentHeight+1, heights);
+			heights[offset] = currentHeight;
+			return offset+1;
 		}
+		int idx = offset;
+		if (this.nNorthWest!=null) idx = this.nNorthWest.getHeights(currentHeight+1, heights, idx);
+		if (this.nNorthEast!=null) idx = this.nNorthEast.getHeights(currentHeight+1, heights, idx);
+		if (this.nSouthWest!=null) idx = this.nSouthWest.getHeights(currentHeight+1, heights, idx);
+		if (this.nSouthEast!=null) idx = this.nSouthEast.getHeights(currentHeight+1, heights, idx);
+		return idx;
 	}
 
 	/**
@@ -0,0 +1,365 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.node;
+
+import org.arakhne.afc.math.geometry.ClassifierUtil;
+import org.arakhne.afc.math.geometry.IntersectionClassifier3D;
+import org.arakhne.afc.math.geometry.IntersectionType;
+import org.arakhne.afc.math.geometry.IntersectionUtil;
+import org.arakhne.afc.math.geometry3d.continuous.AxisAlignedBox;
+import org.arakhne.afc.math.geometry3d.continuous.PlanarClassificationType;
+import org.arakhne.afc.math.geometry3d.continuous.Plane;
+import org.arakhne.afc.math.geometry3d.continuous.Point3f;
+import org.arakhne.afc.math.geometry3d.continuous.Vector3f;
+
+
+/**
+ * This is the node of a spatial octree.
+ * <p>
+ * Each node is covering an axis-aligned box. The eight
+ * children are covering the eight voxels of this box,
+ * and the icosep child is covering the same box as this node.
+ * The icosep child contains the objects that are intersecting
+ * the split planes of this node.
+ * <p>
+ * The zones are following the voxel naming of {@link AxisAlignedBox}:
+ * north is the upper z, west is the upper y, and front is the lower x.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see org.arakhne.afc.math.tree.SpatialOctTree
+ * @since 12.0
+ */
+public class SpatialOctTreeNode<D extends AxisAlignedBox>
+extends IcosepOctTreeNode<D,SpatialOctTreeNode<D>>
+implements IntersectionClassifier3D<SpatialOctTreeNode<D>> {
+
+	private static final long serialVersionUID = -1566282870416263218L;
+
+	private final float lowerx;
+	private final float lowery;
+	private final float lowerz;
+	private final float upperx;
+	private final float uppery;
+	private final float upperz;
+	
+	/**
+	 * @param lowerx is the X coordinate of the lowest point of the node's box.
+	 * @param lowery is the Y coordinate of the lowest point of the node's box.
+	 * @param lowerz is the Z coordinate of the lowest point of the node's box.
+	 * @param upperx is the X coordinate of the uppermost point of the node's box.
+	 * @param uppery is the Y coordinate of the uppermost point of the node's box.
+	 * @param upperz is the Z coordinate of the uppermost point of the node's box.
+	 */
+	public SpatialOctTreeNode(float lowerx, float lowery, float lowerz, float upperx, float uppery, float upperz) {
+		super(false);
+		assert(lowerx<=upperx);
+		assert(lowery<=uppery);
+		assert(lowerz<=upperz);
+		this.lowerx = lowerx;
+		this.lowery = lowery;
+		this.lowerz = lowerz;
+		this.upperx = upperx;
+		this.uppery = uppery;
+		this.upperz = upperz;
+	}
+
+	/** Replies the box covered by this node.
+	 * 
+	 * @return a copy of the bounds of this node.
+	 */
+	public AxisAlignedBox getBounds() {
+		return new AxisAlignedBox(
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+	
+	/** Replies the X coordinate of the lowest point of the node's box.
+	 * 
+	 * @return the lower x.
+	 */
+	public float getLowerX() {
+		return this.lowerx;
+	}
+
+	/** Replies the Y coordinate of the lowest point of the node's box.
+	 * 
+	 * @return the lower y.
+	 */
+	public float getLowerY() {
+		return this.lowery;
+	}
+
+	/** Replies the Z coordinate of the lowest point of the node's box.
+	 * 
+	 * @return the lower z.
+	 */
+	public float getLowerZ() {
+		return this.lowerz;
+	}
+
+	/** Replies the X coordinate of the uppermost point of the node's box.
+	 * 
+	 * @return the upper x.
+	 */
+	public float getUpperX() {
+		return this.upperx;
+	}
+
+	/** Replies the Y coordinate of the uppermost point of the node's box.
+	 * 
+	 * @return the upper y.
+	 */
+	public float getUpperY() {
+		return this.uppery;
+	}
+
+	/** Replies the Z coordinate of the uppermost point of the node's box.
+	 * 
+	 * @return the upper z.
+	 */
+	public float getUpperZ() {
+		return this.upperz;
+	}
+
+	/** Replies if this node is the icosep child of its parent.
+	 * 
+	 * @return <code>true</code> if this node is an icosep node.
+	 */
+	public boolean isIcosepNode() {
+		SpatialOctTreeNode<D> parent = getParentNode();
+		return parent!=null && parent.getIcosepChild()==this;
+	}
+
+	/** Replies if the given box is entirely inside the box of this node.
+	 * 
+	 * @param lx
+	 * @param ly
+	 * @param lz
+	 * @param ux
+	 * @param uy
+	 * @param uz
+	 * @return <code>true</code> if the box is inside the node.
+	 */
+	public boolean contains(float lx, float ly, float lz, float ux, float uy, float uz) {
+		return lx>=this.lowerx && ux<=this.upperx
+				&& ly>=this.lowery && uy<=this.uppery
+				&& lz>=this.lowerz && uz<=this.upperz;
+	}
+
+	/** Replies the zone in which the given box should be stored.
+	 * The box is assumed to be inside the box of this node.
+	 * 
+	 * @param lx
+	 * @param ly
+	 * @param lz
+	 * @param ux
+	 * @param uy
+	 * @param uz
+	 * @return the zone of the box; {@link IcosepOctTreeZone#ICOSEP}
+	 * if the box is intersecting the split planes.
+	 */
+	public IcosepOctTreeZone getZoneFor(float lx, float ly, float lz, float ux, float uy, float uz) {
+		float cx = (this.lowerx+this.upperx)/2f;
+		float cy = (this.lowery+this.uppery)/2f;
+		float cz = (this.lowerz+this.upperz)/2f;
+		// The zones are ordered so that the bit 0 is the back side (upper x),
+		// the bit 1 is the east side (lower y) and the bit 2 is the south
+		// side (lower z).
+		int index = 0;
+		if (lx>=cx) index |= 1;
+		else if (ux>cx) return IcosepOctTreeZone.ICOSEP;
+		if (uy<=cy) index |= 2;
+		else if (ly<cy) return IcosepOctTreeZone.ICOSEP;
+		if (uz<=cz) index |= 4;
+		else if (lz<cz) return IcosepOctTreeZone.ICOSEP;
+		return IcosepOctTreeZone.fromInteger(index);
+	}
+
+	/** Replies the child at the given zone, and create it
+	 * if it does not exist.
+	 * 
+	 * @param zone
+	 * @return the child.
+	 */
+	public SpatialOctTreeNode<D> getOrCreateChild(IcosepOctTreeZone zone) {
+		SpatialOctTreeNode<D> child = getChildAt(zone);
+		if (child==null) {
+			if (zone==IcosepOctTreeZone.ICOSEP) {
+				child = new SpatialOctTreeNode<D>(
+						this.lowerx, this.lowery, this.lowerz,
+						this.upperx, this.uppery, this.upperz);
+				setIcosepChild(child);
+			}
+			else {
+				float cx = (this.lowerx+this.upperx)/2f;
+				float cy = (this.lowery+this.uppery)/2f;
+				float cz = (this.lowerz+this.upperz)/2f;
+				int index = zone.ordinal();
+				boolean back = (index & 1)!=0;
+				boolean east = (index & 2)!=0;
+				boolean south = (index & 4)!=0;
+				child = new SpatialOctTreeNode<D>(
+						back ? cx : this.lowerx,
+						east ? this.lowery : cy,
+						south ? this.lowerz : cz,
+						back ? this.upperx : cx,
+						east ? cy : this.uppery,
+						south ? cz : this.upperz);
+				setChildAt(zone.toOctTreeZone().ordinal(), child);
+			}
+		}
+		return child;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public IntersectionType classifies(SpatialOctTreeNode<D> box) {
+		return ClassifierUtil.classifiesAlignedBoxes(
+				box.lowerx, box.lowery, box.lowerz,
+				box.upperx, box.uppery, box.upperz,
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean intersects(SpatialOctTreeNode<D> box) {
+		return IntersectionUtil.intersectsAlignedBoxes(
+				box.lowerx, box.lowery, box.lowerz,
+				box.upperx, box.uppery, box.upperz,
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public IntersectionType classifies(Point3f p) {
+		return intersects(p) ? IntersectionType.INSIDE : IntersectionType.OUTSIDE;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean intersects(Point3f p) {
+		return this.lowerx<=p.getX() && p.getX()<=this.upperx
+				&& this.lowery<=p.getY() && p.getY()<=this.uppery
+				&& this.lowerz<=p.getZ() && p.getZ()<=this.upperz;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public IntersectionType classifies(Point3f l, Point3f u) {
+		return ClassifierUtil.classifiesAlignedBoxes(
+				l.getX(), l.getY(), l.getZ(),
+				u.getX(), u.getY(), u.getZ(),
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean intersects(Point3f l, Point3f u) {
+		return IntersectionUtil.intersectsAlignedBoxes(
+				l.getX(), l.getY(), l.getZ(),
+				u.getX(), u.getY(), u.getZ(),
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public IntersectionType classifies(Point3f c, float r) {
+		return ClassifierUtil.classifiesSolidSphereSolidAlignedBox(
+				c.getX(), c.getY(), c.getZ(), r,
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean intersects(Point3f c, float r) {
+		return IntersectionUtil.intersectsSolidSphereSolidAlignedBox(
+				c.getX(), c.getY(), c.getZ(), r,
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public IntersectionType classifies(Plane plane) {
+		return (classifiesAgainst(plane)==PlanarClassificationType.COINCIDENT)
+			? IntersectionType.SPANNING : IntersectionType.OUTSIDE;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public PlanarClassificationType classifiesAgainst(Plane plane) {
+		return plane.classifies(
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz);
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean intersects(Plane plane) {
+		return classifiesAgainst(plane)==PlanarClassificationType.COINCIDENT;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public IntersectionType classifies(Point3f center, Vector3f[] axis, float[] extent) {
+		return ClassifierUtil.classifiesAlignedBoxOrientedBox(
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz,
+				center.getX(), center.getY(), center.getZ(),
+				axis[0].getX(), axis[0].getY(), axis[0].getZ(),
+				axis[1].getX(), axis[1].getY(), axis[1].getZ(),
+				axis[2].getX(), axis[2].getY(), axis[2].getZ(),
+				extent[0], extent[1], extent[2]).invert();
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public boolean intersects(Point3f center, Vector3f[] axis, float[] extent) {
+		return IntersectionUtil.intersectsAlignedBoxOrientedBox(
+				this.lowerx, this.lowery, this.lowerz,
+				this.upperx, this.uppery, this.upperz,
+				center.getX(), center.getY(), center.getZ(),
+				axis[0].getX(), axis[0].getY(), axis[0].getZ(),
+				axis[1].getX(), axis[1].getY(), axis[1].getZ(),
+				axis[2].getX(), axis[2].getY(), axis[2].getZ(),
+				extent[0], extent[1], extent[2]);
+	}
+
+}
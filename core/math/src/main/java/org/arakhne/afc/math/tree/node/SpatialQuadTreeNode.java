@@ -0,0 +1,182 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ * 
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ * 
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.node;
+
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry2d.continuous.Shape2f;
+
+
+/**
+ * This is the node of a spatial quad tree.
+ * <p>
+ * Each node is covering a rectangular area. The four
+ * children are covering the four quarters of this area,
+ * and the icosep child is covering the same area as this node.
+ * The icosep child contains the objects that are intersecting
+ * the split lines of this node.
+ * 
+ * @param <D> is the type of the data inside the tree
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see org.arakhne.afc.math.tree.SpatialQuadTree
+ * @since 12.0
+ */
+public class SpatialQuadTreeNode<D extends Shape2f> extends IcosepQuadTreeNode<D,SpatialQuadTreeNode<D>> {
+
+	private static final long serialVersionUID = 2218432283640416085L;
+
+	private final Rectangle2f bounds;
+	
+	/**
+	 * @param bounds are the bounds of the area covered by the node.
+	 */
+	public SpatialQuadTreeNode(Rectangle2f bounds) {
+		super(false);
+		this.bounds = new Rectangle2f(bounds);
+	}
+
+	/** Replies the bounds of the area covered by this node.
+	 * The replied rectangle must not be changed.
+	 * 
+	 * @return the bounds of the node.
+	 */
+	public Rectangle2f getBounds() {
+		return this.bounds;
+	}
+	
+	/** Replies if this node is the icosep child of its parent.
+	 * 
+	 * @return <code>true</code> if this node is an icosep node.
+	 */
+	public boolean isIcosepNode() {
+		SpatialQuadTreeNode<D> parent = getParentNode();
+		return parent!=null && parent.getIcosepChild()==this;
+	}
+	
+	/** Replies if the given box is entirely inside the area of this node.
+	 * 
+	 * @param minx
+	 * @param miny
+	 * @param maxx
+	 * @param maxy
+	 * @return <code>true</code> if the box is inside the node.
+	 */
+	public boolean contains(float minx, float miny, float maxx, float maxy) {
+		return minx>=this.bounds.getMinX() && maxx<=this.bounds.getMaxX()
+				&& miny>=this.bounds.getMinY() && maxy<=this.bounds.getMaxY();
+	}
+
+	/** Replies the zone in which the given box should be stored.
+	 * The box is assumed to be inside the area of this node.
+	 * 
+	 * @param minx
+	 * @param miny
+	 * @param maxx
+	 * @param maxy
+	 * @return the zone of the box; {@link IcosepQuadTreeZone#ICOSEP}
+	 * if the box is intersecting the split lines.
+	 */
+	public IcosepQuadTreeZone getZoneFor(float minx, float miny, float maxx, float maxy) {
+		float cx = this.bounds.getCenterX();
+		float cy = this.bounds.getCenterY();
+		boolean west, south;
+		if (maxx<=cx) west = true;
+		else if (minx>=cx) west = false;
+		else return IcosepQuadTreeZone.ICOSEP;
+		if (maxy<=cy) south = true;
+		else if (miny>=cy) south = false;
+		else return IcosepQuadTreeZone.ICOSEP;
+		if (south) {
+			return west ? IcosepQuadTreeZone.SOUTH_WEST : IcosepQuadTreeZone.SOUTH_EAST;
+		}
+		return west ? IcosepQuadTreeZone.NORTH_WEST : IcosepQuadTreeZone.NORTH_EAST;
+	}
+	
+	/** Replies the bounds of the area covered by the given zone.
+	 * The north is on the side of the greatest y coordinates.
+	 * 
+	 * @param zone
+	 * @return the bounds of the zone.
+	 */
+	public Rectangle2f getZoneBounds(IcosepQuadTreeZone zone) {
+		Rectangle2f r = new Rectangle2f();
+		float cx = this.bounds.getCenterX();
+		float cy = this.bounds.getCenterY();
+		switch(zone) {
+		case NORTH_WEST:
+			r.setFromCorners(this.bounds.getMinX(), cy, cx, this.bounds.getMaxY());
+			break;
+		case NORTH_EAST:
+			r.setFromCorners(cx, cy, this.bounds.getMaxX(), this.bounds.getMaxY());
+			break;
+		case SOUTH_WEST:
+			r.setFromCorners(this.bounds.getMinX(), this.bounds.getMinY(), cx, cy);
+			break;
+		case SOUTH_EAST:
+			r.setFromCorners(cx, this.bounds.getMinY(), this.bounds.getMaxX(), cy);
+			break;
+		case ICOSEP:
+			r.set(this.bounds);
+			break;
+		default:
+			throw new IllegalArgumentException();
+		}
+		return r;
+	}
+	
+	/** Replies the child at the given zone, and create it
+	 * if it does not exist.
+	 * 
+	 * @param zone
+	 * @return the child.
+	 */
+	public SpatialQuadTreeNode<D> getOrCreateChild(IcosepQuadTreeZone zone) {
+		SpatialQuadTreeNode<D> child = getChildAt(zone);
+		if (child==null) {
+			child = new SpatialQuadTreeNode<D>(getZoneBounds(zone));
+			if (zone==IcosepQuadTreeZone.ICOSEP) {
+				setIcosepChild(child);
+			}
+			else {
+				setChildAt(zone.toQuadTreeZone(), child);
+			}
+		}
+		return child;
+	}
+	
+	/** Replies the square of the distance between the given point
+	 * and the area of this node.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return the square of the distance, or zero if the point is inside.
+	 */
+	public float distanceSquared(float x, float y) {
+		float dx, dy;
+		if (x<this.bounds.getMinX()) dx = this.bounds.getMinX() - x;
+		else if (x>this.bounds.getMaxX()) dx = x - this.bounds.getMaxX();
+		else dx = 0f;
+		if (y<this.bounds.getMinY()) dy = this.bounds.getMinY() - y;
+		else if (y>this.bounds.getMaxY()) dy = y - this.bounds.getMaxY();
+		else dy = 0f;
+		return dx*dx + dy*dy;
+	}
+
+}
@@ -74,7 +74,7 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 */
 	public TernaryTreeNode(boolean useLinkedList) {
 		super(useLinkedList);
@@ -85,7 +85,7 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param copyDataCollection indicates if the given data collection is copied
 	 * if <code>true</code> or the inner data collection will be the given
 	 * collection itself if <code>false</code>.
@@ -100,7 +100,7 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 
 	/**
 	 * @param useLinkedList indicates if a linked list must be used to store the data.
-	 * If <code>false</code>, an ArrayList will be used.
+	 * If <code>false</code>, an array-based list will be used.
 	 * @param data is the initial user data
 	 */
 	public TernaryTreeNode(boolean useLinkedList, D data) {
@@ -205,7 +205,6 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(0, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -216,6 +215,10 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 		}
 
 		this.left = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(0, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -246,7 +249,6 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(1, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -257,6 +259,10 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 		}
 
 		this.middle = newChild;
+
+		if (oldChild!=null) {
+			firePropertyChildRemoved(1, oldChild);
+		}
 		
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
@@ -287,7 +293,6 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 		if (oldChild!=null) {
 			oldChild.setParentNodeReference(null, true);
 			--this.notNullChildCount;
-			firePropertyChildRemoved(2, oldChild);
 		}
 
 		if (newChild!=null) {
@@ -299,6 +304,10 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 
 		this.right = newChild;
 
+		if (oldChild!=null) {
+			firePropertyChildRemoved(2, oldChild);
+		}
+
 		if (newChild!=null) {
 			newChild.setParentNodeReference(toN(), true);
 			++this.notNullChildCount;
@@ -434,7 +443,7 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMinHeight() {
+	protected int computeMinHeight() {
 		return 1+minInteger(
 				this.left!=null ? this.left.getMinHeight() : 0,
 				this.middle!=null ? this.middle.getMinHeight() : 0,
@@ -444,7 +453,7 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 	/** {@inheritDoc}
 	 */
 	@Override
-	public int getMaxHeight() {
+	protected int computeMaxHeight() {
 		return 1+maxInteger(
 				this.left!=null ? this.left.getMaxHeight() : 0,
 				this.middle!=null ? this.middle.getMaxHeight() : 0,
@@ -455,18 +464,21 @@ public abstract class TernaryTreeNode<D, N extends TernaryTreeNode<D,N>> extends
 	 * The order of the heights is given by a depth-first iteration.
 	 * 
 	 * @param currentHeight is the current height of this node.
-	 * @param heights is the list of heights to fill
+	 * @param heights is the array of heights to fill
+	 * @param offset is the index in <var>heights</var> where the first height must be put.
+	 * @return the index in <var>heights</var> that follows the last put height.
 	 */
 	@Override
-	protected void getHeights(int currentHeight, List<Integer> heights) {
+	protected int getHeights(int currentHeight, int[] heights, int offset) {
 		if (isLeaf()) {
-			heights.add(currentHeight);
-		}
-		else {
-			if (this.left!=null) this.left.getHeights(currentHeight+1, heights);
-			if (this.middle!=null) this.middle.getHeights(currentHeight+1, heights);
-			if (this.right!=null) this.right.getHeights(currentHeight+1, heights);
+			heights[offset] = currentHeight;
+			return offset+1;
 		}
+		int idx = offset;
+		if (this.left!=null) idx = this.left.getHeights(currentHeight+1, heights, idx);
+		if (this.middle!=null) idx = this.middle.getHeights(currentHeight+1, heights, idx);
+		if (this.right!=null) idx = this.right.getHeights(currentHeight+1, heights, idx);
+		return idx;
 	}
 
 	/**
@@ -0,0 +1,120 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class ClassifierUtilTest extends AbstractMathTestCase {
+
+	private static final int COUNT = 200;
+
+	/** Create boxes as a structure of arrays. The coordinates are
+	 * on a small grid, so that the boxes often share coordinates
+	 * with the query or have sides of zero length.
+	 */
+	private static float[] createBoxes(int dimension) {
+		float[] boxes = new float[2*dimension*COUNT];
+		float lower;
+		for(int i=0; i<COUNT; ++i) {
+			for(int j=0; j<dimension; ++j) {
+				lower = RANDOM.nextInt(10);
+				boxes[j*COUNT+i] = lower;
+				boxes[(j+dimension)*COUNT+i] = lower + RANDOM.nextInt(5);
+			}
+		}
+		return boxes;
+	}
+
+	/**
+	 */
+	public void testClassifiesAlignedRectanglesBatch() {
+		IntersectionType[] types = new IntersectionType[COUNT];
+		int[] candidates = new int[COUNT];
+		for(int t=0; t<50; ++t) {
+			float[] r = createBoxes(2);
+			float lx = RANDOM.nextInt(10);
+			float ly = RANDOM.nextInt(10);
+			float ux = lx + RANDOM.nextInt(5);
+			float uy = ly + RANDOM.nextInt(5);
+			int nb = ClassifierUtil.classifiesAlignedRectangles(
+					lx, ly, ux, uy, r, COUNT, types, candidates);
+			int k = 0;
+			for(int i=0; i<COUNT; ++i) {
+				IntersectionType expected = ClassifierUtil.classifiesAlignedRectangles(
+						lx, ly, ux, uy,
+						r[i], r[COUNT+i], r[2*COUNT+i], r[3*COUNT+i]);
+				assertSame(expected, types[i]);
+				if (expected!=IntersectionType.OUTSIDE) {
+					assertTrue(k<nb);
+					assertEquals(i, candidates[k]);
+					++k;
+				}
+			}
+			assertEquals(k, nb);
+		}
+	}
+
+	/**
+	 */
+	public void testClassifiesAlignedBoxesBatch() {
+		IntersectionType[] types = new IntersectionType[COUNT];
+		int[] candidates = new int[COUNT];
+		for(int t=0; t<50; ++t) {
+			float[] b = createBoxes(3);
+			float lx = RANDOM.nextInt(10);
+			float ly = RANDOM.nextInt(10);
+			float lz = RANDOM.nextInt(10);
+			float ux = lx + RANDOM.nextInt(5);
+			float uy = ly + RANDOM.nextInt(5);
+			float uz = lz + RANDOM.nextInt(5);
+			int nb = ClassifierUtil.classifiesAlignedBoxes(
+					lx, ly, lz, ux, uy, uz, b, COUNT, types, candidates);
+			int k = 0;
+			for(int i=0; i<COUNT; ++i) {
+				IntersectionType expected = ClassifierUtil.classifiesAlignedBoxes(
+						lx, ly, lz, ux, uy, uz,
+						b[i], b[COUNT+i], b[2*COUNT+i],
+						b[3*COUNT+i], b[4*COUNT+i], b[5*COUNT+i]);
+				assertSame(expected, types[i]);
+				if (expected!=IntersectionType.OUTSIDE) {
+					assertTrue(k<nb);
+					assertEquals(i, candidates[k]);
+					++k;
+				}
+			}
+			assertEquals(k, nb);
+		}
+	}
+
+	/**
+	 */
+	public void testClassifiesAlignedBoxesBatch_empty() {
+		IntersectionType[] types = new IntersectionType[] { IntersectionType.INSIDE };
+		int[] candidates = new int[1];
+		assertEquals(0, ClassifierUtil.classifiesAlignedBoxes(
+				0, 0, 0, 1, 1, 1, new float[0], 0, types, candidates));
+		assertSame(IntersectionType.INSIDE, types[0]);
+	}
+
+}
@@ -0,0 +1,145 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class IntersectionUtilTest extends AbstractMathTestCase {
+
+	private static final int COUNT = 200;
+
+	/** Create boxes as a structure of arrays. The coordinates are
+	 * on a small grid, so that the boxes often share coordinates
+	 * with the query or have sides of zero length.
+	 */
+	private static float[] createBoxes(int dimension) {
+		float[] boxes = new float[2*dimension*COUNT];
+		float lower;
+		for(int i=0; i<COUNT; ++i) {
+			for(int j=0; j<dimension; ++j) {
+				lower = RANDOM.nextInt(10);
+				boxes[j*COUNT+i] = lower;
+				boxes[(j+dimension)*COUNT+i] = lower + RANDOM.nextInt(5);
+			}
+		}
+		return boxes;
+	}
+
+	/** Check the outputs of the two batch forms against the
+	 * results of the scalar test.
+	 */
+	private static void assertHits(boolean[] expected, int nbBits, long[] bits, int nbIndexes, int[] indexes) {
+		int k = 0;
+		for(int i=0; i<COUNT; ++i) {
+			assertEquals(expected[i], (bits[i/64] & (1L << (i%64))) != 0);
+			if (expected[i]) {
+				assertTrue(k<nbIndexes);
+				assertEquals(i, indexes[k]);
+				++k;
+			}
+		}
+		assertEquals(k, nbBits);
+		assertEquals(k, nbIndexes);
+	}
+
+	/**
+	 */
+	public void testIntersectsAlignedRectanglesBatch() {
+		long[] bits = new long[(COUNT+63)/64];
+		int[] indexes = new int[COUNT];
+		boolean[] expected = new boolean[COUNT];
+		for(int t=0; t<50; ++t) {
+			float[] r = createBoxes(2);
+			float lx = RANDOM.nextInt(10);
+			float ly = RANDOM.nextInt(10);
+			float ux = lx + RANDOM.nextInt(5);
+			float uy = ly + RANDOM.nextInt(5);
+			for(int i=0; i<COUNT; ++i) {
+				expected[i] = IntersectionUtil.intersectsAlignedRectangles(
+						lx, ly, ux, uy,
+						r[i], r[COUNT+i], r[2*COUNT+i], r[3*COUNT+i]);
+			}
+			assertHits(expected,
+					IntersectionUtil.intersectsAlignedRectangles(lx, ly, ux, uy, r, COUNT, bits),
+					bits,
+					IntersectionUtil.intersectsAlignedRectangles(lx, ly, ux, uy, r, COUNT, indexes),
+					indexes);
+		}
+	}
+
+	/**
+	 */
+	public void testIntersectsAlignedBoxesBatch() {
+		long[] bits = new long[(COUNT+63)/64];
+		int[] indexes = new int[COUNT];
+		boolean[] expected = new boolean[COUNT];
+		for(int t=0; t<50; ++t) {
+			float[] b = createBoxes(3);
+			float lx = RANDOM.nextInt(10);
+			float ly = RANDOM.nextInt(10);
+			float lz = RANDOM.nextInt(10);
+			float ux = lx + RANDOM.nextInt(5);
+			float uy = ly + RANDOM.nextInt(5);
+			float uz = lz + RANDOM.nextInt(5);
+			for(int i=0; i<COUNT; ++i) {
+				expected[i] = IntersectionUtil.intersectsAlignedBoxes(
+						lx, ly, lz, ux, uy, uz,
+						b[i], b[COUNT+i], b[2*COUNT+i],
+						b[3*COUNT+i], b[4*COUNT+i], b[5*COUNT+i]);
+			}
+			assertHits(expected,
+					IntersectionUtil.intersectsAlignedBoxes(lx, ly, lz, ux, uy, uz, b, COUNT, bits),
+					bits,
+					IntersectionUtil.intersectsAlignedBoxes(lx, ly, lz, ux, uy, uz, b, COUNT, indexes),
+					indexes);
+		}
+	}
+
+	/**
+	 */
+	public void testIntersectsSolidSphereSolidAlignedBoxBatch() {
+		long[] bits = new long[(COUNT+63)/64];
+		int[] indexes = new int[COUNT];
+		boolean[] expected = new boolean[COUNT];
+		for(int t=0; t<50; ++t) {
+			float[] b = createBoxes(3);
+			float x = RANDOM.nextInt(10);
+			float y = RANDOM.nextInt(10);
+			float z = RANDOM.nextInt(10);
+			float radius = RANDOM.nextInt(4);
+			for(int i=0; i<COUNT; ++i) {
+				expected[i] = IntersectionUtil.intersectsSolidSphereSolidAlignedBox(
+						x, y, z, radius,
+						b[i], b[COUNT+i], b[2*COUNT+i],
+						b[3*COUNT+i], b[4*COUNT+i], b[5*COUNT+i]);
+			}
+			assertHits(expected,
+					IntersectionUtil.intersectsSolidSphereSolidAlignedBox(x, y, z, radius, b, COUNT, bits),
+					bits,
+					IntersectionUtil.intersectsSolidSphereSolidAlignedBox(x, y, z, radius, b, COUNT, indexes),
+					indexes);
+		}
+	}
+
+}
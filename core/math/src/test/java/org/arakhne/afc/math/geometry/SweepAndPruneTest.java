@@ -0,0 +1,254 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SweepAndPruneTest extends AbstractMathTestCase {
+
+	private static final int COUNT = 100;
+
+	private Set<Long> pairs;
+	private SweepAndPruneListener<Integer> listener;
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.pairs = new HashSet<Long>();
+		this.listener = new SweepAndPruneListener<Integer>() {
+			@Override
+			public void overlappingPairAdded(Integer object1, Integer object2) {
+				assertTrue(SweepAndPruneTest.this.pairs.add(key(object1, object2)));
+			}
+			@Override
+			public void overlappingPairRemoved(Integer object1, Integer object2) {
+				assertTrue(SweepAndPruneTest.this.pairs.remove(key(object1, object2)));
+			}
+		};
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		this.listener = null;
+		this.pairs = null;
+		super.tearDown();
+	}
+
+	private static Long key(int a, int b) {
+		return Long.valueOf(Math.min(a, b) * (long)COUNT + Math.max(a, b));
+	}
+
+	/** Replies if the intervals overlap on each axis
+	 * by a non-empty amount.
+	 */
+	private static boolean overlaps(float[] b1, float[] b2, int dimension) {
+		for(int axis=0; axis<dimension; ++axis) {
+			if (b1[axis]>=b2[axis+dimension] || b2[axis]>=b1[axis+dimension]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Bounds on a small grid, so that the bounds often share
+	 * coordinates or have sides of zero length.
+	 */
+	private static float[] randomBounds(int dimension) {
+		float[] b = new float[2*dimension];
+		for(int axis=0; axis<dimension; ++axis) {
+			b[axis] = RANDOM.nextInt(20);
+			b[axis+dimension] = b[axis] + RANDOM.nextInt(4);
+		}
+		return b;
+	}
+
+	private void assertPairs(SweepAndPrune<Integer> sap, float[][] bounds, int dimension) {
+		int expected = 0;
+		for(int i=0; i<COUNT; ++i) {
+			for(int j=i+1; j<COUNT; ++j) {
+				boolean overlap = bounds[i]!=null && bounds[j]!=null
+						&& overlaps(bounds[i], bounds[j], dimension);
+				assertEquals(overlap, this.pairs.contains(key(i, j)));
+				if (overlap) ++expected;
+			}
+		}
+		assertEquals(expected, this.pairs.size());
+		assertEquals(expected, sap.getOverlappingPairCount());
+	}
+
+	private void runFrames(int dimension) {
+		SweepAndPrune<Integer> sap = new SweepAndPrune<Integer>(dimension);
+		sap.addSweepAndPruneListener(this.listener);
+		assertEquals(dimension, sap.getDimension());
+		// The objects are their handles, because the handles
+		// are allocated in order and never freed here
+		float[][] bounds = new float[COUNT][];
+		for(int i=0; i<COUNT; ++i) {
+			bounds[i] = randomBounds(dimension);
+			assertEquals(i, sap.add(Integer.valueOf(i), bounds[i]));
+		}
+		sap.update();
+		assertPairs(sap, bounds, dimension);
+		for(int frame=0; frame<50; ++frame) {
+			for(int i=0; i<COUNT; ++i) {
+				for(int axis=0; axis<dimension; ++axis) {
+					float delta = RANDOM.nextInt(3) - 1;
+					bounds[i][axis] += delta;
+					bounds[i][axis+dimension] += delta;
+				}
+				sap.setBounds(i, bounds[i]);
+			}
+			sap.update();
+			assertPairs(sap, bounds, dimension);
+		}
+	}
+
+	/**
+	 */
+	public void testUpdate_1D() {
+		runFrames(1);
+	}
+
+	/**
+	 */
+	public void testUpdate_2D() {
+		runFrames(2);
+	}
+
+	/**
+	 */
+	public void testUpdate_3D() {
+		runFrames(3);
+	}
+
+	/**
+	 */
+	public void testTouchingBounds() {
+		SweepAndPrune<Integer> sap = new SweepAndPrune<Integer>(2);
+		sap.addSweepAndPruneListener(this.listener);
+		int h0 = sap.add(Integer.valueOf(0), 0, 0, 1, 1);
+		int h1 = sap.add(Integer.valueOf(1), 1, 0, 2, 1);
+		sap.update();
+		assertFalse(sap.areOverlapping(h0, h1));
+		assertEquals(0, sap.getOverlappingPairCount());
+
+		sap.setBounds(h1, 0.5f, 0, 2, 1);
+		sap.update();
+		assertTrue(sap.areOverlapping(h0, h1));
+		assertTrue(sap.areOverlapping(h1, h0));
+		assertTrue(this.pairs.contains(key(0, 1)));
+
+		sap.setBounds(h1, 1, 0, 2, 1);
+		sap.update();
+		assertFalse(sap.areOverlapping(h0, h1));
+		assertTrue(this.pairs.isEmpty());
+	}
+
+	/**
+	 */
+	public void testAddRemove() {
+		SweepAndPrune<Integer> sap = new SweepAndPrune<Integer>(2);
+		sap.addSweepAndPruneListener(this.listener);
+		float[][] bounds = new float[COUNT][];
+		int[] handles = new int[COUNT];
+		for(int i=0; i<COUNT; ++i) {
+			bounds[i] = randomBounds(2);
+			handles[i] = sap.add(Integer.valueOf(i), bounds[i]);
+		}
+		sap.update();
+		assertEquals(COUNT, sap.size());
+		assertPairs(sap, bounds, 2);
+
+		for(int frame=0; frame<50; ++frame) {
+			// Remove or add a few objects, one at a time
+			// so that the insertion sort is used
+			int i = RANDOM.nextInt(COUNT);
+			if (bounds[i]!=null) {
+				assertEquals(Integer.valueOf(i), sap.remove(handles[i]));
+				assertNull(sap.get(handles[i]));
+				bounds[i] = null;
+			}
+			else {
+				bounds[i] = randomBounds(2);
+				handles[i] = sap.add(Integer.valueOf(i), bounds[i]);
+				assertEquals(Integer.valueOf(i), sap.get(handles[i]));
+			}
+			sap.update();
+			assertPairs(sap, bounds, 2);
+		}
+	}
+
+	/**
+	 */
+	public void testRemoveBeforeUpdate() {
+		SweepAndPrune<Integer> sap = new SweepAndPrune<Integer>(2);
+		sap.addSweepAndPruneListener(this.listener);
+		int h0 = sap.add(Integer.valueOf(0), 0, 0, 2, 2);
+		int h1 = sap.add(Integer.valueOf(1), 1, 1, 3, 3);
+		assertEquals(Integer.valueOf(1), sap.remove(h1));
+		assertNull(sap.remove(h1));
+		assertEquals(1, sap.size());
+		sap.update();
+		assertEquals(0, sap.getOverlappingPairCount());
+		assertTrue(this.pairs.isEmpty());
+		assertEquals(Integer.valueOf(0), sap.get(h0));
+	}
+
+	/**
+	 */
+	public void testAddRectangle2f() {
+		SweepAndPrune<Integer> sap = new SweepAndPrune<Integer>(2);
+		sap.addSweepAndPruneListener(this.listener);
+		int h0 = sap.add(Integer.valueOf(0), new Rectangle2f(0, 0, 10, 10));
+		int h1 = sap.add(Integer.valueOf(1), new Rectangle2f(5, 5, 10, 10));
+		int h2 = sap.add(Integer.valueOf(2), new Rectangle2f(20, 0, 10, 10));
+		sap.update();
+		assertTrue(sap.areOverlapping(h0, h1));
+		assertFalse(sap.areOverlapping(h0, h2));
+		assertFalse(sap.areOverlapping(h1, h2));
+
+		sap.setBounds(h2, new Rectangle2f(12, 12, 10, 10));
+		sap.update();
+		assertFalse(sap.areOverlapping(h0, h2));
+		assertTrue(sap.areOverlapping(h1, h2));
+		assertEquals(2, this.pairs.size());
+
+		sap.removeSweepAndPruneListener(this.listener);
+		sap.remove(h1);
+		sap.update();
+		assertEquals(0, sap.getOverlappingPairCount());
+		assertEquals(2, this.pairs.size());
+	}
+
+}
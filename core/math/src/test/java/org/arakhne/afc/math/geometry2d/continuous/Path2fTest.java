@@ -0,0 +1,174 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry2d.continuous;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.MathConstants;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class Path2fTest extends AbstractMathTestCase {
+
+	private Path2f path;
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		// A square with a quadratic bump on its top side
+		this.path = new Path2f(PathWindingRule.NON_ZERO);
+		this.path.moveTo(0, 0);
+		this.path.lineTo(10, 0);
+		this.path.lineTo(10, 10);
+		this.path.quadTo(5, 15, 0, 10);
+		this.path.closePath();
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		this.path = null;
+		super.tearDown();
+	}
+
+	private static List<Object> read(PathCursor2f cursor) {
+		List<Object> elements = new ArrayList<Object>();
+		float[] coords = new float[6];
+		while (cursor.hasNext()) {
+			PathElementType type = cursor.next(coords);
+			elements.add(type);
+			for(int i=0; i<coords.length; ++i) {
+				elements.add(Float.valueOf(coords[i]));
+			}
+		}
+		return elements;
+	}
+
+	private static List<Object> read(PathIterator2f iterator) {
+		List<Object> elements = new ArrayList<Object>();
+		float[] coords = new float[6];
+		while (iterator.hasNext()) {
+			PathElement2f element = iterator.next();
+			element.toArray(coords);
+			elements.add(element.type);
+			for(int i=0; i<coords.length; ++i) {
+				elements.add(Float.valueOf(coords[i]));
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 */
+	public void testGetPathCursor_reset() {
+		PathCursor2f cursor = this.path.getPathCursor(null);
+		List<Object> first = read(cursor);
+		assertFalse(first.isEmpty());
+		assertFalse(cursor.hasNext());
+		cursor.reset();
+		assertTrue(cursor.hasNext());
+		assertEquals(first, read(cursor));
+		assertEquals(read(this.path.getPathIterator(null)), first);
+	}
+
+	/**
+	 */
+	public void testGetPathCursorFloat_reset() {
+		PathCursor2f cursor = this.path.getPathCursor(null, .5f);
+		assertTrue(cursor.isPolyline());
+		List<Object> first = read(cursor);
+		cursor.reset();
+		assertEquals(first, read(cursor));
+		assertEquals(read(this.path.getPathIterator(null, .5f)), first);
+	}
+
+	/**
+	 */
+	public void testContainsPathCursorFloatArrayFloatFloat() {
+		PathCursor2f cursor = this.path.getPathCursor(null);
+		float[] buffer = new float[6];
+		assertTrue(Path2f.contains(cursor, buffer, 5, 5));
+		cursor.reset();
+		assertTrue(Path2f.contains(cursor, buffer, 5, 11));
+		cursor.reset();
+		assertFalse(Path2f.contains(cursor, buffer, 5, 14));
+		cursor.reset();
+		assertFalse(Path2f.contains(cursor, buffer, -1, 5));
+	}
+
+	/**
+	 */
+	public void testContainsPathCursorFloatArrayFloatFloatFloatFloat() {
+		PathCursor2f cursor = this.path.getPathCursor(null);
+		float[] buffer = new float[6];
+		assertTrue(Path2f.contains(cursor, buffer, 2, 2, 5, 5));
+		cursor.reset();
+		assertFalse(Path2f.contains(cursor, buffer, 5, 5, 10, 10));
+		cursor.reset();
+		assertFalse(Path2f.contains(cursor, buffer, 2, 2, 0, 5));
+	}
+
+	/**
+	 */
+	public void testIntersectsPathCursorFloatArrayFloatFloatFloatFloat() {
+		PathCursor2f cursor = this.path.getPathCursor(null);
+		float[] buffer = new float[6];
+		assertTrue(Path2f.intersects(cursor, buffer, 5, 5, 10, 10));
+		cursor.reset();
+		assertFalse(Path2f.intersects(cursor, buffer, 20, 20, 5, 5));
+		cursor.reset();
+		assertFalse(Path2f.intersects(cursor, buffer, 5, 5, 0, 10));
+	}
+
+	/** The static hit tests on iterators must reply the same
+	 * results as the hit tests on the path, which flatten
+	 * the curves with the same ratio.
+	 */
+	public void testHitTestsOnIterators() {
+		float f = MathConstants.SPLINE_APPROXIMATION_RATIO;
+		for(int i=0; i<200; ++i) {
+			float x = RANDOM.nextFloat() * 20f - 5f;
+			float y = RANDOM.nextFloat() * 20f - 5f;
+			float w = RANDOM.nextFloat() * 10f + 1f;
+			float h = RANDOM.nextFloat() * 10f + 1f;
+			assertEquals(
+					this.path.contains(x, y),
+					Path2f.contains(this.path.getPathIterator(f), x, y));
+			assertEquals(
+					this.path.contains(new Rectangle2f(x, y, w, h)),
+					Path2f.contains(this.path.getPathIterator(f), x, y, w, h));
+			assertEquals(
+					this.path.intersects(new Rectangle2f(x, y, w, h)),
+					Path2f.intersects(this.path.getPathIterator(f), x, y, w, h));
+		}
+	}
+
+}
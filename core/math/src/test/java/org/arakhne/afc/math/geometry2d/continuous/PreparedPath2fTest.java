@@ -0,0 +1,181 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry2d.continuous;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class PreparedPath2fTest extends AbstractMathTestCase {
+
+	private Path2f path;
+	private PreparedPath2f prepared;
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		// A star with a hole, so that the winding rule matters
+		this.path = new Path2f(PathWindingRule.EVEN_ODD);
+		for(int i=0; i<10; ++i) {
+			double angle = Math.PI * i / 5.;
+			float radius = (i%2==0) ? 50f : 20f;
+			float x = 50f + radius * (float)Math.cos(angle);
+			float y = 50f + radius * (float)Math.sin(angle);
+			if (i==0) this.path.moveTo(x, y);
+			else this.path.lineTo(x, y);
+		}
+		this.path.closePath();
+		this.path.moveTo(45, 45);
+		this.path.lineTo(55, 45);
+		this.path.lineTo(55, 55);
+		this.path.lineTo(45, 55);
+		this.path.closePath();
+		this.prepared = new PreparedPath2f(this.path);
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		this.prepared = null;
+		this.path = null;
+		super.tearDown();
+	}
+
+	/**
+	 */
+	public void testGetEdgeCount() {
+		assertEquals(14, this.prepared.getEdgeCount());
+		assertEquals(0, new PreparedPath2f(new Path2f()).getEdgeCount());
+	}
+
+	/**
+	 */
+	public void testGetWindingRule() {
+		assertSame(PathWindingRule.EVEN_ODD, this.prepared.getWindingRule());
+	}
+
+	/**
+	 */
+	public void testToBoundingBox() {
+		Rectangle2f expected = this.path.toBoundingBox();
+		Rectangle2f actual = this.prepared.toBoundingBox();
+		assertEpsilonEquals(expected.getMinX(), actual.getMinX());
+		assertEpsilonEquals(expected.getMinY(), actual.getMinY());
+		assertEpsilonEquals(expected.getMaxX(), actual.getMaxX());
+		assertEpsilonEquals(expected.getMaxY(), actual.getMaxY());
+		assertNull(new PreparedPath2f(new Path2f()).toBoundingBox());
+	}
+
+	/**
+	 */
+	public void testContainsFloatFloat() {
+		assertTrue(this.prepared.contains(50, 30));
+		assertFalse(this.prepared.contains(50, 50));
+		assertFalse(this.prepared.contains(-10, 50));
+		assertFalse(this.prepared.contains(new Point2f(200, 200)));
+		for(int i=0; i<1000; ++i) {
+			float x = RANDOM.nextFloat() * 120f - 10f;
+			float y = RANDOM.nextFloat() * 120f - 10f;
+			assertEquals(this.path.contains(x, y), this.prepared.contains(x, y));
+		}
+	}
+
+	/**
+	 */
+	public void testContainsRectangle2f() {
+		assertTrue(this.prepared.contains(new Rectangle2f(30, 40, 5, 5)));
+		assertFalse(this.prepared.contains(new Rectangle2f(40, 40, 20, 20)));
+		for(int i=0; i<1000; ++i) {
+			Rectangle2f r = new Rectangle2f(
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 30f + .1f,
+					RANDOM.nextFloat() * 30f + .1f);
+			assertEquals(this.path.contains(r), this.prepared.contains(r));
+		}
+	}
+
+	/**
+	 */
+	public void testIntersectsRectangle2f() {
+		assertTrue(this.prepared.intersects(new Rectangle2f(40, 40, 20, 20)));
+		assertFalse(this.prepared.intersects(new Rectangle2f(47, 47, 5, 5)));
+		for(int i=0; i<1000; ++i) {
+			Rectangle2f r = new Rectangle2f(
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 30f + .1f,
+					RANDOM.nextFloat() * 30f + .1f);
+			assertEquals(this.path.intersects(r), this.prepared.intersects(r));
+		}
+	}
+
+	/**
+	 */
+	public void testIntersectsSegment2f() {
+		assertTrue(this.prepared.intersects(new Segment2f(50, 50, 50, 0)));
+		assertFalse(this.prepared.intersects(new Segment2f(47, 47, 53, 53)));
+		for(int i=0; i<1000; ++i) {
+			Segment2f s = new Segment2f(
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 120f - 10f,
+					RANDOM.nextFloat() * 120f - 10f);
+			assertEquals(this.path.intersects(s), this.prepared.intersects(s));
+		}
+	}
+
+	/** The open subpaths are closed by the prepared path.
+	 */
+	public void testOpenSubpath() {
+		Path2f open = new Path2f();
+		open.moveTo(0, 0);
+		open.lineTo(10, 0);
+		open.lineTo(10, 10);
+		PreparedPath2f p = new PreparedPath2f(open);
+		assertEquals(3, p.getEdgeCount());
+		assertTrue(p.contains(8, 2));
+		assertFalse(p.contains(2, 8));
+	}
+
+	/** The prepared path is a snapshot of the path.
+	 */
+	public void testSnapshot() {
+		Path2f square = new Path2f();
+		square.moveTo(0, 0);
+		square.lineTo(10, 0);
+		square.lineTo(10, 10);
+		square.lineTo(0, 10);
+		square.closePath();
+		PreparedPath2f p = new PreparedPath2f(square);
+		square.clear();
+		assertTrue(p.contains(5, 5));
+		assertEquals(4, p.getEdgeCount());
+	}
+
+}
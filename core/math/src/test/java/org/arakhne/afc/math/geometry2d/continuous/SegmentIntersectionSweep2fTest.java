@@ -0,0 +1,219 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry2d.continuous;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.GeometryUtil;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SegmentIntersectionSweep2fTest extends AbstractMathTestCase {
+
+	private Map<Long,Point2f> found;
+	private SegmentIntersectionListener listener;
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.found = new HashMap<Long,Point2f>();
+		this.listener = new SegmentIntersectionListener() {
+			@Override
+			public void intersectionFound(int segment1, int segment2, float x, float y) {
+				assertTrue(segment1<segment2);
+				// Each pair must be reported once
+				assertNull(SegmentIntersectionSweep2fTest.this.found.put(
+						key(segment1, segment2), new Point2f(x, y)));
+			}
+		};
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		this.listener = null;
+		this.found = null;
+		super.tearDown();
+	}
+
+	private static Long key(int s1, int s2) {
+		return Long.valueOf(((long)s1 << 32) | s2);
+	}
+
+	/** Compare the reported pairs with the pairs found by
+	 * testing every pair with the scalar function.
+	 */
+	private void assertAllPairs(float[] segments, int count, int reported) {
+		Point2f p = new Point2f();
+		int expected = 0;
+		for(int i=0; i<count; ++i) {
+			for(int j=i+1; j<count; ++j) {
+				GeometryUtil.getIntersectionPointSegmentSegment(
+						segments[i*4], segments[i*4+1], segments[i*4+2], segments[i*4+3],
+						segments[j*4], segments[j*4+1], segments[j*4+2], segments[j*4+3],
+						p);
+				Point2f q = this.found.get(key(i, j));
+				if (Float.isNaN(p.getX())) {
+					assertNull(q);
+				}
+				else {
+					assertNotNull(q);
+					assertEquals(p.getX(), q.getX(), 0f);
+					assertEquals(p.getY(), q.getY(), 0f);
+					++expected;
+				}
+			}
+		}
+		assertEquals(expected, reported);
+		assertEquals(expected, this.found.size());
+	}
+
+	/** Segments on a small integer grid, so that many segments
+	 * share end points, are vertical, or are collinear.
+	 */
+	private static float[] createGridSegments(int count) {
+		float[] segments = new float[count*4];
+		for(int i=0; i<count; ++i) {
+			do {
+				for(int j=0; j<4; ++j) {
+					segments[i*4+j] = RANDOM.nextInt(20);
+				}
+			}
+			while (segments[i*4]==segments[i*4+2] && segments[i*4+1]==segments[i*4+3]);
+		}
+		return segments;
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_empty() {
+		assertEquals(0, SegmentIntersectionSweep2f.computeIntersections(new float[0], 0, this.listener));
+		assertEquals(0, SegmentIntersectionSweep2f.computeIntersections(
+				new ArrayList<Segment2f>(), this.listener));
+		assertTrue(this.found.isEmpty());
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_cross() {
+		float[] segments = new float[] {
+				0, 0, 10, 10,
+				0, 10, 10, 0,
+				20, 0, 30, 0,
+		};
+		assertEquals(1, SegmentIntersectionSweep2f.computeIntersections(segments, 3, this.listener));
+		Point2f p = this.found.get(key(0, 1));
+		assertNotNull(p);
+		assertEpsilonEquals(5f, p.getX());
+		assertEpsilonEquals(5f, p.getY());
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_parallel() {
+		float[] segments = new float[] {
+				0, 0, 10, 0,
+				0, 1, 10, 1,
+				0, 2, 10, 2,
+		};
+		assertEquals(0, SegmentIntersectionSweep2f.computeIntersections(segments, 3, this.listener));
+		assertTrue(this.found.isEmpty());
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_collinear() {
+		float[] segments = new float[] {
+				0, 0, 10, 0,
+				5, 0, 15, 0,
+		};
+		assertEquals(1, SegmentIntersectionSweep2f.computeIntersections(segments, 2, this.listener));
+		Point2f p = this.found.get(key(0, 1));
+		assertNotNull(p);
+		assertEquals(Float.POSITIVE_INFINITY, p.getX(), 0f);
+		assertEquals(Float.POSITIVE_INFINITY, p.getY(), 0f);
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_sharedEnds() {
+		// A closed triangle and a vertical segment
+		// crossing one of its sides
+		float[] segments = new float[] {
+				0, 0, 10, 0,
+				10, 0, 5, 10,
+				5, 10, 0, 0,
+				5, -5, 5, 5,
+		};
+		int nb = SegmentIntersectionSweep2f.computeIntersections(segments, 4, this.listener);
+		assertAllPairs(segments, 4, nb);
+		assertTrue(this.found.containsKey(key(0, 1)));
+		assertTrue(this.found.containsKey(key(1, 2)));
+		assertTrue(this.found.containsKey(key(0, 2)));
+		assertTrue(this.found.containsKey(key(0, 3)));
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_collection() {
+		List<Segment2f> segments = new ArrayList<Segment2f>();
+		segments.add(new Segment2f(0, 0, 10, 10));
+		segments.add(new Segment2f(20, 20, 30, 30));
+		segments.add(new Segment2f(0, 10, 10, 0));
+		assertEquals(1, SegmentIntersectionSweep2f.computeIntersections(segments, this.listener));
+		assertTrue(this.found.containsKey(key(0, 2)));
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_grid() {
+		for(int t=0; t<20; ++t) {
+			this.found.clear();
+			float[] segments = createGridSegments(60);
+			int nb = SegmentIntersectionSweep2f.computeIntersections(segments, 60, this.listener);
+			assertAllPairs(segments, 60, nb);
+		}
+	}
+
+	/**
+	 */
+	public void testComputeIntersections_count() {
+		// Only the first segments are considered
+		float[] segments = new float[] {
+				0, 0, 10, 10,
+				0, 10, 10, 0,
+				5, -5, 5, 15,
+		};
+		assertEquals(1, SegmentIntersectionSweep2f.computeIntersections(segments, 2, this.listener));
+		assertTrue(this.found.containsKey(key(0, 1)));
+	}
+
+}
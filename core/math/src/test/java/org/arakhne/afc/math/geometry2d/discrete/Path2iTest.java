@@ -0,0 +1,182 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.geometry2d.discrete;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arakhne.afc.math.AbstractMathTestCase;
+import org.arakhne.afc.math.geometry.PathElementType;
+import org.arakhne.afc.math.geometry.PathWindingRule;
+
+/**
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class Path2iTest extends AbstractMathTestCase {
+
+	private Path2i path;
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.path = new Path2i(PathWindingRule.EVEN_ODD);
+		this.path.moveTo(0, 0);
+		this.path.lineTo(10, 0);
+		this.path.lineTo(10, 10);
+		this.path.lineTo(0, 10);
+		this.path.closePath();
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		this.path = null;
+		super.tearDown();
+	}
+
+	private static List<Object> read(PathCursor2i cursor) {
+		List<Object> elements = new ArrayList<Object>();
+		int[] coords = new int[6];
+		while (cursor.hasNext()) {
+			PathElementType type = cursor.next(coords);
+			elements.add(type);
+			for(int i=0; i<coords.length; ++i) {
+				elements.add(Integer.valueOf(coords[i]));
+			}
+		}
+		return elements;
+	}
+
+	private static List<Object> read(PathIterator2i iterator) {
+		List<Object> elements = new ArrayList<Object>();
+		int[] coords = new int[6];
+		while (iterator.hasNext()) {
+			PathElement2i element = iterator.next();
+			element.toArray(coords);
+			elements.add(element.type);
+			for(int i=0; i<coords.length; ++i) {
+				elements.add(Integer.valueOf(coords[i]));
+			}
+		}
+		return elements;
+	}
+
+	/**
+	 */
+	public void testGetPathCursor_reset() {
+		PathCursor2i cursor = this.path.getPathCursor(null);
+		List<Object> first = read(cursor);
+		assertFalse(first.isEmpty());
+		assertFalse(cursor.hasNext());
+		cursor.reset();
+		assertTrue(cursor.hasNext());
+		assertEquals(first, read(cursor));
+		assertEquals(read(this.path.getPathIterator(null)), first);
+	}
+
+	/**
+	 */
+	public void testGetPathIteratorFloat() {
+		Path2i curve = new Path2i(PathWindingRule.NON_ZERO);
+		curve.moveTo(0, 0);
+		curve.quadTo(10, 20, 20, 0);
+		PathIterator2i iterator = curve.getPathIterator(1f);
+		assertTrue(iterator.isPolyline());
+		assertSame(PathWindingRule.NON_ZERO, iterator.getWindingRule());
+		PathElement2i element = iterator.next();
+		assertSame(PathElementType.MOVE_TO, element.type);
+		assertEquals(0, element.toX);
+		assertEquals(0, element.toY);
+		int count = 0;
+		while (iterator.hasNext()) {
+			element = iterator.next();
+			assertSame(PathElementType.LINE_TO, element.type);
+			++count;
+		}
+		assertTrue(count>1);
+		assertEquals(20, element.toX);
+		assertEquals(0, element.toY);
+		assertEquals(read(curve.getPathIterator(1f)), read(curve.getPathIterator(null, 1f)));
+	}
+
+	/**
+	 */
+	public void testContainsPathCursorIntArrayIntInt() {
+		PathCursor2i cursor = this.path.getPathCursor(null);
+		int[] buffer = new int[6];
+		assertTrue(Path2i.contains(cursor, buffer, 5, 5));
+		cursor.reset();
+		assertFalse(Path2i.contains(cursor, buffer, 15, 5));
+		cursor.reset();
+		assertFalse(Path2i.contains(cursor, buffer, -1, 5));
+	}
+
+	/**
+	 */
+	public void testContainsPathCursorIntArrayIntIntIntInt() {
+		PathCursor2i cursor = this.path.getPathCursor(null);
+		int[] buffer = new int[6];
+		assertTrue(Path2i.contains(cursor, buffer, 2, 2, 5, 5));
+		cursor.reset();
+		assertFalse(Path2i.contains(cursor, buffer, 5, 5, 10, 10));
+		cursor.reset();
+		assertFalse(Path2i.contains(cursor, buffer, 2, 2, 0, 5));
+	}
+
+	/**
+	 */
+	public void testIntersectsPathCursorIntArrayIntIntIntInt() {
+		PathCursor2i cursor = this.path.getPathCursor(null);
+		int[] buffer = new int[6];
+		assertTrue(Path2i.intersects(cursor, buffer, 5, 5, 10, 10));
+		cursor.reset();
+		assertFalse(Path2i.intersects(cursor, buffer, 20, 20, 5, 5));
+		cursor.reset();
+		assertFalse(Path2i.intersects(cursor, buffer, 5, 5, 0, 10));
+	}
+
+	/** The static hit tests on iterators must reply the same
+	 * results as the hit tests on the path.
+	 */
+	public void testHitTestsOnIterators() {
+		for(int i=0; i<200; ++i) {
+			int x = RANDOM.nextInt(20) - 5;
+			int y = RANDOM.nextInt(20) - 5;
+			int w = RANDOM.nextInt(10) + 1;
+			int h = RANDOM.nextInt(10) + 1;
+			assertEquals(
+					this.path.contains(x, y),
+					Path2i.contains(this.path.getPathIterator(), x, y));
+			assertEquals(
+					this.path.contains(new Rectangle2i(x, y, w, h)),
+					Path2i.contains(this.path.getPathIterator(), x, y, w, h));
+			assertEquals(
+					this.path.intersects(new Rectangle2i(x, y, w, h)),
+					Path2i.intersects(this.path.getPathIterator(), x, y, w, h));
+		}
+	}
+
+}
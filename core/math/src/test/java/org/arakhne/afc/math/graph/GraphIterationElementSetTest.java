@@ -0,0 +1,129 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link GraphIterationElementSet}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class GraphIterationElementSetTest extends TestCase {
+
+	private CGraph graph;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.graph = new GridGraph(5, 5, null).getGraph();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.graph = null;
+		super.tearDown();
+	}
+
+	private GraphIterationElement<CGraphSegment,CGraphPoint> element(int segment, boolean fromBegin) {
+		CGraphSegment s = this.graph.getSegment(segment);
+		return new GraphIterationElement<CGraphSegment,CGraphPoint>(
+				null, s, fromBegin ? s.getBeginPoint() : s.getEndPoint(), 0f, 0f);
+	}
+
+	/**
+	 */
+	public void testNotOriented() {
+		GraphIterationElementSet<CGraphSegment,CGraphPoint> set = new GraphIterationElementSet<CGraphSegment,CGraphPoint>(false);
+		assertTrue(set.add(element(1, true)));
+		assertFalse(set.add(element(1, false)));
+		assertTrue(set.add(element(2, false)));
+		assertEquals(2, set.size());
+		assertTrue(set.contains(element(1, false)));
+		assertTrue(set.contains(element(2, true)));
+		assertFalse(set.contains(element(3, true)));
+		assertFalse(set.contains(this.graph.getSegment(1)));
+		assertTrue(set.remove(element(1, false)));
+		assertFalse(set.remove(element(1, true)));
+		assertEquals(1, set.size());
+		set.clear();
+		assertTrue(set.isEmpty());
+	}
+
+	/**
+	 */
+	public void testOriented() {
+		GraphIterationElementSet<CGraphSegment,CGraphPoint> set = new GraphIterationElementSet<CGraphSegment,CGraphPoint>(true);
+		assertTrue(set.add(element(1, true)));
+		assertTrue(set.add(element(1, false)));
+		assertFalse(set.add(element(1, false)));
+		assertEquals(2, set.size());
+		assertTrue(set.contains(element(1, true)));
+		assertTrue(set.contains(element(1, false)));
+		assertTrue(set.remove(element(1, true)));
+		assertFalse(set.contains(element(1, true)));
+		assertTrue(set.contains(element(1, false)));
+		assertEquals(1, set.size());
+	}
+
+	/**
+	 */
+	public void testIterator() {
+		GraphIterationElementSet<CGraphSegment,CGraphPoint> set = new GraphIterationElementSet<CGraphSegment,CGraphPoint>(true);
+		for(int i=0; i<10; ++i) {
+			set.add(element(i, (i%2)==0));
+			set.add(element(i, (i%2)!=0));
+		}
+		int count = 0;
+		Iterator<GraphIterationElement<CGraphSegment,CGraphPoint>> iterator = set.iterator();
+		while (iterator.hasNext()) {
+			assertNotNull(iterator.next());
+			++count;
+		}
+		assertEquals(20, count);
+		assertEquals(20, set.size());
+	}
+
+	/**
+	 */
+	public void testGraphIteratorVisitsOnce() {
+		CGraphPoint start = this.graph.getPoint(0);
+		GraphIterator<CGraphSegment,CGraphPoint> iterator = this.graph.iterator(
+				start.getConnectedSegments().iterator().next(), start, false, false);
+		Set<CGraphSegment> replied = new HashSet<CGraphSegment>();
+		while (iterator.hasNext()) {
+			assertTrue(replied.add(iterator.next()));
+		}
+		assertEquals(this.graph.getSegmentCount(), replied.size());
+	}
+
+}
@@ -0,0 +1,255 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphBuilder;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for the storages of {@link GraphPath}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class GraphPathStorageTest extends TestCase {
+
+	private static final int RING_SIZE = 64;
+
+	private Random random;
+	private CGraph ring;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(97531);
+		CGraphBuilder builder = new CGraphBuilder();
+		builder.addPoints(RING_SIZE);
+		for(int i=0; i<RING_SIZE; ++i) {
+			builder.addSegment(i, (i+1)%RING_SIZE, 1f + this.random.nextFloat() * 12f);
+		}
+		this.ring = builder.build();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.ring = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private GridGraphPath createPath(GraphPathStorage storage, int count) {
+		GridGraphPath path = new GridGraphPath(storage);
+		for(int i=0; i<count; ++i) {
+			path.add(this.ring.getSegment(i%RING_SIZE), this.ring.getPoint(i%RING_SIZE));
+		}
+		return path;
+	}
+
+	private static List<CGraphSegment> segments(GridGraphPath path) {
+		return new ArrayList<CGraphSegment>(path);
+	}
+
+	private static void assertSamePath(GridGraphPath expected, GridGraphPath actual) {
+		assertEquals(segments(expected), segments(actual));
+		assertEquals(expected.getFirstPoint(), actual.getFirstPoint());
+		assertEquals(expected.getLastPoint(), actual.getLastPoint());
+		assertEquals(expected.getLength(), actual.getLength(), 1e-3f);
+	}
+
+	/**
+	 */
+	public void testStorage() {
+		GridGraphPath path = createPath(null, 10);
+		assertSame(GraphPathStorage.LINKED_LIST, path.getStorage());
+		path.setStorage(GraphPathStorage.ARRAY);
+		assertSame(GraphPathStorage.ARRAY, path.getStorage());
+		assertSamePath(createPath(GraphPathStorage.LINKED_LIST, 10), path);
+		path.setStorage(null);
+		assertSame(GraphPathStorage.LINKED_LIST, path.getStorage());
+		assertSame(GraphPathStorage.LINKED_LIST, path.clone().getStorage());
+		path.setStorage(GraphPathStorage.ARRAY);
+		assertSame(GraphPathStorage.ARRAY, path.clone().getStorage());
+	}
+
+	/**
+	 */
+	public void testGetDistanceToReachSegment() {
+		GridGraphPath list = createPath(GraphPathStorage.LINKED_LIST, 40);
+		GridGraphPath array = createPath(GraphPathStorage.ARRAY, 40);
+		float distance = 0f;
+		for(int i=0; i<=40; ++i) {
+			assertEquals(distance, list.getDistanceToReachSegment(i), 1e-3f);
+			assertEquals(distance, array.getDistanceToReachSegment(i), 1e-3f);
+			if (i<40) distance += list.get(i).getLength();
+		}
+		try {
+			array.getDistanceToReachSegment(41);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException exception) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 */
+	public void testGetSegmentIndexAt() {
+		GridGraphPath list = createPath(GraphPathStorage.LINKED_LIST, 40);
+		GridGraphPath array = createPath(GraphPathStorage.ARRAY, 40);
+		assertEquals(-1, array.getSegmentIndexAt(-1f));
+		assertEquals(-1, array.getSegmentIndexAt(array.getLength()+1f));
+		for(int i=0; i<200; ++i) {
+			float distance = this.random.nextFloat() * list.getLength();
+			assertEquals(list.getSegmentIndexAt(distance), array.getSegmentIndexAt(distance));
+		}
+		for(int i=0; i<40; ++i) {
+			float distance = list.getDistanceToReachSegment(i);
+			assertEquals(i, array.getSegmentIndexAt(distance));
+			assertEquals(i, list.getSegmentIndexAt(distance));
+		}
+	}
+
+	/**
+	 */
+	public void testRemoveHeadAndInsertHead() {
+		GridGraphPath list = createPath(GraphPathStorage.LINKED_LIST, 30);
+		GridGraphPath array = createPath(GraphPathStorage.ARRAY, 30);
+		for(int i=0; i<10; ++i) {
+			list.remove(0);
+			array.remove(0);
+		}
+		assertSamePath(list, array);
+		assertEquals(list.getDistanceToReachSegment(15), array.getDistanceToReachSegment(15), 1e-3f);
+		for(int i=9; i>=5; --i) {
+			list.add(this.ring.getSegment(i), list.getFirstPoint());
+			array.add(this.ring.getSegment(i), array.getFirstPoint());
+		}
+		assertSamePath(list, array);
+		for(int i=0; i<=array.size(); ++i) {
+			assertEquals(list.getDistanceToReachSegment(i), array.getDistanceToReachSegment(i), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testSplitAtDistance() {
+		for(int i=0; i<50; ++i) {
+			GridGraphPath list = createPath(GraphPathStorage.LINKED_LIST, 40);
+			GridGraphPath array = createPath(GraphPathStorage.ARRAY, 40);
+			float distance = this.random.nextFloat() * list.getLength();
+			GridGraphPath secondList = list.splitAtDistance(distance);
+			GridGraphPath secondArray = array.splitAtDistance(distance);
+			assertSamePath(list, array);
+			assertSamePath(secondList, secondArray);
+			assertSame(GraphPathStorage.ARRAY, secondArray.getStorage());
+			if (!array.isEmpty()) {
+				assertEquals(array.getLastPoint(), secondArray.getFirstPoint());
+			}
+			for(int j=0; j<=secondArray.size(); ++j) {
+				assertEquals(secondList.getDistanceToReachSegment(j), secondArray.getDistanceToReachSegment(j), 1e-3f);
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testSplitAtDistanceBounds() {
+		GridGraphPath array = createPath(GraphPathStorage.ARRAY, 20);
+		GridGraphPath second = array.splitAtDistance(-1f);
+		assertTrue(second.isEmpty());
+		assertEquals(20, array.size());
+
+		second = array.splitAtDistance(0f);
+		assertTrue(array.isEmpty());
+		assertEquals(0f, array.getLength(), 0f);
+		assertSamePath(createPath(GraphPathStorage.LINKED_LIST, 20), second);
+	}
+
+	/**
+	 */
+	public void testSplitAtDistanceSharedStorage() {
+		GridGraphPath first = createPath(GraphPathStorage.ARRAY, 40);
+		GridGraphPath second = first.splitAtDistance(first.getDistanceToReachSegment(20));
+		GridGraphPath expectedFirst = createPath(GraphPathStorage.LINKED_LIST, 20);
+		GridGraphPath expectedSecond = createPath(GraphPathStorage.LINKED_LIST, 40).splitAt(20);
+
+		// Grow the first part over the slots of the second part
+		for(int i=20; i<30; ++i) {
+			first.add(this.ring.getSegment(i), first.getLastPoint());
+			expectedFirst.add(this.ring.getSegment(i), expectedFirst.getLastPoint());
+		}
+		// Insert at the head of the second part over the slots of the first part
+		for(int i=19; i>=15; --i) {
+			second.add(this.ring.getSegment(i), second.getFirstPoint());
+			expectedSecond.add(this.ring.getSegment(i), expectedSecond.getFirstPoint());
+		}
+		// Clear and refill the second part
+		assertSamePath(expectedFirst, first);
+		assertSamePath(expectedSecond, second);
+		second.clear();
+		for(int i=50; i<55; ++i) {
+			second.add(this.ring.getSegment(i), this.ring.getPoint(i));
+		}
+		assertSamePath(expectedFirst, first);
+		for(int i=0; i<=first.size(); ++i) {
+			assertEquals(expectedFirst.getDistanceToReachSegment(i), first.getDistanceToReachSegment(i), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testLongLivingPathPrecision() {
+		GridGraphPath path = createPath(GraphPathStorage.ARRAY, 50);
+		int next = 50;
+		for(int i=0; i<200000; ++i) {
+			path.remove(0);
+			CGraphPoint last = path.getLastPoint();
+			path.add(this.ring.getSegment(next%RING_SIZE), last);
+			++next;
+			path.getDistanceToReachSegment(path.size());
+		}
+		float expected = 0f;
+		for(int i=0; i<path.size(); ++i) {
+			assertEquals(expected, path.getDistanceToReachSegment(i), 1e-3f);
+			expected += path.get(i).getLength();
+		}
+		assertEquals(expected, path.getDistanceToReachSegment(path.size()), 1e-3f);
+		assertEquals(path.getSegmentIndexAt(expected/2f),
+				createPathFrom(path).getSegmentIndexAt(expected/2f));
+	}
+
+	private static GridGraphPath createPathFrom(GridGraphPath path) {
+		GridGraphPath copy = path.clone();
+		copy.setStorage(GraphPathStorage.LINKED_LIST);
+		return copy;
+	}
+
+}
@@ -0,0 +1,187 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.arakhne.afc.math.graph.astar.AStarHeuristic;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphBuilder;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Grid graph used by the unit tests of the graph tools.
+ * <p>
+ * The points are located on a regular grid, and each point is
+ * connected to its right and bottom neighbours. The length of
+ * a segment is never lower than the euclidian distance between
+ * its ends, so that the euclidian distance is a consistent
+ * A* heuristic.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class GridGraph implements AStarHeuristic<CGraphPoint> {
+
+	private final int width;
+	private final int height;
+	private final CGraph graph;
+
+	/**
+	 * @param width is the number of columns.
+	 * @param height is the number of rows.
+	 * @param random is the generator of the segment lengths, or <code>null</code>
+	 * to use unit lengths.
+	 */
+	public GridGraph(int width, int height, Random random) {
+		this.width = width;
+		this.height = height;
+		CGraphBuilder builder = new CGraphBuilder();
+		builder.addPoints(width*height);
+		for(int y=0; y<height; ++y) {
+			for(int x=0; x<width; ++x) {
+				int p = y*width+x;
+				if (x+1<width) {
+					builder.addSegment(p, p+1, length(random));
+				}
+				if (y+1<height) {
+					builder.addSegment(p, p+width, length(random));
+				}
+			}
+		}
+		this.graph = builder.build();
+	}
+
+	private static float length(Random random) {
+		if (random==null) return 1f;
+		return 1f + random.nextInt(8) / 4f;
+	}
+
+	/** Replies the graph.
+	 * 
+	 * @return the graph.
+	 */
+	public CGraph getGraph() {
+		return this.graph;
+	}
+
+	/** Replies the point at the given location.
+	 * 
+	 * @param x
+	 * @param y
+	 * @return the point.
+	 */
+	public CGraphPoint getPoint(int x, int y) {
+		return this.graph.getPoint(y*this.width+x);
+	}
+
+	/** Replies the number of columns.
+	 * 
+	 * @return the number of columns.
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/** Replies the number of rows.
+	 * 
+	 * @return the number of rows.
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	/** {@inheritDoc}
+	 */
+	@Override
+	public float evaluate(CGraphPoint p1, CGraphPoint p2) {
+		int i1 = p1.getIndex();
+		int i2 = p2.getIndex();
+		float dx = (i1%this.width) - (i2%this.width);
+		float dy = (i1/this.width) - (i2/this.width);
+		return (float)Math.sqrt(dx*dx+dy*dy);
+	}
+
+	/** Compute the lengths of the shortest paths from the given point
+	 * with the Dijkstra algorithm.
+	 * 
+	 * @param start
+	 * @return the lengths of the shortest paths, indexed by the point indexes.
+	 */
+	public float[] computeDistancesFrom(CGraphPoint start) {
+		int n = this.graph.getPointCount();
+		float[] dist = new float[n];
+		boolean[] done = new boolean[n];
+		Arrays.fill(dist, Float.POSITIVE_INFINITY);
+		dist[start.getIndex()] = 0f;
+		for(int k=0; k<n; ++k) {
+			int best = -1;
+			for(int i=0; i<n; ++i) {
+				if (!done[i] && (best<0 || dist[i]<dist[best])) best = i;
+			}
+			if (best<0 || Float.isInfinite(dist[best])) break;
+			done[best] = true;
+			int first = this.graph.getFirstConnection(best);
+			int count = this.graph.getConnectionCount(best);
+			for(int c=first; c<first+count; ++c) {
+				int s = this.graph.getConnectedSegmentIndex(c);
+				int o = this.graph.getOtherSidePointIndex(s, best);
+				float d = dist[best] + this.graph.getSegmentLength(s);
+				if (d<dist[o]) dist[o] = d;
+			}
+		}
+		return dist;
+	}
+
+	/** Replies the length of the given path, computed from its segments.
+	 * 
+	 * @param path
+	 * @return the length of the path.
+	 */
+	public static float lengthOf(Iterable<CGraphSegment> path) {
+		float length = 0f;
+		for(CGraphSegment segment : path) {
+			length += segment.getLength();
+		}
+		return length;
+	}
+
+	/** Assert that the given path is a connected path between the given points.
+	 * 
+	 * @param path
+	 * @param start
+	 * @param end
+	 * @return <code>true</code> if the path is connected.
+	 */
+	public static boolean isConnectedPath(GridGraphPath path, CGraphPoint start, CGraphPoint end) {
+		CGraphPoint p = start;
+		for(CGraphSegment segment : path) {
+			if (!segment.getBeginPoint().equals(p) && !segment.getEndPoint().equals(p)) return false;
+			p = segment.getOtherSidePoint(p);
+		}
+		return p.equals(end);
+	}
+
+}
@@ -0,0 +1,57 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Path in a {@link GridGraph}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class GridGraphPath extends GraphPath<GridGraphPath,CGraphSegment,CGraphPoint> {
+
+	/**
+	 */
+	public GridGraphPath() {
+		super();
+	}
+
+	/**
+	 * @param storage is the type of storage of the segments.
+	 */
+	public GridGraphPath(GraphPathStorage storage) {
+		super(storage);
+	}
+
+	/**
+	 * @param segment is the first segment of the path.
+	 * @param startingPoint is the first point of the path.
+	 */
+	public GridGraphPath(CGraphSegment segment, CGraphPoint startingPoint) {
+		super(segment, startingPoint);
+	}
+
+}
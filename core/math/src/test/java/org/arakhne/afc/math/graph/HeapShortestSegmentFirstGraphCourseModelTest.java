@@ -0,0 +1,144 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link HeapShortestSegmentFirstGraphCourseModel}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class HeapShortestSegmentFirstGraphCourseModelTest extends TestCase {
+
+	private Random random;
+	private GridGraph grid;
+	private CGraph graph;
+	private HeapShortestSegmentFirstGraphCourseModel<CGraphSegment,CGraphPoint> heap;
+	private ShortestSegmentFirstGraphCourseModel<CGraphSegment,CGraphPoint> reference;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(13579);
+		this.grid = new GridGraph(8, 8, this.random);
+		this.graph = this.grid.getGraph();
+		this.heap = new HeapShortestSegmentFirstGraphCourseModel<CGraphSegment,CGraphPoint>();
+		this.reference = new ShortestSegmentFirstGraphCourseModel<CGraphSegment,CGraphPoint>();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.reference = null;
+		this.heap = null;
+		this.graph = null;
+		this.grid = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private GraphIterationElement<CGraphSegment,CGraphPoint> randomElement() {
+		CGraphSegment segment = this.graph.getSegment(this.random.nextInt(this.graph.getSegmentCount()));
+		// Few distinct distances to test the ties
+		float distance = this.random.nextInt(10);
+		return new GraphIterationElement<CGraphSegment,CGraphPoint>(
+				null, segment, segment.getBeginPoint(), distance, 0f);
+	}
+
+	/**
+	 */
+	public void testIsReversedRestitution() {
+		assertFalse(this.heap.isReversedRestitution());
+	}
+
+	/**
+	 */
+	public void testSameOrderAsSortedModel() {
+		for(int i=0; i<200; ++i) {
+			GraphIterationElement<CGraphSegment,CGraphPoint> element = randomElement();
+			this.heap.addIterationElement(element);
+			this.reference.addIterationElement(element);
+			if (this.random.nextInt(3)==0) {
+				assertSame(this.reference.getNextIterationElement(), this.heap.getNextIterationElement());
+				assertSame(this.reference.removeNextIterationElement(), this.heap.removeNextIterationElement());
+			}
+		}
+		while (!this.reference.isEmpty()) {
+			assertFalse(this.heap.isEmpty());
+			assertSame(this.reference.removeNextIterationElement(), this.heap.removeNextIterationElement());
+		}
+		assertTrue(this.heap.isEmpty());
+		assertNull(this.heap.getNextIterationElement());
+		assertNull(this.heap.removeNextIterationElement());
+	}
+
+	/**
+	 */
+	public void testRemoveIterationElements() {
+		List<GraphIterationElement<CGraphSegment,CGraphPoint>> removed = new ArrayList<GraphIterationElement<CGraphSegment,CGraphPoint>>();
+		for(int i=0; i<100; ++i) {
+			GraphIterationElement<CGraphSegment,CGraphPoint> element = randomElement();
+			this.heap.addIterationElement(element);
+			this.reference.addIterationElement(element);
+			if (i%3==0) removed.add(element);
+		}
+		this.heap.removeIterationElements(removed);
+		this.reference.removeIterationElements(removed);
+		while (!this.reference.isEmpty()) {
+			GraphIterationElement<CGraphSegment,CGraphPoint> element = this.heap.removeNextIterationElement();
+			assertSame(this.reference.removeNextIterationElement(), element);
+			assertFalse(removed.contains(element));
+		}
+		assertTrue(this.heap.isEmpty());
+	}
+
+	/**
+	 */
+	public void testDepthIteratorDijkstraOrder() {
+		CGraphPoint start = this.grid.getPoint(0, 0);
+		CGraphSegment first = start.getConnectedSegments().iterator().next();
+		DepthGraphIterator<CGraphSegment,CGraphPoint> iterator = new DepthGraphIterator<CGraphSegment,CGraphPoint>(
+				this.graph, this.heap, 10f, 0f, first, start, false, false);
+		float previous = Float.NEGATIVE_INFINITY;
+		int count = 0;
+		while (iterator.hasNext()) {
+			GraphIterationElement<CGraphSegment,CGraphPoint> element = iterator.nextElement();
+			float distance = element.getDistanceToReachSegment() + element.getSegment().getLength();
+			assertTrue(distance>=previous);
+			assertTrue(element.getDistanceToReachSegment()<=10f);
+			previous = distance;
+			++count;
+		}
+		assertTrue(count>1);
+	}
+
+}
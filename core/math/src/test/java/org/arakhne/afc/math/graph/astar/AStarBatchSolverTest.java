@@ -0,0 +1,264 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GridGraph;
+import org.arakhne.afc.math.graph.GridGraphPath;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+import org.arakhne.afc.util.Pair;
+
+/**
+ * Test for {@link AStarBatchSolver}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class AStarBatchSolverTest extends TestCase {
+
+	private GridGraph grid;
+	private List<Pair<CGraphPoint,CGraphPoint>> pairs;
+	private AtomicInteger instances;
+	private AtomicInteger solves;
+	private ExecutorService executor;
+	private AStarBatchSolver<GridGraphPath,CGraphSegment,CGraphPoint> solver;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Random random = new Random(2468);
+		this.grid = new GridGraph(12, 12, random);
+		this.pairs = new ArrayList<Pair<CGraphPoint,CGraphPoint>>();
+		int n = this.grid.getGraph().getPointCount();
+		for(int i=0; i<40; ++i) {
+			CGraphPoint start = this.grid.getGraph().getPoint(random.nextInt(n));
+			CGraphPoint end = this.grid.getGraph().getPoint(random.nextInt(n));
+			if (!start.equals(end)) {
+				this.pairs.add(new Pair<CGraphPoint,CGraphPoint>(start, end));
+			}
+		}
+		this.instances = new AtomicInteger();
+		this.solves = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(3);
+		this.solver = new AStarBatchSolver<GridGraphPath,CGraphSegment,CGraphPoint>(new CountingFactory(), this.executor);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.executor.shutdownNow();
+		this.solver = null;
+		this.executor = null;
+		this.solves = null;
+		this.instances = null;
+		this.pairs = null;
+		this.grid = null;
+		super.tearDown();
+	}
+
+	/**
+	 */
+	public void testParallelism() {
+		assertEquals(Runtime.getRuntime().availableProcessors(), this.solver.getParallelism());
+		this.solver.setParallelism(3);
+		assertEquals(3, this.solver.getParallelism());
+		try {
+			this.solver.setParallelism(0);
+			fail("expecting IllegalArgumentException"); //$NON-NLS-1$
+		}
+		catch(IllegalArgumentException exception) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSolve() throws Exception {
+		this.solver.setParallelism(4);
+		List<GridGraphPath> paths = this.solver.solve(this.pairs);
+		assertEquals(this.pairs.size(), paths.size());
+		for(int i=0; i<paths.size(); ++i) {
+			Pair<CGraphPoint,CGraphPoint> pair = this.pairs.get(i);
+			GridGraphPath path = paths.get(i);
+			assertNotNull(path);
+			assertTrue(GridGraph.isConnectedPath(path, pair.getA(), pair.getB()));
+			float[] expected = this.grid.computeDistancesFrom(pair.getA());
+			assertEquals(expected[pair.getB().getIndex()], GridGraph.lengthOf(path), 1e-3f);
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSolveUsesFactory() throws Exception {
+		this.solver.setParallelism(4);
+		this.solver.solve(this.pairs);
+		assertEquals(this.pairs.size(), this.solves.get());
+		assertTrue(this.instances.get()>=1);
+		assertTrue(this.instances.get()<=4);
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSolveSingleWorker() throws Exception {
+		this.solver.setParallelism(1);
+		List<GridGraphPath> paths = this.solver.solve(this.pairs);
+		assertEquals(this.pairs.size(), paths.size());
+		assertEquals(1, this.instances.get());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSolveEmpty() throws Exception {
+		List<Pair<CGraphPoint,CGraphPoint>> empty = Collections.emptyList();
+		assertTrue(this.solver.solve(empty).isEmpty());
+		assertEquals(0, this.instances.get());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSolveUnreachable() throws Exception {
+		CGraphPoint other = new GridGraph(2, 2, null).getPoint(1, 1);
+		List<Pair<CGraphPoint,CGraphPoint>> list = new ArrayList<Pair<CGraphPoint,CGraphPoint>>();
+		list.add(new Pair<CGraphPoint,CGraphPoint>(this.grid.getPoint(0, 0), other));
+		list.add(this.pairs.get(0));
+		List<GridGraphPath> paths = this.solver.solve(list);
+		assertNull(paths.get(0));
+		assertNotNull(paths.get(1));
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSolveSaturatedExecutor() throws Exception {
+		// The only thread of the executor is busy during the solving,
+		// so that the submitted workers are never started
+		ExecutorService busyExecutor = Executors.newSingleThreadExecutor();
+		final CountDownLatch release = new CountDownLatch(1);
+		try {
+			busyExecutor.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						release.await();
+					}
+					catch (InterruptedException exception) {
+						//
+					}
+				}
+			});
+			final AStarBatchSolver<GridGraphPath,CGraphSegment,CGraphPoint> busySolver =
+					new AStarBatchSolver<GridGraphPath,CGraphSegment,CGraphPoint>(new CountingFactory(), busyExecutor);
+			busySolver.setParallelism(4);
+			final AtomicReference<List<GridGraphPath>> result = new AtomicReference<List<GridGraphPath>>();
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						result.set(busySolver.solve(AStarBatchSolverTest.this.pairs));
+					}
+					catch (InterruptedException exception) {
+						//
+					}
+				}
+			};
+			thread.start();
+			thread.join(10000);
+			assertFalse(thread.isAlive());
+			assertNotNull(result.get());
+			assertEquals(this.pairs.size(), result.get().size());
+			assertEquals(this.pairs.size(), this.solves.get());
+			assertEquals(1, this.instances.get());
+		}
+		finally {
+			release.countDown();
+			busyExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class CountingFactory implements AStarFactory<GridGraphPath,CGraphSegment,CGraphPoint> {
+
+		/**
+		 */
+		public CountingFactory() {
+			//
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public AStar<GridGraphPath,CGraphSegment,CGraphPoint> newAStar() {
+			AStarBatchSolverTest.this.instances.incrementAndGet();
+			AStar<GridGraphPath,CGraphSegment,CGraphPoint> astar = new CountingAStar();
+			astar.setSearchMode(AStarSearchMode.INDEXED_HEAP);
+			return astar;
+		}
+
+	}
+
+	/**
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class CountingAStar extends AStar<GridGraphPath,CGraphSegment,CGraphPoint> {
+
+		/**
+		 */
+		public CountingAStar() {
+			super(AStarBatchSolverTest.this.grid, GridGraphPath.class);
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		protected GridGraphPath solve(AStarNode<CGraphSegment,CGraphPoint> startPoint, CGraphPoint endPoint) {
+			AStarBatchSolverTest.this.solves.incrementAndGet();
+			return super.solve(startPoint, endPoint);
+		}
+
+	}
+
+}
@@ -0,0 +1,135 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GridGraph;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link AStarLandmarkHeuristic}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class AStarLandmarkHeuristicTest extends TestCase {
+
+	private GridGraph grid;
+	private CGraph graph;
+	private AStarLandmarkHeuristic<CGraphSegment,CGraphPoint> heuristic;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.grid = new GridGraph(12, 9, new Random(789));
+		this.graph = this.grid.getGraph();
+		this.heuristic = new AStarLandmarkHeuristic<CGraphSegment,CGraphPoint>(this.graph, 4);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.heuristic = null;
+		this.graph = null;
+		this.grid = null;
+		super.tearDown();
+	}
+
+	/**
+	 */
+	public void testGetLandmarks() {
+		List<CGraphPoint> landmarks = this.heuristic.getLandmarks();
+		assertEquals(4, landmarks.size());
+		for(int i=0; i<landmarks.size(); ++i) {
+			for(int j=i+1; j<landmarks.size(); ++j) {
+				assertFalse(landmarks.get(i).equals(landmarks.get(j)));
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testEvaluateAdmissible() {
+		int n = this.graph.getPointCount();
+		for(int i=0; i<n; i+=3) {
+			CGraphPoint p1 = this.graph.getPoint(i);
+			float[] distances = this.grid.computeDistancesFrom(p1);
+			for(int j=0; j<n; ++j) {
+				CGraphPoint p2 = this.graph.getPoint(j);
+				float h = this.heuristic.evaluate(p1, p2);
+				assertTrue(h>=0f);
+				assertTrue(h<=distances[j]+1e-3f);
+				assertEquals(h, this.heuristic.evaluate(p2, p1), 1e-4f);
+			}
+			assertEquals(0f, this.heuristic.evaluate(p1, p1), 0f);
+		}
+	}
+
+	/**
+	 */
+	public void testEvaluateLandmark() {
+		for(CGraphPoint landmark : this.heuristic.getLandmarks()) {
+			float[] distances = this.grid.computeDistancesFrom(landmark);
+			for(int j=0; j<this.graph.getPointCount(); ++j) {
+				assertEquals(distances[j], this.heuristic.evaluate(landmark, this.graph.getPoint(j)), 1e-3f);
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testEvaluateUnknownPoint() {
+		CGraph other = new GridGraph(3, 3, null).getGraph();
+		assertEquals(0f, this.heuristic.evaluate(this.graph.getPoint(0), other.getPoint(8)), 0f);
+	}
+
+	/**
+	 */
+	public void testExplicitLandmarks() {
+		CGraphPoint corner = this.grid.getPoint(0, 0);
+		AStarLandmarkHeuristic<CGraphSegment,CGraphPoint> h = new AStarLandmarkHeuristic<CGraphSegment,CGraphPoint>(
+				this.graph, Arrays.asList(corner), null);
+		assertEquals(Arrays.asList(corner), h.getLandmarks());
+		CGraphPoint p = this.grid.getPoint(5, 5);
+		assertEquals(this.grid.computeDistancesFrom(corner)[p.getIndex()], h.evaluate(corner, p), 1e-3f);
+	}
+
+	/**
+	 */
+	public void testInvalidLandmarkCount() {
+		try {
+			new AStarLandmarkHeuristic<CGraphSegment,CGraphPoint>(this.graph, 0);
+			fail("expecting IllegalArgumentException"); //$NON-NLS-1$
+		}
+		catch(IllegalArgumentException exception) {
+			// Expected exception
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GridGraph;
+import org.arakhne.afc.math.graph.GridGraphPath;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link AStarOpenHeap} and {@link AStarCloseSet}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class AStarOpenHeapTest extends TestCase {
+
+	private Random random;
+	private GridGraph grid;
+	private AStar<GridGraphPath,CGraphSegment,CGraphPoint> astar;
+	private AStarOpenHeap<CGraphSegment,CGraphPoint> heap;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(1234);
+		this.grid = new GridGraph(10, 10, null);
+		this.astar = new AStar<GridGraphPath,CGraphSegment,CGraphPoint>(this.grid, GridGraphPath.class);
+		this.heap = new AStarOpenHeap<CGraphSegment,CGraphPoint>(new AStar.OpenComparator<CGraphSegment,CGraphPoint>());
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.heap = null;
+		this.astar = null;
+		this.grid = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private AStarNode<CGraphSegment,CGraphPoint> node(int index, float cost) {
+		CGraphPoint p = this.grid.getGraph().getPoint(index);
+		return this.astar.new Candidate(null, p, cost, 0f);
+	}
+
+	/**
+	 */
+	public void testAddPoll() {
+		List<Float> costs = new ArrayList<Float>();
+		for(int i=0; i<100; ++i) {
+			float cost = this.random.nextInt(1000);
+			costs.add(Float.valueOf(cost));
+			this.heap.add(node(i, cost));
+		}
+		assertEquals(100, this.heap.size());
+		Collections.sort(costs);
+		for(Float expected : costs) {
+			assertEquals(expected.floatValue(), this.heap.poll().pathCost(), 0f);
+		}
+		assertTrue(this.heap.isEmpty());
+		assertNull(this.heap.poll());
+	}
+
+	/**
+	 */
+	public void testGetNode() {
+		AStarNode<CGraphSegment,CGraphPoint> n = node(5, 10f);
+		this.heap.add(node(3, 2f));
+		this.heap.add(n);
+		assertSame(n, this.heap.getNode(this.grid.getGraph().getPoint(5)));
+		assertNull(this.heap.getNode(this.grid.getGraph().getPoint(4)));
+		assertEquals(2, this.heap.size());
+	}
+
+	/**
+	 */
+	public void testUpdate() {
+		for(int i=0; i<50; ++i) {
+			this.heap.add(node(i, 100f+i));
+		}
+		CGraphPoint p = this.grid.getGraph().getPoint(42);
+		AStarNode<CGraphSegment,CGraphPoint> n = this.heap.getNode(p);
+		n.setCost(1f);
+		this.heap.update(p);
+		assertSame(n, this.heap.poll());
+		assertEquals(100f, this.heap.poll().pathCost(), 0f);
+	}
+
+	/**
+	 */
+	public void testAddReplace() {
+		this.heap.add(node(1, 5f));
+		this.heap.add(node(2, 6f));
+		AStarNode<CGraphSegment,CGraphPoint> n = node(2, 1f);
+		this.heap.add(n);
+		assertEquals(2, this.heap.size());
+		assertSame(n, this.heap.poll());
+	}
+
+	/**
+	 */
+	public void testRemoveNode() {
+		for(int i=0; i<30; ++i) {
+			this.heap.add(node(i, i));
+		}
+		for(int i=0; i<30; i+=2) {
+			assertNotNull(this.heap.removeNode(this.grid.getGraph().getPoint(i)));
+		}
+		assertNull(this.heap.removeNode(this.grid.getGraph().getPoint(0)));
+		assertEquals(15, this.heap.size());
+		for(int i=1; i<30; i+=2) {
+			assertEquals(i, this.heap.poll().getGraphPoint().getIndex());
+		}
+	}
+
+	/**
+	 */
+	public void testClear() {
+		for(int i=0; i<30; ++i) {
+			this.heap.add(node(i, 30-i));
+		}
+		this.heap.clear();
+		assertTrue(this.heap.isEmpty());
+		assertNull(this.heap.getNode(this.grid.getGraph().getPoint(3)));
+		for(int i=0; i<30; ++i) {
+			this.heap.add(node(i, i));
+		}
+		assertEquals(0, this.heap.poll().getGraphPoint().getIndex());
+	}
+
+	/**
+	 */
+	public void testCloseSet() {
+		AStarCloseSet<CGraphSegment,CGraphPoint> set = new AStarCloseSet<CGraphSegment,CGraphPoint>();
+		for(int i=0; i<20; ++i) {
+			set.add(node(i, i));
+		}
+		assertEquals(20, set.size());
+		CGraphPoint p = this.grid.getGraph().getPoint(7);
+		assertEquals(7f, set.getNode(p).cost(), 0f);
+		AStarNode<CGraphSegment,CGraphPoint> n = node(7, 1f);
+		set.add(n);
+		assertEquals(20, set.size());
+		assertSame(n, set.getNode(p));
+		assertSame(n, set.removeNode(p));
+		assertNull(set.getNode(p));
+		assertEquals(19, set.size());
+		for(int i=0; i<20; ++i) {
+			if (i!=7) {
+				assertEquals(i, set.getNode(this.grid.getGraph().getPoint(i)).getGraphPoint().getIndex());
+			}
+		}
+		set.clear();
+		assertTrue(set.isEmpty());
+	}
+
+}
@@ -0,0 +1,314 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GridGraph;
+import org.arakhne.afc.math.graph.GridGraphPath;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link AStar}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class AStarTest extends TestCase {
+
+	private Random random;
+	private GridGraph grid;
+	private AStar<GridGraphPath,CGraphSegment,CGraphPoint> astar;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(4321);
+		this.grid = new GridGraph(15, 12, this.random);
+		this.astar = new AStar<GridGraphPath,CGraphSegment,CGraphPoint>(this.grid, GridGraphPath.class);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.astar = null;
+		this.grid = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private CGraphPoint randomPoint() {
+		return this.grid.getGraph().getPoint(this.random.nextInt(this.grid.getGraph().getPointCount()));
+	}
+
+	private void assertShortestPaths(int queries) {
+		for(int i=0; i<queries; ++i) {
+			CGraphPoint start = randomPoint();
+			CGraphPoint end = randomPoint();
+			while (end.equals(start)) {
+				end = randomPoint();
+			}
+			float[] expected = this.grid.computeDistancesFrom(start);
+			GridGraphPath path = this.astar.solve(start, end);
+			assertNotNull(path);
+			assertTrue(GridGraph.isConnectedPath(path, start, end));
+			assertEquals(expected[end.getIndex()], GridGraph.lengthOf(path), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testGetSearchMode() {
+		assertSame(AStarSearchMode.SORTED_LIST, this.astar.getSearchMode());
+		assertSame(AStarSearchMode.SORTED_LIST, this.astar.setSearchMode(AStarSearchMode.INDEXED_HEAP));
+		assertSame(AStarSearchMode.INDEXED_HEAP, this.astar.getSearchMode());
+		assertSame(AStarSearchMode.INDEXED_HEAP, this.astar.setSearchMode(null));
+		assertSame(AStarSearchMode.SORTED_LIST, this.astar.getSearchMode());
+	}
+
+	/**
+	 */
+	public void testSolveSortedList() {
+		this.astar.setSearchMode(AStarSearchMode.SORTED_LIST);
+		assertShortestPaths(30);
+	}
+
+	/**
+	 */
+	public void testSolveIndexedHeap() {
+		this.astar.setSearchMode(AStarSearchMode.INDEXED_HEAP);
+		assertShortestPaths(30);
+	}
+
+	/**
+	 */
+	public void testSolveIndexedHeapSameAsSortedList() {
+		for(int i=0; i<30; ++i) {
+			CGraphPoint start = randomPoint();
+			CGraphPoint end = randomPoint();
+			if (start.equals(end)) continue;
+			this.astar.setSearchMode(AStarSearchMode.SORTED_LIST);
+			GridGraphPath p1 = this.astar.solve(start, end);
+			this.astar.setSearchMode(AStarSearchMode.INDEXED_HEAP);
+			GridGraphPath p2 = this.astar.solve(start, end);
+			assertEquals(GridGraph.lengthOf(p1), GridGraph.lengthOf(p2), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testSolveIndexedHeapClosedNodeReopening() {
+		this.astar.setSearchMode(AStarSearchMode.INDEXED_HEAP);
+		this.astar.setClosedNodeReopeningEnabled(true);
+		assertShortestPaths(20);
+	}
+
+	/**
+	 */
+	public void testSolveIndexedHeapUnreachable() {
+		GridGraph other = new GridGraph(3, 3, null);
+		this.astar.setSearchMode(AStarSearchMode.INDEXED_HEAP);
+		assertNull(this.astar.solve(this.grid.getPoint(0, 0), other.getPoint(2, 2)));
+	}
+
+	/**
+	 */
+	public void testBidirectionalSearchEnabled() {
+		assertFalse(this.astar.isBidirectionalSearchEnabled());
+		this.astar.setBidirectionalSearchEnabled(true);
+		assertTrue(this.astar.isBidirectionalSearchEnabled());
+	}
+
+	/**
+	 */
+	public void testSolveBidirectional() {
+		this.astar.setBidirectionalSearchEnabled(true);
+		assertShortestPaths(30);
+	}
+
+	/**
+	 */
+	public void testSolveBidirectionalLandmarks() {
+		this.astar.setEvaluationHeuristic(
+				new AStarLandmarkHeuristic<CGraphSegment,CGraphPoint>(this.grid.getGraph(), 3));
+		this.astar.setBidirectionalSearchEnabled(true);
+		assertShortestPaths(30);
+	}
+
+	/**
+	 */
+	public void testSolveBidirectionalUnreachable() {
+		GridGraph other = new GridGraph(3, 3, null);
+		this.astar.setBidirectionalSearchEnabled(true);
+		assertNull(this.astar.solve(this.grid.getPoint(0, 0), other.getPoint(2, 2)));
+	}
+
+	/**
+	 */
+	public void testSolvePooledHeap() {
+		this.astar.setSearchMode(AStarSearchMode.POOLED_HEAP);
+		assertShortestPaths(30);
+	}
+
+	/**
+	 */
+	public void testSolvePooledHeapSameAsSortedList() {
+		for(int i=0; i<30; ++i) {
+			CGraphPoint start = randomPoint();
+			CGraphPoint end = randomPoint();
+			if (start.equals(end)) continue;
+			this.astar.setSearchMode(AStarSearchMode.SORTED_LIST);
+			GridGraphPath p1 = this.astar.solve(start, end);
+			this.astar.setSearchMode(AStarSearchMode.POOLED_HEAP);
+			GridGraphPath p2 = this.astar.solve(start, end);
+			assertEquals(GridGraph.lengthOf(p1), GridGraph.lengthOf(p2), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testNewAStarNodeSortedList() {
+		CountingAStar counting = new CountingAStar();
+		counting.setSearchMode(AStarSearchMode.SORTED_LIST);
+		assertNotNull(counting.solve(this.grid.getPoint(0, 0), this.grid.getPoint(10, 8)));
+		assertTrue(counting.createdNodes>0);
+		assertEquals(0, counting.foreignNodes);
+	}
+
+	/**
+	 */
+	public void testNewAStarNodeIndexedHeap() {
+		CountingAStar counting = new CountingAStar();
+		counting.setSearchMode(AStarSearchMode.INDEXED_HEAP);
+		assertNotNull(counting.solve(this.grid.getPoint(0, 0), this.grid.getPoint(10, 8)));
+		assertTrue(counting.createdNodes>0);
+		assertEquals(0, counting.foreignNodes);
+	}
+
+	/**
+	 */
+	public void testNewAStarNodePooledHeap() {
+		CountingAStar counting = new CountingAStar();
+		counting.setSearchMode(AStarSearchMode.POOLED_HEAP);
+		GridGraphPath p1 = counting.solve(this.grid.getPoint(0, 0), this.grid.getPoint(10, 8));
+		int created = counting.createdNodes;
+		assertTrue(created>0);
+		// The nodes of the subclass type are never recycled
+		GridGraphPath p2 = counting.solve(this.grid.getPoint(0, 0), this.grid.getPoint(10, 8));
+		assertEquals(2*created, counting.createdNodes);
+		assertEquals(0, counting.foreignNodes);
+		assertEquals(GridGraph.lengthOf(p1), GridGraph.lengthOf(p2), 1e-3f);
+	}
+
+	/**
+	 */
+	public void testPooledHeapRecyclesNodes() {
+		CountingAStar counting = new CountingAStar(false);
+		counting.setSearchMode(AStarSearchMode.POOLED_HEAP);
+		counting.solve(this.grid.getPoint(0, 0), this.grid.getPoint(10, 8));
+		int created = counting.createdNodes;
+		assertTrue(created>0);
+		counting.solve(this.grid.getPoint(0, 0), this.grid.getPoint(10, 8));
+		// Only the node of the starting point is created again
+		assertEquals(created+1, counting.createdNodes);
+	}
+
+	/**
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class CountingAStar extends AStar<GridGraphPath,CGraphSegment,CGraphPoint> {
+
+		private final boolean subclassNodes;
+
+		/** Number of nodes created by {@link #newAStarNode(CGraphPoint, float, float, CGraphSegment)}.
+		 */
+		public int createdNodes = 0;
+
+		/** Number of nodes in the close list that were not created
+		 * by {@link #newAStarNode(CGraphPoint, float, float, CGraphSegment)}.
+		 */
+		public int foreignNodes = 0;
+
+		/**
+		 */
+		public CountingAStar() {
+			this(true);
+		}
+
+		/**
+		 * @param subclassNodes indicates if the nodes are of a subtype of Candidate.
+		 */
+		public CountingAStar(boolean subclassNodes) {
+			super(AStarTest.this.grid, GridGraphPath.class);
+			this.subclassNodes = subclassNodes;
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		protected AStarNode<CGraphSegment,CGraphPoint> newAStarNode(CGraphPoint node, float cost, float estimatedCost, CGraphSegment arrival) {
+			++this.createdNodes;
+			if (this.subclassNodes) {
+				return new MarkedCandidate(arrival, node, cost, estimatedCost);
+			}
+			return super.newAStarNode(node, cost, estimatedCost, arrival);
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		protected AStarNode<CGraphSegment,CGraphPoint> translateCandidate(CGraphPoint endPoint, AStarNode<CGraphSegment,CGraphPoint> node) {
+			if (this.subclassNodes && node.getArrivalConnection()!=null && !(node instanceof MarkedCandidate)) {
+				++this.foreignNodes;
+			}
+			return super.translateCandidate(endPoint, node);
+		}
+
+		/**
+		 * @author $Author: galland$
+		 * @version $FullVersion$
+		 * @mavengroupid $GroupId$
+		 * @mavenartifactid $ArtifactId$
+		 */
+		private class MarkedCandidate extends Candidate {
+
+			/**
+			 * @param entryConnection
+			 * @param node
+			 * @param costToReach
+			 * @param estimatedCost
+			 */
+			public MarkedCandidate(CGraphSegment entryConnection, CGraphPoint node, float costToReach, float estimatedCost) {
+				super(entryConnection, node, costToReach, estimatedCost);
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,212 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GridGraph;
+import org.arakhne.afc.math.graph.GridGraphPath;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link ContractionHierarchy}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class ContractionHierarchyTest extends TestCase {
+
+	private Random random;
+	private GridGraph grid;
+	private CGraph graph;
+	private ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint> hierarchy;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(1122);
+		this.grid = new GridGraph(16, 12, this.random);
+		this.graph = this.grid.getGraph();
+		this.hierarchy = new ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint>(this.graph);
+		this.hierarchy.setPathType(GridGraphPath.class);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.hierarchy = null;
+		this.graph = null;
+		this.grid = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private CGraphPoint randomPoint() {
+		return this.graph.getPoint(this.random.nextInt(this.graph.getPointCount()));
+	}
+
+	private static void assertShortestPaths(GridGraph grid,
+			ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint> hierarchy,
+			Random random, int queries) {
+		CGraph graph = grid.getGraph();
+		for(int i=0; i<queries; ++i) {
+			CGraphPoint start = graph.getPoint(random.nextInt(graph.getPointCount()));
+			CGraphPoint end = graph.getPoint(random.nextInt(graph.getPointCount()));
+			if (start.equals(end)) continue;
+			float expected = grid.computeDistancesFrom(start)[end.getIndex()];
+			GridGraphPath path = hierarchy.solve(start, end);
+			assertNotNull(path);
+			assertTrue(GridGraph.isConnectedPath(path, start, end));
+			assertEquals(expected, GridGraph.lengthOf(path), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testGetEdgeCount() {
+		assertTrue(this.hierarchy.getEdgeCount()>=this.graph.getSegmentCount());
+	}
+
+	/**
+	 */
+	public void testSolve() {
+		assertShortestPaths(this.grid, this.hierarchy, this.random, 100);
+	}
+
+	/**
+	 */
+	public void testSolveSamePoint() {
+		CGraphPoint p = randomPoint();
+		assertNull(this.hierarchy.solve(p, p));
+	}
+
+	/**
+	 */
+	public void testSolveUnknownPoint() {
+		CGraphPoint other = new GridGraph(2, 2, null).getPoint(1, 1);
+		assertNull(this.hierarchy.solve(randomPoint(), other));
+	}
+
+	/**
+	 */
+	public void testSolveCostComputer() {
+		final float[] costs = new float[this.graph.getSegmentCount()];
+		for(int i=0; i<costs.length; ++i) {
+			costs[i] = 1f + this.random.nextInt(20);
+		}
+		AStarCostComputer<CGraphSegment,CGraphPoint> costComputer = new AStarCostComputer<CGraphSegment,CGraphPoint>() {
+			@Override
+			public float computeCostFor(CGraphPoint p) {
+				return 0f;
+			}
+			@Override
+			public float computeCostFor(CGraphSegment s) {
+				return costs[s.getIndex()];
+			}
+		};
+		ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint> h = new ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint>(
+				this.graph, costComputer);
+		h.setPathType(GridGraphPath.class);
+		// Compare with the A* algorithm running with the same costs
+		AStar<GridGraphPath,CGraphSegment,CGraphPoint> astar = new AStar<GridGraphPath,CGraphSegment,CGraphPoint>(
+				new AStarZeroHeuristic(), GridGraphPath.class);
+		astar.setCostComputer(costComputer);
+		for(int i=0; i<50; ++i) {
+			CGraphPoint start = randomPoint();
+			CGraphPoint end = randomPoint();
+			if (start.equals(end)) continue;
+			GridGraphPath expected = astar.solve(start, end);
+			GridGraphPath actual = h.solve(start, end);
+			assertTrue(GridGraph.isConnectedPath(actual, start, end));
+			float expectedCost = 0f;
+			for(CGraphSegment s : expected) expectedCost += costs[s.getIndex()];
+			float actualCost = 0f;
+			for(CGraphSegment s : actual) actualCost += costs[s.getIndex()];
+			assertEquals(expectedCost, actualCost, 1e-3f);
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@SuppressWarnings("unchecked")
+	public void testSerialization() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(this.hierarchy);
+		output.close();
+		ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint> copy =
+				(ContractionHierarchy<GridGraphPath,CGraphSegment,CGraphPoint>)input.readObject();
+		input.close();
+		assertEquals(this.hierarchy.getEdgeCount(), copy.getEdgeCount());
+		try {
+			copy.solve(randomPoint(), randomPoint());
+			fail("expecting IllegalStateException"); //$NON-NLS-1$
+		}
+		catch(IllegalStateException exception) {
+			// Expected exception
+		}
+		try {
+			copy.bind(new GridGraph(3, 3, null).getGraph());
+			fail("expecting IllegalArgumentException"); //$NON-NLS-1$
+		}
+		catch(IllegalArgumentException exception) {
+			// Expected exception
+		}
+		copy.bind(this.graph);
+		copy.setPathType(GridGraphPath.class);
+		assertShortestPaths(this.grid, copy, this.random, 50);
+	}
+
+	/**
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class AStarZeroHeuristic implements AStarHeuristic<CGraphPoint> {
+
+		/**
+		 */
+		public AStarZeroHeuristic() {
+			//
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public float evaluate(CGraphPoint p1, CGraphPoint p2) {
+			return 0f;
+		}
+
+	}
+
+}
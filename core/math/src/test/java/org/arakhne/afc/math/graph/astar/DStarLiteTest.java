@@ -0,0 +1,247 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.astar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GridGraph;
+import org.arakhne.afc.math.graph.GridGraphPath;
+import org.arakhne.afc.math.graph.compact.CGraph;
+import org.arakhne.afc.math.graph.compact.CGraphPoint;
+import org.arakhne.afc.math.graph.compact.CGraphSegment;
+
+/**
+ * Test for {@link DStarLite}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class DStarLiteTest extends TestCase {
+
+	private Random random;
+	private GridGraph grid;
+	private CGraph graph;
+	private float[] costs;
+	private DStarLite<GridGraphPath,CGraphSegment,CGraphPoint> planner;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(8642);
+		this.grid = new GridGraph(14, 10, this.random);
+		this.graph = this.grid.getGraph();
+		this.costs = new float[this.graph.getSegmentCount()];
+		for(int i=0; i<this.costs.length; ++i) {
+			this.costs[i] = this.graph.getSegmentLength(i);
+		}
+		this.planner = new DStarLite<GridGraphPath,CGraphSegment,CGraphPoint>(this.grid, GridGraphPath.class);
+		this.planner.setCostComputer(new CostComputer());
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.planner = null;
+		this.costs = null;
+		this.graph = null;
+		this.grid = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private float[] computeCostsFrom(CGraphPoint start) {
+		int n = this.graph.getPointCount();
+		float[] dist = new float[n];
+		boolean[] done = new boolean[n];
+		Arrays.fill(dist, Float.POSITIVE_INFINITY);
+		dist[start.getIndex()] = 0f;
+		for(int k=0; k<n; ++k) {
+			int best = -1;
+			for(int i=0; i<n; ++i) {
+				if (!done[i] && (best<0 || dist[i]<dist[best])) best = i;
+			}
+			if (best<0 || Float.isInfinite(dist[best])) break;
+			done[best] = true;
+			int first = this.graph.getFirstConnection(best);
+			int count = this.graph.getConnectionCount(best);
+			for(int c=first; c<first+count; ++c) {
+				int s = this.graph.getConnectedSegmentIndex(c);
+				int o = this.graph.getOtherSidePointIndex(s, best);
+				float d = dist[best] + this.costs[s];
+				if (d<dist[o]) dist[o] = d;
+			}
+		}
+		return dist;
+	}
+
+	private float costOf(GridGraphPath path) {
+		float cost = 0f;
+		for(CGraphSegment segment : path) {
+			cost += this.costs[segment.getIndex()];
+		}
+		return cost;
+	}
+
+	private void assertShortestPath(CGraphPoint start, CGraphPoint end) {
+		float expected = computeCostsFrom(start)[end.getIndex()];
+		GridGraphPath path = this.planner.solve(start, end);
+		if (Float.isInfinite(expected)) {
+			assertNull(path);
+		}
+		else {
+			assertNotNull(path);
+			assertTrue(GridGraph.isConnectedPath(path, start, end));
+			assertEquals(expected, costOf(path), 1e-3f);
+		}
+	}
+
+	/**
+	 */
+	public void testSolve() {
+		for(int i=0; i<20; ++i) {
+			CGraphPoint start = this.graph.getPoint(this.random.nextInt(this.graph.getPointCount()));
+			CGraphPoint end = this.graph.getPoint(this.random.nextInt(this.graph.getPointCount()));
+			if (!start.equals(end)) {
+				assertShortestPath(start, end);
+				assertEquals(start, this.planner.getStartPoint());
+				assertEquals(end, this.planner.getEndPoint());
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testSegmentChanged() {
+		CGraphPoint start = this.grid.getPoint(0, 0);
+		CGraphPoint end = this.grid.getPoint(13, 9);
+		assertShortestPath(start, end);
+		for(int i=0; i<30; ++i) {
+			List<CGraphSegment> changed = new ArrayList<CGraphSegment>();
+			GridGraphPath path = this.planner.solve(start, end);
+			// Increase the costs of some segments of the current path
+			for(CGraphSegment segment : path) {
+				if (this.random.nextInt(3)==0) {
+					this.costs[segment.getIndex()] += 1f + this.random.nextInt(10);
+					changed.add(segment);
+				}
+			}
+			// Decrease the costs of random segments
+			for(int j=0; j<3; ++j) {
+				int s = this.random.nextInt(this.costs.length);
+				this.costs[s] = this.graph.getSegmentLength(s);
+				changed.add(this.graph.getSegment(s));
+			}
+			this.planner.segmentsChanged(changed);
+			assertShortestPath(start, end);
+		}
+	}
+
+	/**
+	 */
+	public void testMovingStartPoint() {
+		CGraphPoint end = this.grid.getPoint(13, 9);
+		CGraphPoint start = this.grid.getPoint(0, 0);
+		assertShortestPath(start, end);
+		while (!start.equals(end)) {
+			GridGraphPath path = this.planner.solve(start, end);
+			CGraphSegment first = path.getFirstSegment();
+			start = first.getOtherSidePoint(start);
+			// Change a segment ahead of the moving point
+			int s = this.random.nextInt(this.costs.length);
+			this.costs[s] += 5f;
+			this.planner.segmentChanged(this.graph.getSegment(s));
+			if (!start.equals(end)) {
+				assertShortestPath(start, end);
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testBlockedSegments() {
+		CGraphPoint start = this.grid.getPoint(0, 0);
+		CGraphPoint end = this.grid.getPoint(5, 5);
+		assertShortestPath(start, end);
+		// Isolate the start point
+		for(CGraphSegment segment : start.getConnectedSegments()) {
+			this.costs[segment.getIndex()] = Float.POSITIVE_INFINITY;
+			this.planner.segmentChanged(segment);
+		}
+		assertNull(this.planner.solve(start, end));
+		// Open again
+		for(CGraphSegment segment : start.getConnectedSegments()) {
+			this.costs[segment.getIndex()] = this.graph.getSegmentLength(segment.getIndex());
+			this.planner.segmentChanged(segment);
+		}
+		assertShortestPath(start, end);
+	}
+
+	/**
+	 */
+	public void testReset() {
+		CGraphPoint start = this.grid.getPoint(0, 0);
+		CGraphPoint end = this.grid.getPoint(7, 3);
+		assertShortestPath(start, end);
+		this.planner.reset();
+		assertNull(this.planner.getStartPoint());
+		assertNull(this.planner.getEndPoint());
+		// Changes made without notification are taken into account after a reset
+		this.costs[this.random.nextInt(this.costs.length)] += 20f;
+		assertShortestPath(start, end);
+	}
+
+	/**
+	 * @author $Author: galland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class CostComputer implements AStarCostComputer<CGraphSegment,CGraphPoint> {
+
+		/**
+		 */
+		public CostComputer() {
+			//
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public float computeCostFor(CGraphPoint p) {
+			return 0f;
+		}
+
+		/** {@inheritDoc}
+		 */
+		@Override
+		public float computeCostFor(CGraphSegment s) {
+			return DStarLiteTest.this.costs[s.getIndex()];
+		}
+
+	}
+
+}
@@ -0,0 +1,217 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2013 Christophe BOHRHAUER.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ * This program is free software; you can redistribute it and/or modify
+ */
+package org.arakhne.afc.math.graph.compact;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.graph.GraphIterationElement;
+import org.arakhne.afc.math.graph.GraphIterator;
+import org.arakhne.afc.math.graph.GraphPoint.GraphPointConnection;
+
+/**
+ * Test for {@link CGraph} and {@link CGraphBuilder}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CGraphTest extends TestCase {
+
+	private CGraphBuilder builder;
+	private CGraph graph;
+
+	/* Graph:
+	 *
+	 *   0 --s0-- 1 --s1-- 2
+	 *            |
+	 *            s2
+	 *            |
+	 *            3 --s3-- 4
+	 */
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.builder = new CGraphBuilder(2);
+		assertEquals(0, this.builder.addPoints(4));
+		assertEquals(4, this.builder.addPoint());
+		assertEquals(0, this.builder.addSegment(0, 1, 1f));
+		assertEquals(1, this.builder.addSegment(1, 2, 2f));
+		assertEquals(2, this.builder.addSegment(1, 3, 3f));
+		assertEquals(3, this.builder.addSegment(3, 4, 4f));
+		this.graph = this.builder.build();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.graph = null;
+		this.builder = null;
+		super.tearDown();
+	}
+
+	/**
+	 */
+	public void testBuilder() {
+		assertEquals(5, this.builder.getPointCount());
+		assertEquals(4, this.builder.getSegmentCount());
+		try {
+			this.builder.addSegment(0, 5, 1f);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException exception) {
+			// Expected exception
+		}
+		try {
+			this.builder.addPoints(-1);
+			fail("expecting IllegalArgumentException"); //$NON-NLS-1$
+		}
+		catch(IllegalArgumentException exception) {
+			// Expected exception
+		}
+		// The built graph is not changed by the builder
+		this.builder.addSegment(0, 4, 5f);
+		assertEquals(4, this.graph.getSegmentCount());
+		assertEquals(5, this.builder.build().getSegmentCount());
+	}
+
+	/**
+	 */
+	public void testCounts() {
+		assertEquals(5, this.graph.getPointCount());
+		assertEquals(4, this.graph.getSegmentCount());
+		assertFalse(this.graph.isEmpty());
+		assertTrue(new CGraphBuilder().build().isEmpty());
+	}
+
+	/**
+	 */
+	public void testSegments() {
+		CGraphSegment s = this.graph.getSegment(2);
+		assertEquals(2, s.getIndex());
+		assertSame(this.graph, s.getGraph());
+		assertEquals(this.graph.getPoint(1), s.getBeginPoint());
+		assertEquals(this.graph.getPoint(3), s.getEndPoint());
+		assertEquals(this.graph.getPoint(3), s.getOtherSidePoint(this.graph.getPoint(1)));
+		assertEquals(this.graph.getPoint(1), s.getOtherSidePoint(this.graph.getPoint(3)));
+		assertEquals(3f, s.getLength(), 0f);
+		assertEquals(s, this.graph.getSegment(2));
+		assertEquals(s.hashCode(), this.graph.getSegment(2).hashCode());
+		assertFalse(s.equals(this.graph.getSegment(1)));
+		assertTrue(this.graph.contains(s));
+		assertFalse(this.graph.contains(this.builder.build().getSegment(2)));
+		try {
+			this.graph.getSegment(4);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException exception) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 */
+	public void testIterator() {
+		Iterator<CGraphSegment> iterator = this.graph.iterator();
+		for(int i=0; i<4; ++i) {
+			assertTrue(iterator.hasNext());
+			assertEquals(i, iterator.next().getIndex());
+		}
+		assertFalse(iterator.hasNext());
+		try {
+			iterator.next();
+			fail("expecting NoSuchElementException"); //$NON-NLS-1$
+		}
+		catch(NoSuchElementException exception) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 */
+	public void testPointConnections() {
+		CGraphPoint p = this.graph.getPoint(1);
+		assertEquals(3, p.getConnectedSegmentCount());
+		assertFalse(p.isFinalConnectionPoint());
+		assertTrue(this.graph.getPoint(0).isFinalConnectionPoint());
+		assertTrue(p.isConnectedSegment(this.graph.getSegment(0)));
+		assertTrue(p.isConnectedSegment(this.graph.getSegment(2)));
+		assertFalse(p.isConnectedSegment(this.graph.getSegment(3)));
+
+		List<Integer> segments = new ArrayList<Integer>();
+		for(CGraphSegment s : p.getConnectedSegments()) {
+			segments.add(Integer.valueOf(s.getIndex()));
+		}
+		assertEquals(3, segments.size());
+		assertTrue(segments.contains(Integer.valueOf(0)));
+		assertTrue(segments.contains(Integer.valueOf(1)));
+		assertTrue(segments.contains(Integer.valueOf(2)));
+
+		List<Integer> fromSecond = new ArrayList<Integer>();
+		for(CGraphSegment s : p.getConnectedSegmentsStartingFrom(this.graph.getSegment(segments.get(1).intValue()))) {
+			fromSecond.add(Integer.valueOf(s.getIndex()));
+		}
+		assertEquals(segments.get(1), fromSecond.get(0));
+		assertEquals(segments.get(2), fromSecond.get(1));
+		assertEquals(segments.get(0), fromSecond.get(2));
+
+		for(GraphPointConnection<CGraphPoint,CGraphSegment> c : p.getConnections()) {
+			CGraphSegment s = c.getGraphSegment();
+			assertEquals(p, c.getGraphPoint());
+			assertEquals(s.getBeginPoint().equals(p), c.isSegmentStartConnected());
+		}
+	}
+
+	/**
+	 */
+	public void testPointIdentity() {
+		CGraphPoint p = this.graph.getPoint(3);
+		assertEquals(3, p.getIndex());
+		assertSame(this.graph, p.getGraph());
+		assertEquals(p, this.graph.getPoint(3));
+		assertEquals(p.hashCode(), this.graph.getPoint(3).hashCode());
+		assertFalse(p.equals(this.graph.getPoint(2)));
+		assertTrue(p.compareTo(this.graph.getPoint(4))<0);
+		assertTrue(p.compareTo(this.graph.getPoint(2))>0);
+		assertEquals(0, p.compareTo(this.graph.getPoint(3)));
+	}
+
+	/**
+	 */
+	public void testGraphIterator() {
+		GraphIterator<CGraphSegment,CGraphPoint> iterator = this.graph.iterator(
+				this.graph.getSegment(0), this.graph.getPoint(0), false, false);
+		List<Integer> segments = new ArrayList<Integer>();
+		while (iterator.hasNext()) {
+			GraphIterationElement<CGraphSegment,CGraphPoint> element = iterator.nextElement();
+			segments.add(Integer.valueOf(element.getSegment().getIndex()));
+		}
+		assertEquals(4, segments.size());
+		for(int i=0; i<4; ++i) {
+			assertTrue(segments.contains(Integer.valueOf(i)));
+		}
+	}
+
+}
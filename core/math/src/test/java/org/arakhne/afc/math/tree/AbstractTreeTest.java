@@ -0,0 +1,154 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.iterator.DataVisitor;
+import org.arakhne.afc.math.tree.iterator.NodeVisitor;
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+
+/**
+ * Test for the visiting functions of {@link AbstractTree}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class AbstractTreeTest extends TestCase {
+
+	private LinkedTree<Integer,DefaultNaryTreeNode<Integer>> tree;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Random random = new Random(4321);
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>(Integer.valueOf(0));
+		nodes.add(root);
+		for(int i=1; i<300; ++i) {
+			DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>(Integer.valueOf(i));
+			if (random.nextBoolean()) child.addUserData(Integer.valueOf(-i));
+			nodes.get(random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+		this.tree = new LinkedTree<Integer,DefaultNaryTreeNode<Integer>>(root);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.tree = null;
+		super.tearDown();
+	}
+
+	private static <T> List<T> toList(Iterator<T> iterator) {
+		List<T> list = new ArrayList<T>();
+		while (iterator.hasNext()) {
+			list.add(iterator.next());
+		}
+		return list;
+	}
+
+	private List<DefaultNaryTreeNode<Integer>> visitNodes() {
+		final List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		assertTrue(this.tree.forEachNode(new NodeVisitor<DefaultNaryTreeNode<Integer>>() {
+			@Override
+			public boolean visitNode(DefaultNaryTreeNode<Integer> node) {
+				nodes.add(node);
+				return true;
+			}
+		}));
+		return nodes;
+	}
+
+	/**
+	 */
+	public void testForEachNode() {
+		List<DefaultNaryTreeNode<Integer>> expected = toList(this.tree.depthFirstIterator());
+		assertEquals(expected, visitNodes());
+		// The second visit runs on the pooled iterator
+		assertEquals(expected, visitNodes());
+	}
+
+	/**
+	 */
+	public void testForEachNodeStopped() {
+		final List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		assertFalse(this.tree.forEachNode(new NodeVisitor<DefaultNaryTreeNode<Integer>>() {
+			@Override
+			public boolean visitNode(DefaultNaryTreeNode<Integer> node) {
+				nodes.add(node);
+				return nodes.size()<10;
+			}
+		}));
+		assertEquals(toList(this.tree.depthFirstIterator()).subList(0, 10), nodes);
+		// The stopped visit has released the iterator
+		assertEquals(toList(this.tree.depthFirstIterator()), visitNodes());
+	}
+
+	/**
+	 */
+	public void testNestedVisits() {
+		final List<DefaultNaryTreeNode<Integer>> expected = toList(this.tree.depthFirstIterator());
+		final List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		assertTrue(this.tree.forEachNode(new NodeVisitor<DefaultNaryTreeNode<Integer>>() {
+			@Override
+			public boolean visitNode(DefaultNaryTreeNode<Integer> node) {
+				nodes.add(node);
+				if (nodes.size()==5) {
+					assertEquals(expected, visitNodes());
+				}
+				return true;
+			}
+		}));
+		assertEquals(expected, nodes);
+	}
+
+	/**
+	 */
+	public void testForEachData() {
+		List<Integer> expected = toList(this.tree.dataDepthFirstIterator());
+		final List<Integer> data = new ArrayList<Integer>();
+		assertTrue(this.tree.forEachData(new DataVisitor<Integer>() {
+			@Override
+			public boolean visitData(Integer d) {
+				data.add(d);
+				return true;
+			}
+		}));
+		assertEquals(expected, data);
+
+		data.clear();
+		assertFalse(this.tree.forEachData(new DataVisitor<Integer>() {
+			@Override
+			public boolean visitData(Integer d) {
+				data.add(d);
+				return d.intValue()>=0;
+			}
+		}));
+		assertTrue(data.get(data.size()-1).intValue()<0);
+		assertEquals(expected.subList(0, data.size()), data);
+	}
+
+}
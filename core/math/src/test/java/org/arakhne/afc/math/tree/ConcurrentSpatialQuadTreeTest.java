@@ -0,0 +1,364 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.geometry2d.continuous.Point2f;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+
+/**
+ * Test for {@link ConcurrentSpatialQuadTree}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class ConcurrentSpatialQuadTreeTest extends TestCase {
+
+	private Random random;
+	private List<Rectangle2f> objects;
+	private ConcurrentSpatialQuadTree<Rectangle2f> tree;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(13579);
+		this.objects = SpatialTreeTestUtil.createQuadTreeObjects(this.random);
+		this.tree = new ConcurrentSpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 8);
+		for(Rectangle2f object : this.objects) {
+			assertTrue(this.tree.add(object));
+		}
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.tree = null;
+		this.objects = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private static void assertWindows(Random random, List<Rectangle2f> objects,
+			ConcurrentSpatialQuadTree.Snapshot<Rectangle2f> snapshot) {
+		assertEquals(objects.size(), snapshot.size());
+		Rectangle2f window;
+		for(int i=0; i<30; ++i) {
+			window = SpatialTreeTestUtil.randomRectangle(random, -10f, 110f, 5f);
+			SpatialTreeTestUtil.assertSameObjects(
+					SpatialTreeTestUtil.getObjectsIntersecting(objects, window),
+					snapshot.getObjectsIn(window));
+		}
+	}
+
+	/**
+	 */
+	public void testAdd() {
+		assertEquals(this.objects.size(), this.tree.size());
+		assertFalse(this.tree.add(null));
+		assertWindows(this.random, this.objects, this.tree.snapshot());
+	}
+
+	/**
+	 */
+	public void testAddAll() {
+		ConcurrentSpatialQuadTree<Rectangle2f> t = new ConcurrentSpatialQuadTree<Rectangle2f>(
+				new Rectangle2f(0f, 0f, 100f, 100f), 8);
+		assertFalse(t.addAll(Collections.<Rectangle2f>emptyList()));
+		assertFalse(t.addAll(Arrays.<Rectangle2f>asList(null, null)));
+		assertEquals(0, t.size());
+		assertTrue(t.addAll(this.objects));
+		assertWindows(this.random, this.objects, t.snapshot());
+	}
+
+	/** Replies a tree on [0;100]x[0;100] that contains the given objects,
+	 * and that splits a leaf as soon as it contains two objects.
+	 */
+	private static ConcurrentSpatialQuadTree<Rectangle2f> createSmallTree(Rectangle2f... objects) {
+		ConcurrentSpatialQuadTree<Rectangle2f> t = new ConcurrentSpatialQuadTree<Rectangle2f>(
+				new Rectangle2f(0f, 0f, 100f, 100f), 1);
+		for(Rectangle2f object : objects) {
+			assertTrue(t.add(object));
+		}
+		return t;
+	}
+
+	/**
+	 */
+	public void testIcosepStraddlers() {
+		Rectangle2f sw = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f nw = new Rectangle2f(10f, 80f, 5f, 5f);
+		Rectangle2f se = new Rectangle2f(80f, 10f, 5f, 5f);
+		Rectangle2f ne = new Rectangle2f(80f, 80f, 5f, 5f);
+		// Crossing x=50 only, y=50 only, and both lines
+		Rectangle2f crossingX = new Rectangle2f(45f, 10f, 10f, 5f);
+		Rectangle2f crossingY = new Rectangle2f(10f, 45f, 5f, 10f);
+		Rectangle2f crossingXY = new Rectangle2f(48f, 48f, 4f, 4f);
+		ConcurrentSpatialQuadTree<Rectangle2f> t = createSmallTree(
+				sw, nw, se, ne, crossingX, crossingY, crossingXY);
+		assertEquals(7, t.size());
+		// Windows along the split lines
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(crossingX, crossingXY),
+				t.getObjectsIn(new Rectangle2f(49f, 0f, 2f, 100f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(crossingY, crossingXY),
+				t.getObjectsIn(new Rectangle2f(0f, 49f, 100f, 2f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(sw, crossingX),
+				t.getObjectsIn(new Rectangle2f(0f, 0f, 48f, 20f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(ne),
+				t.getObjectsIn(new Rectangle2f(60f, 60f, 40f, 40f)));
+		assertTrue(t.remove(crossingXY));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(crossingX),
+				t.getObjectsIn(new Rectangle2f(49f, 0f, 2f, 100f)));
+	}
+
+	/**
+	 */
+	public void testObjectsOutsideBounds() {
+		Rectangle2f sw = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f ne = new Rectangle2f(80f, 80f, 5f, 5f);
+		Rectangle2f outside = new Rectangle2f(-10f, -10f, 5f, 5f);
+		Rectangle2f partlyOutside = new Rectangle2f(95f, 95f, 10f, 10f);
+		ConcurrentSpatialQuadTree<Rectangle2f> t = createSmallTree(sw, outside, ne, partlyOutside);
+		assertEquals(4, t.size());
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(outside),
+				t.getObjectsIn(new Rectangle2f(-20f, -20f, 12f, 12f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(ne, partlyOutside),
+				t.getObjectsIn(new Rectangle2f(82f, 82f, 20f, 20f)));
+		// Squared distances to (-20;-20): 200, 1800, 20000 and 26450
+		assertEquals(Arrays.asList(outside, sw, ne, partlyOutside),
+				t.getNearestObjects(new Point2f(-20f, -20f), 4));
+		assertTrue(t.remove(outside));
+		assertTrue(t.getObjectsIn(new Rectangle2f(-20f, -20f, 12f, 12f)).isEmpty());
+		assertEquals(3, t.size());
+	}
+
+	/**
+	 */
+	public void testReplaceMovedObject() {
+		Rectangle2f sw = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f ne = new Rectangle2f(80f, 80f, 5f, 5f);
+		Rectangle2f moving = new Rectangle2f(20f, 20f, 5f, 5f);
+		ConcurrentSpatialQuadTree<Rectangle2f> t = createSmallTree(sw, ne, moving);
+		ConcurrentSpatialQuadTree.Snapshot<Rectangle2f> before = t.snapshot();
+		Rectangle2f southWest = new Rectangle2f(0f, 0f, 50f, 50f);
+		Rectangle2f northEast = new Rectangle2f(50f, 50f, 50f, 50f);
+
+		// Move from the south-west quarter to the north-east quarter
+		Rectangle2f moved = new Rectangle2f(70f, 70f, 5f, 5f);
+		assertTrue(t.replace(moving, moved));
+		assertEquals(3, t.size());
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(sw), t.getObjectsIn(southWest));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(ne, moved), t.getObjectsIn(northEast));
+		assertFalse(t.replace(moving, moved));
+
+		// Move across the split lines, and then outside the bounds
+		Rectangle2f crossing = new Rectangle2f(45f, 45f, 10f, 10f);
+		assertTrue(t.replace(moved, crossing));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(sw, crossing), t.getObjectsIn(southWest));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(ne, crossing), t.getObjectsIn(northEast));
+		Rectangle2f outside = new Rectangle2f(120f, 120f, 5f, 5f);
+		assertTrue(t.replace(crossing, outside));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(sw), t.getObjectsIn(southWest));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(ne), t.getObjectsIn(northEast));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(outside),
+				t.getObjectsIn(new Rectangle2f(110f, 110f, 20f, 20f)));
+		assertEquals(3, t.size());
+
+		// The snapshot taken before the moves is not changed
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(sw, moving), before.getObjectsIn(southWest));
+		SpatialTreeTestUtil.assertSameObjects(Arrays.asList(ne), before.getObjectsIn(northEast));
+		assertTrue(before.getObjectsIn(new Rectangle2f(110f, 110f, 20f, 20f)).isEmpty());
+	}
+
+	/**
+	 */
+	public void testGetObjectsNear() {
+		Point2f center;
+		float radius;
+		for(int i=0; i<30; ++i) {
+			center = new Point2f(this.random.nextFloat() * 100f, this.random.nextFloat() * 100f);
+			radius = this.random.nextFloat() * 20f;
+			List<Rectangle2f> expected = new ArrayList<Rectangle2f>();
+			for(Rectangle2f object : this.objects) {
+				if (object.distanceSquared(center)<=radius*radius) {
+					expected.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(expected, this.tree.getObjectsNear(center, radius));
+		}
+	}
+
+	/**
+	 */
+	public void testGetNearestObjects() {
+		Point2f point;
+		float[] distances = new float[this.objects.size()];
+		for(int i=0; i<30; ++i) {
+			point = new Point2f(this.random.nextFloat() * 140f - 20f, this.random.nextFloat() * 140f - 20f);
+			for(int j=0; j<distances.length; ++j) {
+				distances[j] = this.objects.get(j).distanceSquared(point);
+			}
+			Arrays.sort(distances);
+			List<Rectangle2f> actual = this.tree.getNearestObjects(point, 5);
+			assertEquals(5, actual.size());
+			for(int j=0; j<actual.size(); ++j) {
+				assertEquals(distances[j], actual.get(j).distanceSquared(point), 1e-4f);
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testRemove() {
+		assertFalse(this.tree.remove(null));
+		assertFalse(this.tree.remove(new Rectangle2f(-50f, -50f, 1f, 1f)));
+		for(int i=this.objects.size()-1; i>=0; i-=2) {
+			assertTrue(this.tree.remove(this.objects.remove(i)));
+		}
+		assertWindows(this.random, this.objects, this.tree.snapshot());
+	}
+
+	/**
+	 */
+	public void testRemoveAllAndAdd() {
+		Rectangle2f bounds = this.tree.snapshot().getBounds();
+		for(Rectangle2f object : this.objects) {
+			assertTrue(this.tree.remove(object));
+		}
+		assertEquals(0, this.tree.size());
+		assertEquals(bounds.getMinX(), this.tree.snapshot().getBounds().getMinX());
+		assertEquals(bounds.getMaxY(), this.tree.snapshot().getBounds().getMaxY());
+		assertTrue(this.tree.getObjectsIn(bounds).isEmpty());
+		assertFalse(this.tree.remove(this.objects.get(0)));
+		assertFalse(this.tree.replace(this.objects.get(0), this.objects.get(1)));
+		
+		// The tree must be still usable
+		for(Rectangle2f object : this.objects) {
+			assertTrue(this.tree.add(object));
+		}
+		assertWindows(this.random, this.objects, this.tree.snapshot());
+		
+		// Same with a single object in the root leaf
+		ConcurrentSpatialQuadTree<Rectangle2f> t = new ConcurrentSpatialQuadTree<Rectangle2f>(bounds);
+		Rectangle2f object = new Rectangle2f(10f, 10f, 1f, 1f);
+		assertTrue(t.add(object));
+		assertTrue(t.remove(object));
+		assertEquals(0, t.size());
+		assertTrue(t.add(object));
+		assertEquals(1, t.size());
+		assertTrue(t.replace(object, new Rectangle2f(20f, 20f, 1f, 1f)));
+		assertEquals(1, t.size());
+		assertTrue(t.addAll(this.objects));
+		assertEquals(this.objects.size()+1, t.size());
+	}
+
+	/**
+	 */
+	public void testReplace() {
+		ConcurrentSpatialQuadTree.Snapshot<Rectangle2f> before = this.tree.snapshot();
+		List<Rectangle2f> oldObjects = new ArrayList<Rectangle2f>(this.objects);
+		Rectangle2f oldObject, newObject;
+		for(int i=0; i<this.objects.size(); i+=3) {
+			oldObject = this.objects.get(i);
+			newObject = SpatialTreeTestUtil.randomRectangle(this.random, 0f, 100f, 5f);
+			assertTrue(this.tree.replace(oldObject, newObject));
+			this.objects.set(i, newObject);
+		}
+		assertFalse(this.tree.replace(new Rectangle2f(-50f, -50f, 1f, 1f), new Rectangle2f()));
+		assertWindows(this.random, this.objects, this.tree.snapshot());
+		// The old snapshot is not changed by the updates
+		assertWindows(this.random, oldObjects, before);
+	}
+
+	/**
+	 */
+	public void testClear() {
+		ConcurrentSpatialQuadTree.Snapshot<Rectangle2f> before = this.tree.snapshot();
+		this.tree.clear();
+		assertEquals(0, this.tree.size());
+		assertEquals(this.objects.size(), before.size());
+		assertTrue(this.tree.add(this.objects.get(0)));
+		assertEquals(1, this.tree.size());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testConcurrentReaders() throws Exception {
+		final ConcurrentSpatialQuadTree<Rectangle2f> t = this.tree;
+		final int count = this.objects.size();
+		final Rectangle2f all = new Rectangle2f(-100f, -100f, 300f, 300f);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		final boolean[] stop = new boolean[1];
+		Thread[] readers = new Thread[3];
+		for(int i=0; i<readers.length; ++i) {
+			readers[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						while (!isStopped()) {
+							ConcurrentSpatialQuadTree.Snapshot<Rectangle2f> snapshot = t.snapshot();
+							// The moves are atomic: the count of objects never changes
+							assertEquals(count, snapshot.size());
+							assertEquals(count, snapshot.getObjectsIn(all).size());
+						}
+					}
+					catch(Throwable e) {
+						errors.add(e);
+					}
+				}
+				private boolean isStopped() {
+					synchronized(stop) {
+						return stop[0];
+					}
+				}
+			};
+			readers[i].start();
+		}
+		Rectangle2f newObject;
+		for(int i=0; i<2000; ++i) {
+			int index = this.random.nextInt(count);
+			newObject = SpatialTreeTestUtil.randomRectangle(this.random, 0f, 100f, 5f);
+			assertTrue(t.replace(this.objects.get(index), newObject));
+			this.objects.set(index, newObject);
+		}
+		synchronized(stop) {
+			stop[0] = true;
+		}
+		for(Thread reader : readers) {
+			reader.join();
+		}
+		assertTrue(errors.toString(), errors.isEmpty());
+		assertWindows(this.random, this.objects, t.snapshot());
+	}
+
+}
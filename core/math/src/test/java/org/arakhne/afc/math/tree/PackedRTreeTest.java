@@ -0,0 +1,240 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.geometry2d.continuous.Point2f;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+
+/**
+ * Test for {@link PackedRTree}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class PackedRTreeTest extends TestCase {
+
+	private Random random;
+	private List<Rectangle2f> objects;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(97531);
+		this.objects = new ArrayList<Rectangle2f>();
+		for(int i=0; i<1000; ++i) {
+			this.objects.add(SpatialTreeTestUtil.randomRectangle(this.random, 0f, 100f, 3f));
+		}
+		// A cluster of objects
+		for(int i=0; i<200; ++i) {
+			this.objects.add(SpatialTreeTestUtil.randomRectangle(this.random, 40f, 45f, .5f));
+		}
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.objects = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private void assertQueries(PackedRTree<Rectangle2f> tree) {
+		assertEquals(this.objects.size(), tree.size());
+		List<Rectangle2f> all = new ArrayList<Rectangle2f>();
+		for(Rectangle2f object : tree) {
+			all.add(object);
+		}
+		SpatialTreeTestUtil.assertSameObjects(this.objects, all);
+		
+		Rectangle2f bounds = tree.getBounds();
+		for(Rectangle2f object : this.objects) {
+			assertTrue(bounds.getMinX()<=object.getMinX() && object.getMaxX()<=bounds.getMaxX());
+			assertTrue(bounds.getMinY()<=object.getMinY() && object.getMaxY()<=bounds.getMaxY());
+		}
+		
+		Rectangle2f window;
+		for(int i=0; i<30; ++i) {
+			window = SpatialTreeTestUtil.randomRectangle(this.random, -10f, 100f, 30f);
+			List<Rectangle2f> inside = new ArrayList<Rectangle2f>();
+			for(Rectangle2f object : this.objects) {
+				if (window.getMinX()<=object.getMinX() && object.getMaxX()<=window.getMaxX()
+					&& window.getMinY()<=object.getMinY() && object.getMaxY()<=window.getMaxY()) {
+					inside.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(
+					SpatialTreeTestUtil.getObjectsIntersecting(this.objects, window),
+					tree.getObjectsIntersecting(window));
+			SpatialTreeTestUtil.assertSameObjects(inside, tree.getObjectsInside(window));
+		}
+		
+		float x, y;
+		for(int i=0; i<30; ++i) {
+			x = this.random.nextFloat() * 100f;
+			y = this.random.nextFloat() * 100f;
+			List<Rectangle2f> containing = new ArrayList<Rectangle2f>();
+			for(Rectangle2f object : this.objects) {
+				if (object.contains(x, y)) {
+					containing.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(containing, tree.getObjectsContaining(x, y));
+		}
+		
+		Point2f point;
+		float[] distances = new float[this.objects.size()];
+		for(int i=0; i<30; ++i) {
+			point = new Point2f(this.random.nextFloat() * 120f - 10f, this.random.nextFloat() * 120f - 10f);
+			for(int j=0; j<distances.length; ++j) {
+				distances[j] = this.objects.get(j).distanceSquared(point);
+			}
+			Arrays.sort(distances);
+			List<Rectangle2f> nearest = tree.getNearestObjects(point, 10);
+			assertEquals(Math.min(10, distances.length), nearest.size());
+			for(int j=0; j<nearest.size(); ++j) {
+				assertEquals(distances[j], nearest.get(j).distanceSquared(point), 1e-4f);
+			}
+			assertEquals(distances[0], tree.getNearestObject(point).distanceSquared(point), 1e-4f);
+		}
+	}
+
+	/**
+	 */
+	public void testSortTileRecursive() {
+		assertQueries(new PackedRTree<Rectangle2f>(this.objects));
+		assertQueries(new PackedRTree<Rectangle2f>(this.objects, 4, RTreePacking.SORT_TILE_RECURSIVE));
+	}
+
+	/**
+	 */
+	public void testHilbert() {
+		assertQueries(new PackedRTree<Rectangle2f>(this.objects, 16, RTreePacking.HILBERT));
+		assertQueries(new PackedRTree<Rectangle2f>(this.objects, 4, RTreePacking.HILBERT));
+	}
+
+	/** Replies the objects in the order of the leaves.
+	 */
+	private static List<Rectangle2f> getLeafOrder(PackedRTree<Rectangle2f> tree) {
+		List<Rectangle2f> objects = new ArrayList<Rectangle2f>();
+		for(Rectangle2f object : tree) {
+			objects.add(object);
+		}
+		return objects;
+	}
+
+	/**
+	 */
+	public void testSortTileRecursive_grid() {
+		List<Rectangle2f> grid = SpatialTreeTestUtil.createGrid();
+		PackedRTree<Rectangle2f> tree = new PackedRTree<Rectangle2f>(grid, 4, RTreePacking.SORT_TILE_RECURSIVE);
+		// 4 leaves and the root
+		assertEquals(5, tree.getNodeCount());
+		// The 4 leaves are in 2 vertical slices of 2 columns;
+		// each slice is cut by rows: each leaf is a quarter of the grid.
+		List<Rectangle2f> leaves = getLeafOrder(tree);
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 0, 1, 0, 1), leaves.subList(0, 4));
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 0, 1, 2, 3), leaves.subList(4, 8));
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 2, 3, 0, 1), leaves.subList(8, 12));
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 2, 3, 2, 3), leaves.subList(12, 16));
+		Rectangle2f bounds = tree.getBounds();
+		assertEquals(0f, bounds.getMinX(), 0f);
+		assertEquals(0f, bounds.getMinY(), 0f);
+		assertEquals(31f, bounds.getMaxX(), 0f);
+		assertEquals(31f, bounds.getMaxY(), 0f);
+		SpatialTreeTestUtil.assertSameObjects(
+				SpatialTreeTestUtil.getCells(grid, 1, 2, 1, 1),
+				tree.getObjectsIntersecting(new Rectangle2f(5f, 9f, 20f, 2f)));
+	}
+
+	/**
+	 */
+	public void testHilbert_grid() {
+		List<Rectangle2f> grid = SpatialTreeTestUtil.createGrid();
+		PackedRTree<Rectangle2f> tree = new PackedRTree<Rectangle2f>(grid, 4, RTreePacking.HILBERT);
+		assertEquals(5, tree.getNodeCount());
+		// The Hilbert curve visits the quarters of the grid
+		// in the order: south-west, north-west, north-east, south-east.
+		List<Rectangle2f> leaves = getLeafOrder(tree);
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 0, 1, 0, 1), leaves.subList(0, 4));
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 0, 1, 2, 3), leaves.subList(4, 8));
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 2, 3, 2, 3), leaves.subList(8, 12));
+		SpatialTreeTestUtil.assertSameObjects(SpatialTreeTestUtil.getCells(grid, 2, 3, 0, 1), leaves.subList(12, 16));
+		SpatialTreeTestUtil.assertSameObjects(
+				SpatialTreeTestUtil.getCells(grid, 1, 2, 1, 1),
+				tree.getObjectsIntersecting(new Rectangle2f(5f, 9f, 20f, 2f)));
+	}
+
+	/**
+	 */
+	public void testGetNodeCount() {
+		assertEquals(0, new PackedRTree<Rectangle2f>(Collections.<Rectangle2f>emptyList()).getNodeCount());
+		// With 17 objects, the levels have 5, 2 and 1 nodes
+		int[] expected = new int[] {1, 1, 3, 5, 8};
+		int[] sizes = new int[] {1, 4, 5, 16, 17};
+		for(int i=0; i<sizes.length; ++i) {
+			for(RTreePacking packing : RTreePacking.values()) {
+				assertEquals(expected[i], new PackedRTree<Rectangle2f>(
+						this.objects.subList(0, sizes[i]), 4, packing).getNodeCount());
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testSmallTrees() {
+		List<Rectangle2f> allObjects = this.objects;
+		for(RTreePacking packing : RTreePacking.values()) {
+			for(int size : new int[] {1, 2, 16, 17}) {
+				this.objects = new ArrayList<Rectangle2f>(allObjects.subList(0, size));
+				assertQueries(new PackedRTree<Rectangle2f>(this.objects, 16, packing));
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testNodeSize() {
+		assertEquals(PackedRTree.DEFAULT_NODE_SIZE, new PackedRTree<Rectangle2f>(this.objects).getNodeSize());
+		assertEquals(2, new PackedRTree<Rectangle2f>(this.objects, 1, RTreePacking.HILBERT).getNodeSize());
+		assertEquals(2, new PackedRTree<Rectangle2f>(this.objects, 0, RTreePacking.HILBERT).getNodeSize());
+	}
+
+	/**
+	 */
+	public void testEmpty() {
+		PackedRTree<Rectangle2f> tree = new PackedRTree<Rectangle2f>(Collections.<Rectangle2f>emptyList());
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.size());
+		assertNull(tree.getBounds());
+		assertFalse(tree.iterator().hasNext());
+		assertTrue(tree.getObjectsIntersecting(new Rectangle2f(0f, 0f, 10f, 10f)).isEmpty());
+		assertTrue(tree.getObjectsInside(new Rectangle2f(0f, 0f, 10f, 10f)).isEmpty());
+		assertTrue(tree.getObjectsContaining(1f, 1f).isEmpty());
+		assertNull(tree.getNearestObject(new Point2f(1f, 1f)));
+	}
+
+}
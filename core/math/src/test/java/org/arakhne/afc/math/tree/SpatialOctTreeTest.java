@@ -0,0 +1,279 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.geometry3d.continuous.AxisAlignedBox;
+import org.arakhne.afc.math.geometry3d.continuous.OrientedBox;
+import org.arakhne.afc.math.geometry3d.continuous.Plane4f;
+import org.arakhne.afc.math.geometry3d.continuous.Point3f;
+import org.arakhne.afc.math.geometry3d.continuous.Sphere;
+import org.arakhne.afc.math.geometry3d.continuous.Vector3f;
+import org.arakhne.afc.math.tree.node.IcosepOctTreeNode.IcosepOctTreeZone;
+import org.arakhne.afc.math.tree.node.SpatialOctTreeNode;
+
+/**
+ * Test for {@link SpatialOctTree}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SpatialOctTreeTest extends TestCase {
+
+	private Random random;
+	private List<AxisAlignedBox> objects;
+	private SpatialOctTree<AxisAlignedBox> tree;
+	private Point3f lower;
+	private Point3f upper;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(2468);
+		this.lower = new Point3f();
+		this.upper = new Point3f();
+		this.objects = new ArrayList<AxisAlignedBox>();
+		for(int i=0; i<500; ++i) {
+			this.objects.add(SpatialTreeTestUtil.randomBox(this.random, 0f, 100f, 5f));
+		}
+		// Objects that are partly outside the bounds of the tree
+		for(int i=0; i<10; ++i) {
+			this.objects.add(SpatialTreeTestUtil.randomBox(this.random, -20f, 120f, 5f));
+		}
+		this.tree = new SpatialOctTree<AxisAlignedBox>(
+				new AxisAlignedBox(0f, 0f, 0f, 100f, 100f, 100f), 8);
+		for(AxisAlignedBox object : this.objects) {
+			assertTrue(this.tree.add(object));
+		}
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.tree = null;
+		this.objects = null;
+		this.upper = null;
+		this.lower = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private boolean intersects(AxisAlignedBox object, float lx, float ly, float lz, float ux, float uy, float uz) {
+		object.getLowerUpper(this.lower, this.upper);
+		return this.lower.getX()<=ux && lx<=this.upper.getX()
+				&& this.lower.getY()<=uy && ly<=this.upper.getY()
+				&& this.lower.getZ()<=uz && lz<=this.upper.getZ();
+	}
+
+	private boolean intersects(AxisAlignedBox object, float cx, float cy, float cz, float radius) {
+		object.getLowerUpper(this.lower, this.upper);
+		float dx = Math.max(0f, Math.max(this.lower.getX() - cx, cx - this.upper.getX()));
+		float dy = Math.max(0f, Math.max(this.lower.getY() - cy, cy - this.upper.getY()));
+		float dz = Math.max(0f, Math.max(this.lower.getZ() - cz, cz - this.upper.getZ()));
+		return dx*dx + dy*dy + dz*dz <= radius*radius;
+	}
+
+	private void assertBoxQueries() {
+		for(int i=0; i<50; ++i) {
+			AxisAlignedBox query = SpatialTreeTestUtil.randomBox(this.random, -10f, 110f, 40f);
+			Point3f l = new Point3f();
+			Point3f u = new Point3f();
+			query.getLowerUpper(l, u);
+			List<AxisAlignedBox> expected = new ArrayList<AxisAlignedBox>();
+			for(AxisAlignedBox object : this.objects) {
+				if (intersects(object, l.getX(), l.getY(), l.getZ(), u.getX(), u.getY(), u.getZ())) {
+					expected.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(expected, this.tree.getObjectsIn(query));
+		}
+	}
+
+	/**
+	 */
+	public void testAdd() {
+		assertEquals(this.objects.size(), this.tree.getUserDataCount());
+		assertEquals(this.objects.size(), this.tree.computeUserDataCount());
+		assertFalse(this.tree.add(null));
+		assertFalse(this.tree.getRoot().isLeaf());
+	}
+
+	/**
+	 */
+	public void testIcosep() {
+		SpatialOctTree<AxisAlignedBox> t = new SpatialOctTree<AxisAlignedBox>(
+				new AxisAlignedBox(0f, 0f, 0f, 100f, 100f, 100f), 1);
+		AxisAlignedBox b1 = new AxisAlignedBox(10f, 10f, 10f, 15f, 15f, 15f);
+		AxisAlignedBox b2 = new AxisAlignedBox(80f, 80f, 80f, 85f, 85f, 85f);
+		AxisAlignedBox crossing = new AxisAlignedBox(45f, 45f, 45f, 55f, 55f, 55f);
+		assertTrue(t.add(b1));
+		assertTrue(t.add(b2));
+		SpatialOctTreeNode<AxisAlignedBox> root = t.getRoot();
+		assertFalse(root.isLeaf());
+		assertTrue(t.add(crossing));
+		SpatialOctTreeNode<AxisAlignedBox> icosep = root.getChildAt(IcosepOctTreeZone.ICOSEP);
+		assertNotNull(icosep);
+		assertTrue(icosep.isIcosepNode());
+		assertTrue(icosep.getAllUserData().contains(crossing));
+		assertEquals(3, t.getUserDataCount());
+	}
+
+	/**
+	 */
+	public void testGetObjectsInAxisAlignedBox() {
+		assertBoxQueries();
+		// A query that is covering the whole tree
+		SpatialTreeTestUtil.assertSameObjects(this.objects, this.tree.getObjectsIn(
+				new AxisAlignedBox(-50f, -50f, -50f, 150f, 150f, 150f)));
+	}
+
+	/**
+	 */
+	public void testGetObjectsInSphere() {
+		float x, y, z, r;
+		for(int i=0; i<50; ++i) {
+			x = this.random.nextFloat() * 100f;
+			y = this.random.nextFloat() * 100f;
+			z = this.random.nextFloat() * 100f;
+			r = this.random.nextFloat() * 30f;
+			List<AxisAlignedBox> expected = new ArrayList<AxisAlignedBox>();
+			for(AxisAlignedBox object : this.objects) {
+				if (intersects(object, x, y, z, r)) {
+					expected.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(expected, this.tree.getObjectsIn(new Sphere(x, y, z, r)));
+		}
+	}
+
+	/**
+	 */
+	public void testGetObjectsInOrientedBox() {
+		Vector3f[] axis = new Vector3f[] {
+				new Vector3f(1f, 0f, 0f),
+				new Vector3f(0f, 1f, 0f),
+				new Vector3f(0f, 0f, 1f)
+		};
+		float x, y, z, ex, ey, ez;
+		for(int i=0; i<50; ++i) {
+			x = this.random.nextFloat() * 100f;
+			y = this.random.nextFloat() * 100f;
+			z = this.random.nextFloat() * 100f;
+			ex = 1f + this.random.nextFloat() * 20f;
+			ey = 1f + this.random.nextFloat() * 20f;
+			ez = 1f + this.random.nextFloat() * 20f;
+			// An oriented box with the canonical axis is an aligned box
+			OrientedBox query = new OrientedBox(new Point3f(x, y, z), axis, new float[] {ex, ey, ez});
+			List<AxisAlignedBox> expected = this.tree.getObjectsIn(
+					new AxisAlignedBox(x-ex, y-ey, z-ez, x+ex, y+ey, z+ez));
+			SpatialTreeTestUtil.assertSameObjects(expected, this.tree.getObjectsIn(query));
+		}
+	}
+
+	/**
+	 */
+	public void testGetObjectsInRotatedOrientedBox() {
+		float c = (float)Math.cos(Math.PI/6.);
+		float s = (float)Math.sin(Math.PI/6.);
+		Vector3f[] axis = new Vector3f[] {
+				new Vector3f(c, s, 0f),
+				new Vector3f(-s, c, 0f),
+				new Vector3f(0f, 0f, 1f)
+		};
+		float[] extent = new float[] {30f, 10f, 20f};
+		Point3f center = new Point3f(50f, 50f, 50f);
+		List<AxisAlignedBox> actual = this.tree.getObjectsIn(new OrientedBox(center, axis, extent));
+		HashSet<AxisAlignedBox> result = new HashSet<AxisAlignedBox>(actual);
+		assertEquals(actual.size(), result.size());
+		float radius = (float)Math.sqrt(30f*30f + 10f*10f + 20f*20f);
+		float x, y, z, lx, ly, lz;
+		for(AxisAlignedBox object : this.objects) {
+			object.getLowerUpper(this.lower, this.upper);
+			x = (this.lower.getX() + this.upper.getX()) / 2f - center.getX();
+			y = (this.lower.getY() + this.upper.getY()) / 2f - center.getY();
+			z = (this.lower.getZ() + this.upper.getZ()) / 2f - center.getZ();
+			// Coordinates of the center of the object in the frame of the oriented box
+			lx = x * c + y * s;
+			ly = -x * s + y * c;
+			lz = z;
+			if (Math.abs(lx)<extent[0] && Math.abs(ly)<extent[1] && Math.abs(lz)<extent[2]) {
+				assertTrue(result.contains(object));
+			}
+			if (!intersects(object, center.getX(), center.getY(), center.getZ(), radius)) {
+				assertFalse(result.contains(object));
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testGetObjectsInFrustum() {
+		float lx, ly, lz, ux, uy, uz;
+		for(int i=0; i<50; ++i) {
+			lx = this.random.nextFloat() * 60f;
+			ly = this.random.nextFloat() * 60f;
+			lz = this.random.nextFloat() * 60f;
+			ux = lx + this.random.nextFloat() * 40f;
+			uy = ly + this.random.nextFloat() * 40f;
+			uz = lz + this.random.nextFloat() * 40f;
+			// The normals are pointing to the inside of the volume
+			List<AxisAlignedBox> actual = this.tree.getObjectsInFrustum(
+					new Plane4f(1f, 0f, 0f, -lx),
+					new Plane4f(-1f, 0f, 0f, ux),
+					new Plane4f(0f, 1f, 0f, -ly),
+					new Plane4f(0f, -1f, 0f, uy),
+					new Plane4f(0f, 0f, 1f, -lz),
+					new Plane4f(0f, 0f, -1f, uz));
+			List<AxisAlignedBox> expected = new ArrayList<AxisAlignedBox>();
+			for(AxisAlignedBox object : this.objects) {
+				if (intersects(object, lx, ly, lz, ux, uy, uz)) {
+					expected.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(expected, actual);
+		}
+		SpatialTreeTestUtil.assertSameObjects(this.objects, this.tree.getObjectsInFrustum());
+	}
+
+	/**
+	 */
+	public void testRemove() {
+		assertFalse(this.tree.remove(null));
+		assertFalse(this.tree.remove(new AxisAlignedBox(-50f, -50f, -50f, -49f, -49f, -49f)));
+		for(int i=this.objects.size()-1; i>=0; i-=2) {
+			assertTrue(this.tree.remove(this.objects.remove(i)));
+		}
+		assertEquals(this.objects.size(), this.tree.getUserDataCount());
+		assertBoxQueries();
+		for(AxisAlignedBox object : this.objects) {
+			assertTrue(this.tree.remove(object));
+		}
+		this.objects.clear();
+		assertEquals(0, this.tree.getUserDataCount());
+		assertTrue(this.tree.getRoot().isLeaf());
+		assertEquals(1, this.tree.getNodeCount());
+	}
+
+}
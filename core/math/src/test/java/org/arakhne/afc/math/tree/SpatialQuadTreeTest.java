@@ -0,0 +1,316 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.geometry2d.continuous.Point2f;
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
+import org.arakhne.afc.math.tree.node.SpatialQuadTreeNode;
+
+/**
+ * Test for {@link SpatialQuadTree}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SpatialQuadTreeTest extends TestCase {
+
+	private Random random;
+	private List<Rectangle2f> objects;
+	private SpatialQuadTree<Rectangle2f> tree;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(1234);
+		this.objects = SpatialTreeTestUtil.createQuadTreeObjects(this.random);
+		this.tree = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 8);
+		for(Rectangle2f object : this.objects) {
+			assertTrue(this.tree.add(object));
+		}
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.tree = null;
+		this.objects = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private void assertWindows() {
+		Rectangle2f window;
+		for(int i=0; i<50; ++i) {
+			window = SpatialTreeTestUtil.randomRectangle(this.random, -10f, 110f, 5f);
+			SpatialTreeTestUtil.assertSameObjects(
+					SpatialTreeTestUtil.getObjectsIntersecting(this.objects, window),
+					this.tree.getObjectsIn(window));
+		}
+	}
+
+	/**
+	 */
+	public void testAdd() {
+		assertEquals(this.objects.size(), this.tree.getUserDataCount());
+		assertEquals(this.objects.size(), this.tree.computeUserDataCount());
+		assertFalse(this.tree.add(null));
+		assertFalse(this.tree.getRoot().isLeaf());
+	}
+
+	/**
+	 */
+	public void testIcosep() {
+		SpatialQuadTree<Rectangle2f> t = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 1);
+		Rectangle2f r1 = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f r2 = new Rectangle2f(80f, 80f, 5f, 5f);
+		Rectangle2f crossing = new Rectangle2f(45f, 45f, 10f, 10f);
+		assertTrue(t.add(r1));
+		assertTrue(t.add(r2));
+		SpatialQuadTreeNode<Rectangle2f> root = t.getRoot();
+		assertFalse(root.isLeaf());
+		assertTrue(root.getChildAt(IcosepQuadTreeZone.SOUTH_WEST).getAllUserData().contains(r1));
+		assertTrue(root.getChildAt(IcosepQuadTreeZone.NORTH_EAST).getAllUserData().contains(r2));
+		assertTrue(t.add(crossing));
+		SpatialQuadTreeNode<Rectangle2f> icosep = root.getIcosepChild();
+		assertNotNull(icosep);
+		assertTrue(icosep.isIcosepNode());
+		assertTrue(icosep.getAllUserData().contains(crossing));
+	}
+
+	/**
+	 */
+	public void testIcosepStraddlers() {
+		SpatialQuadTree<Rectangle2f> t = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 1);
+		Rectangle2f r1 = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f r2 = new Rectangle2f(80f, 80f, 5f, 5f);
+		// Crossing x=50 only, y=50 only, and both lines
+		Rectangle2f crossingX = new Rectangle2f(45f, 10f, 10f, 5f);
+		Rectangle2f crossingY = new Rectangle2f(10f, 45f, 5f, 10f);
+		Rectangle2f crossingXY = new Rectangle2f(48f, 48f, 4f, 4f);
+		assertTrue(t.add(r1));
+		assertTrue(t.add(r2));
+		assertTrue(t.add(crossingX));
+		assertTrue(t.add(crossingY));
+		assertTrue(t.add(crossingXY));
+		SpatialQuadTreeNode<Rectangle2f> root = t.getRoot();
+		assertEquals(0, root.getUserDataCount());
+		assertEquals(1, root.getChildAt(IcosepQuadTreeZone.SOUTH_WEST).getUserDataCount());
+		assertEquals(1, root.getChildAt(IcosepQuadTreeZone.NORTH_EAST).getUserDataCount());
+		assertNull(root.getChildAt(IcosepQuadTreeZone.NORTH_WEST));
+		assertNull(root.getChildAt(IcosepQuadTreeZone.SOUTH_EAST));
+		// The icosep node is never splitted
+		SpatialQuadTreeNode<Rectangle2f> icosep = root.getIcosepChild();
+		assertTrue(icosep.isLeaf());
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(crossingX, crossingY, crossingXY),
+				icosep.getAllUserData());
+		// Windows along the split lines
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(crossingX, crossingXY),
+				t.getObjectsIn(new Rectangle2f(49f, 0f, 2f, 100f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(crossingY),
+				t.getObjectsIn(new Rectangle2f(0f, 44f, 100f, 2f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(r1, crossingX),
+				t.getObjectsIn(new Rectangle2f(0f, 0f, 48f, 20f)));
+	}
+
+	/**
+	 */
+	public void testObjectsOutsideBounds() {
+		SpatialQuadTree<Rectangle2f> t = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 1);
+		Rectangle2f outside = new Rectangle2f(-10f, -10f, 5f, 5f);
+		Rectangle2f partlyOutside = new Rectangle2f(95f, 95f, 10f, 10f);
+		Rectangle2f r1 = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f r2 = new Rectangle2f(80f, 80f, 5f, 5f);
+		assertTrue(t.add(outside));
+		assertTrue(t.add(partlyOutside));
+		assertTrue(t.add(r1));
+		assertTrue(t.add(r2));
+		assertEquals(4, t.getUserDataCount());
+		// Only the objects inside the bounds are moved to the children
+		SpatialQuadTreeNode<Rectangle2f> root = t.getRoot();
+		assertFalse(root.isLeaf());
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(outside, partlyOutside),
+				root.getAllUserData());
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(r1),
+				root.getChildAt(IcosepQuadTreeZone.SOUTH_WEST).getAllUserData());
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(r2),
+				root.getChildAt(IcosepQuadTreeZone.NORTH_EAST).getAllUserData());
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(outside),
+				t.getObjectsIn(new Rectangle2f(-20f, -20f, 12f, 12f)));
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(partlyOutside),
+				t.getObjectsIn(new Rectangle2f(101f, 101f, 2f, 2f)));
+		assertSame(outside, t.getNearestObject(new Point2f(-20f, -20f)));
+		assertTrue(t.remove(outside));
+		assertTrue(t.remove(partlyOutside));
+		assertEquals(0, root.getUserDataCount());
+		assertTrue(t.getObjectsIn(new Rectangle2f(-20f, -20f, 12f, 12f)).isEmpty());
+	}
+
+	/**
+	 */
+	public void testRemovePrunesEmptyLeaves() {
+		SpatialQuadTree<Rectangle2f> t = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 1);
+		Rectangle2f r1 = new Rectangle2f(10f, 10f, 5f, 5f);
+		Rectangle2f r2 = new Rectangle2f(55f, 55f, 5f, 5f);
+		Rectangle2f r3 = new Rectangle2f(80f, 80f, 5f, 5f);
+		Rectangle2f crossing = new Rectangle2f(45f, 45f, 10f, 10f);
+		assertTrue(t.add(r1));
+		assertTrue(t.add(r2));
+		assertTrue(t.add(crossing));
+		assertTrue(t.add(r3));
+		// r2 and r3 are in the south-west and north-east
+		// quarters of the north-east quarter of the root
+		SpatialQuadTreeNode<Rectangle2f> root = t.getRoot();
+		SpatialQuadTreeNode<Rectangle2f> ne = root.getChildAt(IcosepQuadTreeZone.NORTH_EAST);
+		assertFalse(ne.isLeaf());
+		assertEquals(0, ne.getUserDataCount());
+		assertEquals(6, t.getNodeCount());
+
+		assertTrue(t.remove(crossing));
+		assertNull(root.getIcosepChild());
+		assertEquals(5, t.getNodeCount());
+
+		assertTrue(t.remove(r3));
+		assertFalse(t.remove(r3));
+		assertSame(ne, root.getChildAt(IcosepQuadTreeZone.NORTH_EAST));
+		assertNull(ne.getChildAt(IcosepQuadTreeZone.NORTH_EAST));
+		assertNotNull(ne.getChildAt(IcosepQuadTreeZone.SOUTH_WEST));
+		assertEquals(4, t.getNodeCount());
+
+		// The empty parent is also pruned
+		assertTrue(t.remove(r2));
+		assertNull(root.getChildAt(IcosepQuadTreeZone.NORTH_EAST));
+		assertEquals(2, t.getNodeCount());
+
+		assertTrue(t.remove(r1));
+		assertTrue(root.isLeaf());
+		assertEquals(1, t.getNodeCount());
+		assertEquals(0, t.getUserDataCount());
+	}
+
+	/**
+	 */
+	public void testGetNearestObjectsOrder() {
+		SpatialQuadTree<Rectangle2f> t = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 100f, 100f), 1);
+		// Squared distances to (0;0): 100, 400, 1800, 3600 and 13
+		Rectangle2f a = new Rectangle2f(10f, 0f, 1f, 1f);
+		Rectangle2f b = new Rectangle2f(0f, 20f, 1f, 1f);
+		Rectangle2f c = new Rectangle2f(30f, 30f, 1f, 1f);
+		Rectangle2f d = new Rectangle2f(60f, 0f, 1f, 1f);
+		Rectangle2f outside = new Rectangle2f(-3f, -4f, 1f, 1f);
+		for(Rectangle2f r : Arrays.asList(a, b, c, d, outside)) {
+			assertTrue(t.add(r));
+		}
+		Point2f origin = new Point2f(0f, 0f);
+		assertEquals(Arrays.asList(outside, a, b), t.getNearestObjects(origin, 3));
+		assertEquals(Arrays.asList(outside, a, b, c, d), t.getNearestObjects(origin, 10));
+		assertSame(outside, t.getNearestObject(origin));
+		// Squared distances to (100;100): 17722, 16042, 9522, 11322 and 21013
+		assertEquals(Arrays.asList(c, d, b, a, outside),
+				t.getNearestObjects(new Point2f(100f, 100f), 5));
+		// The radius is inclusive
+		SpatialTreeTestUtil.assertSameObjects(
+				Arrays.asList(outside, a),
+				t.getObjectsNear(origin, 10f));
+	}
+
+	/**
+	 */
+	public void testGetObjectsIn() {
+		assertWindows();
+	}
+
+	/**
+	 */
+	public void testGetObjectsNear() {
+		Point2f center;
+		float radius;
+		for(int i=0; i<50; ++i) {
+			center = new Point2f(this.random.nextFloat() * 100f, this.random.nextFloat() * 100f);
+			radius = this.random.nextFloat() * 20f;
+			List<Rectangle2f> expected = new ArrayList<Rectangle2f>();
+			for(Rectangle2f object : this.objects) {
+				if (object.distanceSquared(center)<=radius*radius) {
+					expected.add(object);
+				}
+			}
+			SpatialTreeTestUtil.assertSameObjects(expected, this.tree.getObjectsNear(center, radius));
+		}
+	}
+
+	/**
+	 */
+	public void testGetNearestObjects() {
+		Point2f point;
+		for(int i=0; i<50; ++i) {
+			point = new Point2f(this.random.nextFloat() * 140f - 20f, this.random.nextFloat() * 140f - 20f);
+			float[] distances = new float[this.objects.size()];
+			for(int j=0; j<distances.length; ++j) {
+				distances[j] = this.objects.get(j).distanceSquared(point);
+			}
+			Arrays.sort(distances);
+			List<Rectangle2f> actual = this.tree.getNearestObjects(point, 5);
+			assertEquals(5, actual.size());
+			for(int j=0; j<actual.size(); ++j) {
+				assertEquals(distances[j], actual.get(j).distanceSquared(point), 1e-4f);
+			}
+			assertEquals(distances[0], this.tree.getNearestObject(point).distanceSquared(point), 1e-4f);
+		}
+		assertTrue(this.tree.getNearestObjects(new Point2f(0f, 0f), 0).isEmpty());
+		SpatialQuadTree<Rectangle2f> empty = new SpatialQuadTree<Rectangle2f>(new Rectangle2f(0f, 0f, 1f, 1f));
+		assertNull(empty.getNearestObject(new Point2f(0f, 0f)));
+	}
+
+	/**
+	 */
+	public void testRemove() {
+		assertFalse(this.tree.remove(null));
+		assertFalse(this.tree.remove(new Rectangle2f(-50f, -50f, 1f, 1f)));
+		for(int i=this.objects.size()-1; i>=0; i-=2) {
+			assertTrue(this.tree.remove(this.objects.remove(i)));
+		}
+		assertEquals(this.objects.size(), this.tree.getUserDataCount());
+		assertWindows();
+		for(Rectangle2f object : this.objects) {
+			assertTrue(this.tree.remove(object));
+		}
+		this.objects.clear();
+		assertEquals(0, this.tree.getUserDataCount());
+		assertTrue(this.tree.getRoot().isLeaf());
+		assertEquals(1, this.tree.getNodeCount());
+		assertTrue(this.tree.getObjectsIn(new Rectangle2f(0f, 0f, 100f, 100f)).isEmpty());
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.geometry3d.continuous.AxisAlignedBox;
+
+/**
+ * Random fixtures and brute-force oracles shared by the tests
+ * of the spatial trees.
+ *
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+final class SpatialTreeTestUtil {
+
+	private SpatialTreeTestUtil() {
+		//
+	}
+
+	/** Replies a rectangle with its lower corner in [min;max]
+	 * and its sides in [0;size].
+	 *
+	 * @param random
+	 * @param min
+	 * @param max
+	 * @param size
+	 * @return the rectangle.
+	 */
+	public static Rectangle2f randomRectangle(Random random, float min, float max, float size) {
+		float x = min + random.nextFloat() * (max - min);
+		float y = min + random.nextFloat() * (max - min);
+		return new Rectangle2f(x, y, random.nextFloat() * size, random.nextFloat() * size);
+	}
+
+	/** Replies a box with its lower corner in [min;max]
+	 * and its sides in [0;size].
+	 *
+	 * @param random
+	 * @param min
+	 * @param max
+	 * @param size
+	 * @return the box.
+	 */
+	public static AxisAlignedBox randomBox(Random random, float min, float max, float size) {
+		float x = min + random.nextFloat() * (max - min);
+		float y = min + random.nextFloat() * (max - min);
+		float z = min + random.nextFloat() * (max - min);
+		return new AxisAlignedBox(x, y, z,
+				x + random.nextFloat() * size,
+				y + random.nextFloat() * size,
+				z + random.nextFloat() * size);
+	}
+
+	/** Replies the 16 unit squares of a 4x4 grid with a step of 10:
+	 * the square at column i and row j is at (10i;10j).
+	 * The squares are replied row by row.
+	 *
+	 * @return the squares.
+	 */
+	public static List<Rectangle2f> createGrid() {
+		List<Rectangle2f> grid = new ArrayList<Rectangle2f>();
+		for(int j=0; j<4; ++j) {
+			for(int i=0; i<4; ++i) {
+				grid.add(new Rectangle2f(10f*i, 10f*j, 1f, 1f));
+			}
+		}
+		return grid;
+	}
+
+	/** Replies the squares of {@link #createGrid()} that are inside
+	 * the given columns and rows.
+	 *
+	 * @param grid
+	 * @param minColumn
+	 * @param maxColumn
+	 * @param minRow
+	 * @param maxRow
+	 * @return the squares.
+	 */
+	public static List<Rectangle2f> getCells(List<Rectangle2f> grid, int minColumn, int maxColumn, int minRow, int maxRow) {
+		List<Rectangle2f> cells = new ArrayList<Rectangle2f>();
+		for(int j=minRow; j<=maxRow; ++j) {
+			for(int i=minColumn; i<=maxColumn; ++i) {
+				cells.add(grid.get(j*4+i));
+			}
+		}
+		return cells;
+	}
+
+	/** Replies the objects to put in a quadtree covering [0;100]x[0;100]:
+	 * 400 small rectangles inside the bounds, followed by 10 rectangles
+	 * that may be partly or totally outside the bounds.
+	 *
+	 * @param random
+	 * @return the objects.
+	 */
+	public static List<Rectangle2f> createQuadTreeObjects(Random random) {
+		List<Rectangle2f> objects = new ArrayList<Rectangle2f>();
+		for(int i=0; i<400; ++i) {
+			objects.add(randomRectangle(random, 0f, 100f, 5f));
+		}
+		for(int i=0; i<10; ++i) {
+			objects.add(randomRectangle(random, -20f, 120f, 5f));
+		}
+		return objects;
+	}
+
+	/** Replies the given objects that are intersecting the given window,
+	 * by testing all of them.
+	 *
+	 * @param objects
+	 * @param window
+	 * @return the intersecting objects.
+	 */
+	public static List<Rectangle2f> getObjectsIntersecting(Collection<Rectangle2f> objects, Rectangle2f window) {
+		List<Rectangle2f> result = new ArrayList<Rectangle2f>();
+		for(Rectangle2f object : objects) {
+			if (object.intersects(window)) {
+				result.add(object);
+			}
+		}
+		return result;
+	}
+
+	/** Assert that the two collections contain the same objects,
+	 * in any order.
+	 *
+	 * @param expected
+	 * @param actual
+	 */
+	public static <T> void assertSameObjects(Collection<? extends T> expected, Collection<? extends T> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		Assert.assertEquals(new HashSet<T>(expected), new HashSet<T>(actual));
+	}
+
+}
@@ -0,0 +1,115 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.geometry2d.continuous.Rectangle2f;
+import org.arakhne.afc.math.tree.SpatialQuadTree;
+
+/**
+ * Test for {@link SpatialQuadTreeBuilder}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SpatialQuadTreeBuilderTest extends TestCase {
+
+	private List<Rectangle2f> objects;
+	private SpatialQuadTreeBuilder<Rectangle2f> builder;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Random random = new Random(4321);
+		this.objects = new ArrayList<Rectangle2f>();
+		for(int i=0; i<500; ++i) {
+			this.objects.add(new Rectangle2f(
+					random.nextFloat() * 100f, random.nextFloat() * 100f,
+					random.nextFloat() * 4f, random.nextFloat() * 4f));
+		}
+		this.builder = new SpatialQuadTreeBuilder<Rectangle2f>(8);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.builder = null;
+		this.objects = null;
+		super.tearDown();
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testBuildTree() throws Exception {
+		SpatialQuadTree<Rectangle2f> tree = this.builder.buildTree(this.objects);
+		assertEquals(8, tree.getSplittingCount());
+		assertEquals(this.objects.size(), tree.getUserDataCount());
+		assertFalse(tree.getRoot().isLeaf());
+		Rectangle2f bounds = tree.getBounds();
+		for(Rectangle2f object : this.objects) {
+			assertTrue(tree.getRoot().contains(
+					object.getMinX(), object.getMinY(), object.getMaxX(), object.getMaxY()));
+		}
+		assertEquals(new HashSet<Rectangle2f>(this.objects),
+				new HashSet<Rectangle2f>(tree.getObjectsIn(bounds)));
+		Rectangle2f window = new Rectangle2f(20f, 30f, 25f, 10f);
+		List<Rectangle2f> expected = new ArrayList<Rectangle2f>();
+		for(Rectangle2f object : this.objects) {
+			if (object.intersects(window)) {
+				expected.add(object);
+			}
+		}
+		assertEquals(new HashSet<Rectangle2f>(expected),
+				new HashSet<Rectangle2f>(tree.getObjectsIn(window)));
+		// The built tree is still updatable
+		Rectangle2f object = this.objects.get(0);
+		assertTrue(tree.remove(object));
+		assertEquals(this.objects.size()-1, tree.getUserDataCount());
+		assertTrue(tree.add(object));
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testBuildTreeEmpty() throws Exception {
+		try {
+			this.builder.buildTree(Collections.<Rectangle2f>emptyList());
+			fail("expecting TreeBuilderException"); //$NON-NLS-1$
+		}
+		catch(TreeBuilderException.EmptyBoundingBoxException e) {
+			// Expected exception
+		}
+		try {
+			this.builder.buildTree(null);
+			fail("expecting TreeBuilderException"); //$NON-NLS-1$
+		}
+		catch(TreeBuilderException.EmptyBoundingBoxException e) {
+			// Expected exception
+		}
+	}
+
+}
@@ -0,0 +1,302 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.LinkedTree;
+import org.arakhne.afc.math.tree.TreeNode;
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+import org.arakhne.afc.math.tree.node.QuadTreeNode.DefaultQuadTreeNode;
+
+/**
+ * Test for {@link CompactTreeWriter} and {@link CompactTreeReader}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CompactTreeReaderTest extends TestCase {
+
+	private static final TreeDataCodec<String> CODEC = new TreeDataCodec<String>() {
+		@Override
+		public void writeData(String data, DataOutput output) throws IOException {
+			output.writeUTF(data);
+		}
+		@Override
+		public String readData(ByteBuffer buffer) throws IOException {
+			byte[] bytes = new byte[buffer.getShort()];
+			buffer.get(bytes);
+			assertEquals(0, buffer.remaining());
+			return new String(bytes, "UTF-8"); //$NON-NLS-1$
+		}
+	};
+
+	private static final TreeNodeFactory<String,DefaultNaryTreeNode<String>> NARY_FACTORY = new TreeNodeFactory<String,DefaultNaryTreeNode<String>>() {
+		@Override
+		public DefaultNaryTreeNode<String> newNode(List<String> data, List<DefaultNaryTreeNode<String>> children) {
+			DefaultNaryTreeNode<String> node = new DefaultNaryTreeNode<String>(data);
+			for(DefaultNaryTreeNode<String> child : children) {
+				assertNotNull(child);
+				node.addChild(child);
+			}
+			return node;
+		}
+	};
+
+	private static final TreeNodeFactory<String,DefaultQuadTreeNode<String>> QUAD_FACTORY = new TreeNodeFactory<String,DefaultQuadTreeNode<String>>() {
+		@Override
+		public DefaultQuadTreeNode<String> newNode(List<String> data, List<DefaultQuadTreeNode<String>> children) {
+			DefaultQuadTreeNode<String> node = new DefaultQuadTreeNode<String>(data);
+			assertEquals(4, children.size());
+			for(int i=0; i<children.size(); ++i) {
+				if (children.get(i)!=null) node.setChildAt(i, children.get(i));
+			}
+			return node;
+		}
+	};
+
+	private Random random;
+	private File file;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(1122);
+		this.file = File.createTempFile("compactTree", ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.file.deleteOnExit();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.file.delete();
+		this.file = null;
+		this.random = null;
+		super.tearDown();
+	}
+
+	private String randomString() {
+		StringBuilder b = new StringBuilder();
+		int length = this.random.nextInt(20);
+		for(int i=0; i<length; ++i) {
+			b.append((char)('a'+this.random.nextInt(26)));
+		}
+		return b.toString();
+	}
+
+	private DefaultNaryTreeNode<String> createNaryTree(int nodeCount) {
+		List<DefaultNaryTreeNode<String>> nodes = new ArrayList<DefaultNaryTreeNode<String>>();
+		DefaultNaryTreeNode<String> root = new DefaultNaryTreeNode<String>();
+		nodes.add(root);
+		for(int i=1; i<nodeCount; ++i) {
+			DefaultNaryTreeNode<String> child = new DefaultNaryTreeNode<String>();
+			nodes.get(this.random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+		for(DefaultNaryTreeNode<String> node : nodes) {
+			int count = this.random.nextInt(4);
+			for(int i=0; i<count; ++i) {
+				node.addUserData(randomString());
+			}
+		}
+		return root;
+	}
+
+	private void write(DefaultNaryTreeNode<String> root) throws IOException {
+		CompactTreeWriter<String> writer = new CompactTreeWriter<String>(new FileOutputStream(this.file), CODEC);
+		try {
+			writer.write(root==null ? null : new LinkedTree<String,DefaultNaryTreeNode<String>>(root));
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+	private void writeQuad(DefaultQuadTreeNode<String> root) throws IOException {
+		CompactTreeWriter<String> writer = new CompactTreeWriter<String>(new FileOutputStream(this.file), CODEC);
+		try {
+			writer.write(new LinkedTree<String,DefaultQuadTreeNode<String>>(root));
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+	/** Compare the given subtree with the subtree of the file,
+	 * which have the nodes in a broad-first order.
+	 */
+	private static void assertNodeEquals(TreeNode<String,?> expected, CompactTreeReader<String> reader, int index) throws IOException {
+		assertEquals(expected.getChildCount(), reader.getChildCount(index));
+		assertEquals(expected.getUserDataCount(), reader.getUserDataCount(index));
+		assertEquals(new ArrayList<String>(expected.getAllUserData()), reader.getUserData(index));
+		for(int i=0; i<expected.getUserDataCount(); ++i) {
+			assertEquals(expected.getUserDataAt(i), reader.getUserDataAt(index, i));
+		}
+		for(int i=0; i<expected.getChildCount(); ++i) {
+			TreeNode<String,?> child = expected.getChildAt(i);
+			if (child==null) {
+				assertEquals(-1, reader.getChildAt(index, i));
+			}
+			else {
+				assertTrue(reader.getChildAt(index, i)>index);
+				assertNodeEquals(child, reader, reader.getChildAt(index, i));
+			}
+		}
+	}
+
+	private static void assertTreeEquals(TreeNode<String,?> expected, TreeNode<String,?> actual) {
+		assertEquals(expected.getChildCount(), actual.getChildCount());
+		assertEquals(new ArrayList<String>(expected.getAllUserData()), new ArrayList<String>(actual.getAllUserData()));
+		for(int i=0; i<expected.getChildCount(); ++i) {
+			TreeNode<String,?> child = expected.getChildAt(i);
+			if (child==null) {
+				assertNull(actual.getChildAt(i));
+			}
+			else {
+				assertTreeEquals(child, actual.getChildAt(i));
+			}
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testNaryTree() throws Exception {
+		DefaultNaryTreeNode<String> root = createNaryTree(300);
+		write(root);
+		// Small mapped parts, to cross their boundaries
+		for(int shift : new int[] {3, 5, 30}) {
+			CompactTreeReader<String> reader = new CompactTreeReader<String>(this.file, CODEC, shift);
+			assertEquals(root.getDeepNodeCount(), reader.getNodeCount());
+			assertEquals(root.getDeepUserDataCount(), reader.getUserDataCount());
+			assertNodeEquals(root, reader, 0);
+			assertTreeEquals(root, reader.readRoot(NARY_FACTORY));
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testReadNode() throws Exception {
+		DefaultNaryTreeNode<String> root = createNaryTree(100);
+		write(root);
+		CompactTreeReader<String> reader = new CompactTreeReader<String>(this.file, CODEC);
+		assertEquals(root.getChildCount(), reader.getChildCount(0));
+		for(int i=0; i<root.getChildCount(); ++i) {
+			assertTreeEquals(root.getChildAt(i), reader.readNode(reader.getChildAt(0, i), NARY_FACTORY));
+		}
+		try {
+			reader.readNode(reader.getNodeCount(), NARY_FACTORY);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException _) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testQuadTreeWithEmptySlots() throws Exception {
+		DefaultQuadTreeNode<String> root = new DefaultQuadTreeNode<String>("root"); //$NON-NLS-1$
+		List<DefaultQuadTreeNode<String>> nodes = new ArrayList<DefaultQuadTreeNode<String>>();
+		nodes.add(root);
+		for(int i=0; i<100; ++i) {
+			DefaultQuadTreeNode<String> node = nodes.get(this.random.nextInt(nodes.size()));
+			int index = this.random.nextInt(4);
+			if (node.getChildAt(index)==null) {
+				DefaultQuadTreeNode<String> child = new DefaultQuadTreeNode<String>(randomString());
+				node.setChildAt(index, child);
+				nodes.add(child);
+			}
+		}
+		writeQuad(root);
+		CompactTreeReader<String> reader = new CompactTreeReader<String>(this.file, CODEC, 4);
+		assertEquals(nodes.size(), reader.getNodeCount());
+		assertNodeEquals(root, reader, 0);
+		assertTreeEquals(root, reader.readRoot(QUAD_FACTORY));
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testEmptyTree() throws Exception {
+		write(null);
+		CompactTreeReader<String> reader = new CompactTreeReader<String>(this.file, CODEC);
+		assertEquals(0, reader.getNodeCount());
+		assertEquals(0, reader.getUserDataCount());
+		assertNull(reader.readRoot(NARY_FACTORY));
+		try {
+			reader.getChildCount(0);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException _) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testCorruptedFile() throws Exception {
+		write(createNaryTree(10));
+		RandomAccessFile raf = new RandomAccessFile(this.file, "rw"); //$NON-NLS-1$
+		try {
+			raf.writeInt(0);
+		}
+		finally {
+			raf.close();
+		}
+		try {
+			new CompactTreeReader<String>(this.file, CODEC);
+			fail("expecting StreamCorruptedException"); //$NON-NLS-1$
+		}
+		catch(StreamCorruptedException _) {
+			// Expected exception
+		}
+
+		write(createNaryTree(10));
+		raf = new RandomAccessFile(this.file, "rw"); //$NON-NLS-1$
+		try {
+			raf.setLength(raf.length()-8);
+		}
+		finally {
+			raf.close();
+		}
+		try {
+			new CompactTreeReader<String>(this.file, CODEC);
+			fail("expecting StreamCorruptedException"); //$NON-NLS-1$
+		}
+		catch(StreamCorruptedException _) {
+			// Expected exception
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.LinkedTree;
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+import org.arakhne.afc.math.tree.node.QuadTreeNode.DefaultQuadTreeNode;
+
+/**
+ * Test for {@link DotDotStreamWriter}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class DotDotStreamWriterTest extends TestCase {
+
+	private LinkedTree<String,DefaultNaryTreeNode<String>> tree;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		DefaultNaryTreeNode<String> root = new DefaultNaryTreeNode<String>("r"); //$NON-NLS-1$
+		DefaultNaryTreeNode<String> a = new DefaultNaryTreeNode<String>("a\"b\\c"); //$NON-NLS-1$
+		a.addUserData("d\ne"); //$NON-NLS-1$
+		DefaultNaryTreeNode<String> b = new DefaultNaryTreeNode<String>();
+		DefaultNaryTreeNode<String> c = new DefaultNaryTreeNode<String>("\u00e9"); //$NON-NLS-1$
+		root.addChild(a);
+		root.addChild(b);
+		a.addChild(c);
+		this.tree = new LinkedTree<String,DefaultNaryTreeNode<String>>(root);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.tree = null;
+		super.tearDown();
+	}
+
+	private static String write(AbstractDotStreamWriter writer, ByteArrayOutputStream output, LinkedTree<?,?>... trees) throws Exception {
+		try {
+			for(LinkedTree<?,?> t : trees) {
+				writer.write(t);
+			}
+		}
+		finally {
+			writer.close();
+		}
+		return new String(output.toByteArray(), "UTF-8"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testWrite() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(
+				"digraph G1 {\n" //$NON-NLS-1$
+				+"\tNODE0 [label=\"1\"]\n" //$NON-NLS-1$
+				+"\tNODE1 [label=\"2\"]\n" //$NON-NLS-1$
+				+"\tNODE0->NODE1 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE2 [label=\"1\"]\n" //$NON-NLS-1$
+				+"\tNODE1->NODE2 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE3 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE0->NODE3 [label=\"1\"]\n" //$NON-NLS-1$
+				+"}\n\n", //$NON-NLS-1$
+				write(new DotDotStreamWriter(output), output, this.tree));
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testMaxDataInLabels() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotDotStreamWriter writer = new DotDotStreamWriter(output);
+		writer.setMaxDataInLabels(1);
+		assertEquals(1, writer.getMaxDataInLabels());
+		assertEquals(
+				"digraph G1 {\n" //$NON-NLS-1$
+				+"\tNODE0 [label=\"1: r\"]\n" //$NON-NLS-1$
+				+"\tNODE1 [label=\"2: a\\\"b\\\\c, ...\"]\n" //$NON-NLS-1$
+				+"\tNODE0->NODE1 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE2 [label=\"1: \u00e9\"]\n" //$NON-NLS-1$
+				+"\tNODE1->NODE2 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE3 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE0->NODE3 [label=\"1\"]\n" //$NON-NLS-1$
+				+"}\n\n", //$NON-NLS-1$
+				write(writer, output, this.tree));
+
+		output = new ByteArrayOutputStream();
+		writer = new DotDotStreamWriter(output);
+		writer.setMaxDataInLabels(5);
+		assertTrue(write(writer, output, this.tree).contains(
+				"\tNODE1 [label=\"2: a\\\"b\\\\c, d\\ne\"]\n")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testMaxDepth() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotDotStreamWriter writer = new DotDotStreamWriter(output);
+		writer.setMaxDepth(1);
+		assertEquals(1, writer.getMaxDepth());
+		assertEquals(
+				"digraph G1 {\n" //$NON-NLS-1$
+				+"\tNODE0 [label=\"1\"]\n" //$NON-NLS-1$
+				+"\tNODE1 [label=\"2 (+1)\"]\n" //$NON-NLS-1$
+				+"\tNODE0->NODE1 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE2 [label=\"0\"]\n" //$NON-NLS-1$
+				+"\tNODE0->NODE2 [label=\"1\"]\n" //$NON-NLS-1$
+				+"}\n\n", //$NON-NLS-1$
+				write(writer, output, this.tree));
+		writer.setMaxDepth(-5);
+		assertEquals(-1, writer.getMaxDepth());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testPartitionLabels() throws Exception {
+		DefaultQuadTreeNode<String> root = new DefaultQuadTreeNode<String>();
+		root.setChildAt(2, new DefaultQuadTreeNode<String>());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		String text = write(new DotDotStreamWriter(output), output,
+				new LinkedTree<String,DefaultQuadTreeNode<String>>(root));
+		assertTrue(text.contains("\tNODE0->NODE1 [label=\"SOUTH_WEST\"]\n")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSeveralGraphs() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		String text = write(new DotDotStreamWriter(output), output, this.tree, this.tree);
+		assertTrue(text.startsWith("digraph G1 {\n")); //$NON-NLS-1$
+		assertTrue(text.contains("}\n\ndigraph G2 {\n")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testCloseTwice() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotDotStreamWriter writer = new DotDotStreamWriter(output);
+		String text = write(writer, output, this.tree);
+		writer.close();
+		assertEquals(text, new String(output.toByteArray(), "UTF-8")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSmallBuffer() throws Exception {
+		Random random = new Random(3344);
+		List<DefaultNaryTreeNode<String>> nodes = new ArrayList<DefaultNaryTreeNode<String>>();
+		nodes.add(new DefaultNaryTreeNode<String>("\u00e9\u20ac")); //$NON-NLS-1$
+		for(int i=1; i<500; ++i) {
+			DefaultNaryTreeNode<String> child = new DefaultNaryTreeNode<String>("\u00e9"+i+"\u20ac"); //$NON-NLS-1$ //$NON-NLS-2$
+			nodes.get(random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+		LinkedTree<String,DefaultNaryTreeNode<String>> bigTree = new LinkedTree<String,DefaultNaryTreeNode<String>>(nodes.get(0));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotDotStreamWriter writer = new DotDotStreamWriter(output);
+		writer.setMaxDataInLabels(1);
+		String expected = write(writer, output, bigTree);
+
+		for(int bufferSize : new int[] {1, 2, 3, 7, 64}) {
+			output = new ByteArrayOutputStream();
+			writer = new DotDotStreamWriter(Channels.newChannel(output), bufferSize);
+			writer.setMaxDataInLabels(1);
+			assertEquals(expected, write(writer, output, bigTree));
+		}
+	}
+
+}
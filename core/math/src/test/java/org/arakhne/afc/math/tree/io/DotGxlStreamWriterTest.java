@@ -0,0 +1,170 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.LinkedTree;
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Test for {@link DotGxlStreamWriter}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class DotGxlStreamWriterTest extends TestCase {
+
+	private List<DefaultNaryTreeNode<String>> nodes;
+	private LinkedTree<String,DefaultNaryTreeNode<String>> tree;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Random random = new Random(7788);
+		this.nodes = new ArrayList<DefaultNaryTreeNode<String>>();
+		this.nodes.add(new DefaultNaryTreeNode<String>("<root> & \"\u00e9\"")); //$NON-NLS-1$
+		for(int i=1; i<200; ++i) {
+			DefaultNaryTreeNode<String> child = new DefaultNaryTreeNode<String>("n"+i); //$NON-NLS-1$
+			this.nodes.get(random.nextInt(this.nodes.size())).addChild(child);
+			this.nodes.add(child);
+		}
+		this.tree = new LinkedTree<String,DefaultNaryTreeNode<String>>(this.nodes.get(0));
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.nodes = null;
+		this.tree = null;
+		super.tearDown();
+	}
+
+	private byte[] write(DotGxlStreamWriter writer, ByteArrayOutputStream output) throws Exception {
+		try {
+			writer.write(this.tree);
+		}
+		finally {
+			writer.close();
+		}
+		return output.toByteArray();
+	}
+
+	private static String getLabel(Element element) {
+		return ((Element)element.getElementsByTagName("string").item(0)).getTextContent(); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testWellFormed() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotGxlStreamWriter writer = new DotGxlStreamWriter(output);
+		writer.setMaxDataInLabels(1);
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(
+				new ByteArrayInputStream(write(writer, output)));
+
+		NodeList graphs = document.getElementsByTagName("graph"); //$NON-NLS-1$
+		assertEquals(1, graphs.getLength());
+		NodeList nodeElements = document.getElementsByTagName("node"); //$NON-NLS-1$
+		assertEquals(this.nodes.size(), nodeElements.getLength());
+		NodeList edges = document.getElementsByTagName("edge"); //$NON-NLS-1$
+		assertEquals(this.nodes.size()-1, edges.getLength());
+
+		Element root = (Element)nodeElements.item(0);
+		assertEquals("NODE0", root.getAttribute("id")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("1: <root> & \"\u00e9\"", getLabel(root)); //$NON-NLS-1$
+
+		// Each edge links declared nodes, and each node but the root has one parent
+		List<String> ids = new ArrayList<String>();
+		for(int i=0; i<nodeElements.getLength(); ++i) {
+			ids.add(((Element)nodeElements.item(i)).getAttribute("id")); //$NON-NLS-1$
+		}
+		List<String> targets = new ArrayList<String>();
+		for(int i=0; i<edges.getLength(); ++i) {
+			Element edge = (Element)edges.item(i);
+			assertTrue(ids.contains(edge.getAttribute("from"))); //$NON-NLS-1$
+			assertTrue(ids.contains(edge.getAttribute("to"))); //$NON-NLS-1$
+			assertFalse(targets.contains(edge.getAttribute("to"))); //$NON-NLS-1$
+			targets.add(edge.getAttribute("to")); //$NON-NLS-1$
+		}
+		assertFalse(targets.contains("NODE0")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testMaxDepth() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotGxlStreamWriter writer = new DotGxlStreamWriter(output);
+		writer.setMaxDepth(0);
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(
+				new ByteArrayInputStream(write(writer, output)));
+		NodeList nodeElements = document.getElementsByTagName("node"); //$NON-NLS-1$
+		assertEquals(1, nodeElements.getLength());
+		assertEquals(0, document.getElementsByTagName("edge").getLength()); //$NON-NLS-1$
+		assertEquals("1 (+"+(this.nodes.size()-1)+")", getLabel((Element)nodeElements.item(0))); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSmallBuffer() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotGxlStreamWriter writer = new DotGxlStreamWriter(output);
+		writer.setMaxDataInLabels(1);
+		String expected = new String(write(writer, output), "UTF-8"); //$NON-NLS-1$
+		for(int bufferSize : new int[] {1, 5, 64}) {
+			output = new ByteArrayOutputStream();
+			writer = new DotGxlStreamWriter(Channels.newChannel(output), bufferSize);
+			writer.setMaxDataInLabels(1);
+			assertEquals(expected, new String(write(writer, output), "UTF-8")); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testEmptyTree() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DotGxlStreamWriter writer = new DotGxlStreamWriter(output);
+		try {
+			writer.write(null);
+		}
+		finally {
+			writer.close();
+		}
+		assertEquals(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<gxl>\n</gxl>\n", //$NON-NLS-1$
+				new String(output.toByteArray(), "UTF-8")); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,139 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+
+/**
+ * Test for {@link BroadFirstTreeIterator}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class BroadFirstTreeIteratorTest extends TestCase {
+
+	/** Marker of the end of a level in the iteration traces.
+	 */
+	private static final Integer LEVEL_END = Integer.valueOf(-1);
+
+	private Random random;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(9753);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.random = null;
+		super.tearDown();
+	}
+
+	private DefaultNaryTreeNode<Integer> createTree(int nodeCount) {
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>(Integer.valueOf(0));
+		nodes.add(root);
+		for(int i=1; i<nodeCount; ++i) {
+			DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>(Integer.valueOf(i));
+			nodes.get(this.random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+		return root;
+	}
+
+	/** Reply the data of the nodes level by level, each level
+	 * being followed by {@link #LEVEL_END}.
+	 */
+	private static List<Integer> expectedTrace(DefaultNaryTreeNode<Integer> root) {
+		List<Integer> trace = new ArrayList<Integer>();
+		List<DefaultNaryTreeNode<Integer>> level = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		level.add(root);
+		while (!level.isEmpty()) {
+			List<DefaultNaryTreeNode<Integer>> nextLevel = new ArrayList<DefaultNaryTreeNode<Integer>>();
+			for(DefaultNaryTreeNode<Integer> node : level) {
+				trace.add(node.getUserData());
+				for(int i=0; i<node.getChildCount(); ++i) {
+					nextLevel.add(node.getChildAt(i));
+				}
+			}
+			trace.add(LEVEL_END);
+			level = nextLevel;
+		}
+		return trace;
+	}
+
+	private static List<Integer> trace(BroadFirstTreeIterator<DefaultNaryTreeNode<Integer>> iterator) {
+		// The end of a level is notified while the last node of the level is replied
+		final List<Integer> events = new ArrayList<Integer>();
+		iterator.setBroadFirstIterationListener(new BroadFirstIterationListener() {
+			@Override
+			public void onBoardFirstIterationLevelFinished() {
+				events.add(LEVEL_END);
+			}
+		});
+		List<Integer> trace = new ArrayList<Integer>();
+		while (iterator.hasNext()) {
+			trace.add(iterator.next().getUserData());
+			trace.addAll(events);
+			events.clear();
+		}
+		return trace;
+	}
+
+	/**
+	 */
+	public void testLevels() {
+		for(int i=0; i<20; ++i) {
+			DefaultNaryTreeNode<Integer> root = createTree(1+this.random.nextInt(200));
+			assertEquals(expectedTrace(root), trace(new BroadFirstTreeIterator<DefaultNaryTreeNode<Integer>>(root)));
+		}
+	}
+
+	/**
+	 */
+	public void testListenerReleasedAtEnd() {
+		BroadFirstTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new BroadFirstTreeIterator<DefaultNaryTreeNode<Integer>>(createTree(30));
+		trace(iterator);
+		assertFalse(iterator.hasNext());
+		assertNull(iterator.getBroadFirstIterationListener());
+	}
+
+	/**
+	 */
+	public void testReset() {
+		BroadFirstTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new BroadFirstTreeIterator<DefaultNaryTreeNode<Integer>>(createTree(10));
+		iterator.next();
+		for(int i=0; i<10; ++i) {
+			DefaultNaryTreeNode<Integer> root = createTree(1+this.random.nextInt(100));
+			iterator.reset(root);
+			assertEquals(expectedTrace(root), trace(iterator));
+		}
+		iterator.reset(null);
+		assertFalse(iterator.hasNext());
+	}
+
+}
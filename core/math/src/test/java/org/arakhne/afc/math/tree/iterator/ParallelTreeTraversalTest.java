@@ -0,0 +1,221 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+
+/**
+ * Test for {@link ParallelTreeTraversal}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class ParallelTreeTraversalTest extends TestCase {
+
+	private ExecutorService executor;
+	private ParallelTreeTraversal traversal;
+	private DefaultNaryTreeNode<Integer> root;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.executor = Executors.newFixedThreadPool(3);
+		this.traversal = new ParallelTreeTraversal(this.executor);
+		this.traversal.setParallelism(4);
+		Random random = new Random(2468);
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		this.root = new DefaultNaryTreeNode<Integer>(Integer.valueOf(0));
+		nodes.add(this.root);
+		for(int i=1; i<2000; ++i) {
+			DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>(Integer.valueOf(i));
+			nodes.get(random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.executor.shutdownNow();
+		this.executor = null;
+		this.traversal = null;
+		this.root = null;
+		super.tearDown();
+	}
+
+	private SplittableTreeIterator<DefaultNaryTreeNode<Integer>> iterator() {
+		return new SplittableTreeIterator<DefaultNaryTreeNode<Integer>>(this.root);
+	}
+
+	/**
+	 */
+	public void testSetParallelism() {
+		assertEquals(4, this.traversal.getParallelism());
+		this.traversal.setParallelism(1);
+		assertEquals(1, this.traversal.getParallelism());
+		try {
+			this.traversal.setParallelism(0);
+			fail("expecting IllegalArgumentException"); //$NON-NLS-1$
+		}
+		catch(IllegalArgumentException _) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testForEachNode() throws Exception {
+		final List<DefaultNaryTreeNode<Integer>> visits = Collections.synchronizedList(
+				new ArrayList<DefaultNaryTreeNode<Integer>>());
+		assertTrue(this.traversal.forEachNode(iterator(), new NodeVisitor<DefaultNaryTreeNode<Integer>>() {
+			@Override
+			public boolean visitNode(DefaultNaryTreeNode<Integer> node) {
+				visits.add(node);
+				return true;
+			}
+		}));
+		Set<DefaultNaryTreeNode<Integer>> visitedNodes = Collections.newSetFromMap(
+				new IdentityHashMap<DefaultNaryTreeNode<Integer>,Boolean>());
+		visitedNodes.addAll(visits);
+		assertEquals(this.root.getDeepNodeCount(), visits.size());
+		assertEquals(visits.size(), visitedNodes.size());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testForEachNodeStopped() throws Exception {
+		final AtomicInteger visits = new AtomicInteger();
+		assertFalse(this.traversal.forEachNode(iterator(), new NodeVisitor<DefaultNaryTreeNode<Integer>>() {
+			@Override
+			public boolean visitNode(DefaultNaryTreeNode<Integer> node) {
+				visits.incrementAndGet();
+				return node.getUserData().intValue()!=1000;
+			}
+		}));
+		assertTrue(visits.get()<=this.root.getDeepNodeCount());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSelectNodes() throws Exception {
+		NodeSelector<DefaultNaryTreeNode<Integer>> selector = new NodeSelector<DefaultNaryTreeNode<Integer>>() {
+			@Override
+			public boolean nodeCouldBeTreatedByIterator(DefaultNaryTreeNode<Integer> node) {
+				return node.getUserData().intValue()%3==0;
+			}
+		};
+		List<DefaultNaryTreeNode<Integer>> expected = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>>(this.root);
+		while (iterator.hasNext()) {
+			DefaultNaryTreeNode<Integer> node = iterator.next();
+			if (selector.nodeCouldBeTreatedByIterator(node)) expected.add(node);
+		}
+		assertEquals(expected, this.traversal.selectNodes(iterator(), selector));
+		this.traversal.setParallelism(1);
+		assertEquals(expected, this.traversal.selectNodes(iterator(), selector));
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSelectData() throws Exception {
+		DataSelector<Integer> selector = new DataSelector<Integer>() {
+			@Override
+			public boolean dataCouldBeRepliedByIterator(Integer data) {
+				return data.intValue()%7==1;
+			}
+		};
+		List<Integer> expected = new ArrayList<Integer>();
+		PrefixDataDepthFirstTreeIterator<Integer,DefaultNaryTreeNode<Integer>> iterator = new PrefixDataDepthFirstTreeIterator<Integer,DefaultNaryTreeNode<Integer>>(this.root);
+		while (iterator.hasNext()) {
+			Integer data = iterator.next();
+			if (selector.dataCouldBeRepliedByIterator(data)) expected.add(data);
+		}
+		assertEquals(expected, this.traversal.selectData(iterator(), selector));
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSaturatedExecutor() throws Exception {
+		// The only thread of the executor is busy during the traversal,
+		// so that the submitted workers are never started
+		ExecutorService busyExecutor = Executors.newSingleThreadExecutor();
+		final CountDownLatch release = new CountDownLatch(1);
+		try {
+			busyExecutor.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						release.await();
+					}
+					catch (InterruptedException _) {
+						//
+					}
+				}
+			});
+			final ParallelTreeTraversal busyTraversal = new ParallelTreeTraversal(busyExecutor);
+			busyTraversal.setParallelism(4);
+			final AtomicReference<List<DefaultNaryTreeNode<Integer>>> result = new AtomicReference<List<DefaultNaryTreeNode<Integer>>>();
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						result.set(busyTraversal.selectNodes(iterator(), new NodeSelector<DefaultNaryTreeNode<Integer>>() {
+							@Override
+							public boolean nodeCouldBeTreatedByIterator(DefaultNaryTreeNode<Integer> node) {
+								return true;
+							}
+						}));
+					}
+					catch (InterruptedException _) {
+						//
+					}
+				}
+			};
+			thread.start();
+			thread.join(10000);
+			assertFalse(thread.isAlive());
+			assertNotNull(result.get());
+			assertEquals(this.root.getDeepNodeCount(), result.get().size());
+		}
+		finally {
+			release.countDown();
+			busyExecutor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+
+/**
+ * Test for {@link PrefixDepthFirstTreeIterator}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class PrefixDepthFirstTreeIteratorTest extends TestCase {
+
+	private Random random;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(8642);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.random = null;
+		super.tearDown();
+	}
+
+	private DefaultNaryTreeNode<Integer> createTree(int nodeCount) {
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>(Integer.valueOf(0));
+		nodes.add(root);
+		for(int i=1; i<nodeCount; ++i) {
+			DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>(Integer.valueOf(i));
+			nodes.get(this.random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+		return root;
+	}
+
+	private static void prefix(DefaultNaryTreeNode<Integer> node, List<DefaultNaryTreeNode<Integer>> nodes) {
+		nodes.add(node);
+		for(int i=0; i<node.getChildCount(); ++i) {
+			prefix(node.getChildAt(i), nodes);
+		}
+	}
+
+	private static List<DefaultNaryTreeNode<Integer>> toList(PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>> iterator) {
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		while (iterator.hasNext()) {
+			nodes.add(iterator.next());
+		}
+		return nodes;
+	}
+
+	/**
+	 */
+	public void testOrder() {
+		for(int i=0; i<20; ++i) {
+			DefaultNaryTreeNode<Integer> root = createTree(1+this.random.nextInt(200));
+			List<DefaultNaryTreeNode<Integer>> expected = new ArrayList<DefaultNaryTreeNode<Integer>>();
+			prefix(root, expected);
+			assertEquals(expected, toList(new PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>>(root)));
+		}
+	}
+
+	/**
+	 */
+	public void testReset() {
+		PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>>(createTree(10));
+		iterator.next();
+		for(int i=0; i<10; ++i) {
+			DefaultNaryTreeNode<Integer> root = createTree(1+this.random.nextInt(100));
+			List<DefaultNaryTreeNode<Integer>> expected = new ArrayList<DefaultNaryTreeNode<Integer>>();
+			prefix(root, expected);
+			iterator.reset(root);
+			assertEquals(expected, toList(iterator));
+		}
+		iterator.reset(null);
+		assertFalse(iterator.hasNext());
+	}
+
+}
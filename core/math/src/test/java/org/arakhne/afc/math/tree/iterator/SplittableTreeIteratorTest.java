@@ -0,0 +1,179 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.iterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.ArrayForest;
+import org.arakhne.afc.math.tree.LinkedTree;
+import org.arakhne.afc.math.tree.TreeNode;
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+
+/**
+ * Test for {@link SplittableTreeIterator}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SplittableTreeIteratorTest extends TestCase {
+
+	private Random random;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(1357);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.random = null;
+		super.tearDown();
+	}
+
+	private DefaultNaryTreeNode<Integer> createTree(int nodeCount) {
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>(Integer.valueOf(0));
+		nodes.add(root);
+		for(int i=1; i<nodeCount; ++i) {
+			DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>(Integer.valueOf(i));
+			nodes.get(this.random.nextInt(nodes.size())).addChild(child);
+			nodes.add(child);
+		}
+		return root;
+	}
+
+	private static <N> List<N> toList(Iterator<N> iterator) {
+		List<N> list = new ArrayList<N>();
+		while (iterator.hasNext()) {
+			list.add(iterator.next());
+		}
+		return list;
+	}
+
+	/** Consume the given iterator after random splits, and reply
+	 * the nodes in the order of the parts.
+	 */
+	private <N extends TreeNode<?,?>> List<N> splitAndDrain(SplittableTreeIterator<N> iterator) {
+		List<N> nodes = new ArrayList<N>();
+		int expectedSize = iterator.getEstimatedSize();
+		SplittableTreeIterator<N> split = null;
+		if (this.random.nextInt(4)>0) {
+			split = iterator.trySplit();
+		}
+		if (split!=null) {
+			nodes.addAll(splitAndDrain(iterator));
+			nodes.addAll(splitAndDrain(split));
+		}
+		else {
+			nodes.addAll(toList(iterator));
+		}
+		assertEquals(expectedSize, nodes.size());
+		return nodes;
+	}
+
+	/**
+	 */
+	public void testPrefixOrder() {
+		for(int i=0; i<20; ++i) {
+			DefaultNaryTreeNode<Integer> root = createTree(1+this.random.nextInt(200));
+			SplittableTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new SplittableTreeIterator<DefaultNaryTreeNode<Integer>>(root);
+			assertEquals(root.getDeepNodeCount(), iterator.getEstimatedSize());
+			assertEquals(
+					toList(new PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>>(root)),
+					toList(iterator));
+			assertEquals(0, iterator.getEstimatedSize());
+		}
+	}
+
+	/**
+	 */
+	public void testTrySplit() {
+		for(int i=0; i<50; ++i) {
+			DefaultNaryTreeNode<Integer> root = createTree(1+this.random.nextInt(300));
+			LinkedTree<Integer,DefaultNaryTreeNode<Integer>> tree = new LinkedTree<Integer,DefaultNaryTreeNode<Integer>>(root);
+			assertEquals(
+					toList(new PrefixDepthFirstTreeIterator<DefaultNaryTreeNode<Integer>>(root)),
+					splitAndDrain(tree.splittableIterator()));
+		}
+	}
+
+	/**
+	 */
+	public void testTrySplitBalance() {
+		DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>(Integer.valueOf(0));
+		for(int i=1; i<=4; ++i) {
+			root.addChild(new DefaultNaryTreeNode<Integer>(Integer.valueOf(i)));
+		}
+		SplittableTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new SplittableTreeIterator<DefaultNaryTreeNode<Integer>>(root);
+		SplittableTreeIterator<DefaultNaryTreeNode<Integer>> split = iterator.trySplit();
+		assertNotNull(split);
+		assertEquals(3, iterator.getEstimatedSize());
+		assertEquals(2, split.getEstimatedSize());
+	}
+
+	/**
+	 */
+	public void testTrySplitLeaf() {
+		SplittableTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new SplittableTreeIterator<DefaultNaryTreeNode<Integer>>(
+				new DefaultNaryTreeNode<Integer>(Integer.valueOf(0)));
+		assertNull(iterator.trySplit());
+		assertTrue(iterator.hasNext());
+		assertEquals(Integer.valueOf(0), iterator.next().getUserData());
+		assertFalse(iterator.hasNext());
+		assertNull(iterator.trySplit());
+	}
+
+	/**
+	 */
+	public void testRemove() {
+		SplittableTreeIterator<DefaultNaryTreeNode<Integer>> iterator = new SplittableTreeIterator<DefaultNaryTreeNode<Integer>>(createTree(10));
+		iterator.next();
+		try {
+			iterator.remove();
+			fail("expecting UnsupportedOperationException"); //$NON-NLS-1$
+		}
+		catch(UnsupportedOperationException _) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 */
+	public void testForest() {
+		ArrayForest<Integer> forest = new ArrayForest<Integer>() {
+			//
+		};
+		for(int i=0; i<5; ++i) {
+			forest.add(new LinkedTree<Integer,DefaultNaryTreeNode<Integer>>(createTree(1+this.random.nextInt(100))));
+		}
+		List<TreeNode<Integer,?>> expected = toList(forest.depthFirstIterator());
+		assertEquals(expected, toList(forest.splittableIterator()));
+		for(int i=0; i<20; ++i) {
+			assertEquals(expected, splitAndDrain(forest.splittableIterator()));
+		}
+	}
+
+}
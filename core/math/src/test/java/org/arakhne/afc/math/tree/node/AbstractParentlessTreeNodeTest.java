@@ -0,0 +1,267 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.TreeDataEvent;
+import org.arakhne.afc.math.tree.TreeNodeAddedEvent;
+import org.arakhne.afc.math.tree.TreeNodeListener;
+import org.arakhne.afc.math.tree.TreeNodeParentChangedEvent;
+import org.arakhne.afc.math.tree.TreeNodeRemovedEvent;
+import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.DefaultIcosepQuadTreeNode;
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+import org.arakhne.afc.math.tree.node.QuadTreeNode.DefaultQuadTreeNode;
+
+/**
+ * Test for the cached aggregates of {@link AbstractParentlessTreeNode}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class AbstractParentlessTreeNodeTest extends TestCase {
+
+	private Random random;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(8642);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.random = null;
+		super.tearDown();
+	}
+
+	private static void collect(AbstractParentlessTreeNode<?,?> node, List<AbstractParentlessTreeNode<?,?>> nodes) {
+		nodes.add(node);
+		for(int i=0; i<node.getChildCount(); ++i) {
+			AbstractParentlessTreeNode<?,?> child = (AbstractParentlessTreeNode<?,?>)node.getChildAt(i);
+			if (child!=null) collect(child, nodes);
+		}
+	}
+
+	private static void computeHeights(AbstractParentlessTreeNode<?,?> node, int height, List<Integer> heights) {
+		if (node.isLeaf()) {
+			heights.add(Integer.valueOf(height));
+		}
+		else {
+			for(int i=0; i<node.getChildCount(); ++i) {
+				AbstractParentlessTreeNode<?,?> child = (AbstractParentlessTreeNode<?,?>)node.getChildAt(i);
+				if (child!=null) computeHeights(child, height+1, heights);
+			}
+		}
+	}
+
+	/** Fixed-arity nodes count their empty child slots as
+	 * subtrees of height zero; n-ary nodes ignore them.
+	 */
+	private static int computeMinHeight(AbstractParentlessTreeNode<?,?> node) {
+		boolean fixedArity = !(node instanceof NaryTreeNode<?,?>);
+		int min = Integer.MAX_VALUE;
+		for(int i=0; i<node.getChildCount(); ++i) {
+			AbstractParentlessTreeNode<?,?> child = (AbstractParentlessTreeNode<?,?>)node.getChildAt(i);
+			if (child!=null) min = Math.min(min, computeMinHeight(child));
+			else if (fixedArity) min = 0;
+		}
+		return 1 + (min==Integer.MAX_VALUE ? 0 : min);
+	}
+
+	private static int computeMaxHeight(AbstractParentlessTreeNode<?,?> node) {
+		int max = 0;
+		for(int i=0; i<node.getChildCount(); ++i) {
+			AbstractParentlessTreeNode<?,?> child = (AbstractParentlessTreeNode<?,?>)node.getChildAt(i);
+			if (child!=null) max = Math.max(max, computeMaxHeight(child));
+		}
+		return 1 + max;
+	}
+
+	/** Compare the cached aggregates of all the nodes of the
+	 * given subtree with a brute-force computation.
+	 */
+	private static void assertAggregates(AbstractParentlessTreeNode<?,?> root) {
+		List<AbstractParentlessTreeNode<?,?>> nodes = new ArrayList<AbstractParentlessTreeNode<?,?>>();
+		collect(root, nodes);
+		for(AbstractParentlessTreeNode<?,?> node : nodes) {
+			List<AbstractParentlessTreeNode<?,?>> subtree = new ArrayList<AbstractParentlessTreeNode<?,?>>();
+			collect(node, subtree);
+			int data = 0;
+			for(AbstractParentlessTreeNode<?,?> n : subtree) {
+				data += n.getUserDataCount();
+			}
+			List<Integer> heights = new ArrayList<Integer>();
+			computeHeights(node, 1, heights);
+			int[] expectedHeights = new int[heights.size()];
+			for(int i=0; i<expectedHeights.length; ++i) {
+				expectedHeights[i] = heights.get(i).intValue();
+			}
+			assertEquals(subtree.size(), node.getDeepNodeCount());
+			assertEquals(data, node.getDeepUserDataCount());
+			assertEquals(expectedHeights.length, node.getLeafCount());
+			assertEquals(computeMinHeight(node), node.getMinHeight());
+			assertEquals(computeMaxHeight(node), node.getMaxHeight());
+			assertTrue(Arrays.equals(expectedHeights, node.getHeights()));
+			int[] buffer = new int[expectedHeights.length+2];
+			assertEquals(expectedHeights.length, node.getHeights(buffer));
+			assertTrue(Arrays.equals(expectedHeights, Arrays.copyOf(buffer, expectedHeights.length)));
+		}
+	}
+
+	/**
+	 */
+	public void testNaryTree() {
+		DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>();
+		List<DefaultNaryTreeNode<Integer>> nodes = new ArrayList<DefaultNaryTreeNode<Integer>>();
+		nodes.add(root);
+		assertAggregates(root);
+		DefaultNaryTreeNode<Integer> node, other;
+		for(int i=0; i<500; ++i) {
+			node = nodes.get(this.random.nextInt(nodes.size()));
+			switch(this.random.nextInt(5)) {
+			case 0:
+			case 1:
+				DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>();
+				node.addChild(child);
+				nodes.add(child);
+				break;
+			case 2:
+				if (node!=root) {
+					node.removeFromParent();
+					List<AbstractParentlessTreeNode<?,?>> removed = new ArrayList<AbstractParentlessTreeNode<?,?>>();
+					collect(node, removed);
+					nodes.removeAll(removed);
+					assertAggregates(node);
+				}
+				break;
+			case 3:
+				node.addUserData(Integer.valueOf(i));
+				break;
+			default:
+				if (node.getUserDataCount()>0) {
+					node.removeUserData(node.getUserDataCount()-1);
+				}
+				else {
+					// Move the node below a node that is not inside its subtree
+					other = nodes.get(this.random.nextInt(nodes.size()));
+					List<AbstractParentlessTreeNode<?,?>> subtree = new ArrayList<AbstractParentlessTreeNode<?,?>>();
+					collect(node, subtree);
+					if (node!=root && other!=node.getParentNode() && !subtree.contains(other)) {
+						assertTrue(other.addChild(node));
+					}
+				}
+			}
+			assertAggregates(root);
+		}
+	}
+
+	/**
+	 */
+	public void testQuadTree() {
+		DefaultQuadTreeNode<Integer> root = new DefaultQuadTreeNode<Integer>();
+		List<DefaultQuadTreeNode<Integer>> nodes = new ArrayList<DefaultQuadTreeNode<Integer>>();
+		nodes.add(root);
+		DefaultQuadTreeNode<Integer> node;
+		int index;
+		for(int i=0; i<300; ++i) {
+			node = nodes.get(this.random.nextInt(nodes.size()));
+			index = this.random.nextInt(4);
+			if (this.random.nextInt(3)>0) {
+				if (node.getChildAt(index)==null) {
+					DefaultQuadTreeNode<Integer> child = new DefaultQuadTreeNode<Integer>(Integer.valueOf(i));
+					node.setChildAt(index, child);
+					nodes.add(child);
+				}
+			}
+			else if (node.getChildAt(index)!=null) {
+				DefaultQuadTreeNode<Integer> child = node.getChildAt(index);
+				List<AbstractParentlessTreeNode<?,?>> removed = new ArrayList<AbstractParentlessTreeNode<?,?>>();
+				collect(child, removed);
+				node.setChildAt(index, null);
+				nodes.removeAll(removed);
+			}
+			assertAggregates(root);
+		}
+	}
+
+	/**
+	 */
+	public void testIcosepQuadTree() {
+		DefaultIcosepQuadTreeNode<Integer> root = new DefaultIcosepQuadTreeNode<Integer>();
+		DefaultIcosepQuadTreeNode<Integer> child = new DefaultIcosepQuadTreeNode<Integer>(Integer.valueOf(1));
+		root.setChildAt(1, child);
+		assertAggregates(root);
+		DefaultIcosepQuadTreeNode<Integer> icosep = new DefaultIcosepQuadTreeNode<Integer>(Integer.valueOf(2));
+		assertTrue(root.setIcosepChild(icosep));
+		assertAggregates(root);
+		icosep.setChildAt(0, new DefaultIcosepQuadTreeNode<Integer>(Integer.valueOf(3)));
+		icosep.addUserData(Integer.valueOf(4));
+		assertAggregates(root);
+		root.setChildAt(1, null);
+		assertAggregates(root);
+		root.setIcosepChild(null);
+		assertAggregates(root);
+		assertEquals(1, root.getDeepNodeCount());
+	}
+
+	/**
+	 */
+	public void testListenersSeeUpToDateValues() {
+		final DefaultNaryTreeNode<Integer> root = new DefaultNaryTreeNode<Integer>();
+		final int[] events = new int[1];
+		root.addTreeNodeListener(new TreeNodeListener() {
+			@Override
+			public void treeNodeChildAdded(TreeNodeAddedEvent event) {
+				++events[0];
+				assertAggregates(root);
+			}
+			@Override
+			public void treeNodeChildRemoved(TreeNodeRemovedEvent event) {
+				++events[0];
+				assertAggregates(root);
+			}
+			@Override
+			public void treeNodeParentChanged(TreeNodeParentChangedEvent event) {
+				//
+			}
+			@Override
+			public void treeNodeDataChanged(TreeDataEvent event) {
+				++events[0];
+				assertAggregates(root);
+			}
+		});
+		DefaultNaryTreeNode<Integer> child = new DefaultNaryTreeNode<Integer>();
+		root.addChild(child);
+		DefaultNaryTreeNode<Integer> grandChild = new DefaultNaryTreeNode<Integer>();
+		child.addChild(grandChild);
+		grandChild.addUserData(Integer.valueOf(1));
+		grandChild.removeFromParent();
+		assertEquals(4, events[0]);
+		assertEquals(2, root.getDeepNodeCount());
+		assertEquals(0, root.getDeepUserDataCount());
+	}
+
+}
@@ -0,0 +1,195 @@
+/* 
+ * $Id$
+ * 
+ * Copyright (c) 2005-10, Multiagent Team,
+ * Laboratoire Systemes et Transports,
+ * Universite de Technologie de Belfort-Montbeliard.
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the Laboratoire Systemes et Transports
+ * of the Universite de Technologie de Belfort-Montbeliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the SeT.
+ *
+ * http://www.multiagent.fr/
+ */
+package org.arakhne.afc.math.tree.node;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.arakhne.afc.math.tree.node.NaryTreeNode.DefaultNaryTreeNode;
+
+/**
+ * Test for {@link CompactDataList}.
+ * 
+ * @author $Author: galland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CompactDataListTest extends TestCase {
+
+	private Random random;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		this.random = new Random(5566);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		this.random = null;
+		super.tearDown();
+	}
+
+	/**
+	 */
+	public void testRandomOperations() {
+		List<Integer> expected = new ArrayList<Integer>();
+		CompactDataList<Integer> list = new CompactDataList<Integer>();
+		for(int i=0; i<2000; ++i) {
+			Integer value = Integer.valueOf(i);
+			switch(this.random.nextInt(6)) {
+			case 0:
+				expected.add(value);
+				list.add(value);
+				break;
+			case 1:
+				int index = this.random.nextInt(expected.size()+1);
+				expected.add(index, value);
+				list.add(index, value);
+				break;
+			case 2:
+			case 3:
+				if (!expected.isEmpty()) {
+					index = this.random.nextInt(expected.size());
+					assertEquals(expected.remove(index), list.remove(index));
+				}
+				break;
+			case 4:
+				if (!expected.isEmpty()) {
+					index = this.random.nextInt(expected.size());
+					assertEquals(expected.set(index, value), list.set(index, value));
+				}
+				break;
+			default:
+				if (this.random.nextInt(20)==0) {
+					expected.clear();
+					list.clear();
+				}
+			}
+			assertEquals(expected.size(), list.size());
+			assertEquals(expected, list);
+		}
+	}
+
+	/**
+	 */
+	public void testIndexOutOfBounds() {
+		CompactDataList<Integer> list = new CompactDataList<Integer>(Arrays.asList(Integer.valueOf(1)));
+		try {
+			list.get(1);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException _) {
+			// Expected exception
+		}
+		try {
+			list.add(2, Integer.valueOf(2));
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException _) {
+			// Expected exception
+		}
+		try {
+			list.remove(-1);
+			fail("expecting IndexOutOfBoundsException"); //$NON-NLS-1$
+		}
+		catch(IndexOutOfBoundsException _) {
+			// Expected exception
+		}
+	}
+
+	/**
+	 */
+	public void testCollectionWithTypedArray() {
+		// A collection whose toArray() replies a String[]
+		final String[] strings = new String[] { "a", "b", "c" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Collection<String> collection = new AbstractCollection<String>() {
+			@Override
+			public Iterator<String> iterator() {
+				return Arrays.asList(strings).iterator();
+			}
+			@Override
+			public int size() {
+				return strings.length;
+			}
+			@Override
+			public Object[] toArray() {
+				return strings.clone();
+			}
+		};
+		assertSame(String[].class, collection.toArray().getClass());
+		CompactDataList<Object> list = new CompactDataList<Object>(collection);
+		assertEquals(Arrays.asList(strings), list);
+		// Storing a non-string must not fail with an ArrayStoreException
+		list.set(1, Integer.valueOf(2));
+		list.add(Integer.valueOf(3));
+		assertEquals(Arrays.<Object>asList("a", Integer.valueOf(2), "c", Integer.valueOf(3)), list); //$NON-NLS-1$ //$NON-NLS-2$
+		// The source array is not shared
+		assertEquals("b", strings[1]); //$NON-NLS-1$
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	public void testSerialization() throws Exception {
+		CompactDataList<Integer> list = new CompactDataList<Integer>(
+				Arrays.asList(Integer.valueOf(1), Integer.valueOf(2), Integer.valueOf(3)));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(list);
+		output.close();
+		ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		Object copy = input.readObject();
+		input.close();
+		assertEquals(list, copy);
+	}
+
+	/**
+	 */
+	public void testNodeData() {
+		DefaultNaryTreeNode<Integer> node = new DefaultNaryTreeNode<Integer>();
+		assertEquals(0, node.getUserDataCount());
+		assertNull(node.getUserData());
+		assertTrue(node.addUserData(Integer.valueOf(1)));
+		assertEquals(Integer.valueOf(1), node.getUserData());
+		assertTrue(node.addUserData(Integer.valueOf(2)));
+		assertTrue(node.addUserData(Integer.valueOf(3)));
+		assertTrue(Arrays.equals(
+				new Integer[] {Integer.valueOf(1), Integer.valueOf(2), Integer.valueOf(3)},
+				node.getAllUserData(new Integer[0])));
+		assertTrue(node.removeUserData(Integer.valueOf(2)));
+		assertEquals(Integer.valueOf(3), node.getUserDataAt(1));
+		assertEquals(2, node.getUserDataCount());
+		node.removeAllUserData();
+		assertEquals(0, node.getUserDataCount());
+		assertNull(node.getAllUserData(new Integer[0]));
+	}
+
+}